@@ -0,0 +1,137 @@
+package environment.GUI.views;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Test;
+
+import environment.model.locations.Location;
+import environment.model.locations.Pump;
+import environment.model.locations.ShoppingArea;
+import environment.model.locations.Till;
+import environment.model.roadusers.SmallCar_RoadUser;
+
+/**
+ * Tests for all the aspects of the {@link HeatMap}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.GUI.views.HeatMap
+ *
+ */
+public class TestHeatMap {
+
+	/**
+	 * Test that a group that fits gives each {@link Location} its own cell
+	 * inside the area, coloured by how full its queue is.
+	 */
+	@Test
+	public void testOnePerCell() {
+
+		List<Location> pumps = pumps(10);
+
+		pumps.get(3).enter(new SmallCar_RoadUser());
+
+		HeatMap heatMap = new HeatMap();
+		heatMap.layout(pumps, 80, 400);
+
+		assertEquals(10, heatMap.getCells());
+		assertTrue(heatMap.getCellSize() > HeatMap.MIN_CELL);
+		assertTrue(heatMap.getColumns() * heatMap.getCellSize() <= 80);
+
+		double full = pumps.get(3).getOccupancy() / Pump.MAX_QUEUE_SIZE;
+
+		assertTrue(full > 0);
+
+		for (int cell = 0; cell < 10; cell++) {
+			assertEquals(cell == 3 ? full : 0, heatMap.getFraction(cell), 1e-9);
+		}
+
+	}
+
+	/**
+	 * Test that once there are more {@link Location}s than the smallest cells
+	 * that fit, each cell is the average of an equal share of them.
+	 */
+	@Test
+	public void testAggregate() {
+
+		int cells = (80 / HeatMap.MIN_CELL) * (400 / HeatMap.MIN_CELL);
+
+		List<Location> pumps = pumps(cells * 4);
+
+		pumps.get(0).enter(new SmallCar_RoadUser());
+
+		HeatMap heatMap = new HeatMap();
+		heatMap.layout(pumps, 80, 400);
+
+		assertEquals(cells, heatMap.getCells());
+		assertEquals(HeatMap.MIN_CELL, heatMap.getCellSize());
+
+		double full = pumps.get(0).getOccupancy() / Pump.MAX_QUEUE_SIZE;
+
+		assertEquals(full / 4, heatMap.getFraction(0), 1e-9);
+		assertEquals(0, heatMap.getFraction(1), 0);
+
+		try {
+			heatMap.getFraction(cells);
+			fail("A cell that was not laid out was read");
+		} catch (IndexOutOfBoundsException e) {
+			// Expected
+		}
+
+	}
+
+	/**
+	 * Test that {@link Location}s whose queues have no maximum are compared
+	 * with the fullest of them.
+	 */
+	@Test
+	public void testUnbounded() {
+
+		List<Location> tills = new ArrayList<Location>();
+
+		for (int index = 0; index < 3; index++) {
+			tills.add(new Till(ShoppingArea.class));
+		}
+
+		tills.get(0).enter(new SmallCar_RoadUser());
+		tills.get(0).enter(new SmallCar_RoadUser());
+		tills.get(1).enter(new SmallCar_RoadUser());
+
+		HeatMap heatMap = new HeatMap();
+		heatMap.layout(tills, 80, 400);
+
+		double half = tills.get(1).getOccupancy() / tills.get(0).getOccupancy();
+
+		assertEquals(1, heatMap.getFraction(0), 1e-9);
+		assertEquals(half, heatMap.getFraction(1), 1e-9);
+		assertEquals(0, heatMap.getFraction(2), 0);
+
+	}
+
+	/**
+	 * Constructs the specified number of empty {@link Pump}s in a
+	 * {@link LinkedList}, as {@link Animated} groups them.
+	 *
+	 * @param count
+	 *            <code>int</code>
+	 * @return <code>{@link List}&lt;{@link Location}&gt;</code>
+	 */
+	private static List<Location> pumps(int count) {
+
+		List<Location> pumps = new LinkedList<Location>();
+
+		for (int index = 0; index < count; index++) {
+			pumps.add(new Pump(ShoppingArea.class));
+		}
+
+		return pumps;
+	}
+
+}
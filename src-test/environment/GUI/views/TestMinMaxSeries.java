@@ -0,0 +1,96 @@
+package environment.GUI.views;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests for all the aspects of the {@link MinMaxSeries}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.GUI.views.MinMaxSeries
+ *
+ */
+public class TestMinMaxSeries {
+
+	/**
+	 * Test that a series with fewer ticks than columns keeps every value.
+	 */
+	@Test
+	public void testShort() {
+
+		MinMaxSeries series = new MinMaxSeries(8);
+
+		series.add(3);
+		series.add(1);
+		series.add(2);
+
+		double[] lows = new double[6];
+		double[] highs = new double[6];
+
+		assertEquals(3, series.downsample(lows, highs));
+		assertEquals(1, series.getBucketSize());
+		assertEquals(3, series.getPeak(), 0);
+
+		assertArrayEquals(new double[] { 3, Double.NaN, 1, Double.NaN, 2, Double.NaN }, lows, 0);
+		assertArrayEquals(new double[] { 3, Double.NaN, 1, Double.NaN, 2, Double.NaN }, highs, 0);
+
+	}
+
+	/**
+	 * Test that the buckets of a long series double in size and that every
+	 * column holds the true lowest and highest value of its ticks, so no
+	 * peak is lost.
+	 */
+	@Test
+	public void testLong() {
+
+		MinMaxSeries series = new MinMaxSeries(16);
+
+		int ticks = 1000;
+
+		for (int tick = 0; tick < ticks; tick++) {
+			series.add(tick == 500 ? 10000 : Math.sin(tick));
+		}
+
+		assertEquals(ticks, series.size());
+		assertEquals(64, series.getBucketSize());
+		assertEquals(10000, series.getPeak(), 0);
+
+		double[] lows = new double[4];
+		double[] highs = new double[4];
+
+		series.downsample(lows, highs);
+
+		// Each bucket starts at a multiple of 64 ticks and belongs to the
+		// column its first tick falls in.
+		for (int column = 0; column < 4; column++) {
+
+			double low = Double.MAX_VALUE;
+			double high = -Double.MAX_VALUE;
+
+			for (int bucketStart = 0; bucketStart < ticks; bucketStart += 64) {
+
+				if (bucketStart * 4L / ticks != column) {
+					continue;
+				}
+
+				for (int tick = bucketStart; tick < Math.min(bucketStart + 64, ticks); tick++) {
+					double value = tick == 500 ? 10000 : Math.sin(tick);
+					low = Math.min(low, value);
+					high = Math.max(high, value);
+				}
+			}
+
+			assertEquals("Column " + column, low, lows[column], 0);
+			assertEquals("Column " + column, high, highs[column], 0);
+		}
+
+		assertEquals(10000, Math.max(Math.max(highs[0], highs[1]), Math.max(highs[2], highs[3])), 0);
+
+	}
+
+}
@@ -0,0 +1,268 @@
+package environment.GUI.views;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import environment.GUI.views.ViewDispatcher.Overflow;
+import environment.model.Delta;
+import environment.model.Station;
+import environment.model.locations.Pump;
+
+/**
+ * Tests for all the aspects of the {@link ViewDispatcher}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.GUI.views.ViewDispatcher
+ *
+ */
+public class TestViewDispatcher {
+
+	/**
+	 * A {@link SimulatorView} that records each call made to it, after
+	 * waiting for its {@link #gate} to open.
+	 */
+	private static class Recording implements SimulatorView<Station> {
+
+		/**
+		 * The calls made to the view in order.
+		 */
+		final List<String> calls = Collections.synchronizedList(new ArrayList<String>());
+
+		/**
+		 * Opened to let the view carry on.
+		 */
+		final CountDownLatch gate;
+
+		/**
+		 * Constructs a new {@link Recording}.
+		 *
+		 * @param open
+		 *            Whether the {@link #gate} starts open.
+		 */
+		Recording(boolean open) {
+			this.gate = new CountDownLatch(open ? 0 : 1);
+		}
+
+		@Override
+		public void show(int time, Station station) {
+
+			try {
+				gate.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			calls.add("show " + time);
+		}
+
+		@Override
+		public void showIdle(int from, int to, Station station) {
+			calls.add("idle " + from + "-" + to);
+		}
+
+		@Override
+		public void setEnd() {
+			calls.add("end");
+		}
+
+	}
+
+	/**
+	 * A {@link Recording} that is passed {@link Delta}s.
+	 */
+	private static class RecordingDeltas extends Recording implements DeltaView {
+
+		/**
+		 * Constructs a new {@link RecordingDeltas}.
+		 */
+		RecordingDeltas() {
+			super(true);
+		}
+
+		@Override
+		public void apply(int time, List<Delta> deltas) {
+			calls.add("apply " + time);
+		}
+
+		@Override
+		public void applyIdle(int from, int to) {
+			calls.add("apply " + from + "-" + to);
+		}
+
+	}
+
+	/**
+	 * Test that a view that blocks is shown every tick in order and that
+	 * {@link ViewDispatcher#close()} waits for it.
+	 */
+	@Test
+	public void testBlock() {
+
+		Recording view = new Recording(true);
+
+		ViewDispatcher dispatcher = new ViewDispatcher(() -> null).add(view, 2, Overflow.BLOCK);
+
+		List<String> expected = new ArrayList<String>();
+
+		for (int tick = 0; tick < 100; tick++) {
+			dispatcher.show(tick, null);
+			expected.add("show " + tick);
+		}
+
+		dispatcher.showIdle(100, 105, null);
+		dispatcher.setEnd();
+		dispatcher.close();
+
+		expected.add("idle 100-105");
+		expected.add("end");
+
+		assertEquals(expected, view.calls);
+		assertEquals(0, dispatcher.getDropped());
+
+	}
+
+	/**
+	 * Test that the simulation does not wait for a view that coalesces its
+	 * ticks however far behind it falls, and that the view is still shown
+	 * the latest tick and the end of the simulation.
+	 */
+	@Test
+	public void testCoalesce() {
+
+		Recording view = new Recording(false);
+
+		ViewDispatcher dispatcher = new ViewDispatcher(() -> null).add(view, 2, Overflow.COALESCE);
+
+		// The view is stuck on the first tick, so all but the last few of
+		// these would block if they were not dropped.
+		for (int tick = 0; tick < 1000; tick++) {
+			dispatcher.show(tick, null);
+		}
+
+		assertTrue(dispatcher.getDropped() >= 1000 - 3);
+
+		view.gate.countDown();
+
+		dispatcher.setEnd();
+		dispatcher.show(1000, null);
+		dispatcher.close();
+
+		List<String> calls = view.calls;
+
+		assertTrue(calls.size() <= 6);
+		assertTrue(calls.contains("show 999"));
+		assertEquals("end", calls.get(calls.size() - 2));
+		assertEquals("show 1000", calls.get(calls.size() - 1));
+
+	}
+
+	/**
+	 * Test that a view that drops the oldest ticks is shown the most recent
+	 * ones.
+	 */
+	@Test
+	public void testDropOldest() {
+
+		Recording view = new Recording(false);
+
+		ViewDispatcher dispatcher = new ViewDispatcher(() -> null).add(view, 3, Overflow.DROP_OLDEST);
+
+		for (int tick = 0; tick < 1000; tick++) {
+			dispatcher.show(tick, null);
+		}
+
+		view.gate.countDown();
+
+		dispatcher.close();
+
+		List<String> calls = view.calls;
+
+		assertEquals(Arrays.asList("show 997", "show 998", "show 999"),
+				calls.subList(calls.size() - 3, calls.size()));
+
+	}
+
+	/**
+	 * Test that a {@link DeltaView} is passed the {@link Delta}s of each tick
+	 * while every other view is passed a snapshot, which is taken once per
+	 * tick however many views need it.
+	 */
+	@Test
+	public void testFanOut() {
+
+		Station station = new Station(Pump.class);
+		AtomicInteger snapshots = new AtomicInteger();
+
+		RecordingDeltas deltas = new RecordingDeltas();
+		Recording first = new Recording(true);
+		Recording second = new Recording(true);
+
+		ViewDispatcher dispatcher = new ViewDispatcher(() -> {
+			snapshots.incrementAndGet();
+			return station;
+		});
+
+		assertFalse(dispatcher.hasDeltaViews());
+
+		dispatcher.add(deltas, 4, Overflow.BLOCK).add(first, 4, Overflow.BLOCK).add(second, 4, Overflow.COALESCE);
+
+		assertTrue(dispatcher.hasDeltaViews());
+
+		dispatcher.apply(0, Collections.<Delta> emptyList());
+		dispatcher.applyIdle(1, 3);
+		dispatcher.setEnd();
+		dispatcher.show(3, station);
+		dispatcher.close();
+
+		assertEquals(2, snapshots.get());
+		assertEquals(Arrays.asList("apply 0", "apply 1-3", "end", "show 3"), deltas.calls);
+		assertEquals(Arrays.asList("show 0", "idle 1-3", "end", "show 3"), first.calls);
+		assertEquals(first.calls, second.calls);
+
+	}
+
+	/**
+	 * Test that a view that throws does not leave the simulation waiting for
+	 * it and that the exception is reported once the views are closed.
+	 */
+	@Test
+	public void testFailure() {
+
+		SimulatorView<Station> view = new Recording(true) {
+
+			@Override
+			public void show(int time, Station station) {
+				throw new IllegalArgumentException("Tick " + time);
+			}
+
+		};
+
+		ViewDispatcher dispatcher = new ViewDispatcher(() -> null).add(view, 1, Overflow.BLOCK);
+
+		for (int tick = 0; tick < 100; tick++) {
+			dispatcher.show(tick, null);
+		}
+
+		dispatcher.setEnd();
+
+		try {
+			dispatcher.close();
+			fail("The failure of the view was not reported");
+		} catch (IllegalStateException e) {
+			assertEquals("Tick 0", e.getCause().getMessage());
+		}
+
+	}
+
+}
@@ -0,0 +1,248 @@
+package environment;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import environment.model.Measure;
+import environment.model.compact.CompactStation;
+import environment.model.locations.RoutingPolicy;
+
+/**
+ * Tests for all the aspects of the {@link Batch}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.Batch
+ *
+ */
+public class TestBatch {
+
+	/**
+	 * Test that {@link Batch#parse(String[])} reads the <code>key=value</code>
+	 * arguments and the scenario file, the arguments overriding the scenario.
+	 *
+	 * @throws IOException
+	 *             If the scenario file cannot be written.
+	 */
+	@Test
+	public void testParse() throws IOException {
+
+		Path scenario = Files.createTempFile("scenario", ".properties");
+
+		try {
+
+			Files.write(scenario, Arrays.asList("p=0.05", "pumps=4", "tills=2"));
+
+			Properties parameters = Batch.parse(
+					new String[] { "p = 0.02", "q=0.03", "scenario=" + scenario, "output=results=1.txt" });
+
+			assertEquals("0.02", parameters.getProperty("p"));
+			assertEquals("0.03", parameters.getProperty("q"));
+			assertEquals("4", parameters.getProperty("pumps"));
+			assertEquals("2", parameters.getProperty("tills"));
+
+			// Only the first equals sign splits the key from the value.
+			assertEquals("results=1.txt", parameters.getProperty("output"));
+
+		} finally {
+			Files.delete(scenario);
+		}
+
+	}
+
+	/**
+	 * Test that arguments that are not <code>key=value</code> pairs and
+	 * missing files or parameters are rejected.
+	 *
+	 * @throws IOException
+	 *             If a scenario file cannot be read.
+	 */
+	@Test
+	public void testInvalid() throws IOException {
+
+		for (String argument : new String[] { "p", "=0.02" }) {
+			try {
+				Batch.parse(new String[] { argument });
+				fail("The argument " + argument + " was accepted");
+			} catch (IllegalArgumentException e) {
+				// Expected
+			}
+		}
+
+		try {
+			Batch.parse(new String[] { "scenario=no/such/scenario.properties" });
+			fail("A missing scenario file was accepted");
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+
+		try {
+			Batch.newSimulator(Batch.parse(new String[] { "p=0.02", "q=0.02", "tills=1", "trucks=false", "ticks=10" }));
+			fail("A simulation without pumps was constructed");
+		} catch (IllegalArgumentException e) {
+			assertEquals("Missing parameter: pumps", e.getMessage());
+		}
+
+		try {
+			Batch.newSimulator(Batch.parse(
+					new String[] { "p=-1", "q=0.02", "pumps=1", "tills=1", "trucks=false", "ticks=10" }));
+			fail("A negative p was accepted");
+		} catch (RuntimeException e) {
+			// Expected
+		}
+
+	}
+
+	/**
+	 * Test that {@link Batch#newSimulator(Properties)} applies every parameter
+	 * and that {@link Batch#report(environment.model.Station, PrintStream)}
+	 * writes one row per {@link Batch#ROAD_USERS} type, which is the same for
+	 * two simulations with the same seed.
+	 *
+	 * @throws IOException
+	 *             If the parameters cannot be parsed.
+	 */
+	@Test
+	public void testRun() throws IOException {
+
+		String[] args = { "p=0.03", "q=0.03", "pumps=3", "tills=2", "trucks=true", "ticks=500", "seed=11",
+				"routing=POWER_OF_TWO_CHOICES", "parallel=true" };
+
+		Simulator simulator = Batch.newSimulator(Batch.parse(args));
+
+		assertEquals(RoutingPolicy.POWER_OF_TWO_CHOICES, simulator.getStation().getRoutingPolicy());
+		assertTrue(simulator.getStation().isParallel());
+
+		simulator.start();
+
+		// Three pumps, the shopping area and two tills.
+		assertEquals(6, simulator.getStation().getNumberOfLoactions());
+
+		String[] rows = report(simulator).split("\\R");
+
+		assertEquals(1 + Batch.ROAD_USERS.size(), rows.length);
+		assertTrue(rows[0].startsWith("Vehicle Type\t"));
+
+		for (String row : rows) {
+			assertEquals(1 + Measure.values().length, row.split("\t").length);
+		}
+
+		Simulator repeat = Batch.newSimulator(Batch.parse(args));
+		repeat.start();
+
+		assertEquals(report(simulator), report(repeat));
+
+	}
+
+	/**
+	 * Test that the compact engine reports the same table as a
+	 * {@link Simulator} with the same parameters, and that it rejects the
+	 * parameters that only apply to a {@link Simulator}.
+	 *
+	 * @throws IOException
+	 *             If the parameters cannot be parsed.
+	 */
+	@Test
+	public void testCompact() throws IOException {
+
+		String[] args = { "p=0.03", "q=0.03", "pumps=3", "tills=2", "trucks=true", "ticks=2000", "seed=11",
+				"engine=compact" };
+
+		Simulator simulator = Batch.newSimulator(Batch.parse(args));
+		simulator.start();
+
+		CompactStation station = Batch.newCompactStation(Batch.parse(args));
+		station.simulate(0.03, 0.03, true, 2000);
+
+		assertEquals(2000, station.getTime());
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try (PrintStream out = new PrintStream(bytes)) {
+			Batch.report(station, out);
+		}
+
+		assertEquals(report(simulator), bytes.toString());
+
+		for (String argument : new String[] { "routing=POWER_OF_TWO_CHOICES", "parallel=true", "log=file",
+				"record=file", "resume=file" }) {
+
+			String key = argument.substring(0, argument.indexOf('='));
+
+			try {
+				Batch.newCompactStation(Batch.parse(new String[] { "pumps=1", "tills=1", "seed=1", argument }));
+				fail("The compact engine accepted the parameter " + key);
+			} catch (IllegalArgumentException e) {
+				assertEquals("The compact engine cannot use the parameter: " + key, e.getMessage());
+			}
+		}
+
+	}
+
+	/**
+	 * Test that a seed is chosen and reported when none is given, so that the
+	 * simulation can be repeated.
+	 *
+	 * @throws IOException
+	 *             If the parameters cannot be parsed.
+	 */
+	@Test
+	public void testSeed() throws IOException {
+
+		Properties parameters = Batch.parse(new String[] { "seed=42" });
+
+		assertEquals(42, Batch.seed(parameters));
+
+		parameters = Batch.parse(new String[0]);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		PrintStream err = System.err;
+
+		System.setErr(new PrintStream(bytes, true));
+
+		long seed;
+
+		try {
+			seed = Batch.seed(parameters);
+		} finally {
+			System.setErr(err);
+		}
+
+		assertEquals(Long.toString(seed), parameters.getProperty("seed"));
+		assertEquals("seed=" + seed, bytes.toString().trim());
+
+		// Assert that the seed is only chosen once.
+		assertEquals(seed, Batch.seed(parameters));
+
+	}
+
+	/**
+	 * Retrieves the results table of a finished {@link Simulator}.
+	 *
+	 * @param simulator
+	 *            {@link Simulator}
+	 * @return <code>String</code>
+	 */
+	private static String report(Simulator simulator) {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try (PrintStream out = new PrintStream(bytes)) {
+			Batch.report(simulator.getStation(), out);
+		}
+
+		return bytes.toString();
+	}
+
+}
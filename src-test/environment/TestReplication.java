@@ -0,0 +1,88 @@
+package environment;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import environment.Replication.Estimate;
+import environment.model.Measure;
+import environment.model.roadusers.RoadUser;
+
+/**
+ * Tests for all the aspects of the {@link Replication}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.Replication
+ *
+ */
+public class TestReplication {
+
+	/**
+	 * Test {@link Estimate#getMean()}, {@link Estimate#getVariance()} and
+	 * {@link Estimate#getHalfWidth()}.
+	 */
+	@Test
+	public void testEstimate() {
+
+		Estimate estimate = new Estimate();
+
+		// An empty estimate has no spread.
+		assertEquals(0, estimate.getVariance(), 0);
+		assertEquals(0, estimate.getHalfWidth(), 0);
+
+		for (double value : new double[] { 2, 4, 4, 4, 5, 5, 7, 9 }) {
+			estimate.add(value);
+		}
+
+		// Mean 5, sum of squared differences 32 over 7 degrees of freedom.
+		assertEquals(8, estimate.getCount());
+		assertEquals(5, estimate.getMean(), 1e-12);
+		assertEquals(32.0 / 7, estimate.getVariance(), 1e-12);
+		assertEquals(2.365 * Math.sqrt((32.0 / 7) / 8), estimate.getHalfWidth(), 1e-12);
+
+	}
+
+	/**
+	 * Test that the estimates do not depend on the number of threads that run
+	 * the replications.
+	 *
+	 * @throws InterruptedException
+	 *             If the test is interrupted.
+	 */
+	@Test
+	public void testRun() throws InterruptedException {
+
+		Properties parameters = new Properties();
+		parameters.setProperty("p", "0.04");
+		parameters.setProperty("q", "0.04");
+		parameters.setProperty("pumps", "2");
+		parameters.setProperty("tills", "2");
+		parameters.setProperty("trucks", "true");
+		parameters.setProperty("ticks", "1440");
+
+		Replication replication = new Replication(parameters, 6, 11);
+
+		Map<Measure, Map<Class<? extends RoadUser>, Estimate>> single = replication.run(1);
+		Map<Measure, Map<Class<? extends RoadUser>, Estimate>> parallel = replication.run(3);
+
+		for (Measure measure : Measure.values()) {
+			for (Class<? extends RoadUser> type : Batch.ROAD_USERS) {
+
+				Estimate expected = single.get(measure).get(type);
+				Estimate actual = parallel.get(measure).get(type);
+
+				assertEquals(6, actual.getCount());
+				assertEquals(expected.getMean(), actual.getMean(), 0);
+				assertEquals(expected.getVariance(), actual.getVariance(), 0);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,167 @@
+package environment;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import environment.Sweep.Run;
+import environment.model.locations.RoutingPolicy;
+
+/**
+ * Tests for all the aspects of the {@link Sweep}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.Sweep
+ *
+ */
+public class TestSweep {
+
+	/**
+	 * Test that lists and ranges of parameter values are parsed, including
+	 * the end of a range that is not reached exactly.
+	 */
+	@Test
+	public void testParse() {
+
+		assertEquals(Arrays.asList(0.01, 0.02, 0.03), Sweep.doubles("0.01:0.03:0.01"));
+		assertEquals(Arrays.asList(0.1, 0.25), Sweep.doubles("0.1, 0.25"));
+		assertEquals(Arrays.asList(1, 2, 4), Sweep.integers("1,2,4"));
+		assertEquals(Arrays.asList(2, 4, 6), Sweep.integers("2:6:2"));
+		assertEquals(Arrays.asList(1, 2, 3), Sweep.integers("1:3"));
+		assertEquals(Arrays.asList(true, false), Sweep.booleans("true,false"));
+
+	}
+
+	/**
+	 * Test that ranges that never end, values that are not numbers, missing
+	 * parameters and the parameters of a single simulation are rejected.
+	 */
+	@Test
+	public void testInvalid() {
+
+		for (String key : new String[] { "trucks", "checkpoint", "log" }) {
+
+			Properties parameters = parameters();
+
+			if (key.equals("trucks")) {
+				parameters.remove(key);
+			} else {
+				parameters.setProperty(key, "file");
+			}
+
+			try {
+				new Sweep(parameters);
+				fail("A sweep was constructed with the parameter " + key);
+			} catch (IllegalArgumentException e) {
+				assertTrue(e.getMessage().endsWith(key));
+			}
+		}
+
+		for (String text : new String[] { "1:4:0", "1:4:-1", "one,two", "1:x" }) {
+			try {
+				Sweep.integers(text);
+				fail("The values " + text + " were accepted");
+			} catch (IllegalArgumentException e) {
+				// Expected
+			}
+		}
+
+	}
+
+	/**
+	 * Test that {@link Sweep#run(int)} returns one {@link Run} per point of
+	 * the grid in the order <strong>p</strong>, <strong>q</strong>, pumps,
+	 * tills, trucks, that the other parameters apply to every {@link Run}, and
+	 * that the results do not depend on the number of threads.
+	 *
+	 * @throws InterruptedException
+	 *             If the test is interrupted.
+	 */
+	@Test
+	public void testRun() throws InterruptedException {
+
+		List<Double> ps = Arrays.asList(0.02, 0.04);
+		List<Integer> pumps = Arrays.asList(1, 3);
+		List<Boolean> trucks = Arrays.asList(false, true);
+
+		Sweep sweep = new Sweep(parameters());
+
+		List<Run> runs = sweep.run(3);
+
+		assertEquals(ps.size() * pumps.size() * trucks.size(), runs.size());
+
+		int index = 0;
+
+		for (double p : ps) {
+			for (int numberOfPumps : pumps) {
+				for (boolean hasTrucks : trucks) {
+
+					Run run = runs.get(index++);
+
+					assertEquals(p, run.p, 0);
+					assertEquals(0.03, run.q, 0);
+					assertEquals(numberOfPumps, run.pumps);
+					assertEquals(2, run.tills);
+					assertEquals(hasTrucks, run.trucks);
+
+					// The pumps, the shopping area and the tills.
+					assertEquals(numberOfPumps + 1 + 2, run.getStation().getNumberOfLoactions());
+					assertEquals(RoutingPolicy.POWER_OF_TWO_CHOICES, run.getStation().getRoutingPolicy());
+				}
+			}
+		}
+
+		assertEquals(report(runs), report(sweep.run(1)));
+
+	}
+
+	/**
+	 * Retrieves the parameters of a small {@link Sweep} of eight
+	 * combinations.
+	 *
+	 * @return {@link Properties}
+	 */
+	private static Properties parameters() {
+
+		Properties parameters = new Properties();
+
+		parameters.setProperty("p", "0.02,0.04");
+		parameters.setProperty("q", "0.03");
+		parameters.setProperty("pumps", "1:3:2");
+		parameters.setProperty("tills", "2");
+		parameters.setProperty("trucks", "false,true");
+		parameters.setProperty("ticks", "300");
+		parameters.setProperty("seed", "5");
+		parameters.setProperty("routing", RoutingPolicy.POWER_OF_TWO_CHOICES.name());
+
+		return parameters;
+	}
+
+	/**
+	 * Retrieves the results table of the specified {@link Run}s.
+	 *
+	 * @param runs
+	 *            <code>{@link List}&lt;{@link Run}&gt;</code>
+	 * @return <code>String</code>
+	 */
+	private static String report(List<Run> runs) {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try (PrintStream out = new PrintStream(bytes)) {
+			Sweep.report(runs, out);
+		}
+
+		return bytes.toString();
+	}
+
+}
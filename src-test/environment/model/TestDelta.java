@@ -0,0 +1,204 @@
+package environment.model;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import environment.Batch;
+import environment.Statistic;
+import environment.model.locations.Location;
+import environment.model.locations.Pump;
+import environment.model.locations.ShoppingArea;
+import environment.model.locations.Till;
+import environment.model.roadusers.FamilySedan_RoadUser;
+import environment.model.roadusers.RoadUser;
+import environment.model.roadusers.SmallCar_RoadUser;
+
+/**
+ * Tests for all the aspects of the {@link Delta}s published by a
+ * {@link Station}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.model.Delta
+ *
+ */
+public class TestDelta {
+
+	/**
+	 * Test that folding the {@link Delta}s of every tick gives the same
+	 * {@link Statistic}s as the {@link Station}.
+	 */
+	@Test
+	public void testFold() {
+
+		SimulationContext context = new SimulationContext(7);
+		Station station = new Station(Pump.class, context);
+
+		station.addLocation(new Pump(ShoppingArea.class, context));
+		station.addLocation(new ShoppingArea(Till.class, context));
+		station.addLocation(new Till(null, context));
+		station.setRecordingDeltas(true);
+
+		Map<Measure, Statistic<RoadUser>> folded = new EnumMap<Measure, Statistic<RoadUser>>(Measure.class);
+
+		for (Measure measure : Measure.values()) {
+			folded.put(measure, new Statistic<RoadUser>());
+		}
+
+		int inStation = 0;
+		int rejected = 0;
+
+		for (int tick = 0; tick < 2000; tick++) {
+
+			// Send more road users than one pump can serve so some are rejected.
+			if (tick % 3 == 0) {
+				station.enter(new SmallCar_RoadUser(context));
+			}
+
+			if (tick % 5 == 0) {
+				station.enter(new FamilySedan_RoadUser(context));
+			}
+
+			station.processLocations();
+
+			List<Delta> deltas = station.drainDeltas();
+
+			for (Delta delta : deltas) {
+				switch (delta.getKind()) {
+				case ARRIVE:
+					inStation++;
+					break;
+				case DEPART:
+					inStation--;
+					break;
+				case REJECT:
+					rejected++;
+					break;
+				case INCREMENT:
+					folded.get(delta.getMeasure()).update(delta.getType(), delta.getAmount());
+					break;
+				default:
+					break;
+				}
+			}
+		}
+
+		for (Measure measure : Measure.values()) {
+			for (Class<? extends RoadUser> type : Batch.ROAD_USERS) {
+				assertEquals(measure.of(station).get(type), folded.get(measure).get(type), 0);
+			}
+		}
+
+		assertEquals(station.getNumberOfRoadUsers().sum(), inStation, 0);
+		assertEquals(station.getRoadUsersRejected().sum(), rejected, 0);
+		assertTrue(rejected > 0);
+		assertTrue(station.getRoadUsersProcessed().sum() > 0);
+
+	}
+
+	/**
+	 * Test that folding the {@link Delta}s of every tick gives the size of
+	 * the queue of every {@link Location}, including the {@link Pump}s that
+	 * {@link RoadUser}s keep their place at until they have paid, whether
+	 * the {@link Location}s are processed one at a time or in parallel.
+	 */
+	@Test
+	public void testFoldQueues() {
+
+		for (boolean parallel : new boolean[] { false, true }) {
+
+			SimulationContext context = new SimulationContext(11);
+			Station station = new Station(Pump.class, context);
+
+			for (int pump = 0; pump < 3; pump++) {
+				station.addLocation(new Pump(ShoppingArea.class, context));
+			}
+
+			station.addLocation(new ShoppingArea(Till.class, context));
+			station.addLocation(new Till(null, context));
+			station.addLocation(new Till(null, context));
+			station.setParallel(parallel);
+			station.setRecordingDeltas(true);
+
+			Map<Integer, Integer> sizes = new HashMap<Integer, Integer>();
+			int departed = 0;
+
+			for (int tick = 0; tick < 2000; tick++) {
+
+				if (tick % 2 == 0) {
+					station.enter(new SmallCar_RoadUser(context));
+				}
+
+				if (tick % 7 == 0) {
+					station.enter(new FamilySedan_RoadUser(context));
+				}
+
+				station.processLocations();
+
+				for (Delta delta : station.drainDeltas()) {
+					switch (delta.getKind()) {
+					case ARRIVE:
+					case MOVE:
+					case RETURN:
+						sizes.merge(delta.getTo(), 1, Integer::sum);
+						break;
+					case LEAVE:
+						sizes.merge(delta.getFrom(), -1, Integer::sum);
+						break;
+					case DEPART:
+						departed++;
+						break;
+					default:
+						break;
+					}
+				}
+
+				for (Location location : station.getLocations()) {
+					assertEquals("Location " + location.getID() + " at " + tick, location.getQueueSize(),
+							(int) sizes.getOrDefault(location.getID(), 0));
+				}
+			}
+
+			assertTrue(departed > 0);
+		}
+
+	}
+
+	/**
+	 * Test that a {@link Station} that is not recording publishes no
+	 * {@link Delta}s.
+	 */
+	@Test
+	public void testNotRecording() {
+
+		SimulationContext context = new SimulationContext(7);
+		Station station = new Station(Pump.class, context);
+
+		station.addLocation(new Pump(ShoppingArea.class, context));
+		station.enter(new SmallCar_RoadUser(context));
+		station.processLocations();
+
+		assertTrue(station.drainDeltas().isEmpty());
+
+		// Once recording the station publishes each change once.
+		station.setRecordingDeltas(true);
+		station.enter(new SmallCar_RoadUser(context));
+
+		List<Delta> deltas = station.drainDeltas();
+
+		assertEquals(1, deltas.size());
+		assertEquals(Delta.Kind.ARRIVE, deltas.get(0).getKind());
+		assertEquals(station.getLocations().get(0).getID(), deltas.get(0).getTo());
+		assertTrue(station.drainDeltas().isEmpty());
+
+	}
+
+}
@@ -0,0 +1,134 @@
+package environment.model;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import environment.Batch;
+import environment.Simulator;
+import environment.model.locations.Till;
+import environment.model.roadusers.RoadUser;
+import environment.model.roadusers.SmallCar_RoadUser;
+
+/**
+ * Tests for all the aspects of the {@link SimulationContext}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.model.SimulationContext
+ *
+ */
+public class TestSimulationContext {
+
+	/**
+	 * The seed used by the tests.
+	 */
+	private static final long SEED = 42;
+
+	/**
+	 * Test that two {@link SimulationContext}s with the same seed produce the
+	 * same random streams.
+	 */
+	@Test
+	public void testSeed() {
+
+		SimulationContext context1 = new SimulationContext(SEED);
+		SimulationContext context2 = new SimulationContext(SEED);
+
+		for (int index = 0; index < 100; index++) {
+			assertEquals(context1.getArrivalRandom().nextDouble(), context2.getArrivalRandom().nextDouble(), 0);
+			assertEquals(context1.getRoadUserRandom().nextInt(), context2.getRoadUserRandom().nextInt());
+			assertEquals(context1.getVehicleRandom().nextInt(), context2.getVehicleRandom().nextInt());
+			assertEquals(context1.getTillRandom().nextInt(), context2.getTillRandom().nextInt());
+		}
+
+	}
+
+	/**
+	 * Test {@link SimulationContext#nextLocationID()}.
+	 */
+	@Test
+	public void testNextLocationID() {
+
+		SimulationContext context1 = new SimulationContext(SEED);
+		SimulationContext context2 = new SimulationContext(SEED);
+
+		assertEquals(0, context1.nextLocationID());
+		assertEquals(1, context1.nextLocationID());
+
+		// Each context has its own identifiers.
+		assertEquals(0, context2.nextLocationID());
+
+	}
+
+	/**
+	 * Test that cloning {@link RoadUser}s and {@link Till}s does not draw from
+	 * the random streams of their {@link SimulationContext}.
+	 */
+	@Test
+	public void testClone() {
+
+		SimulationContext context1 = new SimulationContext(SEED);
+		SimulationContext context2 = new SimulationContext(SEED);
+
+		RoadUser roadUser = new SmallCar_RoadUser(context1);
+		Till till = new Till(null, context1);
+		new SmallCar_RoadUser(context2);
+		new Till(null, context2);
+
+		RoadUser roadUserClone = roadUser.clone();
+		till.clone();
+
+		assertEquals(roadUser.getWorth(), roadUserClone.getWorth(), 0);
+		assertSame(context1, roadUserClone.getContext());
+
+		assertEquals(context2.getRoadUserRandom().nextInt(), context1.getRoadUserRandom().nextInt());
+		assertEquals(context2.getVehicleRandom().nextInt(), context1.getVehicleRandom().nextInt());
+		assertEquals(context2.getTillRandom().nextInt(), context1.getTillRandom().nextInt());
+
+	}
+
+	/**
+	 * Test that simulations running concurrently give exactly the same results
+	 * as when they are run alone.
+	 *
+	 * @throws InterruptedException
+	 *             If the test is interrupted.
+	 */
+	@Test
+	public void testConcurrentSimulations() throws InterruptedException {
+
+		Simulator alone = new Simulator(0.04, 0.04, 2, 2, true, 2880, SEED);
+		alone.start();
+
+		Simulator[] simulators = new Simulator[4];
+		Thread[] threads = new Thread[simulators.length];
+
+		// Run the same simulation on several threads at once.
+		for (int index = 0; index < simulators.length; index++) {
+
+			Simulator simulator = new Simulator(0.04, 0.04, 2, 2, true, 2880, SEED);
+
+			simulators[index] = simulator;
+			threads[index] = new Thread(() -> simulator.start());
+			threads[index].start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		for (Simulator simulator : simulators) {
+			for (Measure measure : Measure.values()) {
+				for (Class<? extends RoadUser> type : Batch.ROAD_USERS) {
+					assertEquals(measure.of(alone.getStation()).get(type), measure.of(simulator.getStation()).get(type),
+							0);
+				}
+			}
+		}
+
+	}
+
+}
@@ -225,4 +225,233 @@ public class TestStation {
 		station.addLocation(new Till(null));
 
 	}
+	/**
+	 * Tests that {@link Station#snapshot()} shares every {@link Location} and
+	 * {@link RoadUser} that has not changed since the previous snapshot.
+	 */
+	@Test
+	public void testSnapshot() {
+
+		SimulationContext context = new SimulationContext(42);
+
+		station = new Station(Pump.class, context);
+		station.addLocation(new Pump(ShoppingArea.class, context));
+		station.addLocation(new ShoppingArea(Till.class, context));
+		station.addLocation(new Till(null, context));
+
+		station.enter(new SmallCar_RoadUser(context));
+		station.processLocations();
+
+		Station snapshot1 = station.snapshot();
+		Station snapshot2 = station.snapshot();
+
+		// Assert that nothing is copied while the station has not changed.
+		for (int index = 0; index < station.getNumberOfLoactions(); index++) {
+			assertSame(snapshot1.getLocations().get(index), snapshot2.getLocations().get(index));
+		}
+
+		assertSame(snapshot1.getNumberOfRoadUsers(), snapshot2.getNumberOfRoadUsers());
+		assertSame(snapshot2, snapshot2.snapshot());
+
+		// Assert that the snapshot holds the state at the time it was taken.
+		Location pump = snapshot1.getLocations().get(0);
+		RoadUser roadUser = pump.getQueue().get(0);
+		int timeSpent = roadUser.getTimeSpent();
+
+		station.processLocations();
+		Station snapshot3 = station.snapshot();
+
+		assertEquals(timeSpent, roadUser.getTimeSpent());
+		assertNotSame(pump, snapshot3.getLocations().get(0));
+		assertNotSame(roadUser, snapshot3.getLocations().get(0).getQueue().get(0));
+
+		// Assert that the unchanged till is still shared.
+		assertSame(snapshot1.getLocations().get(2), snapshot3.getLocations().get(2));
+
+	}
+
+	/**
+	 * Tests that a {@link Station#snapshot()} and everything retrieved from it
+	 * cannot be modified.
+	 */
+	@Test
+	public void testSnapshotReadOnly() {
+
+		setUp();
+		station.addLocation(new Pump(ShoppingArea.class));
+		station.enter(new SmallCar_RoadUser());
+
+		Station snapshot = station.snapshot();
+		Location pump = snapshot.getLocations().get(0);
+
+		assertTrue(snapshot.isReadOnly());
+		assertTrue(pump.isReadOnly());
+
+		try {
+			snapshot.enter(new SmallCar_RoadUser());
+			fail("A snapshot of a station cannot be entered");
+		} catch (UnsupportedOperationException e) {
+		}
+
+		try {
+			snapshot.processLocations();
+			fail("A snapshot of a station cannot be processed");
+		} catch (UnsupportedOperationException e) {
+		}
+
+		try {
+			pump.getQueue().get(0).spendTime();
+			fail("A snapshot of a road user cannot be modified");
+		} catch (UnsupportedOperationException e) {
+		}
+
+		try {
+			snapshot.getNumberOfRoadUsers().update(SmallCar_RoadUser.class, 1.0);
+			fail("A snapshot of a statistic cannot be modified");
+		} catch (UnsupportedOperationException e) {
+		}
+
+		// Assert that the live station is unaffected.
+		assertEquals(1, station.getLocations().get(0).getQueue().size());
+
+	}
+
+	/**
+	 * Tests {@link Station#isQuiescent()} and {@link Station#skip(int)} by
+	 * comparing a {@link Station} that skips the ticks on which it is empty
+	 * with one that processes them.
+	 */
+	@Test
+	public void testSkip() {
+
+		Station skipping = createStation(new SimulationContext(7));
+		Station processing = createStation(new SimulationContext(7));
+
+		assertTrue(skipping.isQuiescent());
+
+		for (int visit = 0; visit < 3; visit++) {
+
+			skipping.enter(new SmallCar_RoadUser(skipping.getContext()));
+			processing.enter(new SmallCar_RoadUser(processing.getContext()));
+
+			assertFalse(skipping.isQuiescent());
+
+			// A station with road users cannot skip ticks.
+			try {
+				skipping.skip(1);
+				fail("A station with road users skipped a tick");
+			} catch (IllegalStateException e) {
+				// Expected
+			}
+
+			while (!skipping.isQuiescent()) {
+				skipping.processLocations();
+				processing.processLocations();
+			}
+
+			assertTrue(processing.isQuiescent());
+
+			skipping.skip(500);
+
+			for (int tick = 0; tick < 500; tick++) {
+				processing.processLocations();
+			}
+		}
+
+		for (Measure measure : Measure.values()) {
+			assertEquals(measure.of(processing).sum(), measure.of(skipping).sum(), 0);
+		}
+
+		assertEquals(3, skipping.getRoadUsersProcessed().sum(), 0);
+
+	}
+
+	/**
+	 * Tests {@link Station#setParallel(boolean)} by comparing a {@link Station}
+	 * with hundreds of {@link Pump}s that processes them at the same time
+	 * with one that processes them in order.
+	 */
+	@Test
+	public void testParallel() {
+
+		Station parallel = createForecourt(new SimulationContext(13));
+		Station sequential = createForecourt(new SimulationContext(13));
+
+		parallel.setParallel(true);
+
+		assertTrue(parallel.isParallel());
+		assertFalse(sequential.isParallel());
+
+		for (int tick = 0; tick < 2000; tick++) {
+
+			// Several road users arrive on each tick to keep the pumps busy.
+			for (int arrival = 0; arrival < 4; arrival++) {
+				parallel.enter(new SmallCar_RoadUser(parallel.getContext()));
+				sequential.enter(new SmallCar_RoadUser(sequential.getContext()));
+			}
+
+			if (tick % 3 == 0) {
+				parallel.enter(new Truck_RoadUser(parallel.getContext()));
+				sequential.enter(new Truck_RoadUser(sequential.getContext()));
+			}
+
+			parallel.processLocations();
+			sequential.processLocations();
+		}
+
+		for (Measure measure : Measure.values()) {
+			assertEquals(measure.toString(), measure.of(sequential).sum(), measure.of(parallel).sum(), 0);
+		}
+
+		assertTrue(parallel.getRoadUsersProcessed().sum() > 0);
+
+		// A copy is processed in the same way.
+		assertTrue(parallel.clone().isParallel());
+
+	}
+
+	/**
+	 * Creates a {@link Station} with 300 {@link Pump}s, a
+	 * {@link ShoppingArea} and 4 {@link Till}s.
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} of the {@link Station}.
+	 * @return {@link Station}
+	 */
+	private static Station createForecourt(SimulationContext context) {
+
+		Station station = new Station(Pump.class, context);
+
+		for (int pump = 0; pump < 300; pump++) {
+			station.addLocation(new Pump(ShoppingArea.class, context));
+		}
+
+		station.addLocation(new ShoppingArea(Till.class, context));
+
+		for (int till = 0; till < 4; till++) {
+			station.addLocation(new Till(null, context));
+		}
+
+		return station;
+	}
+
+	/**
+	 * Creates a {@link Station} with a {@link Pump}, a {@link ShoppingArea}
+	 * and a {@link Till}.
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} of the {@link Station}.
+	 * @return {@link Station}
+	 */
+	private static Station createStation(SimulationContext context) {
+
+		Station station = new Station(Pump.class, context);
+
+		station.addLocation(new Pump(ShoppingArea.class, context));
+		station.addLocation(new ShoppingArea(Till.class, context));
+		station.addLocation(new Till(null, context));
+
+		return station;
+	}
+
 }
@@ -125,4 +125,31 @@ public class TestStatistic {
 
 	}
 
+	/**
+	 * Test that a {@link Statistic#clone()} does not share its values with the
+	 * original, including values of types first seen after cloning.
+	 */
+	@Test
+	public void testCloneIndependent() {
+
+		setUp();
+
+		statistic.update(SmallCar_RoadUser.class, 4);
+
+		Statistic<RoadUser> statisticClone = statistic.clone();
+
+		// Update both with different types and amounts.
+		statistic.update(SmallCar_RoadUser.class, 1);
+		statisticClone.update(Motorbike_RoadUser.class, 2);
+
+		assertTrue(statistic.get(SmallCar_RoadUser.class) == 5);
+		assertTrue(statistic.get(Motorbike_RoadUser.class) == 0);
+		assertTrue(statistic.sum() == 5);
+
+		assertTrue(statisticClone.get(SmallCar_RoadUser.class) == 4);
+		assertTrue(statisticClone.get(Motorbike_RoadUser.class) == 2);
+		assertTrue(statisticClone.sum() == 6);
+
+	}
+
 }
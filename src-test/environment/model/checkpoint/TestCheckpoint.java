@@ -0,0 +1,135 @@
+package environment.model.checkpoint;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import environment.Simulator;
+import environment.model.Measure;
+import environment.model.SimulationContext;
+import environment.model.Station;
+import environment.model.locations.Pump;
+import environment.model.locations.RoutingPolicy;
+import environment.model.locations.ShoppingArea;
+import environment.model.locations.Till;
+import environment.model.roadusers.FamilySedan_RoadUser;
+import environment.model.roadusers.SmallCar_RoadUser;
+import environment.model.roadusers.Truck_RoadUser;
+
+/**
+ * Tests for all the aspects of the {@link Checkpoint} and the
+ * {@link Checkpointer}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.model.checkpoint.Checkpoint
+ * @see environment.model.checkpoint.Checkpointer
+ *
+ */
+public class TestCheckpoint {
+
+	/**
+	 * The directory the checkpoints of each test are written to.
+	 */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Test that a simulation resumed from any of its checkpoints produces
+	 * exactly the same results as the simulation that was not interrupted.
+	 */
+	@Test
+	public void testResume() throws IOException, InterruptedException {
+
+		Path directory = folder.getRoot().toPath();
+
+		Simulator uninterrupted = new Simulator(0.05, 0.05, 3, 2, true, 5000, 37);
+
+		uninterrupted.setCheckpointer(new Checkpointer(directory, 1000));
+		uninterrupted.start();
+
+		Path latest = Checkpointer.latest(directory);
+
+		assertEquals("checkpoint-000000004000.bin", latest.getFileName().toString());
+
+		for (Path file : new Path[] { latest, directory.resolve("checkpoint-000000001000.bin") }) {
+
+			Simulator resumed = Simulator.resume(file);
+
+			resumed.start();
+
+			for (Measure measure : Measure.values()) {
+				assertEquals(measure + " from " + file.getFileName(), measure.of(uninterrupted.getStation()).sum(),
+						measure.of(resumed.getStation()).sum(), 0);
+			}
+
+			assertEquals(uninterrupted.getStation().getNumberOfRoadUsers().sum(),
+					resumed.getStation().getNumberOfRoadUsers().sum(), 0);
+		}
+
+	}
+
+	/**
+	 * Test that a {@link Station} read from a {@link Checkpoint} is written
+	 * in exactly the same way, including the road users waiting to move, and
+	 * that its random streams carry on where they were.
+	 */
+	@Test
+	public void testRoundTrip() throws IOException {
+
+		SimulationContext context = new SimulationContext(5);
+		Station station = new Station(Pump.class, context);
+
+		station.addLocation(new Pump(ShoppingArea.class, context));
+		station.addLocation(new Pump(ShoppingArea.class, context));
+		station.addLocation(new ShoppingArea(Till.class, context));
+		station.addLocation(new Till(null, context));
+		station.setRoutingPolicy(RoutingPolicy.POWER_OF_TWO_CHOICES);
+
+		for (int tick = 0; tick < 300; tick++) {
+
+			if (tick % 4 == 0) {
+				station.enter(new SmallCar_RoadUser(context));
+			} else if (tick % 7 == 0) {
+				station.enter(new Truck_RoadUser(context));
+			} else if (tick % 5 == 0) {
+				station.enter(new FamilySedan_RoadUser(context));
+			}
+
+			station.processLocations();
+		}
+
+		Properties parameters = new Properties();
+		parameters.setProperty("ticks", "300");
+
+		byte[] data = new Checkpoint(300, parameters, station).toBytes();
+		Checkpoint restored = Checkpoint.fromBytes(data);
+
+		assertEquals(300, restored.getTick());
+		assertEquals("300", restored.getParameters().getProperty("ticks"));
+		assertEquals(RoutingPolicy.POWER_OF_TWO_CHOICES, restored.getStation().getRoutingPolicy());
+		assertArrayEquals(data, restored.toBytes());
+
+		SimulationContext restoredContext = restored.getStation().getContext();
+
+		assertEquals(context.getTillRandom().nextLong(), restoredContext.getTillRandom().nextLong());
+		assertEquals(context.getRoadUserRandom().nextDouble(), restoredContext.getRoadUserRandom().nextDouble(), 0);
+
+		try {
+			Checkpoint.fromBytes(new byte[] { 1, 2, 3, 4 });
+			fail("Data that is not a checkpoint was read");
+		} catch (IOException e) {
+			// Expected
+		}
+
+	}
+
+}
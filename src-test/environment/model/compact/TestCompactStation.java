@@ -0,0 +1,243 @@
+package environment.model.compact;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import environment.Batch;
+import environment.Simulator;
+import environment.model.Measure;
+import environment.model.SimulationContext;
+import environment.model.Station;
+import environment.model.locations.Pump;
+import environment.model.locations.ShoppingArea;
+import environment.model.locations.Till;
+import environment.model.roadusers.FamilySedan_RoadUser;
+import environment.model.roadusers.Motorbike_RoadUser;
+import environment.model.roadusers.RoadUser;
+import environment.model.roadusers.SmallCar_RoadUser;
+import environment.model.roadusers.Truck_RoadUser;
+
+/**
+ * Tests for all the aspects of the {@link CompactStation} and the
+ * {@link RoadUserStore}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.model.compact.CompactStation
+ * @see environment.model.compact.RoadUserStore
+ *
+ */
+public class TestCompactStation {
+
+	/**
+	 * Test that a {@link CompactStation} produces the same {@link Measure}s as
+	 * a {@link Station} with the same layout and seed.
+	 */
+	@Test
+	public void testEquivalence() {
+
+		assertEquivalent(4, 2, 17);
+		assertEquivalent(2, 1, 23);
+
+	}
+
+	/**
+	 * Test that a {@link CompactStation} without {@link Till}s holds its road
+	 * users in the {@link ShoppingArea} like a {@link Station} does.
+	 */
+	@Test
+	public void testNoTills() {
+
+		assertEquivalent(3, 0, 5);
+
+	}
+
+	/**
+	 * Test that {@link CompactStation#simulate(double, double, boolean, int)}
+	 * produces the same {@link Measure}s as a {@link Simulator} with the same
+	 * parameters and seed, including a quiet station that skips most of its
+	 * ticks.
+	 */
+	@Test
+	public void testSimulate() {
+
+		assertSimulated(0.05, 0.05, 4, 2, true, 3000, 31);
+		assertSimulated(0.002, 0.001, 2, 1, false, 3000, 43);
+
+	}
+
+	/**
+	 * Test that a {@link RoadUserStore} copies the state of a {@link RoadUser}
+	 * and reuses the handles it frees.
+	 */
+	@Test
+	public void testStore() {
+
+		RoadUserStore store = new RoadUserStore();
+		RoadUser roadUser = new FamilySedan_RoadUser();
+
+		roadUser.spendTime(3);
+		roadUser.getVehicle().fill();
+
+		int handle = store.add(roadUser);
+
+		assertEquals(FamilySedan_RoadUser.class, store.getType(handle));
+		assertEquals(3, store.getTimeSpent(handle));
+		assertEquals(roadUser.getWorth(), store.getWorth(handle), 0);
+		assertEquals(roadUser.getVehicle().getMaxWorth(), store.getMaxWorth(handle), 0);
+		assertEquals(roadUser.getRemainingShoppingTime(), store.getRemainingShoppingTime(handle));
+
+		// Fill the tank in both and check they become full together.
+		while (!roadUser.getVehicle().isFull()) {
+			assertFalse(store.isFull(handle));
+			roadUser.getVehicle().fill();
+			store.fill(handle);
+		}
+
+		assertTrue(store.isFull(handle));
+
+		// A freed handle is reused.
+		int other = store.add(new Motorbike_RoadUser());
+		store.free(handle);
+
+		assertEquals(1, store.size());
+		assertEquals(handle, store.add(new SmallCar_RoadUser()));
+		assertNotEquals(handle, other);
+
+	}
+
+	/**
+	 * Runs a {@link Station} and a {@link CompactStation} side by side and
+	 * asserts their {@link Measure}s are the same.
+	 *
+	 * @param pumps
+	 *            <code>int</code> number of {@link Pump}s.
+	 * @param tills
+	 *            <code>int</code> number of {@link Till}s.
+	 * @param seed
+	 *            <code>long</code> seed of both simulations.
+	 */
+	private static void assertEquivalent(int pumps, int tills, long seed) {
+
+		SimulationContext stationContext = new SimulationContext(seed);
+		SimulationContext compactContext = new SimulationContext(seed);
+
+		// Build the station in the same way as the simulator.
+		Station station = new Station(Pump.class, stationContext);
+
+		for (int pump = 0; pump < pumps; pump++) {
+			station.addLocation(new Pump(ShoppingArea.class, stationContext));
+		}
+
+		station.addLocation(new ShoppingArea(Till.class, stationContext));
+
+		for (int till = 0; till < tills; till++) {
+			station.addLocation(new Till(null, stationContext));
+		}
+
+		CompactStation compact = new CompactStation(pumps, tills, compactContext);
+
+		for (int tick = 0; tick < 2000; tick++) {
+
+			addRoadUser(station, null, stationContext);
+			addRoadUser(null, compact, compactContext);
+
+			station.processLocations();
+			compact.processLocations();
+		}
+
+		for (Class<? extends RoadUser> type : Batch.ROAD_USERS) {
+
+			for (Measure measure : Measure.values()) {
+				assertEquals(measure + " of " + type.getSimpleName(), measure.of(station).get(type),
+						compact.get(measure).get(type), 1e-9);
+			}
+
+			assertEquals(station.getNumberOfRoadUsers().get(type), compact.getNumberOfRoadUsers().get(type), 0);
+		}
+
+	}
+
+	/**
+	 * Runs a {@link Simulator} and simulates a {@link CompactStation} with the
+	 * same parameters, and asserts their {@link Measure}s are the same.
+	 *
+	 * @param p
+	 *            <code>double</code> arrival probability of small cars and
+	 *            motorbikes.
+	 * @param q
+	 *            <code>double</code> arrival probability of family sedans.
+	 * @param pumps
+	 *            <code>int</code> number of {@link Pump}s.
+	 * @param tills
+	 *            <code>int</code> number of {@link Till}s.
+	 * @param hasTrucks
+	 *            <code>boolean</code> whether trucks arrive.
+	 * @param ticks
+	 *            <code>int</code> number of ticks.
+	 * @param seed
+	 *            <code>long</code> seed of both simulations.
+	 */
+	private static void assertSimulated(double p, double q, int pumps, int tills, boolean hasTrucks, int ticks,
+			long seed) {
+
+		Simulator simulator = new Simulator(p, q, pumps, tills, hasTrucks, ticks, seed);
+		simulator.start();
+
+		CompactStation compact = new CompactStation(pumps, tills, new SimulationContext(seed));
+		compact.simulate(p, q, hasTrucks, ticks);
+
+		Station station = simulator.getStation();
+
+		for (Class<? extends RoadUser> type : Batch.ROAD_USERS) {
+			for (Measure measure : Measure.values()) {
+				assertEquals(measure + " of " + type.getSimpleName(), measure.of(station).get(type),
+						compact.get(measure).get(type), 1e-9);
+			}
+		}
+
+	}
+
+	/**
+	 * Adds road users to the specified station in the same way as the
+	 * simulator, with trucks and <code>p = q = 0.05</code>.
+	 *
+	 * @param station
+	 *            The {@link Station}, or <code>null</code>.
+	 * @param compact
+	 *            The {@link CompactStation}, or <code>null</code>.
+	 * @param context
+	 *            The {@link SimulationContext} of the station.
+	 */
+	private static void addRoadUser(Station station, CompactStation compact, SimulationContext context) {
+
+		double p = 0.05;
+		double q = 0.05;
+		double value = context.getArrivalRandom().nextDouble();
+
+		RoadUser roadUser = null;
+
+		if (SmallCar_RoadUser.exists(p, q, value)) {
+			roadUser = new SmallCar_RoadUser(context);
+		} else if (Motorbike_RoadUser.exists(p, q, value)) {
+			roadUser = new Motorbike_RoadUser(context);
+		} else if (FamilySedan_RoadUser.exists(p, q, value)) {
+			roadUser = new FamilySedan_RoadUser(context);
+		} else if (Truck_RoadUser.exists(context, p, q, value)) {
+			roadUser = new Truck_RoadUser(context);
+		}
+
+		if (roadUser != null) {
+			if (station != null) {
+				station.enter(roadUser);
+			} else {
+				compact.enter(roadUser);
+			}
+		}
+
+	}
+
+}
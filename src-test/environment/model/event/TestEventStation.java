@@ -0,0 +1,166 @@
+package environment.model.event;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import environment.Batch;
+import environment.Simulator;
+import environment.model.Measure;
+import environment.model.SimulationContext;
+import environment.model.Station;
+import environment.model.event.Event.Kind;
+import environment.model.locations.Pump;
+import environment.model.locations.Till;
+import environment.model.roadusers.RoadUser;
+
+/**
+ * Tests for all the aspects of the {@link EventStation} and the
+ * {@link EventCalendar}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.model.event.EventStation
+ * @see environment.model.event.EventCalendar
+ *
+ */
+public class TestEventStation {
+
+	/**
+	 * The number of ticks each simulation is compared over.
+	 */
+	private static final int TICKS = 3000;
+
+	/**
+	 * Test that an {@link EventStation} produces the same {@link Measure}s as
+	 * a {@link Simulator} with the same layout and seed, with and without
+	 * trucks, including a quiet station that is often empty.
+	 */
+	@Test
+	public void testEquivalence() {
+
+		assertEquivalent(4, 2, 0.05, 0.05, true, 17);
+		assertEquivalent(2, 1, 0.05, 0.05, false, 23);
+		assertEquivalent(1, 3, 0.01, 0.02, true, 31);
+		assertEquivalent(2, 1, 0.001, 0.002, true, 43);
+
+	}
+
+	/**
+	 * Test that an {@link EventStation} without {@link Till}s holds its road
+	 * users like the {@link Station} of a {@link Simulator} does.
+	 */
+	@Test
+	public void testNoTills() {
+
+		assertEquivalent(3, 0, 0.05, 0.05, true, 5);
+
+	}
+
+	/**
+	 * Test that simulating in several steps gives the same result as
+	 * simulating in one, and that quiet ticks have no events.
+	 */
+	@Test
+	public void testSteps() {
+
+		EventStation whole = new EventStation(2, 1, new SimulationContext(41));
+		EventStation steps = new EventStation(2, 1, new SimulationContext(41));
+
+		whole.simulate(0.02, 0.02, true, 3000);
+
+		for (int step = 0; step < 30; step++) {
+			steps.simulate(0.02, 0.02, true, 100);
+		}
+
+		assertEquals(3000, steps.getTime());
+		assertEquals(whole.getEventsProcessed(), steps.getEventsProcessed());
+
+		for (Measure measure : Measure.values()) {
+			assertEquals(whole.get(measure).sum(), steps.get(measure).sum(), 0);
+		}
+
+		// Nothing arrives so nothing happens.
+		EventStation empty = new EventStation(2, 1, new SimulationContext(41));
+
+		empty.simulate(0, 0, false, 100000);
+
+		assertEquals(0, empty.getEventsProcessed());
+
+	}
+
+	/**
+	 * Test that an {@link EventCalendar} orders the {@link Event}s of a tick
+	 * by phase, location, kind and then the order they were scheduled in.
+	 */
+	@Test
+	public void testCalendar() {
+
+		EventCalendar calendar = new EventCalendar();
+
+		calendar.schedule(Kind.PAY, 3, 0, 1);
+		calendar.schedule(Kind.ENTER_SHOPPING_AREA, 3, 0, 2);
+		calendar.schedule(Kind.FINISH_SHOPPING, 3, 0, 3);
+		calendar.schedule(Kind.FILL, 3, 1, 4);
+		calendar.schedule(Kind.LEAVE_PUMP, 3, 0, 5);
+		calendar.schedule(Kind.DEPART, 2, 0, 6);
+		calendar.schedule(Kind.ENTER_SHOPPING_AREA, 3, 0, 7);
+
+		int[] expected = { 6, 5, 4, 3, 2, 7, 1 };
+
+		for (int handle : expected) {
+			assertEquals(handle, calendar.poll().handle);
+		}
+
+		assertTrue(calendar.isEmpty());
+		assertEquals(7, calendar.getScheduled());
+
+	}
+
+	/**
+	 * Runs a {@link Simulator} and an {@link EventStation} with the same
+	 * layout and seed and asserts their {@link Measure}s are the same.
+	 *
+	 * @param pumps
+	 *            <code>int</code> number of {@link Pump}s.
+	 * @param tills
+	 *            <code>int</code> number of {@link Till}s.
+	 * @param p
+	 *            <code>double</code>
+	 * @param q
+	 *            <code>double</code>
+	 * @param hasTrucks
+	 *            <code>boolean</code>
+	 * @param seed
+	 *            <code>long</code> seed of both simulations.
+	 */
+	private static void assertEquivalent(int pumps, int tills, double p, double q, boolean hasTrucks,
+			long seed) {
+
+		Simulator simulator = new Simulator(p, q, pumps, tills, hasTrucks, TICKS, seed);
+		simulator.start();
+
+		Station station = simulator.getStation();
+
+		EventStation events = new EventStation(pumps, tills, new SimulationContext(seed));
+
+		events.simulate(p, q, hasTrucks, TICKS);
+
+		for (Class<? extends RoadUser> type : Batch.ROAD_USERS) {
+
+			for (Measure measure : Measure.values()) {
+				assertEquals(measure + " of " + type.getSimpleName(), measure.of(station).get(type),
+						events.get(measure).get(type), 1e-9);
+			}
+
+			assertEquals(station.getNumberOfRoadUsers().get(type), events.getNumberOfRoadUsers().get(type), 0);
+		}
+
+		assertTrue(station.getRoadUsersProcessed().sum() + station.getRoadUsersRejected().sum() > 0);
+		assertEquals(station.getContext().getTruckProbability(), events.getContext().getTruckProbability(), 0);
+
+	}
+
+}
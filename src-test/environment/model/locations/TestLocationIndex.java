@@ -0,0 +1,201 @@
+package environment.model.locations;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import environment.model.SimulationContext;
+import environment.model.roadusers.FamilySedan_RoadUser;
+import environment.model.roadusers.Motorbike_RoadUser;
+import environment.model.roadusers.RoadUser;
+import environment.model.roadusers.SmallCar_RoadUser;
+
+/**
+ * Tests for all the aspects of the {@link LocationIndex} and the
+ * {@link RoutingPolicy}s.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.model.locations.LocationIndex
+ * @see environment.model.locations.RoutingPolicy
+ *
+ */
+public class TestLocationIndex {
+
+	/**
+	 * Test that {@link LocationIndex#leastLoaded(RoadUser)} chooses the same
+	 * {@link Pump} as checking every {@link Pump} with
+	 * {@link Location#compare(Location)} while the queues change.
+	 */
+	@Test
+	public void testLeastLoaded() {
+
+		SimulationContext context = new SimulationContext(3);
+		Random random = new Random(3);
+		LocationIndex index = new LocationIndex();
+		List<Pump> pumps = new ArrayList<Pump>();
+
+		for (int count = 0; count < 12; count++) {
+			Pump pump = new Pump(ShoppingArea.class, context);
+			pumps.add(pump);
+			index.add(pump);
+		}
+
+		Map<RoadUser, Location> toMove = new HashMap<RoadUser, Location>();
+
+		for (int step = 0; step < 2000; step++) {
+
+			RoadUser roadUser = random.nextBoolean() ? new SmallCar_RoadUser(context)
+					: random.nextBoolean() ? new Motorbike_RoadUser(context) : new FamilySedan_RoadUser(context);
+
+			// Find the destination the way the station used to.
+			Location expected = null;
+
+			for (Pump pump : pumps) {
+				if (pump.canContain(roadUser) && (expected == null || pump.compare(expected))) {
+					expected = pump;
+				}
+			}
+
+			Location actual = index.leastLoaded(roadUser);
+
+			assertSame(expected, actual);
+
+			if (actual != null) {
+				actual.enter(roadUser);
+			}
+
+			// Let one pump make progress so loads go down as well as up.
+			Pump pump = pumps.get(random.nextInt(pumps.size()));
+			pump.processQueue(toMove);
+
+			for (RoadUser moving : toMove.keySet()) {
+				moving.pay();
+			}
+
+			toMove.clear();
+		}
+
+	}
+
+	/**
+	 * Test that {@link LocationIndex#leastLoaded(RoadUser)} only looks past
+	 * the least loaded {@link Pump} for a {@link RoadUser} that is already in
+	 * it, and rejects one that no {@link Pump} has room for.
+	 */
+	@Test
+	public void testLeastLoadedRefused() {
+
+		SimulationContext context = new SimulationContext(3);
+		LocationIndex index = new LocationIndex();
+		Pump[] pumps = new Pump[3];
+
+		for (int count = 0; count < pumps.length; count++) {
+			pumps[count] = new Pump(ShoppingArea.class, context);
+			index.add(pumps[count]);
+		}
+
+		RoadUser roadUser = new Motorbike_RoadUser(context);
+		pumps[0].enter(roadUser);
+
+		pumps[1].enter(new SmallCar_RoadUser(context));
+		pumps[2].enter(new SmallCar_RoadUser(context));
+
+		// The motorbike is already in the least loaded pump.
+		assertSame(pumps[0], index.peek());
+		assertSame(pumps[1], index.leastLoaded(roadUser));
+
+		// Fill every pump.
+		for (Pump pump : pumps) {
+			while (pump.canContain(new Motorbike_RoadUser(context))) {
+				pump.enter(new Motorbike_RoadUser(context));
+			}
+		}
+
+		assertNull(index.leastLoaded(new Motorbike_RoadUser(context)));
+		assertNull(RoutingPolicy.POWER_OF_TWO_CHOICES.choose(index, new Motorbike_RoadUser(context),
+				context.getRoutingRandom()));
+
+	}
+
+	/**
+	 * Test that {@link RoutingPolicy#ROUND_ROBIN} chooses each {@link Till} in
+	 * turn.
+	 */
+	@Test
+	public void testRoundRobin() {
+
+		SimulationContext context = new SimulationContext(3);
+		LocationIndex index = new LocationIndex();
+		Till[] tills = new Till[3];
+
+		for (int count = 0; count < tills.length; count++) {
+			tills[count] = new Till(null, context);
+			index.add(tills[count]);
+		}
+
+		for (int count = 0; count < 7; count++) {
+
+			RoadUser roadUser = new SmallCar_RoadUser(context);
+			Location till = RoutingPolicy.ROUND_ROBIN.choose(index, roadUser, context.getRoutingRandom());
+
+			assertSame(tills[count % tills.length], till);
+			till.enter(roadUser);
+		}
+
+	}
+
+	/**
+	 * Test that {@link RoutingPolicy#POWER_OF_TWO_CHOICES} only chooses a
+	 * {@link Pump} that can contain the {@link RoadUser} and rejects the
+	 * {@link RoadUser} once every {@link Pump} is full.
+	 */
+	@Test
+	public void testTwoChoices() {
+
+		SimulationContext context = new SimulationContext(3);
+		LocationIndex index = new LocationIndex();
+
+		for (int count = 0; count < 4; count++) {
+			index.add(new Pump(ShoppingArea.class, context));
+		}
+
+		// Each pump holds three small cars.
+		for (int count = 0; count < 12; count++) {
+
+			RoadUser roadUser = new SmallCar_RoadUser(context);
+			Location pump = RoutingPolicy.POWER_OF_TWO_CHOICES.choose(index, roadUser, context.getRoutingRandom());
+
+			assertNotNull(pump);
+			assertTrue(pump.canContain(roadUser));
+			pump.enter(roadUser);
+		}
+
+		assertNull(RoutingPolicy.POWER_OF_TWO_CHOICES.choose(index, new SmallCar_RoadUser(context),
+				context.getRoutingRandom()));
+
+	}
+
+	/**
+	 * Test that a {@link Location} can only belong to one
+	 * {@link LocationIndex}.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddTwice() {
+
+		Pump pump = new Pump(ShoppingArea.class);
+
+		new LocationIndex().add(pump);
+		new LocationIndex().add(pump);
+
+	}
+
+}
@@ -0,0 +1,106 @@
+package environment.model.locations;
+
+import static org.junit.Assert.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import environment.model.locations.MoveBuffer.Status;
+import environment.model.roadusers.RoadUser;
+import environment.model.roadusers.SmallCar_RoadUser;
+
+/**
+ * Tests for all the aspects of the {@link MoveBuffer}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.model.locations.MoveBuffer
+ *
+ */
+public class TestMoveBuffer {
+
+	/**
+	 * Test that a {@link MoveBuffer} keeps its entries in the order they were
+	 * added while it grows, and that clearing it empties it so it can be
+	 * reused.
+	 */
+	@Test
+	public void testOrder() {
+
+		MoveBuffer buffer = new MoveBuffer();
+		Pump pump = new Pump(ShoppingArea.class);
+		RoadUser[] roadUsers = new RoadUser[50];
+
+		for (int tick = 0; tick < 3; tick++) {
+
+			for (int index = 0; index < roadUsers.length; index++) {
+				roadUsers[index] = new SmallCar_RoadUser();
+				buffer.add(roadUsers[index], pump);
+			}
+
+			assertEquals(roadUsers.length, buffer.size());
+
+			for (int entry = 0; entry < buffer.size(); entry++) {
+				assertSame(roadUsers[entry], buffer.getRoadUser(entry));
+				assertSame(pump, buffer.getSource(entry));
+				assertEquals(Status.PENDING, buffer.getStatus(entry));
+			}
+
+			buffer.clear();
+
+			assertTrue(buffer.isEmpty());
+		}
+
+	}
+
+	/**
+	 * Test that only the entries that are still {@link Status#PENDING} are
+	 * copied to a <code>Map</code>.
+	 */
+	@Test
+	public void testCopyPending() {
+
+		MoveBuffer buffer = new MoveBuffer();
+		Pump pump = new Pump(ShoppingArea.class);
+		Till till = new Till(null);
+
+		RoadUser moved = new SmallCar_RoadUser();
+		RoadUser pending = new SmallCar_RoadUser();
+		RoadUser returned = new SmallCar_RoadUser();
+
+		buffer.add(moved, pump);
+		buffer.add(pending, till);
+		buffer.add(returned, pump);
+
+		buffer.setStatus(0, Status.MOVED);
+		buffer.setStatus(2, Status.RETURNED);
+
+		Map<RoadUser, Location> toMove = new LinkedHashMap<RoadUser, Location>();
+
+		buffer.copyPendingTo(toMove);
+
+		assertEquals(1, toMove.size());
+		assertSame(till, toMove.get(pending));
+
+	}
+
+	/**
+	 * Test that an entry that is not in the {@link MoveBuffer} cannot be
+	 * retrieved.
+	 */
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testEntryOutOfBounds() {
+
+		MoveBuffer buffer = new MoveBuffer();
+
+		buffer.add(new SmallCar_RoadUser(), new Pump(ShoppingArea.class));
+		buffer.clear();
+		buffer.getRoadUser(0);
+
+	}
+
+}
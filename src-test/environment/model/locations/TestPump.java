@@ -108,6 +108,47 @@ public class TestPump extends TestLocation {
 
 	}
 
+	/**
+	 * Tests that the snapshot of a {@link Pump} whose {@link RoadUser}s are
+	 * only waiting is reused every tick, and that it is taken again once one
+	 * of them changes.
+	 */
+	@Test
+	public void testSnapshotWhileWaiting() {
+
+		Pump pump = new Pump(ShoppingArea.class);
+
+		pump.enter(new Motorbike_RoadUser());
+		pump.enter(new SmallCar_RoadUser());
+
+		Map<RoadUser, Location> toMove = new HashMap<RoadUser, Location>();
+
+		// Fill the road user at the front, which then waits to pay.
+		while (toMove.isEmpty()) {
+			pump.processQueue(toMove);
+		}
+
+		Location snapshot = pump.snapshot();
+		int timeSpent = pump.queue.get(1).getTimeSpent();
+
+		for (int tick = 0; tick < 10; tick++) {
+			pump.processQueue(toMove);
+			assertSame(snapshot, pump.snapshot());
+		}
+
+		// Assert that the road users still spent the time.
+		assertEquals(timeSpent + 10, pump.queue.get(1).getTimeSpent());
+
+		pump.queue.get(0).pay();
+
+		assertNotSame(snapshot, pump.snapshot());
+		assertTrue(pump.snapshot().getQueue().get(0).hasPaid());
+
+		// Assert that the road user that did not change is still shared.
+		assertSame(snapshot.getQueue().get(1), pump.snapshot().getQueue().get(1));
+
+	}
+
 	/**
 	 * Test that a valid {@link RoadUser} can be added to {@link Pump} and that
 	 * it is filled when it is at the front of the queue.
@@ -0,0 +1,158 @@
+package environment.model.locations;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import environment.model.roadusers.FamilySedan_RoadUser;
+import environment.model.roadusers.Motorbike_RoadUser;
+import environment.model.roadusers.RoadUser;
+import environment.model.roadusers.SmallCar_RoadUser;
+
+/**
+ * Tests for all the aspects of the {@link RoadUserQueue}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.model.locations.RoadUserQueue
+ *
+ */
+public class TestRoadUserQueue {
+
+	/**
+	 * Test that a {@link RoadUserQueue} holds the same {@link RoadUser}s in
+	 * the same order as a {@link Deque} while wrapping around and growing its
+	 * ring buffer, and that its occupancy and membership stay exact.
+	 */
+	@Test
+	public void testRingBuffer() {
+
+		Random random = new Random(5);
+		RoadUserQueue queue = new RoadUserQueue();
+		Deque<RoadUser> expected = new ArrayDeque<RoadUser>();
+
+		for (int step = 0; step < 5000; step++) {
+
+			int operation = random.nextInt(4);
+
+			if (operation == 0 || expected.isEmpty()) {
+				RoadUser roadUser = newRoadUser(random);
+				queue.add(roadUser);
+				expected.addLast(roadUser);
+			} else if (operation == 1) {
+				RoadUser roadUser = newRoadUser(random);
+				queue.addFirst(roadUser);
+				expected.addFirst(roadUser);
+			} else if (operation == 2) {
+				RoadUser roadUser = queue.poll();
+				assertSame(expected.pollFirst(), roadUser);
+				assertFalse(queue.contains(roadUser));
+			} else {
+				RoadUser roadUser = queue.get(random.nextInt(queue.size()));
+				assertTrue(queue.remove(roadUser));
+				expected.remove(roadUser);
+			}
+
+			assertEquals(expected.size(), queue.size());
+
+			// Check the order, membership and occupancy.
+			long occupancy = 0;
+			Iterator<RoadUser> actual = queue.iterator();
+
+			for (RoadUser roadUser : expected) {
+				assertSame(roadUser, actual.next());
+				assertTrue(queue.contains(roadUser));
+				occupancy += Math.round(roadUser.getVehicle().size * RoadUserQueue.UNITS_PER_SIZE);
+			}
+
+			assertEquals(occupancy, queue.getOccupancy());
+		}
+
+	}
+
+	/**
+	 * Test that a {@link RoadUser} can be in two {@link RoadUserQueue}s at
+	 * once and only once in each.
+	 */
+	@Test
+	public void testMembership() {
+
+		RoadUserQueue pump = new RoadUserQueue();
+		RoadUserQueue till = new RoadUserQueue();
+		RoadUser roadUser = new SmallCar_RoadUser();
+
+		pump.add(roadUser);
+		till.add(roadUser);
+
+		assertTrue(pump.contains(roadUser));
+		assertTrue(till.contains(roadUser));
+
+		till.poll();
+
+		assertTrue(pump.contains(roadUser));
+		assertFalse(till.contains(roadUser));
+
+		// A clone is not in the queue of the original.
+		assertFalse(pump.contains(roadUser.clone()));
+
+		try {
+			pump.add(roadUser);
+			fail("A road user cannot be in a queue twice");
+		} catch (IllegalArgumentException e) {
+		}
+
+		pump.clear();
+
+		assertFalse(pump.contains(roadUser));
+		assertEquals(0, pump.getOccupancy());
+
+	}
+
+	/**
+	 * Test that a {@link Pump} holds exactly four motorbikes, which the
+	 * <code>double</code> sum of their sizes only allowed with a margin of
+	 * error.
+	 */
+	@Test
+	public void testExactCapacity() {
+
+		Pump pump = new Pump(ShoppingArea.class);
+
+		for (int count = 0; count < 4; count++) {
+			RoadUser motorbike = new Motorbike_RoadUser();
+			assertTrue(pump.canContain(motorbike));
+			pump.enter(motorbike);
+		}
+
+		assertEquals(3.0, pump.getQueueLength(), 0);
+		assertFalse(pump.canContain(new Motorbike_RoadUser()));
+
+	}
+
+	/**
+	 * Constructs a random {@link RoadUser}.
+	 *
+	 * @param random
+	 *            {@link Random}
+	 * @return {@link RoadUser}
+	 */
+	private static RoadUser newRoadUser(Random random) {
+
+		switch (random.nextInt(3)) {
+		case 0:
+			return new SmallCar_RoadUser();
+		case 1:
+			return new Motorbike_RoadUser();
+		default:
+			return new FamilySedan_RoadUser();
+		}
+	}
+
+}
@@ -7,6 +7,7 @@ import java.util.Map;
 
 import org.junit.Test;
 
+import environment.model.SimulationContext;
 import environment.model.roadusers.RoadUser;
 import environment.model.roadusers.SmallCar_RoadUser;
 
@@ -180,4 +181,67 @@ public class TestShoppingArea extends TestLocation {
 
 	}
 
+	/**
+	 * Tests that a snapshot of a {@link ShoppingArea} holds its own record of
+	 * when each {@link RoadUser} finishes shopping, so that a clone of the
+	 * snapshot still releases the {@link RoadUser}s that were shopping after
+	 * they have left the live {@link ShoppingArea}.
+	 */
+	@Test
+	public void testSnapshotDepartures() {
+
+		SimulationContext context = new SimulationContext(5);
+		ShoppingArea shoppingArea = new ShoppingArea(Till.class, context);
+
+		for (int count = 0; count < 20; count++) {
+			shoppingArea.enter(new SmallCar_RoadUser(context));
+		}
+
+		Map<RoadUser, Location> toMove = new HashMap<RoadUser, Location>();
+
+		shoppingArea.processQueue(toMove);
+
+		// The road users that do not shop have left the queue.
+		int shopping = shoppingArea.getQueueSize();
+
+		// Assert that some of the road users are shopping.
+		assertTrue(shopping > 0);
+
+		Location snapshot = shoppingArea.snapshot();
+
+		// Let every road user leave the live shopping area.
+		while (shoppingArea.getQueueSize() > 0) {
+
+			toMove.clear();
+			shoppingArea.processQueue(toMove);
+
+			for (RoadUser roadUser : toMove.keySet()) {
+				shoppingArea.queue.remove(roadUser);
+			}
+		}
+
+		Location clone = snapshot.clone();
+
+		assertEquals(snapshot.getQueueSize(), clone.getQueueSize());
+
+		// Assert that the shoppers in the clone still finish shopping.
+		int released = 0;
+
+		for (int tick = 0; tick < 1000 && released < shopping; tick++) {
+
+			toMove.clear();
+			clone.processQueue(toMove);
+
+			for (RoadUser roadUser : toMove.keySet()) {
+				if (roadUser.doneShopping()) {
+					clone.queue.remove(roadUser);
+					released++;
+				}
+			}
+		}
+
+		assertEquals(shopping, released);
+
+	}
+
 }
@@ -7,6 +7,7 @@ import java.util.Map;
 
 import org.junit.Test;
 
+import environment.model.SimulationContext;
 import environment.model.locations.TestLocation;
 import environment.model.locations.ShoppingArea;
 import environment.model.locations.Till;
@@ -116,4 +117,39 @@ public class TestTill extends TestLocation {
 
 	}
 
+	/**
+	 * Tests that a clone of a {@link Till} keeps its identifier without
+	 * taking one from any {@link SimulationContext}, and that processing the
+	 * clone does not advance the random values of the simulation the original
+	 * belongs to.
+	 */
+	@Test
+	public void testClone() {
+
+		SimulationContext context = new SimulationContext(9);
+		SimulationContext same = new SimulationContext(9);
+
+		Till till = new Till(null, context);
+		new Till(null, same);
+
+		int nextID = SimulationContext.DEFAULT.nextLocationID();
+
+		Till clone = till.clone();
+
+		assertEquals(till.getID(), clone.getID());
+		assertEquals(nextID + 1, SimulationContext.DEFAULT.nextLocationID());
+
+		clone.enter(new SmallCar_RoadUser(context));
+
+		Map<RoadUser, Location> toMove = new HashMap<RoadUser, Location>();
+
+		// The clone draws the time the next road user spends once one leaves.
+		while (toMove.isEmpty()) {
+			clone.processQueue(toMove);
+		}
+
+		assertEquals(same.getTillRandom().nextLong(), context.getTillRandom().nextLong());
+
+	}
+
 }
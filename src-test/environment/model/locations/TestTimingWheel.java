@@ -0,0 +1,160 @@
+package environment.model.locations;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import environment.model.SimulationContext;
+import environment.model.roadusers.RoadUser;
+import environment.model.roadusers.SmallCar_RoadUser;
+
+/**
+ * Tests for all the aspects of the {@link TimingWheel} and its use by the
+ * {@link ShoppingArea}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.model.locations.TimingWheel
+ *
+ */
+public class TestTimingWheel {
+
+	/**
+	 * Test that every item scheduled in a {@link TimingWheel} is retrieved on
+	 * exactly the tick it is due, including items that are due far enough
+	 * ahead to move down several levels of the wheel.
+	 */
+	@Test
+	public void testAdvance() {
+
+		Random random = new Random(7);
+		TimingWheel<Long> wheel = new TimingWheel<Long>();
+		Map<Long, Integer> expected = new HashMap<Long, Integer>();
+		int scheduled = 0;
+
+		for (int tick = 0; tick < 20000; tick++) {
+
+			// Schedule items due soon and, less often, items due far ahead.
+			for (int count = random.nextInt(3); count > 0; count--) {
+
+				long delay = random.nextInt(10) == 0 ? 1 + random.nextInt(300000) : 1 + random.nextInt(100);
+				long due = wheel.getTime() + delay;
+
+				wheel.schedule(due, due);
+				expected.merge(due, 1, Integer::sum);
+				scheduled++;
+			}
+
+			List<Long> items = wheel.advance();
+
+			for (Long item : items) {
+				assertEquals(wheel.getTime(), item.longValue());
+			}
+
+			assertEquals(expected.getOrDefault(wheel.getTime(), 0).intValue(), items.size());
+			scheduled -= items.size();
+			assertEquals(scheduled, wheel.size());
+		}
+
+	}
+
+	/**
+	 * Test that a {@link TimingWheel} only accepts ticks after the current
+	 * tick.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testSchedulePast() {
+
+		TimingWheel<String> wheel = new TimingWheel<String>(10);
+
+		wheel.schedule("now", 10);
+
+	}
+
+	/**
+	 * Test that a {@link RoadUser} that shops in a {@link ShoppingArea} leaves
+	 * on the same tick and having spent the same time as when it was
+	 * processed on every tick.
+	 */
+	@Test
+	public void testShoppingAreaDeparture() {
+
+		SimulationContext context = new SimulationContext(11);
+		ShoppingArea shoppingArea = new ShoppingArea(Till.class, context);
+		Map<RoadUser, Location> toMove = new HashMap<RoadUser, Location>();
+
+		// Enter road users until one decides to shop.
+		RoadUser shopper = null;
+
+		while (shopper == null) {
+
+			RoadUser roadUser = new SmallCar_RoadUser(context);
+
+			shoppingArea.enter(roadUser);
+			shoppingArea.processQueue(toMove);
+
+			if (toMove.isEmpty()) {
+				shopper = roadUser;
+			} else {
+				assertFalse(shoppingArea.getQueue().contains(roadUser));
+				toMove.clear();
+			}
+		}
+
+		// The remaining time is the number of ticks the shopper would have
+		// shopped for when processed on every tick.
+		int remaining = shopper.getRemainingShoppingTime();
+		int ticks = 0;
+
+		assertTrue(shopper.isShopping());
+
+		while (toMove.isEmpty()) {
+			shoppingArea.processQueue(toMove);
+			ticks++;
+		}
+
+		assertEquals(remaining + 1, ticks);
+		assertTrue(shopper.doneShopping());
+		assertEquals(remaining + 1, shopper.getTimeSpent());
+		assertSame(shoppingArea, toMove.get(shopper));
+		assertTrue(shoppingArea.getQueue().isEmpty());
+
+	}
+
+	/**
+	 * Test that skipping ticks discards the items that become due and that an
+	 * empty {@link TimingWheel} can jump ahead and still retrieve new items on
+	 * the tick they are due.
+	 */
+	@Test
+	public void testSkip() {
+
+		TimingWheel<String> wheel = new TimingWheel<String>();
+
+		wheel.schedule("soon", 5);
+		wheel.skip(10);
+
+		assertEquals(10, wheel.getTime());
+		assertEquals(0, wheel.size());
+
+		// Jump across several boundaries of the higher levels at once.
+		wheel.skip(1234567);
+		wheel.schedule("later", wheel.getTime() + 4100);
+
+		for (int tick = 1; tick < 4100; tick++) {
+			assertTrue(wheel.advance().isEmpty());
+		}
+
+		assertEquals("later", wheel.advance().get(0));
+		assertEquals(0, wheel.size());
+
+	}
+
+}
@@ -0,0 +1,112 @@
+package environment.model.log;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import environment.Batch;
+import environment.Simulator;
+import environment.model.Measure;
+import environment.model.Station;
+import environment.model.roadusers.RoadUser;
+
+/**
+ * Tests for all the aspects of the {@link TickLog} and the
+ * {@link TickLogReader}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.model.log.TickLog
+ * @see environment.model.log.TickLogReader
+ *
+ */
+public class TestTickLog {
+
+	/**
+	 * The directory the logs of each test are written to.
+	 */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Test that a simulation logs one record for every tick, including the
+	 * ticks that are skipped while the station is empty, and that the last
+	 * record holds the final state of the station.
+	 */
+	@Test
+	public void testRecord() throws IOException {
+
+		Path file = folder.getRoot().toPath().resolve("ticks.bin");
+
+		Simulator simulator = new Simulator(0.01, 0.01, 2, 2, true, 2000, 11);
+
+		try (TickLog tickLog = new TickLog(file, Batch.ROAD_USERS)) {
+			simulator.setTickLog(tickLog);
+			simulator.start();
+			assertEquals(2000, tickLog.getCount());
+		}
+
+		Station station = simulator.getStation();
+
+		try (TickLogReader reader = new TickLogReader(file)) {
+
+			assertEquals(2000, reader.getCount());
+			assertEquals(1 + Measure.values().length * (Batch.ROAD_USERS.size() + 1) + station.getNumberOfLoactions(),
+					reader.getColumnCount());
+			assertEquals("tick", reader.getColumnName(0));
+			assertEquals(-1, reader.getColumn("missing"));
+
+			for (long record = 0; record < reader.getCount(); record++) {
+				assertEquals(record, reader.getTick(record));
+			}
+
+			long last = reader.getCount() - 1;
+
+			for (Measure measure : Measure.values()) {
+
+				for (Class<? extends RoadUser> type : Batch.ROAD_USERS) {
+					assertEquals(measure.of(station).get(type),
+							reader.getDouble(last, reader.getColumn(measure.name() + "." + type.getSimpleName())), 0);
+				}
+
+				assertEquals(measure.of(station).sum(), reader.getDouble(last, reader.getColumn(measure.name() + ".total")),
+						0);
+			}
+
+			for (int index = 0; index < station.getNumberOfLoactions(); index++) {
+
+				String name = "queue." + index + "." + station.getLocations().get(index).getClass().getSimpleName();
+
+				assertEquals(station.getLocations().get(index).getQueueSize(), reader.getLong(last, reader.getColumn(name)));
+			}
+		}
+
+		// The file is cut to the end of the last record once it is closed,
+		// rather than the end of the mapped region.
+		assertTrue(Files.size(file) < TickLog.REGION_SIZE);
+
+	}
+
+	/**
+	 * Test that a file that is not a tick log cannot be read.
+	 */
+	@Test(expected = IOException.class)
+	public void testNotTickLog() throws IOException {
+
+		Path file = folder.newFile("other.bin").toPath();
+
+		Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+
+		new TickLogReader(file).close();
+
+	}
+
+}
@@ -0,0 +1,69 @@
+package environment.model.log;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * Tests for all the aspects of the {@link TimeSeries}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.model.log.TimeSeries
+ *
+ */
+public class TestTimeSeries {
+
+	/**
+	 * Test that the rows appended to a {@link TimeSeries} can be read back,
+	 * including the rows after the end of the first mapped region.
+	 */
+	@Test
+	public void testAppend() throws IOException {
+
+		int columns = 1 << 12;
+		int regionRows = TickLog.REGION_SIZE / (columns * Double.BYTES);
+
+		try (TimeSeries series = new TimeSeries(columns)) {
+
+			double[] row = new double[columns];
+
+			for (int index = 0; index < regionRows + 3; index++) {
+
+				row[0] = index;
+				row[columns - 1] = -index;
+
+				series.append(row);
+			}
+
+			assertEquals(regionRows + 3, series.size());
+			assertEquals(columns, series.getColumns());
+
+			for (long index : new long[] { 0, regionRows - 1, regionRows, regionRows + 2 }) {
+				assertEquals(index, series.get(index, 0), 0);
+				assertEquals(-index, series.get(index, columns - 1), 0);
+				assertEquals(0, series.get(index, 1), 0);
+			}
+
+			try {
+				series.get(regionRows + 3, 0);
+				fail("A row that was not appended was read");
+			} catch (IndexOutOfBoundsException e) {
+				// Expected
+			}
+
+			try {
+				series.append(new double[1]);
+				fail("A row with the wrong number of columns was appended");
+			} catch (IllegalArgumentException e) {
+				// Expected
+			}
+		}
+
+	}
+
+}
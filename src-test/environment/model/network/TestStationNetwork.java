@@ -0,0 +1,118 @@
+package environment.model.network;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import environment.model.Measure;
+import environment.model.SimulationContext;
+import environment.model.Station;
+import environment.model.roadusers.SmallCar_RoadUser;
+
+/**
+ * Tests for all the aspects of the {@link StationNetwork}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.model.network.StationNetwork
+ *
+ */
+public class TestStationNetwork {
+
+	/**
+	 * Test that the results of a {@link StationNetwork} do not depend on the
+	 * number of threads it is simulated on, or on the number of steps.
+	 */
+	@Test
+	public void testThreads() throws InterruptedException {
+
+		StationNetwork single = new StationNetwork(24, 1, 1, 0.1, 0.1, true, 19);
+		StationNetwork sharded = new StationNetwork(24, 1, 1, 0.1, 0.1, true, 19);
+
+		single.simulate(1500, 1);
+
+		sharded.simulate(500, 4);
+		sharded.simulate(1000, 7);
+
+		assertEquals(1500, sharded.getTime());
+		assertEquals(single.getInTransit(), sharded.getInTransit());
+
+		for (int index = 0; index < single.size(); index++) {
+
+			for (Measure measure : Measure.values()) {
+				assertEquals(measure + " of station " + index, measure.of(single.getStation(index)).sum(),
+						measure.of(sharded.getStation(index)).sum(), 0);
+			}
+
+			assertEquals(single.getForwarded(index).sum(), sharded.getForwarded(index).sum(), 0);
+		}
+
+	}
+
+	/**
+	 * Test that the road users turned away by a {@link Station} drive on to
+	 * the next, and are only rejected by the last {@link Station} or when
+	 * the road to the next is full.
+	 */
+	@Test
+	public void testForwarding() throws InterruptedException {
+
+		StationNetwork network = new StationNetwork(5, 1, 1, 0.2, 0.2, false, 3);
+
+		network.simulate(2000, 2);
+
+		assertTrue(network.getForwarded(0).sum() > 0);
+		assertEquals(0, network.getForwarded(4).sum(), 0);
+
+		for (int index = 0; index < 4; index++) {
+			assertEquals(0, Measure.REJECTED.of(network.getStation(index)).sum(), 0);
+		}
+
+		assertTrue(Measure.REJECTED.of(network.getStation(4)).sum() > 0);
+
+		// At most one road user arrives at the first station on a tick, but
+		// the second can turn away two when it is full.
+		StationNetwork narrow = new StationNetwork(3, 1, 1, 0.2, 0.2, false, 3, 1);
+
+		narrow.simulate(2000, 2);
+
+		assertEquals(0, Measure.REJECTED.of(narrow.getStation(0)).sum(), 0);
+		assertTrue(Measure.REJECTED.of(narrow.getStation(1)).sum() > 0);
+
+	}
+
+	/**
+	 * Test that a road user can only be transferred to another simulation
+	 * while it is not in a queue.
+	 */
+	@Test
+	public void testTransfer() {
+
+		SimulationContext first = new SimulationContext(1);
+		SimulationContext second = new SimulationContext(2);
+
+		SmallCar_RoadUser roadUser = new SmallCar_RoadUser(first);
+
+		roadUser.transfer(second);
+
+		assertSame(second, roadUser.getContext());
+
+		StationNetwork network = new StationNetwork(1, 1, 0, 0, 0, false, 1);
+		Station station = network.getStation(0);
+
+		SmallCar_RoadUser queued = new SmallCar_RoadUser(station.getContext());
+
+		assertTrue(station.offer(queued));
+
+		try {
+			queued.transfer(first);
+			fail("A road user in a queue was transferred");
+		} catch (IllegalStateException e) {
+			// Expected
+		}
+
+	}
+
+}
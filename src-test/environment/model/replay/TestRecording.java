@@ -0,0 +1,221 @@
+package environment.model.replay;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import environment.Batch;
+import environment.Simulator;
+import environment.GUI.views.SimulatorView;
+import environment.model.Measure;
+import environment.model.Station;
+import environment.model.log.TickLog;
+import environment.model.log.TickLogReader;
+
+/**
+ * Tests for all the aspects of the {@link Recorder}, {@link Recording} and
+ * {@link Player}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.model.replay.Recording
+ *
+ */
+public class TestRecording {
+
+	/**
+	 * The number of ticks that are simulated.
+	 */
+	private static final int TICKS = 3000;
+
+	/**
+	 * The directory the recording of each test is written to.
+	 */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * The recording of the simulation.
+	 */
+	private Path recording;
+
+	/**
+	 * The tick log of the same simulation, which holds the statistics that
+	 * each tick of the recording must have.
+	 */
+	private Path log;
+
+	/**
+	 * The {@link Station} at the end of the simulation.
+	 */
+	private Station station;
+
+	/**
+	 * Records and logs a simulation.
+	 */
+	@Before
+	public void setUp() throws IOException {
+
+		recording = folder.getRoot().toPath().resolve("run.rec");
+		log = folder.getRoot().toPath().resolve("run.log");
+
+		Simulator simulator = new Simulator(0.02, 0.02, 2, 2, true, TICKS, 3);
+
+		try (TickLog tickLog = new TickLog(log, Batch.ROAD_USERS); Recorder recorder = new Recorder(recording)) {
+			simulator.setTickLog(tickLog);
+			simulator.setRecorder(recorder);
+			simulator.start();
+
+			// The idle ticks are recorded as one frame.
+			assertTrue(recorder.getFrames() < TICKS);
+		}
+
+		station = simulator.getStation();
+	}
+
+	/**
+	 * Test that every tick can be read in any order and holds the same
+	 * statistics as the tick log.
+	 */
+	@Test
+	public void testGet() throws IOException {
+
+		try (Recording replay = new Recording(recording); TickLogReader reader = new TickLogReader(log)) {
+
+			assertEquals(0, replay.getFirstTick());
+			assertEquals(TICKS, replay.getEndTick());
+
+			assertMatches(replay, reader, TICKS - 1);
+			assertMatches(replay, reader, 0);
+
+			for (long tick = TICKS - 1; tick >= 0; tick -= 7) {
+				assertMatches(replay, reader, tick);
+			}
+
+			for (Measure measure : Measure.values()) {
+				assertEquals(measure.of(station).sum(), measure.of(replay.get(TICKS - 1)).sum(), 0);
+			}
+
+			try {
+				replay.get(TICKS);
+				fail("A tick that was not recorded was read");
+			} catch (IllegalArgumentException e) {
+				// Expected
+			}
+		}
+
+	}
+
+	/**
+	 * Test that a recording whose {@link Recorder} was not closed, and whose
+	 * last frame is incomplete, can still be read.
+	 */
+	@Test
+	public void testUnclosed() throws IOException {
+
+		byte[] data = Files.readAllBytes(recording);
+
+		// Cut the index and part of the last frame off.
+		Path unclosed = folder.getRoot().toPath().resolve("unclosed.rec");
+		Files.write(unclosed, Arrays.copyOf(data, data.length / 2));
+
+		try (Recording replay = new Recording(unclosed); TickLogReader reader = new TickLogReader(log)) {
+
+			assertTrue(replay.getEndTick() > 0);
+			assertTrue(replay.getEndTick() < TICKS);
+
+			for (long tick = 0; tick < replay.getEndTick(); tick += 13) {
+				assertMatches(replay, reader, tick);
+			}
+		}
+
+	}
+
+	/**
+	 * Test that the {@link Player} shows the ticks it is asked to, forwards
+	 * and backwards, as read-only snapshots, and that it ends the replay.
+	 */
+	@Test
+	public void testPlayer() throws IOException {
+
+		List<Integer> shown = new ArrayList<Integer>();
+
+		SimulatorView<Station> view = new SimulatorView<Station>() {
+
+			@Override
+			public void show(int time, Station station) {
+				assertTrue(station.isReadOnly());
+				shown.add(time);
+			}
+
+			@Override
+			public void setEnd() {
+				shown.add(-1);
+			}
+		};
+
+		try (Recording replay = new Recording(recording)) {
+
+			Player player = new Player(replay, view);
+
+			player.seek(100);
+			player.play(110, 4);
+			player.play(100, -5);
+
+			assertEquals(Arrays.asList(100, 104, 108, 110, 105, 100), shown);
+			assertEquals(100, player.getTick());
+
+			shown.clear();
+			player.end();
+
+			assertEquals(Arrays.asList(-1, TICKS), shown);
+
+			shown.clear();
+			player.playAll(1000);
+
+			assertEquals(Arrays.asList(0, 1000, 2000, TICKS - 1, -1, TICKS), shown);
+		}
+
+	}
+
+	/**
+	 * Asserts that a tick of a {@link Recording} holds the same statistics
+	 * and queues as the tick log.
+	 *
+	 * @param replay
+	 *            {@link Recording}
+	 * @param reader
+	 *            {@link TickLogReader} of the same simulation.
+	 * @param tick
+	 *            <code>long</code>
+	 */
+	private static void assertMatches(Recording replay, TickLogReader reader, long tick) throws IOException {
+
+		Station recorded = replay.get(tick);
+
+		assertEquals(tick, reader.getTick(tick));
+
+		for (Measure measure : Measure.values()) {
+			assertEquals(measure + " at " + tick, reader.getDouble(tick, reader.getColumn(measure.name() + ".total")),
+					measure.of(recorded).sum(), 0);
+		}
+
+		for (int index = 0; index < recorded.getNumberOfLoactions(); index++) {
+			assertEquals(reader.getDouble(tick, reader.getColumnCount() - recorded.getNumberOfLoactions() + index),
+					recorded.getLocations().get(index).getQueueSize(), 0);
+		}
+	}
+
+}
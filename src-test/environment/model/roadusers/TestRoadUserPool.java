@@ -0,0 +1,168 @@
+package environment.model.roadusers;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import environment.Batch;
+import environment.model.Measure;
+import environment.model.SimulationContext;
+import environment.model.Station;
+import environment.model.locations.Pump;
+import environment.model.locations.ShoppingArea;
+import environment.model.locations.Till;
+
+/**
+ * Tests for all the aspects of the {@link RoadUserPool}.
+ *
+ * @author agent
+ *
+ * @version 18/10/2026
+ *
+ * @see environment.model.roadusers.RoadUserPool
+ *
+ */
+public class TestRoadUserPool {
+
+	/**
+	 * Test that a released {@link RoadUser} is reused and reinitialised with
+	 * the same values as a new {@link RoadUser} drawn from the same stream.
+	 */
+	@Test
+	public void testReinitialise() {
+
+		SimulationContext pooledContext = new SimulationContext(11);
+		SimulationContext newContext = new SimulationContext(11);
+		RoadUserPool pool = new RoadUserPool(pooledContext);
+
+		Truck_RoadUser truck = pool.acquire(Truck_RoadUser.class);
+		new Truck_RoadUser(newContext);
+
+		// Use the truck before it is released.
+		truck.spendTime(5);
+		truck.getVehicle().fill();
+		truck.shop();
+		truck.pay();
+
+		pool.release(truck);
+
+		assertEquals(1, pool.size());
+		assertSame(truck, pool.acquire(Truck_RoadUser.class));
+		assertEquals(0, pool.size());
+		assertEquals(1, pool.getCreated());
+		assertEquals(1, pool.getReused());
+
+		Truck_RoadUser expected = new Truck_RoadUser(newContext);
+
+		assertEquals(expected.getVehicle(), truck.getVehicle());
+		assertEquals(0, truck.getVehicle().getFuelLevel());
+		assertEquals(expected.getShoppingTime(), truck.getShoppingTime());
+		assertEquals(expected.getWorth(), truck.getWorth(), 0);
+		assertEquals(0, truck.getTimeSpentShopping());
+		assertFalse(truck.hasPaid());
+		assertFalse(truck.isShopping());
+
+		// A released road user is only reused for its own type.
+		pool.release(truck);
+
+		assertNotSame(truck, pool.acquire(SmallCar_RoadUser.class));
+
+	}
+
+	/**
+	 * Test that snapshots and road users of another simulation cannot be
+	 * released.
+	 */
+	@Test
+	public void testRelease() {
+
+		RoadUserPool pool = new RoadUserPool(new SimulationContext(3));
+
+		try {
+			pool.release(new FamilySedan_RoadUser());
+			fail("A road user of another simulation was released");
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+
+		try {
+			pool.release(pool.acquire(FamilySedan_RoadUser.class).snapshot());
+			fail("A snapshot was released");
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+
+	}
+
+	/**
+	 * Test that a {@link Station} that recycles its road users produces the
+	 * same {@link Measure}s as one that does not, and that it reuses them.
+	 */
+	@Test
+	public void testStation() {
+
+		SimulationContext pooledContext = new SimulationContext(29);
+		SimulationContext newContext = new SimulationContext(29);
+		RoadUserPool pool = new RoadUserPool(pooledContext);
+
+		Station pooled = createStation(pooledContext);
+		Station unpooled = createStation(newContext);
+
+		pooled.setPool(pool);
+
+		for (int tick = 0; tick < 2000; tick++) {
+
+			double value = pooledContext.getArrivalRandom().nextDouble();
+			newContext.getArrivalRandom().nextDouble();
+
+			Class<? extends RoadUser> type = null;
+
+			if (SmallCar_RoadUser.exists(0.05, 0.05, value)) {
+				type = SmallCar_RoadUser.class;
+			} else if (Motorbike_RoadUser.exists(0.05, 0.05, value)) {
+				type = Motorbike_RoadUser.class;
+			} else if (FamilySedan_RoadUser.exists(0.05, 0.05, value)) {
+				type = FamilySedan_RoadUser.class;
+			}
+
+			if (type != null) {
+				pooled.enter(pool.acquire(type));
+				unpooled.enter(new RoadUserPool(newContext).acquire(type));
+			}
+
+			pooled.processLocations();
+			unpooled.processLocations();
+		}
+
+		for (Class<? extends RoadUser> type : Batch.ROAD_USERS) {
+			for (Measure measure : Measure.values()) {
+				assertEquals(measure + " of " + type.getSimpleName(), measure.of(unpooled).get(type),
+						measure.of(pooled).get(type), 1e-9);
+			}
+		}
+
+		assertTrue(pool.getReused() > pool.getCreated());
+
+	}
+
+	/**
+	 * Creates a {@link Station} in the same way as the simulator with two
+	 * {@link Pump}s and one {@link Till}.
+	 *
+	 * @param context
+	 *            The {@link SimulationContext} of the {@link Station}.
+	 * @return {@link Station}
+	 */
+	private static Station createStation(SimulationContext context) {
+
+		Station station = new Station(Pump.class, context);
+
+		station.addLocation(new Pump(ShoppingArea.class, context));
+		station.addLocation(new Pump(ShoppingArea.class, context));
+		station.addLocation(new ShoppingArea(Till.class, context));
+		station.addLocation(new Till(null, context));
+
+		return station;
+	}
+
+}
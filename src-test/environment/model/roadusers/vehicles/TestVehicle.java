@@ -177,7 +177,7 @@ public abstract class TestVehicle {
 					
 					//All sizes should appear at least once.
 					assertTrue("size: " + expectedSize + " was not found",
-							vehicles.stream().anyMatch(v -> v.tankSize == expectedSize));
+							vehicles.stream().anyMatch(v -> v.getTankSize() == expectedSize));
 				}
 				
 				/*
@@ -185,8 +185,8 @@ public abstract class TestVehicle {
 				 * less than the minimum size + the range of sizes.
 				 */
 				assertTrue(vehicles.stream()
-						.allMatch(v -> minTankSize <= v.tankSize
-						&& v.tankSize < minTankSize + rangeTankSize));
+						.allMatch(v -> minTankSize <= v.getTankSize()
+						&& v.getTankSize() < minTankSize + rangeTankSize));
 			}
 			else if(fields.stream().anyMatch(f -> f.getName().equals(tank))){
 				
@@ -198,7 +198,7 @@ public abstract class TestVehicle {
 				//All vehicles should have the same size.
 				assertTrue("All " + vehicleType.getSimpleName() + " were expected to"
 						+ "match the tank size of " + size,
-						vehicles.stream().allMatch(v -> v.tankSize == size));
+						vehicles.stream().allMatch(v -> v.getTankSize() == size));
 			}
 			else{
 				
@@ -243,7 +243,7 @@ public abstract class TestVehicle {
 		vehicles.forEach(v -> {
 			
 			//Fill the vehicles until only one more filling is needed.
-			for(int i = 0; i < v.tankSize - 1; ++i){
+			for(int i = 0; i < v.getTankSize() - 1; ++i){
 				
 				v.fill(); //Fill the vehicle.
 				assertFalse(v.isFull()); //The vehicle should not be full.
@@ -402,32 +402,32 @@ public abstract class TestVehicle {
 			
 			//same size, tankSize and fuelType results in equality.
 			assertEquals(v1, cloneConstructor.newInstance(v1.size,
-					v1.tankSize,
+					v1.getTankSize(),
 					v1.getFuelLevel(),
-					v1.fuelType));
+					v1.getFuelType()));
 			
 			//Non-equal size results in no equality.
 			assertNotEquals(v1, cloneConstructor.newInstance(0,
-					v1.tankSize,
+					v1.getTankSize(),
 					v1.getFuelLevel(),
-					v1.fuelType));
+					v1.getFuelType()));
 			//Non-equal tankSize results in no equality.
 			assertNotEquals(v1, cloneConstructor.newInstance(v1.size,
 					0,
 					v1.getFuelLevel(),
-					v1.fuelType));
+					v1.getFuelType()));
 			
 			//fuelLevel does not affect equality.
 			assertEquals(v1, cloneConstructor.newInstance(v1.size,
-					v1.tankSize,
+					v1.getTankSize(),
 					v1.getFuelLevel() + 1,
-					v1.fuelType));
+					v1.getFuelType()));
 			
 			//Non-matching fuelType results in no equality. 
 			assertEquals(v1, cloneConstructor.newInstance(v1.size,
-					v1.tankSize,
+					v1.getTankSize(),
 					v1.getFuelLevel(),
-					v1.fuelType));
+					v1.getFuelType()));
 			
 		}
 		catch (NoSuchMethodException | SecurityException
@@ -463,6 +463,6 @@ public abstract class TestVehicle {
 		
 		//All vehicles should contain a string which represent the size and tank size.
 		assertTrue(vehicles.stream().allMatch(v -> v.toString().contains("Size: " + v.size)));
-		assertTrue(vehicles.stream().allMatch(v -> v.toString().contains("Tank (Gallons): " + v.tankSize)));
+		assertTrue(vehicles.stream().allMatch(v -> v.toString().contains("Tank (Gallons): " + v.getTankSize())));
 	}
 }
\ No newline at end of file
@@ -0,0 +1,400 @@
+package environment;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Function;
+
+import environment.model.Measure;
+import environment.model.SimulationContext;
+import environment.model.Station;
+import environment.model.checkpoint.Checkpointer;
+import environment.model.compact.CompactStation;
+import environment.model.log.TickLog;
+import environment.model.replay.Recorder;
+import environment.model.locations.RoutingPolicy;
+import environment.model.roadusers.FamilySedan_RoadUser;
+import environment.model.roadusers.Motorbike_RoadUser;
+import environment.model.roadusers.RoadUser;
+import environment.model.roadusers.SmallCar_RoadUser;
+import environment.model.roadusers.Truck_RoadUser;
+
+/**
+ *
+ * Runs a single {@link Simulator} without any graphical user interface. The
+ * parameters of the simulation are read from the command line arguments and
+ * optionally a scenario file, then the final {@link Statistic}s of the
+ * {@link Station} are written as a tab separated table to the console
+ * (<code>System.out</code>) or to a file.
+ *
+ * <p>
+ * The arguments are <code>key=value</code> pairs. The scenario file is a
+ * {@link Properties} file using the same keys, any argument overrides the
+ * value in the scenario file. The keys are:
+ * <ul>
+ * <li><code>p</code>, <code>q</code> - The arrival parameters.</li>
+ * <li><code>pumps</code>, <code>tills</code> - The layout of the
+ * station.</li>
+ * <li><code>trucks</code> - <code>true</code> if trucks may arrive.</li>
+ * <li><code>ticks</code> - The number of ticks to simulate.</li>
+ * <li><code>seed</code> - The seed of the arrivals (optional). If none is
+ * given the seed that is used is written to <code>System.err</code>.</li>
+ * <li><code>routing</code> - The {@link RoutingPolicy} (optional).</li>
+ * <li><code>parallel</code> - <code>true</code> if the pumps are processed
+ * at the same time (optional).</li>
+ * <li><code>checkpoint</code> - The directory the state of the simulation
+ * is saved to every <code>interval</code> ticks (optional).</li>
+ * <li><code>interval</code> - The number of ticks between checkpoints
+ * (default 10000).</li>
+ * <li><code>resume</code> - A checkpoint file to carry on the simulation
+ * from, instead of starting a new one (optional).</li>
+ * <li><code>log</code> - The file the state of the station is logged to at
+ * the end of every tick (optional).</li>
+ * <li><code>record</code> - The file the station is recorded to so that the
+ * simulation can be replayed by {@link Replay} (optional).</li>
+ * <li><code>engine</code> - <code>station</code> (default) to run a
+ * {@link Simulator}, or <code>compact</code> to run a {@link CompactStation}
+ * for very large numbers of road users. The compact engine only routes to
+ * the shortest queue, so it cannot be used with <code>routing</code>,
+ * <code>parallel</code>, <code>checkpoint</code>, <code>interval</code>,
+ * <code>resume</code>, <code>log</code> or <code>record</code>
+ * (optional).</li>
+ * <li><code>scenario</code> - The scenario file (optional).</li>
+ * <li><code>output</code> - The file the results are written to
+ * (optional).</li>
+ * </ul>
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.Simulator
+ */
+public final class Batch {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The {@link RoadUser} types that are listed in the results table.
+	 */
+	public static final List<Class<? extends RoadUser>> ROAD_USERS = Collections.unmodifiableList(Arrays
+			.asList(SmallCar_RoadUser.class, Motorbike_RoadUser.class, FamilySedan_RoadUser.class, Truck_RoadUser.class));
+
+	/**
+	 * The parameters that only apply to a {@link Simulator}, which the
+	 * compact engine rejects.
+	 */
+	private static final List<String> STATION_ONLY = Collections.unmodifiableList(
+			Arrays.asList("parallel", "checkpoint", "interval", "resume", "log", "record"));
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * {@link Batch} only has <code>static</code> members.
+	 */
+	private Batch() {
+
+	}
+
+	// Static Methods ---------------------------------------------------------
+
+	/**
+	 * Runs a headless simulation.
+	 *
+	 * @param args
+	 *            <code>key=value</code> simulation parameters.
+	 */
+	public static void main(String[] args) {
+
+		try {
+
+			Properties parameters = parse(args);
+			String engine = parameters.getProperty("engine", "station");
+
+			if (engine.equals("compact")) {
+				CompactStation station = newCompactStation(parameters);
+				station.simulate(Double.parseDouble(require(parameters, "p")),
+						Double.parseDouble(require(parameters, "q")),
+						Boolean.parseBoolean(require(parameters, "trucks")),
+						Integer.parseInt(require(parameters, "ticks")));
+				output(parameters, station::get);
+				return;
+			}
+
+			if (!engine.equals("station")) {
+				throw new IllegalArgumentException("Unknown engine: " + engine);
+			}
+
+			// A resumed simulation takes its parameters from the checkpoint.
+			String resume = parameters.getProperty("resume");
+			Simulator simulator = resume == null ? newSimulator(parameters) : Simulator.resume(Paths.get(resume));
+
+			String checkpoints = parameters.getProperty("checkpoint");
+
+			if (checkpoints != null) {
+				simulator.setCheckpointer(new Checkpointer(Paths.get(checkpoints),
+						Integer.parseInt(parameters.getProperty("interval", "10000"))));
+			}
+
+			String log = parameters.getProperty("log");
+			String record = parameters.getProperty("record");
+
+			// Either may be null, in which case it is not closed.
+			try (TickLog tickLog = log == null ? null : new TickLog(Paths.get(log), ROAD_USERS);
+					Recorder recorder = record == null ? null : new Recorder(Paths.get(record))) {
+				simulator.setTickLog(tickLog);
+				simulator.setRecorder(recorder);
+				simulator.start();
+			}
+
+			Station station = simulator.getStation();
+			output(parameters, measure -> measure.of(station));
+
+		} catch (IOException | RuntimeException e) {
+			System.err.println(e.getMessage());
+			System.err.println("Usage: Batch p=<p> q=<q> pumps=<n> tills=<n> trucks=<true|false> ticks=<n> "
+					+ "[seed=<n>] [engine=<station|compact>] [routing=<policy>] [parallel=<true|false>] [checkpoint=<dir>] [interval=<n>] [resume=<file>] "
+					+ "[log=<file>] [record=<file>] [scenario=<file>] [output=<file>]");
+			System.exit(1);
+		}
+
+	}
+
+	/**
+	 * Parses the <code>key=value</code> arguments and, if one is specified,
+	 * the scenario file into one set of simulation parameters.
+	 *
+	 * @param args
+	 *            <code>key=value</code> simulation parameters.
+	 * @return {@link Properties} simulation parameters.
+	 * @throws IOException
+	 *             If the scenario file cannot be read.
+	 */
+	public static Properties parse(String[] args) throws IOException {
+
+		Properties arguments = new Properties();
+
+		// Split each argument into its key and value.
+		for (String argument : args) {
+
+			int split = argument.indexOf('=');
+
+			if (split < 1) {
+				throw new IllegalArgumentException("Invalid argument: " + argument);
+			}
+
+			arguments.setProperty(argument.substring(0, split).trim(), argument.substring(split + 1).trim());
+		}
+
+		// The arguments override the values in the scenario file.
+		Properties parameters = new Properties();
+		String scenario = arguments.getProperty("scenario");
+
+		if (scenario != null) {
+			try (InputStream in = new FileInputStream(scenario)) {
+				parameters.load(in);
+			} catch (FileNotFoundException e) {
+				throw new IllegalArgumentException("Scenario file not found: " + scenario);
+			}
+		}
+
+		parameters.putAll(arguments);
+
+		return parameters;
+	}
+
+	/**
+	 * Constructs a headless {@link Simulator} from the specified simulation
+	 * parameters.
+	 *
+	 * @param parameters
+	 *            {@link Properties} simulation parameters.
+	 * @return {@link Simulator}
+	 */
+	public static Simulator newSimulator(Properties parameters) {
+
+		Simulator simulator = new Simulator(Double.parseDouble(require(parameters, "p")),
+				Double.parseDouble(require(parameters, "q")), Integer.parseInt(require(parameters, "pumps")),
+				Integer.parseInt(require(parameters, "tills")), Boolean.parseBoolean(require(parameters, "trucks")),
+				Integer.parseInt(require(parameters, "ticks")),
+				seed(parameters));
+
+		simulator.getStation().setRoutingPolicy(
+				RoutingPolicy.valueOf(parameters.getProperty("routing", RoutingPolicy.SHORTEST_QUEUE.name())));
+		simulator.getStation().setParallel(Boolean.parseBoolean(parameters.getProperty("parallel", "false")));
+
+		return simulator;
+	}
+
+	/**
+	 * Constructs an empty {@link CompactStation} from the specified simulation
+	 * parameters, which are then simulated by
+	 * {@link CompactStation#simulate(double, double, boolean, int)}.
+	 *
+	 * @param parameters
+	 *            {@link Properties} simulation parameters.
+	 * @return {@link CompactStation}
+	 * @throws IllegalArgumentException
+	 *             If a parameter that only applies to a {@link Simulator} is
+	 *             given.
+	 */
+	public static CompactStation newCompactStation(Properties parameters) {
+
+		String routing = parameters.getProperty("routing", RoutingPolicy.SHORTEST_QUEUE.name());
+
+		if (RoutingPolicy.valueOf(routing) != RoutingPolicy.SHORTEST_QUEUE) {
+			throw new IllegalArgumentException("The compact engine cannot use the parameter: routing");
+		}
+
+		for (String key : STATION_ONLY) {
+			if (parameters.getProperty(key) != null) {
+				throw new IllegalArgumentException("The compact engine cannot use the parameter: " + key);
+			}
+		}
+
+		return new CompactStation(Integer.parseInt(require(parameters, "pumps")),
+				Integer.parseInt(require(parameters, "tills")), new SimulationContext(seed(parameters)));
+	}
+
+	/**
+	 * Writes the final {@link Statistic}s of the specified {@link Station} as a
+	 * tab separated table, with one row per {@link RoadUser} type and one
+	 * column per {@link Measure}.
+	 *
+	 * @param station
+	 *            The {@link Station} to report.
+	 * @param out
+	 *            The {@link PrintStream} the table is written to.
+	 */
+	public static void report(Station station, PrintStream out) {
+		report(measure -> measure.of(station), out);
+	}
+
+	/**
+	 * Writes the final {@link Statistic}s of the specified
+	 * {@link CompactStation} in the same table as
+	 * {@link #report(Station, PrintStream)}.
+	 *
+	 * @param station
+	 *            The {@link CompactStation} to report.
+	 * @param out
+	 *            The {@link PrintStream} the table is written to.
+	 */
+	public static void report(CompactStation station, PrintStream out) {
+		report(station::get, out);
+	}
+
+	/**
+	 * Writes the results table to the output file if one was given, otherwise
+	 * to the console.
+	 *
+	 * @param parameters
+	 *            {@link Properties} simulation parameters.
+	 * @param statistics
+	 *            Retrieves the {@link Statistic} of each {@link Measure}.
+	 * @throws IOException
+	 *             If the output file cannot be written.
+	 */
+	private static void output(Properties parameters, Function<Measure, Statistic<RoadUser>> statistics)
+			throws IOException {
+
+		String output = parameters.getProperty("output");
+
+		if (output == null) {
+			report(statistics, System.out);
+		} else {
+			try (PrintStream out = new PrintStream(output)) {
+				report(statistics, out);
+			}
+		}
+
+	}
+
+	/**
+	 * Writes the table of {@link #report(Station, PrintStream)} from the
+	 * {@link Statistic} of each {@link Measure}.
+	 *
+	 * @param statistics
+	 *            Retrieves the {@link Statistic} of each {@link Measure}.
+	 * @param out
+	 *            The {@link PrintStream} the table is written to.
+	 */
+	private static void report(Function<Measure, Statistic<RoadUser>> statistics, PrintStream out) {
+
+		// Write the header row.
+		StringBuilder header = new StringBuilder("Vehicle Type");
+
+		for (Measure measure : Measure.values()) {
+			header.append('\t').append(measure);
+		}
+
+		out.println(header);
+
+		// Write a row for each road user type.
+		for (Class<? extends RoadUser> type : ROAD_USERS) {
+
+			StringBuilder row = new StringBuilder(type.getSimpleName().replaceFirst("_RoadUser", ""));
+
+			for (Measure measure : Measure.values()) {
+				row.append('\t').append(statistics.apply(measure).get(type));
+			}
+
+			out.println(row);
+		}
+
+	}
+
+	/**
+	 * Retrieves the seed of a simulation. If no seed was given one is taken
+	 * from the clock, stored in the parameters and written to
+	 * <code>System.err</code> so that the simulation can be repeated. This is
+	 * shared with {@link Sweep} and {@link Replication}.
+	 *
+	 * @param parameters
+	 *            {@link Properties} simulation parameters.
+	 * @return The <code>long</code> seed.
+	 */
+	static long seed(Properties parameters) {
+
+		String seed = parameters.getProperty("seed");
+
+		if (seed == null) {
+			seed = Long.toString(System.nanoTime());
+			parameters.setProperty("seed", seed);
+			System.err.println("seed=" + seed);
+		}
+
+		return Long.parseLong(seed);
+	}
+
+	/**
+	 * Retrieves a required simulation parameter. This is shared with
+	 * {@link Sweep}.
+	 *
+	 * @param parameters
+	 *            {@link Properties} simulation parameters.
+	 * @param key
+	 *            The key of the parameter.
+	 * @return The <code>String</code> value of the parameter.
+	 * @throws IllegalArgumentException
+	 *             If the parameter is missing.
+	 */
+	static String require(Properties parameters, String key) {
+
+		String value = parameters.getProperty(key);
+
+		if (value == null) {
+			throw new IllegalArgumentException("Missing parameter: " + key);
+		}
+
+		return value;
+	}
+
+}
@@ -302,8 +302,12 @@ public class UserInterface {
 		// simulation
 		if (ticks < 100000) {
 			if (ticks > 0) {
-				// if ths if statement is met set isReady to true
-				isReady = true;
+				// if ths if statement is met set isReady to true and wake the
+				// simulator that is waiting for the values.
+				synchronized (this) {
+					isReady = true;
+					notifyAll();
+				}
 			}
 			// if conditions are not met
 			else {
@@ -343,6 +347,20 @@ public class UserInterface {
 
 	}
 
+	/**
+	 * Blocks the calling {@link Thread} until the user has submitted valid
+	 * values to the {@link UserInterface}, without consuming any processor
+	 * time while waiting.
+	 * 
+	 * @throws InterruptedException
+	 *             If the calling {@link Thread} is interrupted while waiting.
+	 */
+	public synchronized void awaitReady() throws InterruptedException {
+		while (!isReady) {
+			wait();
+		}
+	}
+
 	/**
 	 * Retrieves the value of <strong>p</strong> from the {@link UserInterface}.
 	 * 
@@ -13,14 +13,17 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 import java.util.Map.Entry;
-import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -50,8 +53,15 @@ import environment.model.roadusers.vehicles.Vehicle;
  * </p>
  * 
  * <p>
+ * The {@link #animator} draws {@link #FRAME_RATE} frames per second, each of
+ * the most recent tick it has been shown. Any ticks shown between two frames
+ * are skipped, so the animation never falls behind the simulation.
+ * </p>
+ * 
+ * <p>
  * The {@link Animated} also allows the simulation to be paused and the speed of
- * which the {@link #animator} displays the simulation can also be specified.
+ * which the simulation is displayed can also be specified, or the simulation
+ * can be left to run at its maximum speed.
  * </p>
  * 
  * <p>
@@ -78,6 +88,10 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 	 * @see System#nanoTime()
 	 */
 	private static final long TEN_SECOND = 10_000_000_000L;
+	/**
+	 * The number of frames the {@link #animator} draws per second.
+	 */
+	private static final int FRAME_RATE = 30;
 	/**
 	 * The {@link RoadUser} classes which will be listed in the results table.
 	 * 
@@ -98,23 +112,43 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 	 */
 	private Station end;
 	/**
-	 * As of right now, accessing the entries in the queue will cause an error.
-	 * 
-	 * <p>
-	 * The information must be accessed before and copied.
-	 * </p>
+	 * The {@link TimeStamp} of the most recent tick, which the next frame
+	 * draws.
 	 * 
-	 * @see LinkedTransferQueue
 	 * @see TimeStamp
 	 */
-	private final LinkedTransferQueue<TimeStamp> buffer;
+	private volatile TimeStamp latest;
 	/**
-	 * The {@link Thread} object which is timing the updates of the view to run
-	 * at a specific interval of time.
+	 * The {@link TimeStamp} that the previous frame drew.
+	 */
+	private TimeStamp drawn;
+	/**
+	 * The {@link ScheduledExecutorService} which draws a frame at a fixed
+	 * rate.
 	 * 
-	 * @see Thread
+	 * @see #FRAME_RATE
+	 */
+	private final ScheduledExecutorService animator;
+	/**
+	 * The {@link ScheduledFuture} of the frames being drawn, or
+	 * <code>null</code> while the animation is paused.
+	 */
+	private ScheduledFuture<?> frames;
+	/**
+	 * Guards the pacing of {@link #show(int, Station)} and is notified when
+	 * the animation is paused, resumed or its speed changes.
+	 */
+	private final Object pace;
+	/**
+	 * Whether the animation is paused, during which
+	 * {@link #show(int, Station)} waits.
+	 */
+	private boolean paused;
+	/**
+	 * The {@link System#nanoTime()} at which the next tick is due to be
+	 * shown.
 	 */
-	private final Thread animator;
+	private long due;
 	/**
 	 * {@link AnimationPanel} representing the main panel of the frame.
 	 * 
@@ -141,6 +175,13 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 	 * @see JSlider
 	 */
 	private volatile JSlider speedSlider;
+	/**
+	 * {@link JCheckBox} which lets the simulation run as fast as it can, the
+	 * {@link #speedSlider} is ignored while it is selected.
+	 * 
+	 * @see JCheckBox
+	 */
+	private final JCheckBox maxSpeed;
 
 	/**
 	 * Constructs a {@link JFrame} that holds a newly constructed
@@ -177,6 +218,8 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 		JPanel controlPanel = new JPanel();
 		// Creates a new Jslider in Speedslider and sets the min and max values
 		speedSlider = new JSlider(0, 1000);
+		// Creates the check box that ignores the speed slider.
+		maxSpeed = new JCheckBox("Max speed");
 		// creates a new label and assigns its starting text
 		JLabel SpeedLabel = new JLabel("Speed of simulation (Updates per 10 seconds)");
 
@@ -201,6 +244,7 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 		buttonPanel.add(killSwitch);
 		sliderPanel.add(SpeedLabel);
 		sliderPanel.add(speedSlider);
+		sliderPanel.add(maxSpeed);
 		controlPanel.add(sliderPanel, BorderLayout.WEST);
 		controlPanel.add(buttonPanel, BorderLayout.EAST);
 
@@ -210,6 +254,14 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 		// Construct the JFrame and then make it visible to the user.
 		super.pack();
 		super.setVisible(true);
+
+		// Nothing has been shown or drawn yet.
+		latest = null;
+		drawn = null;
+		pace = new Object();
+		paused = false;
+		due = System.nanoTime();
+
 		// Create two action listeners and then set them to the two buttons.
 		controlButton.addActionListener(e -> control());
 		killSwitch.addActionListener(e -> {
@@ -219,127 +271,157 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 			System.exit(0);
 		});
 
-		// Initialise the buffer of the LinkedTransferQueue of the TimeStamps.
-		buffer = new LinkedTransferQueue<TimeStamp>();
+		// Wake a tick waiting to be shown when the speed changes, so that it
+		// is paced by the new speed.
+		speedSlider.addChangeListener(e -> changePace());
+		maxSpeed.addActionListener(e -> {
+			speedSlider.setEnabled(!maxSpeed.isSelected());
+			changePace();
+		});
 
 		/*
-		 * Initialise the animator Thread with a Runnable object which holds the
-		 * routine that the Thread will follow to update the mainPanel.
+		 * Initialise the animator with a single Thread of the lowest priority
+		 * possible, which does not keep the application running, then start
+		 * drawing frames.
 		 */
-		animator = new Thread(() -> {
+		animator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Animator");
+			thread.setDaemon(true);
+			thread.setPriority(Thread.MIN_PRIORITY);
+			return thread;
+		});
+		frames = scheduleFrames();
+	}
+
+	/**
+	 * Schedules the {@link #animator} to draw {@link #FRAME_RATE} frames per
+	 * second, starting now.
+	 * 
+	 * @return The {@link ScheduledFuture} of the frames.
+	 */
+	private ScheduledFuture<?> scheduleFrames() {
+		return animator.scheduleAtFixedRate(this::drawFrame, 0, TimeUnit.SECONDS.toNanos(1) / FRAME_RATE,
+				TimeUnit.NANOSECONDS);
+	}
 
-			long previousTime = System.nanoTime(); // Starting time.
-			long updateRate; // The number of updates per ten seconds.
+	/**
+	 * Draws the most recent tick, unless it has already been drawn.
+	 * 
+	 * <p>
+	 * Called by the {@link #animator} {@link #FRAME_RATE} times per second. The
+	 * ticks that were shown since the previous frame are skipped.
+	 * </p>
+	 */
+	private void drawFrame() {
 
-			// Loop endlessly.
-			while (true) {
+		TimeStamp t = latest;
 
-				// Check if the thread's interrupted flag is active.
-				if (!Thread.currentThread().isInterrupted()) {
+		// Only draw when there is a tick that has not been drawn.
+		if (t != null && t != drawn) {
+			mainPanel.draw(t.time, t.station);
+			drawn = t;
+		}
+	}
+
+	/**
+	 * Wakes {@link #show(int, Station)} if it is waiting for the next tick to
+	 * be due, so that it is paced from now at the current speed.
+	 */
+	private void changePace() {
+
+		synchronized (pace) {
+			due = System.nanoTime();
+			pace.notifyAll();
+		}
+	}
 
-					try {
+	/**
+	 * Waits until the next tick is due at the speed of the
+	 * {@link #speedSlider} and while the animation is paused. Returns at once
+	 * if {@link #maxSpeed} is selected.
+	 * 
+	 * @throws InterruptedException
+	 *             If the {@link Thread} is interrupted while waiting.
+	 */
+	private void awaitDue() throws InterruptedException {
 
-						// Get the value of the speedSlider and calculate the
-						// update rate.
-						updateRate = TEN_SECOND / speedSlider.getValue();
-					} catch (ArithmeticException e) {
+		synchronized (pace) {
 
-						/*
-						 * If calculating the updateRate results in division by
-						 * 0, then set the updateRate to TEN_SECOND.
-						 */
-						updateRate = TEN_SECOND;
-					}
+			while (true) {
 
-					/*
-					 * Calculate the difference (delta) in time between the
-					 * current time and the previousTime, while the delta is
-					 * greater than or equal to the updateRate then enter the
-					 * loop; upon loop completion, subtract the updtateRate from
-					 * delta and then repeat if the condition is still true.
-					 * 
-					 * This loop allows the thread to update the AnimationPanel
-					 * a set number of times per second, where if the thread
-					 * completed the task quickly, the thread must wait until
-					 * enough time has elapsed to update again; and if the
-					 * thread is not keeping up with the number of updates per
-					 * second, then the thread will catch up update the amount
-					 * of times possible, since the number of times the thread
-					 * will repeat the loop increases.
-					 */
-					for (long delta = System.nanoTime() - previousTime; updateRate < delta; delta -= updateRate) {
+				if (paused) {
+					pace.wait();
+					continue;
+				}
 
-						// Check if there are any TimeStamps to draw.
-						if (!buffer.isEmpty()) {
+				if (maxSpeed.isSelected()) {
+					return;
+				}
 
-							// Get the timestamp and draw it.
-							TimeStamp t = buffer.poll();
-							mainPanel.draw(t.time, t.station);
-						} else
-							// No point in looping whilst the buffer is empty.
-							break;
+				long now = System.nanoTime();
 
-						previousTime = System.nanoTime(); // Update the previous
-															// time.
-					}
-				} else {
+				// The time between ticks at the speed of the slider, a speed
+				// of 0 is treated as one tick per ten seconds.
+				long updateRate = TEN_SECOND / Math.max(1, speedSlider.getValue());
 
-					/*
-					 * Suspend the thread, then when the thread is resumed,
-					 * remove the interrupt flag and set the previousTime to the
-					 * current nanoTime.
-					 */
-					Thread.currentThread().suspend();
-					Thread.currentThread().interrupted();
-					previousTime = System.nanoTime();
+				// A tick that is late does not make the following ticks
+				// catch up.
+				if (due < now - updateRate) {
+					due = now;
 				}
-			}
-		});
 
-		// Set the animator Thread priotiry to the lowest possible, then start
-		// the animator.
-		animator.setPriority(Thread.MIN_PRIORITY);
-		animator.start();
+				long wait = due - now;
+
+				if (wait <= 0) {
+					due += updateRate;
+					return;
+				}
+
+				TimeUnit.NANOSECONDS.timedWait(pace, wait);
+			}
+		}
 	}
 
 	/**
-	 * Control the execution of the {@link #animator} by interrupted and
-	 * suspending the {@link Thread} or resuming the {@link Thread}.
+	 * Pause or continue the animation.
 	 * 
 	 * <p>
-	 * Activated when the {@link #controlButton} is clicked checks if the
-	 * {@link animator} is interrupted and if so, then call the
-	 * {@link Thread#resume()} method to allow the {@link #animator} to
-	 * continiue execution, otherwise interrupt the {@link #animator}.
+	 * Activated when the {@link #controlButton} is clicked. While paused no
+	 * frames are drawn, so the {@link #animator} uses no CPU, and
+	 * {@link #show(int, Station)} waits so the simulation waits for the
+	 * animation.
 	 * </p>
 	 * 
 	 * <p>
 	 * Set the title of the {@link #controlButton} to "Pause" or "Continue"
-	 * depending on if the {@link #animator} is running or interrupted
-	 * respectively.
+	 * depending on if the animation is running or paused respectively.
 	 * </p>
 	 * 
 	 * @see #animator
 	 * @see #controlButton
-	 * @see Thread
 	 * @see JButton
 	 */
 	private void control() {
 
-		// check if the animator thread is currently interrupted
-		if (!animator.isInterrupted()) {
-			/*
-			 * if the animator thread is not interrupted change the text on the
-			 * control button and interrupt the thread.
-			 */
-			controlButton.setText("Continue");
-			animator.interrupt(); // Set the interrupt flat of the animator.
-		} else {
-
-			// else set the control button text to pause and resume the
-			// interrupted thread.
-			controlButton.setText("Pause");
-			animator.resume();
+		synchronized (pace) {
+
+			if (!paused) {
+
+				// Stop drawing frames and hold the next tick.
+				controlButton.setText("Continue");
+				paused = true;
+				frames.cancel(false);
+				frames = null;
+
+			} else {
+
+				// Draw frames again and let the next tick be shown from now.
+				controlButton.setText("Pause");
+				paused = false;
+				due = System.nanoTime();
+				frames = scheduleFrames();
+				pace.notifyAll();
+			}
 		}
 	}
 
@@ -365,6 +447,13 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 	/**
 	 * Set a {@link Station} to be visually displayed.
 	 * 
+	 * <p>
+	 * Waits until the tick is due at the speed of the {@link #speedSlider},
+	 * or while the animation is paused, which holds the simulation back as
+	 * its {@link ViewDispatcher} waits for this view. At maximum speed this
+	 * returns at once and the next frame draws whichever tick is the latest.
+	 * </p>
+	 * 
 	 * @param time
 	 *            The time elapsed in the simulation.
 	 * @param station
@@ -373,8 +462,15 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 	@Override
 	public final void show(int time, Station station) {
 
-		buffer.add(new TimeStamp(time, station));
 		end = station;
+
+		try {
+			awaitDue();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		latest = new TimeStamp(time, station);
 	}
 
 	/**
@@ -405,7 +501,7 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 		killSwitch.addActionListener(e -> {
 
 			// Stop the animator and dispose of the Animation frame.
-			animator.stop();
+			animator.shutdownNow();
 			dispose();
 
 			// Create the results frame and set the layout to BorderLayout.
@@ -605,6 +701,13 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 		 * @see Graphics
 		 */
 		private Graphics g;
+		/**
+		 * The {@link HeatMap} which draws the groups of {@link Location}
+		 * objects that are too many to draw one by one.
+		 * 
+		 * @see HeatMap
+		 */
+		private final HeatMap heatMap;
 
 		/**
 		 * Create a new {@link AnimationPanel}.
@@ -627,6 +730,7 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 			super.setPreferredSize(new Dimension(width, height));
 			super.setMaximumSize(new Dimension(width, height));
 			size = new Dimension(width, height); // Initialise the dimensions.
+			heatMap = new HeatMap(); // Initialise the heat map.
 		}
 
 		/**
@@ -756,6 +860,13 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 		 * </p>
 		 * 
 		 * <p>
+		 * A group whose {@link Location} objects do not fit the height of the
+		 * {@link AnimationPanel} is drawn as a {@link HeatMap} of how full they
+		 * are instead, so the time taken to draw does not grow with the number
+		 * of {@link Location} objects.
+		 * </p>
+		 * 
+		 * <p>
 		 * The specific visual representation for the {@link Location} object is
 		 * stored in the {@link Visualisation} enum, which can be accessed by
 		 * calling the {@link Visualisation#getVisual(Class)} method.
@@ -783,6 +894,14 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 			// Loop through the groups of locations.
 			for (List<Location> group : locationGroups) {
 
+				// Draw a group that does not fit as a heat map, then move to
+				// the next x-position.
+				if (BLOCK_SIZE * group.size() > size.height) {
+					drawHeatMap(group, positionX);
+					positionX += spacingX + BLOCK_SIZE;
+					continue;
+				}
+
 				// Calculate the vertical spacing between locations.
 				final int spacingY = (size.height - BLOCK_SIZE * group.size()) / (group.size() + 1);
 				int positionY = spacingY; // y start position.
@@ -812,6 +931,31 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 			repaint();
 		}
 
+		/**
+		 * Draw a group of {@link Location} objects as a {@link HeatMap} of how
+		 * full they are, under the name and number of the {@link Location}
+		 * objects.
+		 * 
+		 * @param group
+		 *            The group of {@link Location} objects.
+		 * @param x
+		 *            The x position of the group.
+		 * @see HeatMap
+		 */
+		private void drawHeatMap(final List<Location> group, final int x) {
+
+			final int top = 20; // The y position of the name.
+			final int margin = 5; // Spacing around the heat map.
+
+			// Set the color to black and then draw the name of the group.
+			g.setColor(Color.BLACK);
+			g.drawString(group.get(0).getClass().getSimpleName() + " x " + group.size(), x, top);
+
+			// Lay out the group under the name and draw it.
+			heatMap.layout(group, BLOCK_SIZE, size.height - top - 2 * margin);
+			heatMap.draw(g, x, top + margin);
+		}
+
 		/**
 		 * Group a {@link List} of {@link Location} objects into a {@link List}
 		 * objects of {@link Location} objects which exist in parallel.
@@ -1080,8 +1224,9 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 		 * 
 		 * <p>
 		 * The {@link #DEFAULT} {@link Visualisation} will draw a square and
-		 * then place all the {@link RoadUsers} at a random position inside the
-		 * square to simulate movement.
+		 * then scatter all the {@link RoadUsers} inside the square. The
+		 * position of each {@link RoadUser} is decided by the {@link Location}
+		 * and its place in the queue, so it moves as the queue moves.
 		 * </p>
 		 * 
 		 * @see Visual
@@ -1097,21 +1242,24 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 			g.setColor(Color.GRAY);
 			g.fillRect(x, y, AnimationPanel.BLOCK_SIZE, AnimationPanel.BLOCK_SIZE);
 
-			// rng for placing RoadUsers.
-			Random rng = new Random();
+			// The range of positions inside the square.
+			final int range = AnimationPanel.BLOCK_SIZE - 2 * roadUserSize;
+
+			// The place of the next RoadUser in the queue.
+			int place = 0;
 
 			// Loop through the queue of RoadUsers at the Location.
-			l.getQueue().forEach(ru -> {
+			for (RoadUser ru : l.getQueue()) {
 
 				/*
 				 * Set the color the the color of the RoadUser, then draw the
-				 * roaduser at a random position inside the square.
+				 * roaduser at its scattered position inside the square.
 				 */
+				final int hash = scatter(l.getID(), place++);
 				g.setColor(getColorOf(ru.getClass()));
-				g.fillRect(x + roadUserSize + rng.nextInt(AnimationPanel.BLOCK_SIZE - 2 * roadUserSize),
-						y + roadUserSize + rng.nextInt(AnimationPanel.BLOCK_SIZE - 2 * roadUserSize), roadUserSize,
-						roadUserSize);
-			});
+				g.fillRect(x + roadUserSize + Math.floorMod(hash, range),
+						y + roadUserSize + Math.floorMod(hash >>> 16, range), roadUserSize, roadUserSize);
+			}
 		});
 
 		/**
@@ -1144,6 +1292,25 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 		 * @see RoadUser
 		 */
 		private static final Map<Class<? extends RoadUser>, Color> ROAD_USER_COLOR_MAP = new HashMap<Class<? extends RoadUser>, Color>();
+		/**
+		 * The {@link Map} from each {@link #locationClass} to its
+		 * {@link Visualisation}, built once so that
+		 * {@link #getVisual(Class)} does not search the {@link Visualisation}s
+		 * on every draw.
+		 * 
+		 * @see Map
+		 * @see HashMap
+		 */
+		private static final Map<Class<? extends Location>, Visualisation> VISUALS = new HashMap<Class<? extends Location>, Visualisation>();
+
+		static {
+
+			// Every Visualisation but the DEFAULT has a Location class.
+			for (Visualisation lv : values()) {
+				if (lv.locationClass != null)
+					VISUALS.put(lv.locationClass, lv);
+			}
+		}
 		/**
 		 * The {@link Location} subclass for which the visual representation is
 		 * intended for.
@@ -1308,7 +1475,7 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 		 * Get the {@link Visualisation} for a specified {@link Location} class.
 		 * 
 		 * <p>
-		 * Search for the {@link Visualisation} where the {@link #locationClass}
+		 * Look up the {@link Visualisation} where the {@link #locationClass}
 		 * matches the specified {@link Location} class. No match will result in
 		 * the {@link #DEFAULT} {@link Visualisation} being selected.
 		 * </p>
@@ -1323,19 +1490,31 @@ public final class Animated extends JFrame implements SimulatorView<Station> {
 		 */
 		public static final Visualisation getVisual(final Class<? extends Location> targetClass) {
 
-			// Loop through all LocationVisual enumerations.
-			for (Visualisation lv : values()) {
-
-				/*
-				 * If the targetClass matches the locationClass, then return
-				 * that LocationVisual for which the target class matched.
-				 */
-				if (targetClass == lv.locationClass && lv.locationClass != null)
-					return lv;
-			}
-
 			// If no matching LocationVisual was found, then return the default.
-			return DEFAULT;
+			return VISUALS.getOrDefault(targetClass, DEFAULT);
+		}
+
+		/**
+		 * Mix the identifier of a {@link Location} and the place of a
+		 * {@link RoadUser} in its queue into a hash whose bits look random, so
+		 * that the same {@link RoadUser} is drawn in the same place on every
+		 * frame.
+		 * 
+		 * @param id
+		 *            The identifier of the {@link Location}.
+		 * @param place
+		 *            The place of the {@link RoadUser} in the queue.
+		 * @return The <code>int</code> hash.
+		 * @see #DEFAULT
+		 */
+		private static int scatter(final int id, final int place) {
+
+			int hash = id * 0x9E3779B9 + place;
+			hash ^= hash >>> 16;
+			hash *= 0x85EBCA6B;
+			hash ^= hash >>> 13;
+			hash *= 0xC2B2AE35;
+			return hash ^ (hash >>> 16);
 		}
 	}
 
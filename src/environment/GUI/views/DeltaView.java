@@ -0,0 +1,59 @@
+package environment.GUI.views;
+
+import java.util.Collections;
+import java.util.List;
+
+import environment.model.Delta;
+import environment.model.Station;
+
+/**
+ * A {@link SimulatorView} that folds the {@link Delta}s of each tick into its
+ * own state rather than receiving a copy of the {@link Station} every tick.
+ *
+ * <p>
+ * The {@link environment.Simulator} calls {@link #apply(int, List)} once per
+ * tick instead of {@link #show(int, Object)}. Once the simulation has ended
+ * {@link #show(int, Object)} is still called once with the final
+ * {@link Station}.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.Delta
+ * @see environment.model.Station#drainDeltas()
+ */
+public interface DeltaView extends SimulatorView<Station> {
+
+	/**
+	 * Apply the changes to the {@link Station} during one tick.
+	 *
+	 * @param time
+	 *            The tick the changes were made in.
+	 * @param deltas
+	 *            The <code>{@link List}&lt;{@link Delta}&gt;</code> changes in
+	 *            the order they were made. The {@link List} is not used by
+	 *            the {@link Station} again.
+	 */
+	public void apply(final int time, final List<Delta> deltas);
+
+	/**
+	 * Apply a range of ticks during which the {@link Station} did not change.
+	 * By default {@link #apply(int, List)} is called with no changes for each
+	 * tick in the range.
+	 *
+	 * @param from
+	 *            The first tick of the range.
+	 * @param to
+	 *            The tick after the last tick of the range.
+	 *
+	 * @see SimulatorView#showIdle(int, int, Object)
+	 */
+	public default void applyIdle(final int from, final int to) {
+
+		for (int time = from; time < to; time++) {
+			apply(time, Collections.<Delta> emptyList());
+		}
+	}
+
+}
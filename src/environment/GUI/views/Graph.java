@@ -6,15 +6,20 @@ import java.awt.FlowLayout;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.LinkedTransferQueue;
+import java.util.Set;
 
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -22,8 +27,10 @@ import javax.swing.JPanel;
 
 import environment.Simulator;
 import environment.Statistic;
+import environment.model.Delta;
+import environment.model.Measure;
 import environment.model.Station;
-import environment.model.locations.ShoppingArea;
+import environment.model.log.TimeSeries;
 import environment.model.roadusers.*;
 
 /**
@@ -39,7 +46,7 @@ import environment.model.roadusers.*;
  * @see environment.GUI.views.SimulatorView
  *
  */
-public class Graph implements SimulatorView<Station> {
+public class Graph implements DeltaView {
 
 	// Singleton --------------------------------------------------------------
 
@@ -102,24 +109,21 @@ public class Graph implements SimulatorView<Station> {
 	private JComboBox<VehicleType> vehicleTypes;
 
 	/**
-	 * This {@link Thread} waits for a snapshot of the {@link Station} to be
-	 * added to the {@link #buffer} and then once there is a element in
-	 * {@link #buffer} it removes it and uses the snapshot to update the graph
-	 * on screen.
-	 * 
-	 * @see java.util.concurrent.LinkedTransferQueue
-	 * @see Thread
+	 * This check box selects whether the graph shows every tick of the
+	 * simulation or only the latest ticks at one tick per column of pixels.
 	 * 
+	 * @see javax.swing.JCheckBox
 	 */
-	private Thread drawer;
+	private JCheckBox latestTicks;
 
 	/**
-	 * Acts as a buffer between the main thread and the {@link #drawer}.
+	 * The {@link Entry} of the most recent tick that the simulation has passed
+	 * to {@link Graph}, the {@link Delta}s of the next tick are folded into
+	 * it.
 	 * 
-	 * @see java.util.concurrent.LinkedTransferQueue
-	 * @see Thread
+	 * @see #apply(int, List)
 	 */
-	private LinkedTransferQueue<Station> buffer;
+	private Entry latest;
 
 	/**
 	 * The most recent tick number that the simulation has passed to
@@ -271,16 +275,64 @@ public class Graph implements SimulatorView<Station> {
 		 */
 		private static final long serialVersionUID = -496349067427599752L;
 
+		/**
+		 * The greatest number of buckets of each {@link MinMaxSeries}, which
+		 * is at least twice the width of the graph.
+		 */
+		private static final int BUCKETS = 1024;
+
 		// Private Fields -----------------------------------------------------
 
 		/**
 		 * 
-		 * Stores snapshots of the {@link Simulator}'s {@link Station} at each
-		 * tick to allow a retrospective view of the simulation.
+		 * Stores the value of every {@link Measure} for every
+		 * {@link VehicleType} of the {@link Simulator}'s {@link Station} at
+		 * each tick. The values are held in a memory mapped file rather than
+		 * on the heap, so the heap does not grow however long the simulation
+		 * runs. Only the ticks that are drawn when the {@link #latestTicks}
+		 * are selected are read back into the {@link #columnLows} and
+		 * {@link #columnHighs}.
+		 * 
+		 * @see #column(Measure, VehicleType)
+		 * @see #readLatest(StatisticType, VehicleType)
+		 * @see environment.model.log.TimeSeries
+		 */
+		private final TimeSeries history;
+
+		/**
+		 * The row that each {@link Entry} is copied into before it is
+		 * appended to the {@link #history}.
+		 */
+		private final double[] row;
+
+		/**
+		 * Whether the {@link #history} has been closed, after which no more
+		 * {@link Entry}s are added.
 		 * 
-		 * @see java.util.List
+		 * @see #close()
+		 */
+		private boolean closed;
+
+		/**
+		 * The downsampled values of every {@link StatisticType} for every
+		 * {@link VehicleType}, indexed by their ordinals. These are kept up
+		 * to date as each {@link Entry} is added so that drawing the graph
+		 * only visits a fixed number of buckets however many ticks there are,
+		 * and switching between them needs no work.
+		 * 
+		 * @see #add(Entry)
+		 */
+		private final MinMaxSeries[][] series;
+
+		/**
+		 * The lowest value drawn in each column of pixels of the graph.
+		 */
+		private final double[] columnLows;
+
+		/**
+		 * The highest value drawn in each column of pixels of the graph.
 		 */
-		private volatile List<Entry> stages;
+		private final double[] columnHighs;
 
 		/**
 		 * The width of the {@link GraphPanel} inside the {@link Graph}.
@@ -344,9 +396,25 @@ public class Graph implements SimulatorView<Station> {
 			padding = 5;
 			paddedCanvasWidth = canvasWidth - ((canvasWidth * padding * 2) / 100);
 			paddedCanvasHeight = canvasHeight - ((canvasHeight * padding * 2) / 100);
-			stages = new ArrayList<Entry>();
+			row = new double[Measure.values().length * VehicleType.values().length];
+			series = new MinMaxSeries[StatisticType.values().length][VehicleType.values().length];
+			columnLows = new double[paddedCanvasWidth];
+			columnHighs = new double[paddedCanvasWidth];
+
+			for (MinMaxSeries[] statisticSeries : series) {
+				for (int vehicleType = 0; vehicleType < statisticSeries.length; vehicleType++) {
+					statisticSeries[vehicleType] = new MinMaxSeries(BUCKETS);
+				}
+			}
 			xOffset = (canvasWidth - paddedCanvasWidth) / 2;
 			yOffset = (canvasHeight - paddedCanvasHeight) / 2;
+			closed = false;
+
+			try {
+				history = new TimeSeries(row.length);
+			} catch (IOException e) {
+				throw new IllegalStateException("The history of the graph could not be created", e);
+			}
 
 			// Initialise the size of the panel.
 			setSize(canvasWidth, canvasHeight);
@@ -377,14 +445,59 @@ public class Graph implements SimulatorView<Station> {
 		}
 
 		/**
-		 * Add a Station to the {@link GraphPanel} to use when drawing the
-		 * graph.
+		 * Add an {@link Entry} to the {@link GraphPanel} to use when drawing
+		 * the graph.
 		 * 
-		 * @param station
-		 *            {@link Station} to be added.
+		 * @param entry
+		 *            {@link Entry} to be added.
+		 */
+		public synchronized void add(Entry entry) {
+
+			if (closed) {
+				return;
+			}
+
+			// Copy the value of every statistic for every vehicle type into
+			// the row.
+			for (Measure measure : Measure.values()) {
+				for (VehicleType vehicleType : VehicleType.values()) {
+					row[column(measure, vehicleType)] = entry.get(measure).get(vehicleType.type);
+				}
+			}
+
+			try {
+				history.append(row);
+			} catch (IOException e) {
+				throw new IllegalStateException("The history of the graph could not be extended", e);
+			}
+
+			// Add the value of every statistic type for every vehicle type to
+			// its downsampled series.
+			for (StatisticType statisticType : StatisticType.values()) {
+				for (VehicleType vehicleType : VehicleType.values()) {
+					series[statisticType.ordinal()][vehicleType.ordinal()]
+							.add(getStatisticValue(statisticType, vehicleType));
+				}
+			}
+		}
+
+		/**
+		 * Closes the {@link #history}, deleting its file. No more
+		 * {@link Entry}s are added once it is closed.
 		 */
-		public void add(Station station) {
-			stages.add(new Entry(station));
+		public synchronized void close() {
+
+			if (closed) {
+				return;
+			}
+
+			closed = true;
+
+			try {
+				history.close();
+			} catch (IOException e) {
+				throw new IllegalStateException("The history of the graph could not be closed", e);
+			}
 		}
 
 		// Private Methods ----------------------------------------------------
@@ -524,59 +637,51 @@ public class Graph implements SimulatorView<Station> {
 		 *            {@link Graphics2D} that denotes the graphics of the
 		 *            canvas.
 		 */
-		private void constructGraph(Graphics2D graphics2D) {
+		private synchronized void constructGraph(Graphics2D graphics2D) {
 
-			// Holds the Y axis values.
-			Map<Integer, Double> values = new HashMap<Integer, Double>();
+			StatisticType statisticType = (StatisticType) statisticTypes.getSelectedItem();
+			VehicleType vehicleType = (VehicleType) vehicleTypes.getSelectedItem();
 
 			// The maximum value the y axis reaches.
-			double max = 0.0;
+			double max;
 
-			// Iterate through every element in stages.
-			for (int currentTick = 0; currentTick < stages.size(); currentTick++) {
+			if (latestTicks.isSelected()) {
 
-				Entry currentEntry = stages.get(currentTick);
+				max = readLatest(statisticType, vehicleType);
 
-				if (currentEntry != null) {
-
-					// Retrieve the value of the selected statistic by vehicle
-					// type.
-					double value = getStatisticValue(currentEntry, ((VehicleType) vehicleTypes.getSelectedItem()).type);
+			} else {
 
-					// If the value retrieved from the station is larger than
-					// the current max then assign it as the new max.
-					max = (value > max) ? value : max;
+				// The downsampled values of the selected statistic by vehicle
+				// type.
+				MinMaxSeries selected = series[statisticType.ordinal()][vehicleType.ordinal()];
 
-					// Add the value to the map of values.
-					values.put(currentTick, value);
-
-				}
+				// Reduce the values to one low and high value for each column
+				// of pixels.
+				long ticks = selected.downsample(columnLows, columnHighs);
 
+				max = ticks > 0 ? selected.getPeak() : 0.0;
 			}
 
-			drawLine(values, max, graphics2D);
+			drawLine(max, graphics2D);
 
 			drawAxis(max, graphics2D);
 
 		}
 
 		/**
-		 * Draws the graphs line in the {@link GraphPanel}.
+		 * Draws the graphs line in the {@link GraphPanel} from the
+		 * {@link #columnLows} and {@link #columnHighs}. Each column of pixels
+		 * is drawn as a vertical line from its lowest to its highest value,
+		 * joined to the previous column, so that no peak is lost however many
+		 * ticks fall in the column.
 		 * 
-		 * @param values
-		 *            <code>Map<Integer, Double></code> that denotes the y
-		 *            values of the graph.
 		 * @param max
 		 *            <code>double</code> maximum value of the y axis.
 		 * @param graphics2D
 		 *            {@link Graphics2D} that denotes the graphics of the
 		 *            canvas.
 		 */
-		private void drawLine(Map<Integer, Double> values, double max, Graphics2D graphics2D) {
-
-			// Holds the initial x and y coordinates of the origin of the graph.
-			int x = xOffset;
-			int y = paddedCanvasHeight + yOffset;
+		private void drawLine(double max, Graphics2D graphics2D) {
 
 			// Holds the coordinates of the last point on the graph. As this
 			// persists to the next iteration of the following loop.
@@ -586,228 +691,293 @@ public class Graph implements SimulatorView<Station> {
 			// If the maximum value of the y axis is larger than zero.
 			if (max > 0) {
 
-				// Iterate thought all the y axis values.
-				for (Integer tick : values.keySet()) {
+				// Iterate through every column of pixels that holds values.
+				for (int column = 0; column < columnLows.length; column++) {
 
-					// Holds the current y value.
-					double value = values.get(tick);
+					if (!Double.isNaN(columnLows[column])) {
 
-					// Calculate the position of the value on the graph panel
-					// based on the percentage of the canvas size and padding.
-					x = (int) ((tick * paddedCanvasWidth) / currentTick) + xOffset;
-					y = (int) (paddedCanvasHeight - ((value * paddedCanvasHeight) / max)) + yOffset;
+						// Calculate the position of the values on the graph
+						// panel based on the percentage of the canvas size
+						// and padding.
+						int x = column + xOffset;
+						int low = (int) (paddedCanvasHeight - ((columnLows[column] * paddedCanvasHeight) / max))
+								+ yOffset;
+						int high = (int) (paddedCanvasHeight - ((columnHighs[column] * paddedCanvasHeight) / max))
+								+ yOffset;
 
-					// If the x value is valid.
-					if (!(x < 0 || x > paddedCanvasWidth + xOffset)) {
+						// Join the previous column to this one and then
+						// draw the range of this column.
+						graphics2D.drawLine(lastX, lastY, x, low);
+						graphics2D.drawLine(x, low, x, high);
 
-						// If the y value is valid.
-						if (!(y < 0 || y > paddedCanvasHeight + yOffset)) {
+						lastX = x;
+						lastY = high;
+					}
+				}
+			}
 
-							// If the position is not the same as the previous
-							// values position. This results in a 'smooth' line
-							// instead of a staircase.
-							if (y != lastY && x != lastX) {
+			// Draw a final line which acts as a plateau for the graph.
+			graphics2D.drawLine(lastX, lastY, paddedCanvasWidth + xOffset, lastY);
 
-								// Draw the link from the previous value's
-								// position to the current value's position.
-								graphics2D.drawLine(lastX, lastY, x, y);
+		}
 
-								// Set the current value to be the new previous
-								// value for he next iteration of the loop.s
-								lastX = x;
-								lastY = y;
+		/**
+		 * Reads the value of the selected {@link StatisticType} and
+		 * {@link VehicleType} at each of the latest ticks from the
+		 * {@link #history} into the {@link #columnLows} and
+		 * {@link #columnHighs}, one tick per column of pixels. Only as many
+		 * ticks as there are columns are read so drawing them costs the same
+		 * however long the simulation has run.
+		 * 
+		 * @param statisticType
+		 *            {@link StatisticType}
+		 * @param vehicleType
+		 *            {@link VehicleType}
+		 * @return The <code>double</code> highest value that was read, or zero
+		 *         if there are no ticks.
+		 */
+		private double readLatest(StatisticType statisticType, VehicleType vehicleType) {
 
-							}
-						}
-					}
-				}
-			} else {
-				// set the x of the final line to be the length of the graph.
-				// This results in a horizontal line along the x axis.
-				x = paddedCanvasWidth + xOffset;
+			long size = closed ? 0 : history.size();
+			long first = Math.max(0, size - columnLows.length);
+			double max = 0.0;
+
+			Arrays.fill(columnLows, Double.NaN);
+			Arrays.fill(columnHighs, Double.NaN);
+
+			for (long tick = first; tick < size; tick++) {
+
+				double value = getStatisticValue(statisticType, vehicleType, tick);
+
+				columnLows[(int) (tick - first)] = value;
+				columnHighs[(int) (tick - first)] = value;
+				max = Math.max(max, value);
 			}
 
-			// Draw a final line which acts as a plateau for the graph.
-			graphics2D.drawLine(lastX, lastY, x, y);
+			return max;
+		}
 
+		/**
+		 * Retrieves the value of a {@link Statistic} in the {@link #row} of
+		 * the latest {@link Entry} based on the specified
+		 * {@link StatisticType} and {@link VehicleType}.
+		 * 
+		 * @param statisticType
+		 *            {@link StatisticType}
+		 * @param vehicleType
+		 *            {@link VehicleType}
+		 * @return <code>double<code> value of that {@link Statistic}.
+		 */
+		private double getStatisticValue(StatisticType statisticType, VehicleType vehicleType) {
+			return getStatisticValue(statisticType, vehicleType, -1);
 		}
 
 		/**
-		 * Retrieves the value of a {@link Statistic} filed in the specified
-		 * {@link Station} based on the {@link StatisticType} from
-		 * {@link Graph#statisticTypes} and the
-		 * <code>Class&lt;? extends {@link RoadUser}&gt;</code> that the user
-		 * specified in {@link Graph#vehicleTypes}.
+		 * Retrieves the value of a {@link Statistic} at the specified tick of
+		 * the {@link #history} based on the specified {@link StatisticType}
+		 * and {@link VehicleType}.
 		 * 
-		 * @param entry
-		 *            {@link Station}
-		 * @param type
-		 *            <code>Class&lt;? extends {@link RoadUser}&gt;</code>
+		 * @param statisticType
+		 *            {@link StatisticType}
+		 * @param vehicleType
+		 *            {@link VehicleType}
+		 * @param tick
+		 *            The <code>long</code> row of the {@link #history}, or -1
+		 *            for the {@link #row} of the latest {@link Entry}.
 		 * @return <code>double<code> value of that {@link Statistic}.
 		 */
-		private double getStatisticValue(Entry entry, Class<? extends RoadUser> type) {
+		private double getStatisticValue(StatisticType statisticType, VehicleType vehicleType, long tick) {
 
-			switch ((StatisticType) statisticTypes.getSelectedItem()) {
+			switch (statisticType) {
 			case PROCESSED:
-				return entry.getRoadUsersProcessed().get(type);
+				return value(Measure.PROCESSED, vehicleType, tick);
 			case REJECTED:
-				return entry.getRoadUsersRejected().get(type);
+				return value(Measure.REJECTED, vehicleType, tick);
 			case PROFIT:
-				return (entry.getFuelProfit().get(type) + entry.getSalesProfit().get(type));
+				return (value(Measure.FUEL_PROFIT, vehicleType, tick)
+						+ value(Measure.SALES_PROFIT, vehicleType, tick));
 			case LOSTPROFIT:
-				return (entry.getLostFuelProfit().get(type) + entry.getLostSalesProfit().get(type));
+				return (value(Measure.LOST_FUEL_PROFIT, vehicleType, tick)
+						+ value(Measure.LOST_SALES_PROFIT, vehicleType, tick));
 			case FUELPROFIT:
-				return entry.getFuelProfit().get(type);
+				return value(Measure.FUEL_PROFIT, vehicleType, tick);
 			case LOSTFUELPROFIT:
-				return entry.getLostFuelProfit().get(type);
+				return value(Measure.LOST_FUEL_PROFIT, vehicleType, tick);
 			case SALESPROFIT:
-				return entry.getSalesProfit().get(type);
+				return value(Measure.SALES_PROFIT, vehicleType, tick);
 			case LOSTSALESPROFIT:
-				return entry.getLostSalesProfit().get(type);
+				return value(Measure.LOST_SALES_PROFIT, vehicleType, tick);
 			default:
 				return 0.0;
 
 			}
 		}
-	}
-
-	/**
-	 * Stores all the {@link Statistic}s from the {@link Station} that is passed
-	 * to the {@link Graph} each tick of the {@link Simulator}.
-	 * 
-	 * @author Joshua_Eddy
-	 * @version 09/04/17
-	 *
-	 */
-	private class Entry {
 
 		/**
-		 * The {@link Statistic} that denotes the amount of {@link RoadUser}s
-		 * that <code>this</code> {@link Station} could not accommodate and
-		 * therefore must have been rejected.
+		 * Retrieves the value of a {@link Measure} for a {@link VehicleType} at
+		 * the specified tick of the {@link #history}.
 		 * 
+		 * @param measure
+		 *            {@link Measure}
+		 * @param vehicleType
+		 *            {@link VehicleType}
+		 * @param tick
+		 *            The <code>long</code> row of the {@link #history}, or -1
+		 *            for the {@link #row} of the latest {@link Entry}.
+		 * @return <code>double</code>
 		 */
-		private Statistic<RoadUser> roadUsersRejected;
+		private double value(Measure measure, VehicleType vehicleType, long tick) {
+			return tick < 0 ? row[column(measure, vehicleType)] : history.get(tick, column(measure, vehicleType));
+		}
 
 		/**
-		 * Stores the {@link Double} value of fuels profit that was lost by each
-		 * {@link RoadUser} type being rejected by the station.
+		 * Retrieves the column of the {@link #history} that holds the value of
+		 * a {@link Measure} for a {@link VehicleType}.
 		 * 
-		 * @see environment.model.roadusers.vehicles.Vehicle
-		 * @see environment.model.roadusers.RoadUser
+		 * @param measure
+		 *            {@link Measure}
+		 * @param vehicleType
+		 *            {@link VehicleType}
+		 * @return <code>int</code>
 		 */
-		private Statistic<RoadUser> lostFuelprofit;
+		private int column(Measure measure, VehicleType vehicleType) {
+			return measure.ordinal() * VehicleType.values().length + vehicleType.ordinal();
+		}
+	}
 
-		/**
-		 * Stores the {@link Double} value of sales profit that was lost by each
-		 * {@link RoadUser} type being rejected by the station.
-		 * 
-		 * @see environment.model.roadusers.RoadUser
-		 */
-		private Statistic<RoadUser> lostSalesProfit;
+	/**
+	 * Stores all the {@link Statistic}s of the {@link Station} after one tick
+	 * of the {@link Simulator}. Each {@link Entry} shares the {@link Statistic}s
+	 * that did not change during its tick with the previous {@link Entry}.
+	 * 
+	 * @author Joshua_Eddy
+	 * @author agent
+	 * @version 18/10/2026
+	 *
+	 */
+	private class Entry {
 
 		/**
-		 * Stores the {@link Double} number of each type of {@link RoadUser}s
-		 * that have been processed by the station.
+		 * The {@link Statistic} of each {@link Measure}.
 		 * 
-		 * @see environment.model.roadusers.vehicles.Vehicle
-		 * @see environment.model.roadusers.RoadUser
+		 * @see environment.model.Measure
 		 */
-		private Statistic<RoadUser> roadUsersProcessed;
+		private final Map<Measure, Statistic<RoadUser>> statistics;
 
 		/**
-		 * Stores the {@link Double} value of fuels profit that was gained by
-		 * each {@link RoadUser} type paying for their fuel.
-		 * 
-		 * @see environment.model.roadusers.vehicles.Vehicle
-		 * @see environment.model.roadusers.RoadUser
+		 * The {@link Measure}s whose {@link Statistic} belongs to
+		 * <code>this</code> {@link Entry} and so may be incremented.
 		 */
-		private Statistic<RoadUser> fuelProfit;
+		private final Set<Measure> owned;
 
 		/**
-		 * The <code>double</code> sales profit that <code>this</code>
-		 * {@link Station} has made.
+		 * Constructs a new {@link Entry} in which every {@link Statistic} is
+		 * zero.
 		 */
-		private Statistic<RoadUser> salesProfit;
+		public Entry() {
 
-		public Entry(Station station) {
+			statistics = new EnumMap<Measure, Statistic<RoadUser>>(Measure.class);
+			owned = EnumSet.allOf(Measure.class);
 
-			roadUsersRejected = station.getRoadUsersRejected();
-			roadUsersProcessed = station.getRoadUsersProcessed();
-			lostFuelprofit = station.getLostFuelProfit();
-			lostSalesProfit = station.getLostSalesProfit();
-			fuelProfit = station.getFuelProfit();
-			salesProfit = station.getSalesProfit();
+			for (Measure measure : Measure.values()) {
+				statistics.put(measure, new Statistic<RoadUser>());
+			}
 
 		}
 
 		/**
-		 * Retrieve the number of rejected {@link RoadUser}s.
+		 * Constructs a new {@link Entry} that holds the {@link Statistic}s of
+		 * the specified {@link Station}.
 		 * 
-		 * @return The number of {@link RoadUser}s that this {@link Station} has
-		 *         rejected.
+		 * @param station
+		 *            {@link Station}
 		 */
-		public Statistic<RoadUser> getRoadUsersRejected() {
-			return roadUsersRejected;
-		}
+		public Entry(Station station) {
+
+			statistics = new EnumMap<Measure, Statistic<RoadUser>>(Measure.class);
+			owned = EnumSet.noneOf(Measure.class);
+
+			for (Measure measure : Measure.values()) {
+				statistics.put(measure, measure.of(station));
+			}
 
-		/**
-		 * Retrieves the amount of profit <code>this</code> {@link Station} has
-		 * generated from fuel sales.
-		 * 
-		 * @return {@link Statistic} fuel profit.
-		 * 
-		 */
-		public Statistic<RoadUser> getFuelProfit() {
-			return fuelProfit;
 		}
 
 		/**
-		 * Retrieves the number of {@link RoadUser}s processed by the
-		 * {@link Station}.
+		 * Constructs a new {@link Entry} that shares every {@link Statistic}
+		 * of the specified {@link Entry}.
 		 * 
-		 * @return {@link Statistic} amount of {@link RoadUser}s processed by
-		 *         the {@link Station}.
+		 * @param previous
+		 *            {@link Entry}
 		 */
-		public Statistic<RoadUser> getRoadUsersProcessed() {
-			return roadUsersProcessed;
+		private Entry(Entry previous) {
+
+			statistics = new EnumMap<Measure, Statistic<RoadUser>>(previous.statistics);
+			owned = EnumSet.noneOf(Measure.class);
+
 		}
 
 		/**
-		 * Retrieves the sales profit <code>this</code> {@link Station} has
-		 * generated from {@link RoadUser}s spending money in
-		 * {@link ShoppingArea}.
-		 * 
-		 * @return {@link Statistic} sales profit.
+		 * Folds the specified {@link Delta}s into the {@link Statistic}s of
+		 * <code>this</code> {@link Entry}. Only the {@link Statistic}s that are
+		 * incremented are copied.
 		 * 
-		 * @see #salesProfit
-		 * @see #locations
-		 * @see #fuelProfit
+		 * @param deltas
+		 *            The <code>{@link List}&lt;{@link Delta}&gt;</code> of one
+		 *            tick.
+		 * @return The {@link Entry} of the tick, <code>this</code> if none of
+		 *         the {@link Statistic}s changed.
 		 */
-		public Statistic<RoadUser> getSalesProfit() {
-			return salesProfit;
+		public Entry apply(List<Delta> deltas) {
+
+			Entry next = null;
+
+			for (Delta delta : deltas) {
+
+				if (delta.getKind() == Delta.Kind.INCREMENT) {
+
+					// Copy this entry on the first increment of the tick.
+					if (next == null) {
+						next = new Entry(this);
+					}
+
+					next.increment(delta.getMeasure(), delta.getType(), delta.getAmount());
+				}
+			}
+
+			return next == null ? this : next;
 		}
 
 		/**
-		 * The amount of profit that <code>this</code> {@link Station} has lost
-		 * based on {@link RoadUser}s not being happy enough with their service
-		 * to spend any money in the {@link ShoppingArea}.
+		 * Increments the {@link Statistic} of the specified {@link Measure},
+		 * copying it first if it is shared.
 		 * 
-		 * @return {@link Statistic} lost profit.
+		 * @param measure
+		 *            {@link Measure}
+		 * @param type
+		 *            The type of {@link RoadUser}.
+		 * @param amount
+		 *            <code>double</code> amount.
 		 */
-		public Statistic<RoadUser> getLostSalesProfit() {
-			return lostSalesProfit;
+		private void increment(Measure measure, Class<? extends RoadUser> type, double amount) {
+
+			if (owned.add(measure)) {
+				statistics.put(measure, statistics.get(measure).clone());
+			}
+
+			statistics.get(measure).update(type, amount);
+
 		}
 
 		/**
-		 * The amount of profit that <code>this</code> {@link Station} has lost
-		 * based on {@link Station} not being able to accommodate the new
-		 * {@link RoadUser}.
+		 * Retrieves the {@link Statistic} of the specified {@link Measure}.
 		 * 
-		 * @return {@link Statistic} profit lost.
+		 * @param measure
+		 *            {@link Measure}
+		 * @return {@link Statistic}
 		 */
-		public Statistic<RoadUser> getLostFuelProfit() {
-			return lostFuelprofit;
+		public Statistic<RoadUser> get(Measure measure) {
+			return statistics.get(measure);
 		}
 
 	}
@@ -816,9 +986,9 @@ public class Graph implements SimulatorView<Station> {
 
 	private Graph() {
 
-		buffer = new LinkedTransferQueue<Station>();
 		isClosed = false;
 		currentTick = 0;
+		latest = new Entry();
 		width = 600;
 		height = 500;
 
@@ -826,36 +996,45 @@ public class Graph implements SimulatorView<Station> {
 
 		buildWindow();
 
-		drawer = new Thread("Drawer") {
-
-			@Override
-			public void run() {
+	}
 
-				while (!isClosed) {
+	// Public Methods ---------------------------------------------------------
 
-					while (buffer.isEmpty()) {
-						// Wait for a new item to be added to the buffer.
-					}
+	/**
+	 * Adds the {@link Station} to the graph. This is called on the
+	 * {@link Thread} of the {@link ViewDispatcher}, the graph is only redrawn
+	 * once Swing next paints it.
+	 */
+	@Override
+	public void show(int time, Station station) {
 
-					graphPanel.add(buffer.poll());
-					graphPanel.repaint();
+		currentTick = time;
+		latest = new Entry(station);
+		graphPanel.add(latest);
+		graphPanel.repaint();
 
-				}
-			}
+	}
 
-		};
+	@Override
+	public void apply(int time, List<Delta> deltas) {
 
-		drawer.start();
+		currentTick = time;
+		latest = latest.apply(deltas);
+		graphPanel.add(latest);
+		graphPanel.repaint();
 
 	}
 
-	// Public Methods ---------------------------------------------------------
-
 	@Override
-	public void show(int time, Station station) {
+	public void applyIdle(int from, int to) {
 
-		currentTick = time;
-		buffer.add(station);
+		// The statistics did not change so every tick shares the latest entry.
+		for (int time = from; time < to; time++) {
+			graphPanel.add(latest);
+		}
+
+		currentTick = to - 1;
+		graphPanel.repaint();
 
 	}
 
@@ -885,6 +1064,16 @@ public class Graph implements SimulatorView<Station> {
 		window.add(graphPanel);
 		window.add(newControlPanel());
 
+		// Delete the history of the graph once the window is disposed.
+		window.addWindowListener(new WindowAdapter() {
+
+			@Override
+			public void windowClosed(WindowEvent e) {
+				isClosed = true;
+				graphPanel.close();
+			}
+		});
+
 		// Make the panel visible to the user.
 		window.setVisible(true);
 
@@ -904,6 +1093,7 @@ public class Graph implements SimulatorView<Station> {
 		closeButton.addActionListener(e -> {
 			window.dispose();
 			isClosed = true;
+			graphPanel.close();
 			System.exit(0);
 		});
 
@@ -916,6 +1106,7 @@ public class Graph implements SimulatorView<Station> {
 		// Add all the components to the panel
 		controlPanel.add(newTypePanel());
 		controlPanel.add(newStatisticPanel());
+		controlPanel.add(newLatestTicks());
 		controlPanel.add(closeButton);
 
 		return controlPanel;
@@ -980,6 +1171,22 @@ public class Graph implements SimulatorView<Station> {
 		return statisticPanel;
 	}
 
+	/**
+	 * Constructs the {@link #latestTicks} check box.
+	 * 
+	 * @return {@link JCheckBox}
+	 * 
+	 * @see javax.swing.JCheckBox
+	 */
+	private JCheckBox newLatestTicks() {
+
+		latestTicks = new JCheckBox("Latest");
+		latestTicks.setToolTipText("Show only the latest ticks, one tick per column of pixels");
+		latestTicks.addActionListener(e -> graphPanel.repaint());
+
+		return latestTicks;
+	}
+
 	// Static Methods
 
 	/**
@@ -0,0 +1,270 @@
+package environment.GUI.views;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.util.Iterator;
+import java.util.List;
+
+import environment.model.locations.Location;
+
+/**
+ *
+ * Draws a group of {@link Location}s that are too many to draw one by one as
+ * a grid of square cells, each coloured by how full the queues of its
+ * {@link Location}s are.
+ *
+ * <p>
+ * Each cell is at least {@link #MIN_CELL} pixels wide. Once there are more
+ * {@link Location}s than cells of that size fit in the area, each cell shows
+ * the average of a run of neighbouring {@link Location}s. Drawing therefore
+ * costs one rectangle per cell however many {@link Location}s there are, and
+ * no {@link Color} is constructed while drawing.
+ * </p>
+ *
+ * <p>
+ * How full a {@link Location} is is its occupancy divided by its
+ * {@link Location#getMaxQueueSize()}, or by the highest occupancy in the
+ * group if it has no maximum.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.GUI.views.Animated
+ */
+final class HeatMap {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The smallest width of a cell in pixels.
+	 */
+	static final int MIN_CELL = 4;
+
+	/**
+	 * The {@link Color} of each level of occupancy, from empty in light grey
+	 * to full in red.
+	 */
+	private static final Color[] PALETTE = new Color[16];
+
+	static {
+
+		Color empty = new Color(220, 220, 220);
+		Color full = new Color(200, 0, 0);
+
+		for (int level = 0; level < PALETTE.length; level++) {
+
+			double weight = (double) level / (PALETTE.length - 1);
+
+			PALETTE[level] = new Color(blend(empty.getRed(), full.getRed(), weight),
+					blend(empty.getGreen(), full.getGreen(), weight), blend(empty.getBlue(), full.getBlue(), weight));
+		}
+	}
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * How full each cell is, from <code>0</code> to <code>1</code>. This is
+	 * reused by every group that is laid out.
+	 */
+	private double[] fractions;
+
+	/**
+	 * The number of cells of the last group that was laid out.
+	 */
+	private int cells;
+
+	/**
+	 * The number of cells in each row.
+	 */
+	private int columns;
+
+	/**
+	 * The width of each cell in pixels.
+	 */
+	private int cellSize;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link HeatMap} that has not laid out any group.
+	 */
+	HeatMap() {
+
+		this.fractions = new double[0];
+		this.cells = 0;
+		this.columns = 1;
+		this.cellSize = MIN_CELL;
+
+	}
+
+	// Package Methods --------------------------------------------------------
+
+	/**
+	 * Lays out a group of {@link Location}s in an area, using the largest
+	 * cells that fit one {@link Location} in each, and works out how full each
+	 * cell is.
+	 *
+	 * @param locations
+	 *            <code>{@link List}&lt;{@link Location}&gt;</code> in the
+	 *            order they are laid out, row by row.
+	 * @param width
+	 *            The <code>int</code> width of the area in pixels.
+	 * @param height
+	 *            The <code>int</code> height of the area in pixels.
+	 */
+	void layout(List<Location> locations, int width, int height) {
+
+		int count = locations.size();
+
+		cellSize = MIN_CELL;
+
+		if (count > 0) {
+			cellSize = Math.max(MIN_CELL, (int) Math.sqrt((double) width * height / count));
+		}
+
+		// Shrink the cells until every location has one or they are as small
+		// as they may be.
+		while (cellSize > MIN_CELL && (long) (width / cellSize) * (height / cellSize) < count) {
+			cellSize--;
+		}
+
+		columns = Math.max(1, width / cellSize);
+		cells = (int) Math.min(count, (long) columns * Math.max(1, height / cellSize));
+
+		if (fractions.length < cells) {
+			fractions = new double[cells];
+		}
+
+		// The locations with no maximum are compared with the fullest of them.
+		double peak = 0;
+
+		for (Location location : locations) {
+			if (location.getMaxQueueSize() == 0) {
+				peak = Math.max(peak, location.getOccupancy());
+			}
+		}
+
+		// Each cell is the average of an equal share of the locations, which
+		// are walked once as the group may be a linked list.
+		Iterator<Location> iterator = locations.iterator();
+
+		for (int cell = 0; cell < cells; cell++) {
+
+			int from = (int) ((long) cell * count / cells);
+			int to = (int) ((long) (cell + 1) * count / cells);
+
+			double sum = 0;
+
+			for (int index = from; index < to; index++) {
+
+				Location location = iterator.next();
+				int max = location.getMaxQueueSize();
+
+				if (max > 0) {
+					sum += Math.min(1, location.getOccupancy() / max);
+				} else if (peak > 0) {
+					sum += location.getOccupancy() / peak;
+				}
+			}
+
+			fractions[cell] = sum / (to - from);
+		}
+	}
+
+	/**
+	 * Draws the cells of the last group that was laid out.
+	 *
+	 * @param g
+	 *            The {@link Graphics} to draw to.
+	 * @param x
+	 *            The <code>int</code> x position of the area.
+	 * @param y
+	 *            The <code>int</code> y position of the area.
+	 */
+	void draw(Graphics g, int x, int y) {
+
+		// A gap of one pixel separates the cells.
+		int fill = cellSize - 1;
+
+		for (int cell = 0; cell < cells; cell++) {
+			g.setColor(colorOf(fractions[cell]));
+			g.fillRect(x + (cell % columns) * cellSize, y + (cell / columns) * cellSize, fill, fill);
+		}
+	}
+
+	/**
+	 * Retrieves the number of cells of the last group that was laid out.
+	 *
+	 * @return <code>int</code>
+	 */
+	int getCells() {
+		return cells;
+	}
+
+	/**
+	 * Retrieves the number of cells in each row.
+	 *
+	 * @return <code>int</code>
+	 */
+	int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Retrieves the width of each cell in pixels.
+	 *
+	 * @return <code>int</code>
+	 */
+	int getCellSize() {
+		return cellSize;
+	}
+
+	/**
+	 * Retrieves how full a cell is.
+	 *
+	 * @param cell
+	 *            The <code>int</code> index of the cell.
+	 * @return <code>double</code> from <code>0</code> to <code>1</code>.
+	 */
+	double getFraction(int cell) {
+
+		if (cell < 0 || cell >= cells) {
+			throw new IndexOutOfBoundsException("Cell " + cell + " of " + cells);
+		}
+
+		return fractions[cell];
+	}
+
+	/**
+	 * Retrieves the {@link Color} of a cell that is the specified fraction
+	 * full.
+	 *
+	 * @param fraction
+	 *            <code>double</code> from <code>0</code> to <code>1</code>.
+	 * @return {@link Color}
+	 */
+	static Color colorOf(double fraction) {
+		return PALETTE[(int) Math.round(Math.max(0, Math.min(1, fraction)) * (PALETTE.length - 1))];
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Blends two components of a {@link Color}.
+	 *
+	 * @param from
+	 *            The <code>int</code> component at a weight of
+	 *            <code>0</code>.
+	 * @param to
+	 *            The <code>int</code> component at a weight of
+	 *            <code>1</code>.
+	 * @param weight
+	 *            <code>double</code>
+	 * @return <code>int</code>
+	 */
+	private static int blend(int from, int to, double weight) {
+		return (int) Math.round(from + (to - from) * weight);
+	}
+
+}
@@ -0,0 +1,212 @@
+package environment.GUI.views;
+
+import java.util.Arrays;
+
+/**
+ *
+ * Keeps the lowest and highest value of every bucket of consecutive ticks of
+ * a series of values, so that the series can be drawn at any width by
+ * visiting each bucket once however many ticks it has.
+ *
+ * <p>
+ * There are at most {@link #capacity} buckets, each holding the same number
+ * of ticks. Once every bucket is full each pair of neighbouring buckets is
+ * merged, which doubles the number of ticks in each bucket. Adding a value is
+ * therefore constant time on average and the memory used does not grow with
+ * the number of ticks. This is the coarsest level of a min/max pyramid that
+ * still has at least {@link #capacity} / 2 buckets.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.GUI.views.Graph
+ */
+final class MinMaxSeries {
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The greatest number of buckets.
+	 */
+	private final int capacity;
+
+	/**
+	 * The lowest value of each bucket.
+	 */
+	private final double[] lows;
+
+	/**
+	 * The highest value of each bucket.
+	 */
+	private final double[] highs;
+
+	/**
+	 * The number of buckets that hold at least one value.
+	 */
+	private int buckets;
+
+	/**
+	 * The number of ticks in each full bucket.
+	 */
+	private long bucketSize;
+
+	/**
+	 * The number of ticks in the last bucket.
+	 */
+	private long filled;
+
+	/**
+	 * The number of values that have been added.
+	 */
+	private long size;
+
+	/**
+	 * The highest value that has been added.
+	 */
+	private double peak;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new empty {@link MinMaxSeries}.
+	 *
+	 * @param capacity
+	 *            The <code>int</code> greatest number of buckets, which must
+	 *            be even and at least the width the series is drawn at.
+	 */
+	MinMaxSeries(int capacity) {
+
+		if (capacity < 2 || capacity % 2 != 0) {
+			throw new IllegalArgumentException("The capacity must be a positive even number");
+		}
+
+		this.capacity = capacity;
+		this.lows = new double[capacity];
+		this.highs = new double[capacity];
+		this.buckets = 0;
+		this.bucketSize = 1;
+		this.filled = 0;
+		this.size = 0;
+		this.peak = 0;
+
+	}
+
+	// Package Methods --------------------------------------------------------
+
+	/**
+	 * Adds the value of the next tick.
+	 *
+	 * @param value
+	 *            <code>double</code>
+	 */
+	synchronized void add(double value) {
+
+		if (buckets == 0 || filled == bucketSize) {
+
+			// Every bucket is full so halve their number.
+			if (buckets == capacity) {
+				merge();
+			}
+
+			lows[buckets] = value;
+			highs[buckets] = value;
+			buckets++;
+			filled = 1;
+
+		} else {
+
+			lows[buckets - 1] = Math.min(lows[buckets - 1], value);
+			highs[buckets - 1] = Math.max(highs[buckets - 1], value);
+			filled++;
+		}
+
+		peak = size == 0 ? value : Math.max(peak, value);
+		size++;
+	}
+
+	/**
+	 * Retrieves the number of values that have been added.
+	 *
+	 * @return <code>long</code>
+	 */
+	synchronized long size() {
+		return size;
+	}
+
+	/**
+	 * Retrieves the highest value that has been added, or zero if there are
+	 * none.
+	 *
+	 * @return <code>double</code>
+	 */
+	synchronized double getPeak() {
+		return peak;
+	}
+
+	/**
+	 * Retrieves the number of ticks in each full bucket.
+	 *
+	 * @return <code>long</code>
+	 */
+	synchronized long getBucketSize() {
+		return bucketSize;
+	}
+
+	/**
+	 * Reduces the series to the lowest and highest value of each of the
+	 * specified number of columns, each covering an equal share of the
+	 * ticks. A column that no bucket starts in is set to
+	 * <code>NaN</code>, which happens when there are fewer buckets than
+	 * columns.
+	 *
+	 * @param columnLows
+	 *            The <code>double[]</code> the lowest value of each column is
+	 *            written to.
+	 * @param columnHighs
+	 *            The <code>double[]</code> the highest value of each column
+	 *            is written to.
+	 * @return The <code>long</code> number of ticks the columns cover.
+	 */
+	synchronized long downsample(double[] columnLows, double[] columnHighs) {
+
+		int width = columnLows.length;
+
+		Arrays.fill(columnLows, Double.NaN);
+		Arrays.fill(columnHighs, Double.NaN);
+
+		for (int bucket = 0; bucket < buckets; bucket++) {
+
+			int column = (int) (bucket * bucketSize * width / size);
+
+			if (Double.isNaN(columnLows[column])) {
+				columnLows[column] = lows[bucket];
+				columnHighs[column] = highs[bucket];
+			} else {
+				columnLows[column] = Math.min(columnLows[column], lows[bucket]);
+				columnHighs[column] = Math.max(columnHighs[column], highs[bucket]);
+			}
+		}
+
+		return size;
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Merges each pair of neighbouring buckets, doubling the number of ticks
+	 * in each bucket.
+	 */
+	private void merge() {
+
+		for (int bucket = 0; bucket < capacity / 2; bucket++) {
+			lows[bucket] = Math.min(lows[2 * bucket], lows[2 * bucket + 1]);
+			highs[bucket] = Math.max(highs[2 * bucket], highs[2 * bucket + 1]);
+		}
+
+		buckets = capacity / 2;
+		bucketSize *= 2;
+		filled = bucketSize;
+	}
+
+}
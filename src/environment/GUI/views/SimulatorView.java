@@ -34,6 +34,32 @@ public interface SimulatorView<T> {
 	 */
 	public void show(final int time, final T t);
 
+	/**
+	 * Show the status of a {@link T} object that did not change over a range
+	 * of ticks.
+	 * 
+	 * <p>
+	 * Used when the simulation skips the ticks on which nothing happens. By
+	 * default {@link #show(int, Object)} is called for each tick in the range,
+	 * classes that implement the {@link SimulatorView} may override this to
+	 * show the range in one step.
+	 * </p>
+	 * 
+	 * @param from
+	 *            The first tick of the range.
+	 * @param to
+	 *            The tick after the last tick of the range.
+	 * @param t
+	 *            The details of the object which is an instance of {@link T}
+	 *            status, which is the same on every tick of the range.
+	 */
+	public default void showIdle(final int from, final int to, final T t) {
+
+		for (int time = from; time < to; time++) {
+			show(time, t);
+		}
+	}
+
 	/**
 	 * Set the {@link SimulatorView} to terminate.
 	 * 
@@ -46,4 +72,17 @@ public interface SimulatorView<T> {
 	 * </p>
 	 */
 	public void setEnd();
+
+	/**
+	 * Retrieves what a {@link ViewDispatcher} does when this
+	 * {@link SimulatorView} falls behind the simulation. By default the
+	 * simulation waits for it.
+	 * 
+	 * @return {@link ViewDispatcher.Overflow}
+	 * 
+	 * @see ViewDispatcher#add(SimulatorView, int, ViewDispatcher.Overflow)
+	 */
+	public default ViewDispatcher.Overflow getOverflow() {
+		return ViewDispatcher.Overflow.BLOCK;
+	}
 }
\ No newline at end of file
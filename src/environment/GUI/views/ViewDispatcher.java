@@ -0,0 +1,575 @@
+package environment.GUI.views;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import environment.model.Delta;
+import environment.model.Station;
+
+/**
+ * A {@link SimulatorView} that passes each tick on to any number of other
+ * {@link SimulatorView}s, each on its own {@link Thread}, so that the
+ * {@link Thread} running the simulation never waits for a view to draw.
+ *
+ * <p>
+ * Each view has a buffer that holds at most a fixed number of ticks. What
+ * happens when a view falls behind and its buffer is full is decided by the
+ * {@link Overflow} of that view. Once {@link #setEnd()} has been called no
+ * tick is dropped, so every view sees the end of the simulation and its final
+ * {@link Station}. {@link #close()} waits for every view to catch up.
+ * </p>
+ * 
+ * <p>
+ * A {@link DeltaView} that never drops a tick is passed the {@link Delta}s of
+ * each tick. Every other view is passed a snapshot of the {@link Station},
+ * which is only taken if some view needs it, as a {@link DeltaView} that
+ * missed the {@link Delta}s of a tick would no longer match the
+ * {@link Station}.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.GUI.views.SimulatorView
+ * @see environment.Simulator#addView(SimulatorView, int, Overflow)
+ */
+public final class ViewDispatcher implements DeltaView, AutoCloseable {
+
+	// Member Classes ---------------------------------------------------------
+
+	/**
+	 * What a {@link ViewDispatcher} does with a tick when the buffer of a
+	 * view is full.
+	 *
+	 * @author agent
+	 * @version 18/10/2026
+	 */
+	public enum Overflow {
+
+		/**
+		 * The simulation waits until the view has room for the tick. The view
+		 * sees every tick.
+		 */
+		BLOCK,
+
+		/**
+		 * The oldest tick in the buffer is dropped to make room. The view
+		 * sees the most recent ticks.
+		 */
+		DROP_OLDEST,
+
+		/**
+		 * The newest tick in the buffer is replaced, so the view always
+		 * catches up to the latest state of the simulation when it has time.
+		 */
+		COALESCE;
+
+	}
+
+	/**
+	 * The kinds of {@link Frame}.
+	 */
+	private enum Kind {
+		SHOW, IDLE, APPLY, APPLY_IDLE, END, CLOSE
+	}
+
+	/**
+	 * One call to a {@link SimulatorView}, held in the buffer of a
+	 * {@link Channel} until its {@link Thread} makes it.
+	 */
+	private static final class Frame {
+
+		/**
+		 * The method of the view to call.
+		 */
+		final Kind kind;
+
+		/**
+		 * The tick, or the first tick of an idle range.
+		 */
+		final int from;
+
+		/**
+		 * The tick after the last tick of an idle range.
+		 */
+		final int to;
+
+		/**
+		 * The {@link Station} to show.
+		 */
+		final Station station;
+
+		/**
+		 * The {@link Delta}s to apply.
+		 */
+		final List<Delta> deltas;
+
+		/**
+		 * Constructs a new {@link Frame}.
+		 *
+		 * @param kind
+		 *            {@link Kind}
+		 * @param from
+		 *            The tick, or the first tick of an idle range.
+		 * @param to
+		 *            The tick after the last tick of an idle range.
+		 * @param station
+		 *            {@link Station}
+		 * @param deltas
+		 *            <code>{@link List}&lt;{@link Delta}&gt;</code>
+		 */
+		Frame(Kind kind, int from, int to, Station station, List<Delta> deltas) {
+			this.kind = kind;
+			this.from = from;
+			this.to = to;
+			this.station = station;
+			this.deltas = deltas;
+		}
+
+	}
+
+	/**
+	 * The bounded buffer and {@link Thread} of one view.
+	 */
+	private final class Channel implements Runnable {
+
+		/**
+		 * The view.
+		 */
+		private final SimulatorView<Station> view;
+
+		/**
+		 * The greatest number of {@link Frame}s in the {@link #buffer}.
+		 */
+		private final int capacity;
+
+		/**
+		 * What happens when the {@link #buffer} is full.
+		 */
+		private final Overflow overflow;
+
+		/**
+		 * The view as a {@link DeltaView} if it is passed {@link Delta}s,
+		 * otherwise <code>null</code>.
+		 */
+		private final DeltaView deltaView;
+
+		/**
+		 * The {@link Frame}s that the view has not been shown yet.
+		 */
+		private final ArrayDeque<Frame> buffer;
+
+		/**
+		 * Guards the {@link #buffer}.
+		 */
+		private final ReentrantLock lock;
+
+		/**
+		 * Signalled when a {@link Frame} is added to the {@link #buffer}.
+		 */
+		private final Condition notEmpty;
+
+		/**
+		 * Signalled when a {@link Frame} is removed from the {@link #buffer}.
+		 */
+		private final Condition notFull;
+
+		/**
+		 * The {@link Thread} that shows the {@link Frame}s to the view.
+		 */
+		private final Thread thread;
+
+		/**
+		 * The number of {@link Frame}s that were dropped or replaced.
+		 */
+		private long dropped;
+
+		/**
+		 * What the view threw, after which its {@link Frame}s are discarded.
+		 */
+		private volatile RuntimeException failure;
+
+		/**
+		 * Constructs a new {@link Channel} and starts its {@link Thread}.
+		 *
+		 * @param view
+		 *            {@link SimulatorView}
+		 * @param capacity
+		 *            The <code>int</code> greatest number of {@link Frame}s in
+		 *            the buffer.
+		 * @param overflow
+		 *            {@link Overflow}
+		 */
+		Channel(SimulatorView<Station> view, int capacity, Overflow overflow) {
+
+			this.view = view;
+			this.capacity = capacity;
+			this.overflow = overflow;
+			this.deltaView = view instanceof DeltaView && overflow == Overflow.BLOCK ? (DeltaView) view : null;
+			this.buffer = new ArrayDeque<Frame>(capacity);
+			this.lock = new ReentrantLock();
+			this.notEmpty = lock.newCondition();
+			this.notFull = lock.newCondition();
+			this.dropped = 0;
+			this.failure = null;
+			this.thread = new Thread(this, "View-" + view.getClass().getSimpleName());
+
+			thread.start();
+
+		}
+
+		/**
+		 * Adds a {@link Frame} to the {@link #buffer}.
+		 *
+		 * @param frame
+		 *            {@link Frame}
+		 * @param mayDrop
+		 *            Whether the {@link #overflow} may drop a {@link Frame}
+		 *            rather than wait.
+		 */
+		void offer(Frame frame, boolean mayDrop) {
+
+			lock.lock();
+
+			try {
+
+				while (failure == null && buffer.size() == capacity) {
+
+					if (mayDrop && overflow == Overflow.DROP_OLDEST) {
+						buffer.pollFirst();
+						dropped++;
+					} else if (mayDrop && overflow == Overflow.COALESCE) {
+						buffer.pollLast();
+						dropped++;
+					} else {
+						notFull.awaitUninterruptibly();
+					}
+				}
+
+				// A view that has failed is not shown anything else, but its
+				// Thread must still be stopped.
+				if (failure == null || frame.kind == Kind.CLOSE) {
+					buffer.addLast(frame);
+					notEmpty.signal();
+				}
+
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Shows each {@link Frame} to the view in order until the
+		 * {@link ViewDispatcher} is closed.
+		 */
+		@Override
+		public void run() {
+
+			while (true) {
+
+				Frame frame;
+
+				lock.lock();
+
+				try {
+
+					while (buffer.isEmpty()) {
+						notEmpty.awaitUninterruptibly();
+					}
+
+					frame = buffer.pollFirst();
+					notFull.signal();
+
+				} finally {
+					lock.unlock();
+				}
+
+				if (frame.kind == Kind.CLOSE) {
+					return;
+				}
+
+				try {
+					show(frame);
+				} catch (RuntimeException e) {
+					fail(e);
+				}
+			}
+		}
+
+		/**
+		 * Makes the call to the view that a {@link Frame} holds.
+		 *
+		 * @param frame
+		 *            {@link Frame}
+		 */
+		private void show(Frame frame) {
+
+			switch (frame.kind) {
+			case SHOW:
+				view.show(frame.from, frame.station);
+				break;
+			case IDLE:
+				view.showIdle(frame.from, frame.to, frame.station);
+				break;
+			case APPLY:
+				deltaView.apply(frame.from, frame.deltas);
+				break;
+			case APPLY_IDLE:
+				deltaView.applyIdle(frame.from, frame.to);
+				break;
+			case END:
+				view.setEnd();
+				break;
+			default:
+				throw new IllegalStateException("Unknown frame " + frame.kind);
+			}
+		}
+
+		/**
+		 * Records what the view threw and discards every {@link Frame} in the
+		 * {@link #buffer}, except the one that closes it.
+		 *
+		 * @param e
+		 *            {@link RuntimeException}
+		 */
+		private void fail(RuntimeException e) {
+
+			lock.lock();
+
+			try {
+
+				failure = e;
+
+				buffer.removeIf(frame -> frame.kind != Kind.CLOSE);
+
+				// Wake the simulation if it was waiting for room.
+				notFull.signalAll();
+
+			} finally {
+				lock.unlock();
+			}
+		}
+
+	}
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * Takes a snapshot of the {@link Station} for the views that are not
+	 * passed {@link Delta}s.
+	 */
+	private final Supplier<Station> snapshots;
+
+	/**
+	 * The {@link Channel} of each view, in the order they were added.
+	 */
+	private final List<Channel> channels;
+
+	/**
+	 * Whether {@link #setEnd()} has been called, after which no tick is
+	 * dropped.
+	 */
+	private boolean ending;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link ViewDispatcher} with no views.
+	 *
+	 * @param snapshots
+	 *            The <code>{@link Supplier}&lt;{@link Station}&gt;</code> that
+	 *            takes a snapshot of the {@link Station} being simulated,
+	 *            which is called on the {@link Thread} running the simulation
+	 *            during {@link #apply(int, List)} and
+	 *            {@link #applyIdle(int, int)}.
+	 */
+	public ViewDispatcher(Supplier<Station> snapshots) {
+
+		this.snapshots = snapshots;
+		this.channels = new ArrayList<Channel>();
+		this.ending = false;
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Adds a view that every following tick is passed on to.
+	 *
+	 * @param view
+	 *            {@link SimulatorView}
+	 * @param capacity
+	 *            The <code>int</code> greatest number of ticks that wait for
+	 *            the view.
+	 * @param overflow
+	 *            {@link Overflow} that decides what happens when that many
+	 *            ticks are waiting.
+	 * @return <code>this</code> {@link ViewDispatcher}
+	 */
+	public ViewDispatcher add(SimulatorView<Station> view, int capacity, Overflow overflow) {
+
+		if (view == null || overflow == null) {
+			throw new IllegalArgumentException("The view and overflow must not be null");
+		} else if (capacity < 1) {
+			throw new IllegalArgumentException("The capacity must be positive");
+		}
+
+		channels.add(new Channel(view, capacity, overflow));
+
+		return this;
+	}
+
+	/**
+	 * Retrieves whether any view is passed the {@link Delta}s of each tick,
+	 * if not the {@link Station} need not record them.
+	 *
+	 * @return <code>boolean</code>
+	 */
+	public boolean hasDeltaViews() {
+
+		for (Channel channel : channels) {
+			if (channel.deltaView != null) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	@Override
+	public void show(int time, Station station) {
+
+		Frame frame = new Frame(Kind.SHOW, time, time + 1, station, null);
+
+		dispatch(frame, frame);
+	}
+
+	@Override
+	public void showIdle(int from, int to, Station station) {
+
+		Frame frame = new Frame(Kind.IDLE, from, to, station, null);
+
+		dispatch(frame, frame);
+	}
+
+	@Override
+	public void apply(int time, List<Delta> deltas) {
+		dispatch(new Frame(Kind.APPLY, time, time + 1, null, deltas), new Frame(Kind.SHOW, time, time + 1, null, null));
+	}
+
+	@Override
+	public void applyIdle(int from, int to) {
+		dispatch(new Frame(Kind.APPLY_IDLE, from, to, null, null), new Frame(Kind.IDLE, from, to, null, null));
+	}
+
+	@Override
+	public void setEnd() {
+
+		ending = true;
+
+		Frame frame = new Frame(Kind.END, 0, 0, null, null);
+
+		dispatch(frame, frame);
+	}
+
+	/**
+	 * Retrieves the number of ticks that have been dropped or replaced
+	 * because a view fell behind, over all the views.
+	 *
+	 * @return <code>long</code>
+	 */
+	public long getDropped() {
+
+		long dropped = 0;
+
+		for (Channel channel : channels) {
+
+			channel.lock.lock();
+
+			try {
+				dropped += channel.dropped;
+			} finally {
+				channel.lock.unlock();
+			}
+		}
+
+		return dropped;
+	}
+
+	/**
+	 * Waits for every view to be shown every tick that was passed on to it
+	 * and stops their {@link Thread}s.
+	 *
+	 * @throws IllegalStateException
+	 *             If a view threw an exception, which is its cause.
+	 */
+	@Override
+	public void close() {
+
+		Frame frame = new Frame(Kind.CLOSE, 0, 0, null, null);
+
+		dispatch(frame, frame);
+
+		boolean interrupted = false;
+
+		for (Channel channel : channels) {
+
+			while (channel.thread.isAlive()) {
+				try {
+					channel.thread.join();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+
+		for (Channel channel : channels) {
+			if (channel.failure != null) {
+				throw new IllegalStateException(channel.view.getClass().getSimpleName() + " failed", channel.failure);
+			}
+		}
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Passes a tick on to every view. If the {@link Frame} for the views that
+	 * are not passed {@link Delta}s has no {@link Station}, a snapshot is
+	 * taken for it the first time one of those views needs it.
+	 *
+	 * @param deltaFrame
+	 *            The {@link Frame} for the views that are passed
+	 *            {@link Delta}s.
+	 * @param frame
+	 *            The {@link Frame} for every other view.
+	 */
+	private void dispatch(Frame deltaFrame, Frame frame) {
+
+		// Ticks that are dropped or replaced leave no gaps once the
+		// simulation has ended.
+		boolean mayDrop = !ending && frame.kind != Kind.CLOSE;
+
+		for (Channel channel : channels) {
+
+			if (channel.deltaView != null) {
+				channel.offer(deltaFrame, false);
+			} else {
+
+				if (frame.station == null && (frame.kind == Kind.SHOW || frame.kind == Kind.IDLE)) {
+					frame = new Frame(frame.kind, frame.from, frame.to, snapshots.get(), null);
+				}
+
+				channel.offer(frame, mayDrop);
+			}
+		}
+	}
+
+}
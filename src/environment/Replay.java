@@ -0,0 +1,121 @@
+package environment;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+import environment.GUI.views.Animated;
+import environment.GUI.views.CommandLine;
+import environment.GUI.views.Graph;
+import environment.GUI.views.SimulatorView;
+import environment.model.Station;
+import environment.model.replay.Player;
+import environment.model.replay.Recording;
+
+/**
+ *
+ * Replays a simulation that was recorded by {@link Batch} to one of the
+ * {@link SimulatorView}s without simulating it again. The arguments are
+ * <code>key=value</code> pairs in the same way as those of {@link Batch}. The
+ * keys are:
+ * <ul>
+ * <li><code>file</code> - The recording.</li>
+ * <li><code>view</code> - <code>command</code>, <code>graph</code> or
+ * <code>animated</code> (default <code>animated</code>).</li>
+ * <li><code>from</code> - The first tick shown (default the first recorded
+ * tick).</li>
+ * <li><code>to</code> - The last tick shown, which may be before
+ * <code>from</code> to play backwards (default the last recorded
+ * tick).</li>
+ * <li><code>step</code> - The number of ticks between the ticks shown, which
+ * fast forwards or rewinds the recording (default 1).</li>
+ * </ul>
+ * The final {@link Station} of the recording is shown as the end of the
+ * simulation once the replay has finished.
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.replay.Player
+ */
+public final class Replay {
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Prevents {@link Replay} from being constructed.
+	 */
+	private Replay() {
+
+	}
+
+	// Static Methods ---------------------------------------------------------
+
+	/**
+	 * Replays the recording given in the command line arguments.
+	 *
+	 * @param args
+	 *            The <code>key=value</code> arguments.
+	 */
+	public static void main(String[] args) {
+
+		try {
+
+			Properties parameters = Batch.parse(args);
+
+			String file = parameters.getProperty("file");
+
+			if (file == null) {
+				throw new IllegalArgumentException("Missing parameter: file");
+			}
+
+			try (Recording recording = new Recording(Paths.get(file))) {
+
+				Player player = new Player(recording, view(parameters.getProperty("view", "animated")));
+
+				int step = Math.abs(Integer.parseInt(parameters.getProperty("step", "1")));
+
+				if (!parameters.containsKey("from") && !parameters.containsKey("to")) {
+					player.playAll(step);
+					return;
+				}
+
+				long from = Long.parseLong(parameters.getProperty("from", Long.toString(recording.getFirstTick())));
+				long to = Long.parseLong(parameters.getProperty("to", Long.toString(recording.getEndTick() - 1)));
+
+				player.seek(from);
+				player.play(to, to < from ? -step : step);
+				player.end();
+			}
+
+		} catch (IOException | RuntimeException e) {
+			System.err.println(e.getMessage());
+			System.err.println("Usage: Replay file=<file> [view=<command|graph|animated>] [from=<tick>] [to=<tick>] "
+					+ "[step=<n>]");
+			System.exit(1);
+		}
+
+	}
+
+	/**
+	 * Retrieves the {@link SimulatorView} with the specified name.
+	 *
+	 * @param name
+	 *            <code>String</code> name of the view.
+	 * @return {@link SimulatorView}
+	 */
+	private static SimulatorView<Station> view(String name) {
+
+		switch (name) {
+		case "command":
+			return CommandLine.getInstance();
+		case "graph":
+			return Graph.getInstance();
+		case "animated":
+			return Animated.getInstance();
+		default:
+			throw new IllegalArgumentException("Unknown view: " + name);
+		}
+	}
+
+}
@@ -0,0 +1,400 @@
+package environment;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import environment.model.Measure;
+import environment.model.Station;
+import environment.model.roadusers.RoadUser;
+
+/**
+ *
+ * Runs a number of independent replications of one simulation configuration
+ * and estimates the mean, variance and 95% confidence interval of every
+ * {@link Measure} per {@link RoadUser} type. Each replication is a headless
+ * {@link Simulator} with its own seed, the replications are spread over a
+ * pool of {@link Thread}s, one per available processor by default.
+ *
+ * <p>
+ * Only the {@link Statistic}s of each replication's {@link Station} are kept
+ * once it has finished, these are folded into one {@link Estimate} per
+ * {@link Measure} and {@link RoadUser} type in the order the replications were
+ * submitted, so the estimates for a given seed do not depend on the number of
+ * {@link Thread}s.
+ * </p>
+ *
+ * <p>
+ * The arguments are the same <code>key=value</code> pairs as {@link Batch}
+ * with the addition of <code>replications</code> (default 30) and
+ * <code>threads</code>. The <code>seed</code> generates the seed of each
+ * replication.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.Batch
+ * @see environment.Simulator
+ */
+public final class Replication {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The default number of replications.
+	 */
+	private static final int DEFAULT_REPLICATIONS = 30;
+
+	/**
+	 * The two sided 95% critical values of Student's t distribution for 1 to
+	 * 30 degrees of freedom.
+	 *
+	 * @see Estimate#getHalfWidth()
+	 */
+	private static final double[] T_95 = { 12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+			2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086, 2.080, 2.074, 2.069, 2.064, 2.060,
+			2.056, 2.052, 2.048, 2.045, 2.042 };
+
+	/**
+	 * The two sided 95% critical value of the standard normal distribution.
+	 */
+	private static final double Z_95 = 1.959964;
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The simulation parameters of every replication.
+	 */
+	private final Properties parameters;
+
+	/**
+	 * The number of replications.
+	 */
+	private final int replications;
+
+	/**
+	 * The <code>long</code> seed that generates the seed of each replication.
+	 */
+	private final long seed;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link Replication}.
+	 *
+	 * @param parameters
+	 *            The {@link Properties} simulation parameters, as read by
+	 *            {@link Batch#newSimulator(Properties)}, of every replication.
+	 * @param replications
+	 *            The number of replications.
+	 * @param seed
+	 *            The seed that generates the seed of each replication.
+	 */
+	public Replication(Properties parameters, int replications, long seed) {
+
+		if (replications < 1) {
+			throw new IllegalArgumentException("There must be at least one replication");
+		}
+
+		this.parameters = parameters;
+		this.replications = replications;
+		this.seed = seed;
+
+	}
+
+	// Member Classes ---------------------------------------------------------
+
+	/**
+	 * Accumulates the values of one {@link Measure} of one {@link RoadUser}
+	 * type over a number of replications. The mean and variance are updated
+	 * one value at a time using Welford's method, which does not store the
+	 * values and does not lose precision when the variance is small compared
+	 * to the mean.
+	 *
+	 * @author agent
+	 * @version 18/10/2026
+	 */
+	public static final class Estimate {
+
+		/**
+		 * The number of values that have been added.
+		 */
+		private int count;
+
+		/**
+		 * The mean of the values that have been added.
+		 */
+		private double mean;
+
+		/**
+		 * The sum of the squared differences from the {@link #mean}.
+		 */
+		private double squares;
+
+		/**
+		 * Constructs a new empty {@link Estimate}.
+		 */
+		public Estimate() {
+
+			this.count = 0;
+			this.mean = 0;
+			this.squares = 0;
+
+		}
+
+		/**
+		 * Adds the value of one replication to <code>this</code>
+		 * {@link Estimate}.
+		 *
+		 * @param value
+		 *            <code>double</code>
+		 */
+		public void add(double value) {
+
+			count++;
+
+			double delta = value - mean;
+			mean += delta / count;
+			squares += delta * (value - mean);
+
+		}
+
+		/**
+		 * Retrieves the number of values that have been added.
+		 *
+		 * @return <code>int</code>
+		 */
+		public int getCount() {
+			return count;
+		}
+
+		/**
+		 * Retrieves the sample mean.
+		 *
+		 * @return <code>double</code>
+		 */
+		public double getMean() {
+			return mean;
+		}
+
+		/**
+		 * Retrieves the unbiased sample variance, this is zero if fewer than
+		 * two values have been added.
+		 *
+		 * @return <code>double</code>
+		 */
+		public double getVariance() {
+			return count > 1 ? squares / (count - 1) : 0;
+		}
+
+		/**
+		 * Retrieves the half width of the 95% confidence interval of the mean,
+		 * using Student's t distribution with <code>count - 1</code> degrees
+		 * of freedom.
+		 *
+		 * @return <code>double</code>
+		 */
+		public double getHalfWidth() {
+
+			if (count < 2) {
+				return 0;
+			}
+
+			return criticalValue(count - 1) * Math.sqrt(getVariance() / count);
+		}
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Runs every replication using a pool of the specified number of
+	 * {@link Thread}s.
+	 *
+	 * @param threads
+	 *            The number of {@link Thread}s that run the replications.
+	 * @return The {@link Estimate} of each {@link Measure} of each
+	 *         {@link RoadUser} type in {@link Batch#ROAD_USERS}.
+	 * @throws InterruptedException
+	 *             If the calling {@link Thread} is interrupted while waiting
+	 *             for the replications.
+	 */
+	public Map<Measure, Map<Class<? extends RoadUser>, Estimate>> run(int threads) throws InterruptedException {
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+		List<Future<Map<Measure, Statistic<RoadUser>>>> results = new ArrayList<Future<Map<Measure, Statistic<RoadUser>>>>();
+
+		Random seeds = new Random(seed);
+
+		// Initialise an empty estimate for each measure and road user type.
+		Map<Measure, Map<Class<? extends RoadUser>, Estimate>> estimates = new EnumMap<Measure, Map<Class<? extends RoadUser>, Estimate>>(
+				Measure.class);
+
+		for (Measure measure : Measure.values()) {
+
+			Map<Class<? extends RoadUser>, Estimate> perType = new LinkedHashMap<Class<? extends RoadUser>, Estimate>();
+
+			for (Class<? extends RoadUser> type : Batch.ROAD_USERS) {
+				perType.put(type, new Estimate());
+			}
+
+			estimates.put(measure, perType);
+		}
+
+		try {
+
+			// Submit each replication with its own seed.
+			for (int index = 0; index < replications; index++) {
+
+				Properties replication = new Properties();
+				replication.putAll(parameters);
+				replication.setProperty("seed", Long.toString(seeds.nextLong()));
+
+				Simulator simulator = Batch.newSimulator(replication);
+
+				results.add(pool.submit(() -> {
+
+					simulator.start();
+
+					// Only the statistics are kept once the simulation has
+					// finished, the rest of the station can be collected.
+					Station station = simulator.getStation();
+					Map<Measure, Statistic<RoadUser>> statistics = new EnumMap<Measure, Statistic<RoadUser>>(
+							Measure.class);
+
+					for (Measure measure : Measure.values()) {
+						statistics.put(measure, measure.of(station));
+					}
+
+					return statistics;
+				}));
+			}
+
+			// Fold the statistics of each replication into the estimates in
+			// the order the replications were submitted.
+			for (Future<Map<Measure, Statistic<RoadUser>>> result : results) {
+
+				Map<Measure, Statistic<RoadUser>> statistics = result.get();
+
+				for (Measure measure : Measure.values()) {
+					for (Map.Entry<Class<? extends RoadUser>, Estimate> entry : estimates.get(measure).entrySet()) {
+						entry.getValue().add(statistics.get(measure).get(entry.getKey()));
+					}
+				}
+			}
+
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Replication failed", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+
+		return estimates;
+	}
+
+	// Static Methods ---------------------------------------------------------
+
+	/**
+	 * Runs the replications of a simulation.
+	 *
+	 * @param args
+	 *            <code>key=value</code> simulation parameters.
+	 */
+	public static void main(String[] args) {
+
+		try {
+
+			Properties parameters = Batch.parse(args);
+
+			Replication replication = new Replication(parameters,
+					Integer.parseInt(parameters.getProperty("replications", Integer.toString(DEFAULT_REPLICATIONS))),
+					Batch.seed(parameters));
+
+			int threads = Integer.parseInt(
+					parameters.getProperty("threads", Integer.toString(Runtime.getRuntime().availableProcessors())));
+
+			Map<Measure, Map<Class<? extends RoadUser>, Estimate>> estimates = replication.run(threads);
+
+			// Write the results to the output file if one was given, otherwise
+			// to the console.
+			String output = parameters.getProperty("output");
+
+			if (output == null) {
+				report(estimates, System.out);
+			} else {
+				try (PrintStream out = new PrintStream(output)) {
+					report(estimates, out);
+				}
+			}
+
+		} catch (IOException | InterruptedException | RuntimeException e) {
+			System.err.println(e.getMessage());
+			System.err.println("Usage: Replication p=<p> q=<q> pumps=<n> tills=<n> trucks=<true|false> ticks=<n> "
+					+ "[replications=<n>] [seed=<n>] [threads=<n>] [scenario=<file>] [output=<file>]");
+			System.exit(1);
+		}
+
+	}
+
+	/**
+	 * Writes the {@link Estimate}s as one tab separated table, with one row per
+	 * {@link RoadUser} type and {@link Measure}.
+	 *
+	 * @param estimates
+	 *            The {@link Estimate}s returned by {@link #run(int)}.
+	 * @param out
+	 *            The {@link PrintStream} the table is written to.
+	 */
+	public static void report(Map<Measure, Map<Class<? extends RoadUser>, Estimate>> estimates, PrintStream out) {
+
+		out.println("Vehicle Type\tMeasure\tMean\tVariance\t95% CI Lower\t95% CI Upper");
+
+		for (Class<? extends RoadUser> type : Batch.ROAD_USERS) {
+			for (Measure measure : Measure.values()) {
+
+				Estimate estimate = estimates.get(measure).get(type);
+
+				out.println(new StringBuilder(type.getSimpleName().replaceFirst("_RoadUser", "")).append('\t')
+						.append(measure).append('\t').append(estimate.getMean()).append('\t')
+						.append(estimate.getVariance()).append('\t')
+						.append(estimate.getMean() - estimate.getHalfWidth()).append('\t')
+						.append(estimate.getMean() + estimate.getHalfWidth()));
+			}
+		}
+
+	}
+
+	/**
+	 * Retrieves the two sided 95% critical value of Student's t distribution
+	 * with the specified degrees of freedom. Above 30 degrees of freedom the
+	 * Cornish-Fisher expansion about the normal critical value is used.
+	 *
+	 * @param degreesOfFreedom
+	 *            <code>int</code> degrees of freedom, at least one.
+	 * @return <code>double</code> critical value.
+	 */
+	private static double criticalValue(int degreesOfFreedom) {
+
+		if (degreesOfFreedom <= T_95.length) {
+			return T_95[degreesOfFreedom - 1];
+		}
+
+		double z = Z_95;
+		double v = degreesOfFreedom;
+
+		return z + (Math.pow(z, 3) + z) / (4 * v) + (5 * Math.pow(z, 5) + 16 * Math.pow(z, 3) + 3 * z) / (96 * v * v);
+	}
+
+}
@@ -1,10 +1,21 @@
 package environment;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Properties;
 import java.util.Random;
 
 import environment.GUI.UserInterface;
+import environment.GUI.views.DeltaView;
 import environment.GUI.views.SimulatorView;
+import environment.GUI.views.ViewDispatcher;
+import environment.GUI.views.ViewDispatcher.Overflow;
+import environment.model.SimulationContext;
 import environment.model.Station;
+import environment.model.checkpoint.Checkpoint;
+import environment.model.checkpoint.Checkpointer;
+import environment.model.log.TickLog;
+import environment.model.replay.Recorder;
 import environment.model.locations.*;
 import environment.model.roadusers.*;
 
@@ -18,6 +29,14 @@ import environment.model.roadusers.*;
  */
 public final class Simulator {
 
+	// Static Fields ---------------------------------------------------------
+
+	/**
+	 * The greatest number of ticks that wait for a {@link SimulatorView} that
+	 * is added by {@link #addView(SimulatorView)}.
+	 */
+	public static final int VIEW_CAPACITY = 256;
+
 	// Instance Fields -------------------------------------------------------
 
 	/**
@@ -29,6 +48,15 @@ public final class Simulator {
 	 */
 	private SimulatorView<Station> view;
 
+	/**
+	 * The {@link ViewDispatcher} that passes each tick on to the
+	 * {@link SimulatorView}s on their own {@link Thread}s, or
+	 * <code>null</code> if there are none. This is also the {@link #view}.
+	 * 
+	 * @see #addView(SimulatorView, int, Overflow)
+	 */
+	private ViewDispatcher dispatcher;
+
 	/**
 	 * The {@link UserInterface} that the user will input the parameters of the
 	 * simulation. :D
@@ -56,14 +84,14 @@ public final class Simulator {
 	/**
 	 * An arbitrary value that is &lt;1 and &gt;0.
 	 * 
-	 * @see #addRoadUser()
+	 * @see #addRoadUser(double)
 	 */
 	private double p;
 
 	/**
 	 * An arbitrary value that is &lt;1 and &gt;0.
 	 * 
-	 * @see #addRoadUser()
+	 * @see #addRoadUser(double)
 	 */
 	private double q;
 
@@ -90,6 +118,68 @@ public final class Simulator {
 	 */
 	private boolean hasTrucks;
 
+	/**
+	 * The {@link SimulationContext} of the {@link #station}. This supplies the
+	 * {@link Random} stream used to decide which {@link RoadUser}s arrive at
+	 * the {@link #station} on each tick and the random values of every
+	 * {@link RoadUser} and {@link Location} in the simulation.
+	 * 
+	 * @see #addRoadUser(double)
+	 */
+	private SimulationContext context;
+
+	/**
+	 * The {@link RoadUserPool} of the {@link #context} that supplies the
+	 * {@link RoadUser}s that arrive at the {@link #station}. The
+	 * {@link #station} releases them back to it once they have left so that
+	 * steady-state ticks do not construct new {@link RoadUser}s.
+	 * 
+	 * @see #addRoadUser(double)
+	 */
+	private RoadUserPool pool;
+
+	/**
+	 * Whether the parameters of the simulation were given on construction. If
+	 * so the {@link UserInterface} is never displayed.
+	 * 
+	 * @see #Simulator(double, double, int, int, boolean, int, long)
+	 * @see #start()
+	 */
+	private boolean headless;
+
+	/**
+	 * The {@link Checkpointer} that saves the state of the simulation every
+	 * few ticks, or <code>null</code> if it is not saved.
+	 * 
+	 * @see #setCheckpointer(Checkpointer)
+	 */
+	private Checkpointer checkpointer;
+
+	/**
+	 * The tick the simulation starts from, which is not <code>0</code> if it
+	 * was resumed from a {@link Checkpoint}.
+	 * 
+	 * @see #resume(Path)
+	 */
+	private int firstTick;
+
+	/**
+	 * The {@link TickLog} that the state of the {@link #station} is appended
+	 * to at the end of every tick, or <code>null</code> if it is not logged.
+	 * 
+	 * @see #setTickLog(TickLog)
+	 */
+	private TickLog tickLog;
+
+	/**
+	 * The {@link Recorder} that the {@link #station} is recorded to at the
+	 * end of every tick so it can be replayed, or <code>null</code> if it is
+	 * not recorded.
+	 * 
+	 * @see #setRecorder(Recorder)
+	 */
+	private Recorder recorder;
+
 	// Constructor -----------------------------------------------------------
 
 	/**
@@ -107,13 +197,72 @@ public final class Simulator {
 		this.ui = null;
 
 		// Pumps are given as the starting location type.
-		this.station = new Station(Pump.class);
+		this.context = new SimulationContext();
+		this.station = new Station(Pump.class, context);
+		this.pool = new RoadUserPool(context);
+		this.station.setPool(pool);
 
 		// Initialise instance fields
 		this.tickCount = 0;
 		this.numberOfPumps = 0;
 		this.numberOfTills = 0;
 		this.hasTrucks = false;
+		this.headless = false;
+		this.checkpointer = null;
+		this.firstTick = 0;
+		this.tickLog = null;
+		this.recorder = null;
+		this.dispatcher = null;
+		this.view = null;
+
+	}
+
+	/**
+	 * Constructs a new headless {@link Simulator} that will run with the
+	 * specified parameters. No {@link UserInterface} or {@link SimulatorView}
+	 * is created, the results are retrieved from {@link #getStation()} once
+	 * {@link #start()} has returned.
+	 * 
+	 * @param p
+	 *            An arbitrary value that is &lt;1 and &gt;0.
+	 * @param q
+	 *            An arbitrary value that is &lt;1 and &gt;0.
+	 * @param numberOfPumps
+	 *            The number of pumps in the {@link Station}.
+	 * @param numberOfTills
+	 *            The number of tills in the {@link Station}.
+	 * @param hasTrucks
+	 *            Whether the simulation has trucks or not.
+	 * @param tickCount
+	 *            The <code>int</code> amount of ticks the simulation will run
+	 *            for.
+	 * @param seed
+	 *            The <code>long</code> seed of the {@link SimulationContext}
+	 *            from which every random value of the simulation is drawn. Two
+	 *            simulations with the same parameters and seed produce the
+	 *            same results.
+	 * 
+	 * @see environment.Batch
+	 */
+	public Simulator(double p, double q, int numberOfPumps, int numberOfTills, boolean hasTrucks, int tickCount,
+			long seed) {
+
+		this();
+
+		// Initialise the simulation parameters.
+		this.p = p;
+		this.q = q;
+		this.numberOfPumps = numberOfPumps;
+		this.numberOfTills = numberOfTills;
+		this.hasTrucks = hasTrucks;
+		this.tickCount = tickCount;
+		this.context = new SimulationContext(seed);
+		this.station = new Station(Pump.class, context);
+		this.pool = new RoadUserPool(context);
+		this.station.setPool(pool);
+		this.headless = true;
+
+		checkSimulationDetails();
 
 	}
 
@@ -151,20 +300,144 @@ public final class Simulator {
 	 */
 	public void start(){
 		
-		// Displays the user interface.
-		displayUserInterface();
+		// If the parameters were not given on construction then retrieve them
+		// from the user.
+		if (!headless) {
+
+			// Displays the user interface.
+			displayUserInterface();
 
-		// Retrieve all the inputs from the
-		getSimulationDetails();
+			// Retrieve all the inputs from the
+			getSimulationDetails();
+		}
 
-		// Generates the Locations that will make up the station.
-		generateSimulation();
+		// Generates the Locations that will make up the station, unless they
+		// were restored from a checkpoint.
+		if (firstTick == 0) {
+			generateSimulation();
+		}
 
 		// Starts the actual simulation.
 		simulate();
 		
 	}
-	
+
+	/**
+	 * Retrieves the {@link Station} that is the object of the simulation. Once
+	 * {@link #start()} has returned this holds the final results of the
+	 * simulation.
+	 * 
+	 * @return {@link Station}
+	 */
+	public Station getStation() {
+		return station;
+	}
+
+	/**
+	 * Sets the {@link Checkpointer} that saves the state of the simulation
+	 * every {@link Checkpointer#getInterval()} ticks, from which it can be
+	 * {@link #resume(Path) resumed}. The {@link Checkpoint}s are written to
+	 * their files while the simulation carries on, and {@link #start()} waits
+	 * for them before it returns. By default no {@link Checkpoint}s are taken.
+	 * 
+	 * @param checkpointer
+	 *            {@link Checkpointer} or <code>null</code>.
+	 */
+	public void setCheckpointer(Checkpointer checkpointer) {
+		this.checkpointer = checkpointer;
+	}
+
+	/**
+	 * Sets the {@link TickLog} that the state of the {@link Station} is
+	 * appended to at the end of every tick. The {@link TickLog} is not closed
+	 * when the simulation ends. By default nothing is logged.
+	 * 
+	 * @param tickLog
+	 *            {@link TickLog} or <code>null</code>.
+	 */
+	public void setTickLog(TickLog tickLog) {
+		this.tickLog = tickLog;
+	}
+
+	/**
+	 * Sets the {@link Recorder} that the {@link Station} is recorded to at the
+	 * end of every tick, from which the simulation can be replayed by a
+	 * {@link environment.model.replay.Player}. The {@link Recorder} is not
+	 * closed when the simulation ends. By default nothing is recorded.
+	 * 
+	 * @param recorder
+	 *            {@link Recorder} or <code>null</code>.
+	 */
+	public void setRecorder(Recorder recorder) {
+		this.recorder = recorder;
+	}
+
+	/**
+	 * Adds a {@link SimulatorView} that every tick of the simulation is passed
+	 * on to, using the {@link SimulatorView#getOverflow() overflow} of the
+	 * {@link SimulatorView} and a buffer of {@link #VIEW_CAPACITY} ticks.
+	 * 
+	 * @param view
+	 *            {@link SimulatorView}
+	 * 
+	 * @see #addView(SimulatorView, int, Overflow)
+	 */
+	public void addView(SimulatorView<Station> view) {
+		addView(view, VIEW_CAPACITY, view.getOverflow());
+	}
+
+	/**
+	 * Adds a {@link SimulatorView} that every tick of the simulation is passed
+	 * on to. Each {@link SimulatorView} is shown the ticks on its own
+	 * {@link Thread} so the simulation never waits for one to draw, unless
+	 * the {@link Overflow} is {@link Overflow#BLOCK} and the
+	 * {@link SimulatorView} has fallen the specified number of ticks behind.
+	 * {@link #start()} waits for every {@link SimulatorView} to catch up
+	 * before it returns.
+	 * 
+	 * @param view
+	 *            {@link SimulatorView}
+	 * @param capacity
+	 *            The <code>int</code> greatest number of ticks that wait for
+	 *            the {@link SimulatorView}.
+	 * @param overflow
+	 *            {@link Overflow} that decides what happens when that many
+	 *            ticks are waiting.
+	 * 
+	 * @see environment.GUI.views.ViewDispatcher
+	 */
+	public void addView(SimulatorView<Station> view, int capacity, Overflow overflow) {
+
+		// The snapshot is taken of whichever station is being simulated,
+		// which is replaced when the simulation is resumed.
+		if (dispatcher == null) {
+			dispatcher = new ViewDispatcher(() -> station.snapshot());
+			this.view = dispatcher;
+		}
+
+		dispatcher.add(view, capacity, overflow);
+	}
+
+	/**
+	 * Retrieves the parameters of the simulation as the
+	 * <code>key=value</code> pairs used by {@link Batch}.
+	 * 
+	 * @return {@link Properties}
+	 */
+	public Properties getParameters() {
+
+		Properties parameters = new Properties();
+
+		parameters.setProperty("p", Double.toString(p));
+		parameters.setProperty("q", Double.toString(q));
+		parameters.setProperty("pumps", Integer.toString(numberOfPumps));
+		parameters.setProperty("tills", Integer.toString(numberOfTills));
+		parameters.setProperty("trucks", Boolean.toString(hasTrucks));
+		parameters.setProperty("ticks", Integer.toString(tickCount));
+
+		return parameters;
+	}
+
 	// Private Methods --------------------------------------------------------
 
 	/**
@@ -173,30 +446,202 @@ public final class Simulator {
 	 * added to the {@link Station} and then processes all the {@link Location}s
 	 * in that {@link Station}.
 	 * 
-	 * @see #addRoadUser()
+	 * @see #addRoadUser(double)
 	 * @see environment.model.locations.Location
 	 * @see environment.model.roadusers.RoadUser
 	 * @see environment.model.Station
 	 */
 	private void simulate() {
 
+		// A view that folds the changes of each tick into its own state only
+		// needs the station to record what changed.
+		DeltaView deltaView = view instanceof DeltaView ? (DeltaView) view : null;
+
+		station.setRecordingDeltas(dispatcher != null ? dispatcher.hasDeltaViews() : deltaView != null);
+
+		// The next tick after which the state of the simulation is saved.
+		long nextCheckpoint = checkpointer == null ? Long.MAX_VALUE : checkpointAfter(firstTick);
+
 		// Iterates that amount of ticks that the user specified.
-		for (int tickIndex = 0; tickIndex < tickCount; tickIndex++) {
+		for (int tickIndex = firstTick; tickIndex < tickCount; tickIndex++) {
+
+			double value;
+
+			// While the station is empty nothing happens until the next road
+			// user arrives, so the ticks until then are skipped in one step.
+			if (station.isQuiescent()) {
+
+				int idleTicks = nextIdleTicks(tickCount - tickIndex);
+
+				if (idleTicks > 0) {
+
+					station.skip(idleTicks);
+
+					log(tickIndex, tickIndex + idleTicks);
 
-			addRoadUser();
+					if (deltaView != null) {
+						deltaView.applyIdle(tickIndex, tickIndex + idleTicks);
+					} else if (view != null) {
+						view.showIdle(tickIndex, tickIndex + idleTicks, station.snapshot());
+					}
+
+					tickIndex += idleTicks;
+
+					if (tickIndex == tickCount) {
+						break;
+					}
+				}
+
+				// A road user is known to arrive on this tick.
+				value = context.getArrivalRandom().nextDouble() * arrivalProbability();
+
+			} else {
+				value = context.getArrivalRandom().nextDouble();
+			}
+
+			addRoadUser(value);
 
 			station.processLocations();
 
-			// Here a clone of the station is passed to the simulator view to
-			// ensure that any changes made to the station that is passed to the
-			// SimulatorView do not effect the simulation.
-			view.show(tickIndex, station.clone());
+			log(tickIndex, tickIndex + 1);
+
+			// Here either the changes made during this tick or a read-only
+			// snapshot of the station is passed to the simulator view to
+			// ensure that the SimulatorView cannot effect the simulation. The
+			// snapshot shares everything that has not changed since the
+			// previous tick. A headless simulation has no view so nothing is
+			// recorded.
+			if (deltaView != null) {
+				deltaView.apply(tickIndex, station.drainDeltas());
+			} else if (view != null) {
+				view.show(tickIndex, station.snapshot());
+			}
+
+			// Save the state at the end of this tick if a checkpoint is due,
+			// the state is only copied here and written in the background.
+			if (tickIndex + 1 >= nextCheckpoint && tickIndex + 1 < tickCount) {
+				checkpoint(tickIndex + 1);
+				nextCheckpoint = checkpointAfter(tickIndex + 1);
+			}
+		}
+
+		// Every checkpoint must reach its file before the simulation ends.
+		if (checkpointer != null) {
+			try {
+				checkpointer.await();
+			} catch (IOException | InterruptedException e) {
+				throw new IllegalStateException("A checkpoint could not be written", e);
+			}
 		}
 		
 		// Display the final tick of the simulations details.
-		view.setEnd();
-		view.show(tickCount, station);
+		if (view != null) {
+			view.setEnd();
+			view.show(tickCount, station);
+		}
+
+		// Every view must have been shown the final tick before the simulation
+		// ends.
+		if (dispatcher != null) {
+			dispatcher.close();
+		}
+
+	}
+
+	/**
+	 * Writes a {@link Checkpoint} of the simulation after the specified
+	 * number of ticks using the {@link #checkpointer}.
+	 * 
+	 * @param tick
+	 *            The <code>int</code> number of ticks that have been
+	 *            simulated.
+	 */
+	private void checkpoint(int tick) {
+		try {
+			checkpointer.write(new Checkpoint(tick, getParameters(), station));
+		} catch (IOException e) {
+			throw new IllegalStateException("A checkpoint could not be written", e);
+		}
+	}
 
+	/**
+	 * Retrieves the first tick after the specified tick that is a multiple of
+	 * the interval of the {@link #checkpointer}.
+	 * 
+	 * @param tick
+	 *            <code>long</code>
+	 * @return <code>long</code>
+	 */
+	private long checkpointAfter(long tick) {
+
+		int interval = checkpointer.getInterval();
+
+		return (tick / interval + 1) * interval;
+	}
+
+	/**
+	 * Appends the state of the {@link #station} to the {@link #tickLog} for
+	 * each tick of a range and records it once for the whole range with the
+	 * {@link #recorder}, if there are any.
+	 * 
+	 * @param from
+	 *            The first tick of the range.
+	 * @param to
+	 *            The tick after the last tick of the range.
+	 */
+	private void log(int from, int to) {
+
+		try {
+
+			if (tickLog != null) {
+				for (int tick = from; tick < to; tick++) {
+					tickLog.record(tick, station);
+				}
+			}
+
+			if (recorder != null) {
+				recorder.record(from, to, station);
+			}
+
+		} catch (IOException e) {
+			throw new IllegalStateException("The state of the simulation could not be logged", e);
+		}
+	}
+
+	/**
+	 * Retrieves the probability that a {@link RoadUser} arrives on a tick,
+	 * which is the sum of the probabilities of each type of {@link RoadUser}
+	 * arriving.
+	 * 
+	 * @return <code>double</code> probability.
+	 * 
+	 * @see #addRoadUser(double)
+	 */
+	private double arrivalProbability() {
+		return context.getArrivalProbability(p, q, hasTrucks);
+	}
+
+	/**
+	 * Draws the number of ticks before the next {@link RoadUser} arrives at an
+	 * empty {@link #station} from the geometric distribution of the time
+	 * between arrivals. The probability of a truck arriving cannot change
+	 * while the {@link #station} is empty, so the ticks are independent.
+	 * 
+	 * @param remaining
+	 *            The <code>int</code> number of ticks left in the simulation.
+	 * @return <code>int</code> number of ticks on which no {@link RoadUser}
+	 *         arrives, which is <code>remaining</code> if none arrive before
+	 *         the simulation ends.
+	 */
+	private int nextIdleTicks(int remaining) {
+
+		double probability = arrivalProbability();
+
+		if (probability <= 0) {
+			return remaining;
+		}
+
+		return (int) Math.min(context.nextIdleTicks(probability), remaining);
 	}
 
 	/**
@@ -217,34 +662,36 @@ public final class Simulator {
 	 * Generates a {@link RoadUser} that will be added to the {@link Station} in
 	 * a given tick.
 	 * 
+	 * @param value
+	 *            The <code>double</code> drawn from the arrival stream of the
+	 *            {@link #context} that decides which {@link RoadUser} arrives.
+	 * 
 	 * @see environment.model.Station
 	 * @see environment.model.roadusers.RoadUser
 	 * @see #between(double)
 	 */
-	private void addRoadUser() {
-
-		double value = (new Random()).nextDouble();
+	private void addRoadUser(double value) {
 
 		// If value is lower than or equal to p then add a new small car to the
 		// station.
 		if (SmallCar_RoadUser.exists(p, q, value)) {
-			station.enter(new SmallCar_RoadUser());
+			station.enter(pool.acquire(SmallCar_RoadUser.class));
 		}
 
 		// If value is between p and 2p then add a new motor bike to the
 		// station.
 		if (Motorbike_RoadUser.exists(p, q, value)) {
-			station.enter(new Motorbike_RoadUser());
+			station.enter(pool.acquire(Motorbike_RoadUser.class));
 		}
 
 		// If exists is true then add a new family sedan to the station.
 		if (FamilySedan_RoadUser.exists(p, q, value)) {
-			station.enter(new FamilySedan_RoadUser());
+			station.enter(pool.acquire(FamilySedan_RoadUser.class));
 		}
 
 		// If exists is true then add a new Truck to the station.
-		if (Truck_RoadUser.exists(p, q, value) && hasTrucks) {
-			station.enter(new Truck_RoadUser());
+		if (Truck_RoadUser.exists(context, p, q, value) && hasTrucks) {
+			station.enter(pool.acquire(Truck_RoadUser.class));
 		}
 
 	}
@@ -259,64 +706,73 @@ public final class Simulator {
 	private void getSimulationDetails() {
 
 		// Wait for user interface to be ready for information to be retrieved.
-		while (!ui.isReady()) {
-
+		try {
+			ui.awaitReady();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SimulationDetailsException("Interrupted while waiting for the user interface");
 		}
 
-		// Get the tickCount from the user interface
+		// Get the simulation parameters from the user interface
 		tickCount = ui.getTickCount();
+		p = ui.getP();
+		q = ui.getQ();
+		numberOfPumps = ui.getNumberOfPumps();
+		numberOfTills = ui.getNumberOfTills();
+		hasTrucks = ui.hasTrucks();
+
+		// If any of the parameters are invalid, throw a runtime exception.
+		checkSimulationDetails();
+
+		// Get the view.
+		SimulatorView<Station> chosen = ui.getView();
+
+		// If the view is invalid, throw a runtime exception.
+		if (chosen == null) {
+			throw new SimulationDetailsException("No Simulator View is specified");
+		}
+
+		// The view is shown each tick on its own thread.
+		addView(chosen);
+
+		// Close the user interface.
+		ui.dispose();
+
+	}
+
+	/**
+	 * Checks that the simulation parameters are valid.
+	 * 
+	 * @throws SimulationDetailsException
+	 *             If any of the parameters are invalid.
+	 */
+	private void checkSimulationDetails() {
 
 		// If the tick count is invalid, throw a runtime exception.
 		if (tickCount < 0) {
 			throw new SimulationDetailsException("The number of ticks must be non-negative");
 		}
 
-		// Get p from user interface.
-		p = ui.getP();
-
 		// If the p is invalid, throw a runtime exception.
 		if (p < 0) {
 			throw new SimulationDetailsException("p must be non-negative");
 		}
 
-		// Get q from user interface.
-		q = ui.getQ();
-
 		// If the q is invalid, throw a runtime exception.
 		if (q < 0) {
 			throw new SimulationDetailsException("q must be non-negative");
 		}
 
-		// Get number of pumps from user interface.
-		numberOfPumps = ui.getNumberOfPumps();
-
 		// If the number of pumps is invalid, throw a runtime exception.
 		if (numberOfPumps < 0) {
 			throw new SimulationDetailsException("The number of pumps must be non-negative");
 		}
 
-		// Get number of tills from user interface.
-		numberOfTills = ui.getNumberOfTills();
-
 		// If the number of tills is invalid, throw a runtime exception.
 		if (numberOfTills < 0) {
 			throw new SimulationDetailsException("The number of tills must be non-negative");
 		}
 
-		// Get whether trucks are included in the simulation.
-		hasTrucks = ui.hasTrucks();
-
-		// Get the view.
-		view = ui.getView();
-
-		// If the view is invalid, throw a runtime exception.
-		if (view == null) {
-			throw new SimulationDetailsException("No Simulator View is specified");
-		}
-
-		// Close the user interface.
-		ui.dispose();
-
 	}
 
 	/**
@@ -328,21 +784,64 @@ public final class Simulator {
 
 		// Create all of the pumps and add them to the station.
 		for (int pumpIndex = 0; pumpIndex < numberOfPumps; pumpIndex++) {
-			station.addLocation(new Pump(ShoppingArea.class));
+			station.addLocation(new Pump(ShoppingArea.class, context));
 		}
 
 		// Create a location for road users to shop before they go to the Till.
-		station.addLocation(new ShoppingArea(Till.class));
+		station.addLocation(new ShoppingArea(Till.class, context));
 
 		// Create all of the Tills and add them to the station.
 		for (int tillIndex = 0; tillIndex < numberOfTills; tillIndex++) {
-			station.addLocation(new Till(null));
+			station.addLocation(new Till(null, context));
 		}
 
 	}
 
 	// Static Methods --------------------------------------------------------
 
+	/**
+	 * Constructs a headless {@link Simulator} that carries on the simulation
+	 * saved in the specified {@link Checkpoint} file from the tick it was
+	 * saved on. The results are exactly the same as if the simulation had not
+	 * been interrupted.
+	 * 
+	 * @param file
+	 *            {@link Path} of a file written by a {@link Checkpointer}.
+	 * @return {@link Simulator}
+	 * @throws IOException
+	 *             If the file cannot be read or does not hold a
+	 *             {@link Checkpoint}.
+	 * 
+	 * @see #setCheckpointer(Checkpointer)
+	 */
+	public static Simulator resume(Path file) throws IOException {
+
+		Checkpoint checkpoint = Checkpoint.read(file);
+		Properties parameters = checkpoint.getParameters();
+
+		Simulator simulator;
+
+		try {
+			simulator = new Simulator(Double.parseDouble(parameters.getProperty("p")),
+					Double.parseDouble(parameters.getProperty("q")),
+					Integer.parseInt(parameters.getProperty("pumps")),
+					Integer.parseInt(parameters.getProperty("tills")),
+					Boolean.parseBoolean(parameters.getProperty("trucks")),
+					Integer.parseInt(parameters.getProperty("ticks")), 0);
+		} catch (NullPointerException | NumberFormatException e) {
+			throw new IOException("The checkpoint has invalid simulation parameters", e);
+		}
+
+		// Carry on with the restored station and its context.
+		simulator.station = checkpoint.getStation();
+		simulator.context = simulator.station.getContext();
+		simulator.pool = new RoadUserPool(simulator.context);
+		simulator.station.setPool(simulator.pool);
+		simulator.firstTick = (int) checkpoint.getTick();
+
+		return simulator;
+	}
+
 	/**
 	 * Runs the simulation.
 	 * 
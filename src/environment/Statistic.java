@@ -1,7 +1,10 @@
 package environment;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 
@@ -10,9 +13,17 @@ import java.util.Map;
  * {@link #get(Class)} and collating the value of the total statistic using
  * {@link #sum()}.
  * 
+ * <p>
+ * Each sub type of {@link SuperType} is given a dense <code>int</code>
+ * identifier the first time any {@link Statistic} sees it, which is the index
+ * of its value in a <code>double[]</code>. Once a type has been seen updating
+ * its value does not allocate and the total is kept up to date as the values
+ * change.
+ * </p>
+ * 
  * @param <SuperType>
- *            The super type that all the entries of the {@link Map} must be
- *            subtype of in order to be stored in this {@link Statistic}.
+ *            The super type that all the types whose values are stored in
+ *            this {@link Statistic} must be a subtype of.
  * 
  * @author Joshua_Eddy
  * @version 27/04/2017
@@ -20,20 +31,77 @@ import java.util.Map;
  */
 public class Statistic<SuperType> implements Cloneable {
 
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The identifier that will be given to the next type that is seen by any
+	 * {@link Statistic}.
+	 * 
+	 * @see #IDS
+	 */
+	private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+	/**
+	 * The dense <code>int</code> identifier of each type that has been seen by
+	 * any {@link Statistic}. If two {@link Thread}s see a new type at the
+	 * same time an identifier may be skipped, which only leaves an unused
+	 * element in {@link #values}.
+	 * 
+	 * @see #values
+	 */
+	private static final ClassValue<Integer> IDS = new ClassValue<Integer>() {
+		@Override
+		protected Integer computeValue(Class<?> type) {
+
+			int id = NEXT_ID.getAndIncrement();
+
+			TYPES.put(id, type);
+
+			return id;
+		}
+	};
+
+	/**
+	 * The type of each identifier given by {@link #IDS}.
+	 * 
+	 * @see #toMap()
+	 */
+	private static final Map<Integer, Class<?>> TYPES = new ConcurrentHashMap<Integer, Class<?>>();
+
 	// Instance Fields --------------------------------------------------------
 
 	/**
-	 * The
-	 * <code>{@link Map}&lt;{@link Class}&lt;? extends {@link SuperType}&gt;, {@link Double}&gt;</code>
-	 * which stores the {@link Double} value of a statistic. The {@link Class}
-	 * of a sub-class of {@link SuperType} is the key of this {@link Map}. The
-	 * {@link Double} value of this {@link Map} denotes combined value that type
-	 * of the key {@link SuperType} it is assigned to.
-	 * 
-	 * @see #sum(Map)
-	 * @see #update(Map, Class, double)
+	 * The <code>double</code> value of each type indexed by the identifier of
+	 * that type. A type whose identifier is beyond the end of this array has
+	 * a value of zero.
+	 * 
+	 * @see #IDS
 	 */
-	private Map<Class<? extends SuperType>, Double> statMap;
+	private double[] values;
+
+	/**
+	 * The <code>double</code> total of all the {@link #values}, updated with
+	 * each change in the same order as the changes are made.
+	 * 
+	 * @see #sum()
+	 */
+	private double total;
+
+	/**
+	 * The most recent read-only copy of <code>this</code> {@link Statistic}.
+	 * This is discarded whenever <code>this</code> {@link Statistic} is
+	 * updated.
+	 * 
+	 * @see #snapshot()
+	 */
+	private Statistic<SuperType> snapshot;
+
+	/**
+	 * Whether <code>this</code> {@link Statistic} is a read-only snapshot.
+	 * 
+	 * @see #snapshot()
+	 */
+	private boolean readOnly;
 
 	// Constructor ------------------------------------------------------------
 
@@ -42,7 +110,48 @@ public class Statistic<SuperType> implements Cloneable {
 	 */
 	public Statistic() {
 
-		this.statMap = new HashMap<Class<? extends SuperType>, Double>();
+		// Most statistics hold the values of every type that has been seen so
+		// far, so allocate enough space for them.
+		this(new double[NEXT_ID.get()], 0);
+
+	}
+
+	/**
+	 * Constructs a new Statistic that holds the specified value of each type
+	 * and total, such as those retrieved by {@link #toMap()} and
+	 * {@link #sum()}. The total is kept as it is rather than summed again so
+	 * that it is exactly the same as that of the original {@link Statistic}.
+	 * 
+	 * @param values
+	 *            <code>Map&lt;Class&lt;? extends {@link SuperType}&gt;, Double&gt;</code>
+	 *            value of each type.
+	 * @param total
+	 *            The <code>double</code> total of the values.
+	 * 
+	 * @see environment.model.checkpoint.CheckpointInput#readStatistic(Class)
+	 */
+	public Statistic(Map<Class<? extends SuperType>, Double> values, double total) {
+
+		this();
+
+		values.forEach(this::update);
+
+		this.total = total;
+
+	}
+
+	/**
+	 * Constructs a new Statistic that holds the specified values.
+	 * 
+	 * @param values
+	 *            The <code>double[]</code> value of each type.
+	 * @param total
+	 *            The <code>double</code> total of the values.
+	 */
+	private Statistic(double[] values, double total) {
+
+		this.values = values;
+		this.total = total;
 
 	}
 
@@ -52,13 +161,9 @@ public class Statistic<SuperType> implements Cloneable {
 	 * Changes the value (<code>double</code>) of a statistic assigned to a
 	 * specific {@link SuperType} type
 	 * (<code>Class&lt;? extends {@link SuperType}&gt;</code>) by a specified
-	 * amount in the the parameter statistic map (<code>{@link Map}</code>). If
-	 * the parameter {@link SuperType} type and assigned value are not currently
-	 * stored in the statistic map then they will be added.
+	 * amount. If the specified type has no value yet then its value starts at
+	 * zero.
 	 * 
-	 * @param stat
-	 *            <code>{@link Map}&lt;Class&lt;? extends {@link SuperType}&gt;, {@link Double}&gt;</code>
-	 *            that denotes some statistic. NOT NULL
 	 * @param type
 	 *            <code>Class&lt;? extends {@link SuperType}&gt;</code> that
 	 *            denotes the type of {@link SuperType} that is assigned to a to
@@ -68,39 +173,23 @@ public class Statistic<SuperType> implements Cloneable {
 	 */
 	public final void update(Class<? extends SuperType> type, double amount) {
 
-		// If the specified statistic map is not null.
-		if (statMap != null) {
-
-			// If the specified statistic map has no statistics on road users of
-			// the specified type. Then initialise the statistic of the
-			// specified type.
-			if (!statMap.keySet().contains(type)) {
-				statMap.put(type, 0.0);
-			}
-
-			// Iterate through all the road user types in the specified
-			// statistic map
-			for (Class<? extends SuperType> currentType : statMap.keySet()) {
-
-				// If the current type is the same as that of the specified
-				// type.
-				if (currentType == type) {
-
-					// Initialise a Double variable to hold the current value of
-					// the statistic assigned to the specified sub type.
-					Double currentStat = statMap.get(type);
+		if (readOnly) {
+			throw new UnsupportedOperationException("A snapshot of a statistic cannot be updated");
+		}
 
-					// Add the specified amount to that value.
-					currentStat += amount;
+		// The previous snapshot no longer represents this statistic.
+		snapshot = null;
 
-					// Update the value of the statistic in the specified
-					// statistic map.
-					statMap.replace(currentType, currentStat);
-				}
+		int id = IDS.get(type);
 
-			}
+		// Only grow the values when a type is seen for the first time.
+		if (id >= values.length) {
+			values = Arrays.copyOf(values, Math.max(id + 1, NEXT_ID.get()));
 		}
 
+		values[id] += amount;
+		total += amount;
+
 	}
 
 	/**
@@ -115,58 +204,83 @@ public class Statistic<SuperType> implements Cloneable {
 	 */
 	public final double get(Class<? extends SuperType> key) {
 
-		// If the key is null assume that they want the sum of all the elements
-		// in the statMap.
-		// Otherwise, if the key is present in the statMap then retrieve its
-		// assigned value.
-		// Otherwise, return zero as that key is not present in the statMap.
+		// If the key is null assume that they want the sum of all the values.
+		// Otherwise, if the key has a value then retrieve it.
+		// Otherwise, return zero as that key has no value.
 		if (key == null) {
 			return sum();
-		} else if (statMap.containsKey(key)) {
-			return statMap.get(key);
-		} else {
-			return 0.0;
 		}
+
+		int id = IDS.get(key);
+
+		return id < values.length ? values[id] : 0.0;
 	}
 
-	@Override
-	public final Statistic<SuperType> clone() {
+	/**
+	 * Retrieves the value of each type that <code>this</code>
+	 * {@link Statistic} holds a value other than zero for, in the order the
+	 * types were first seen.
+	 * 
+	 * @return <code>Map&lt;Class&lt;? extends {@link SuperType}&gt;, Double&gt;</code>
+	 * 
+	 * @see #Statistic(Map, double)
+	 */
+	@SuppressWarnings("unchecked")
+	public final Map<Class<? extends SuperType>, Double> toMap() {
 
-		// Create a new Statistic that will act as a clone of this.
-		Statistic<SuperType> clone = new Statistic<SuperType>();
+		Map<Class<? extends SuperType>, Double> map = new LinkedHashMap<Class<? extends SuperType>, Double>();
 
-		// Iterate through all the elements in the statMap and put them into the
-		// statMap of the clone.
-		for (Class<? extends SuperType> key : this.statMap.keySet()) {
-			clone.statMap.put(key, this.statMap.get(key).doubleValue());
+		for (int id = 0; id < values.length; id++) {
+			if (values[id] != 0) {
+				map.put((Class<? extends SuperType>) TYPES.get(id), values[id]);
+			}
 		}
 
-		return clone;
+		return map;
+	}
+
+	@Override
+	public final Statistic<SuperType> clone() {
+
+		// Create a new Statistic that will act as a clone of this from a copy
+		// of the values.
+		return new Statistic<SuperType>(values.clone(), total);
 
 	}
 
 	/**
-	 * Sums all the values ({@link Double}) of this statistic {@link Map}
-	 * {@link SuperType} type groups to yield one total value.
+	 * Retrieves a read-only copy of <code>this</code> {@link Statistic}. The
+	 * same copy is returned until <code>this</code> {@link Statistic} is
+	 * updated, so taking a snapshot of an unchanged {@link Statistic} does not
+	 * allocate. Updating the copy throws an
+	 * {@link UnsupportedOperationException}.
 	 * 
-	 * @return The <code>double</code> sum of all the values in this statistic
-	 *         map.
+	 * @return Read-only {@link Statistic}.
 	 */
-	public final double sum() {
-
-		// Initialise an aggregation variable to store the sum of the statistic
-		// maps values.
-		Double total = 0.0;
+	public final Statistic<SuperType> snapshot() {
 
-		// If the statistic map is not equal to null then iterate through all
-		// the values in the map and sum them.
-		if (statMap != null) {
-			for (Class<? extends SuperType> currentType : statMap.keySet()) {
-				total += statMap.get(currentType);
+		// A snapshot is already read only.
+		if (readOnly) {
+			return this;
+		}
 
-			}
+		if (snapshot == null) {
+			snapshot = clone();
+			snapshot.readOnly = true;
 		}
-		return total;
 
+		return snapshot;
+	}
+
+	/**
+	 * Retrieves the total of the values of every {@link SuperType} type. The
+	 * total is kept as the values are updated so this does not iterate
+	 * through the values.
+	 * 
+	 * @return The <code>double</code> sum of all the values in this
+	 *         {@link Statistic}.
+	 */
+	public final double sum() {
+		return total;
 	}
 }
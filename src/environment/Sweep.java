@@ -0,0 +1,431 @@
+package environment;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import environment.model.Measure;
+import environment.model.Station;
+import environment.model.roadusers.RoadUser;
+
+/**
+ *
+ * Runs a headless {@link Simulator} for every combination of a set of
+ * parameter ranges. Each combination is an independent {@link Station} so the
+ * simulations are spread over a pool of {@link Thread}s, one per available
+ * processor by default. The final {@link Statistic}s of every combination are
+ * gathered into one results table.
+ *
+ * <p>
+ * The arguments are the same <code>key=value</code> pairs as {@link Batch},
+ * except that <code>p</code>, <code>q</code>, <code>pumps</code>,
+ * <code>tills</code> and <code>trucks</code> may be a comma separated list
+ * (<code>pumps=1,2,4</code>) or a range <code>from:to:step</code>
+ * (<code>p=0.01:0.05:0.01</code>). The optional <code>threads</code> key
+ * sets the size of the pool. Every combination uses the same
+ * <code>seed</code> so that they are compared under the same arrivals.
+ * </p>
+ *
+ * <p>
+ * Each combination is constructed by {@link Batch#newSimulator(Properties)}
+ * so every other parameter applies to each of them. The keys that name one
+ * file for a simulation, {@link #SINGLE_RUN_KEYS}, are rejected as the
+ * combinations would share it.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.Batch
+ * @see environment.Simulator
+ */
+public final class Sweep {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The keys of {@link Batch} that cannot be used by a {@link Sweep}.
+	 */
+	public static final List<String> SINGLE_RUN_KEYS = Collections
+			.unmodifiableList(Arrays.asList("checkpoint", "interval", "resume", "log", "record"));
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The simulation parameters that every combination shares.
+	 */
+	private final Properties parameters;
+
+	/**
+	 * The values of <strong>p</strong> that will be simulated.
+	 */
+	private final List<Double> ps;
+
+	/**
+	 * The values of <strong>q</strong> that will be simulated.
+	 */
+	private final List<Double> qs;
+
+	/**
+	 * The numbers of pumps that will be simulated.
+	 */
+	private final List<Integer> pumps;
+
+	/**
+	 * The numbers of tills that will be simulated.
+	 */
+	private final List<Integer> tills;
+
+	/**
+	 * Whether trucks are allowed in each simulation.
+	 */
+	private final List<Boolean> trucks;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link Sweep} over every combination of the values of
+	 * <code>p</code>, <code>q</code>, <code>pumps</code>, <code>tills</code>
+	 * and <code>trucks</code> in the specified simulation parameters. If no
+	 * <code>seed</code> is given one is chosen for every combination.
+	 *
+	 * @param parameters
+	 *            {@link Properties} simulation parameters.
+	 * @throws IllegalArgumentException
+	 *             If a parameter is missing or is one of the
+	 *             {@link #SINGLE_RUN_KEYS}.
+	 *
+	 * @see Batch#seed(Properties)
+	 */
+	public Sweep(Properties parameters) {
+
+		for (String key : SINGLE_RUN_KEYS) {
+			if (parameters.containsKey(key)) {
+				throw new IllegalArgumentException("A sweep cannot use the parameter: " + key);
+			}
+		}
+
+		this.parameters = new Properties();
+		this.parameters.putAll(parameters);
+
+		this.ps = doubles(Batch.require(parameters, "p"));
+		this.qs = doubles(Batch.require(parameters, "q"));
+		this.pumps = integers(Batch.require(parameters, "pumps"));
+		this.tills = integers(Batch.require(parameters, "tills"));
+		this.trucks = booleans(Batch.require(parameters, "trucks"));
+
+		Batch.seed(this.parameters);
+
+	}
+
+	// Member Classes ---------------------------------------------------------
+
+	/**
+	 * The parameters and the final {@link Station} of one simulation of a
+	 * {@link Sweep}.
+	 *
+	 * @author agent
+	 * @version 18/10/2026
+	 */
+	public static final class Run {
+
+		/**
+		 * The value of <strong>p</strong> of <code>this</code> {@link Run}.
+		 */
+		public final double p;
+
+		/**
+		 * The value of <strong>q</strong> of <code>this</code> {@link Run}.
+		 */
+		public final double q;
+
+		/**
+		 * The number of pumps of <code>this</code> {@link Run}.
+		 */
+		public final int pumps;
+
+		/**
+		 * The number of tills of <code>this</code> {@link Run}.
+		 */
+		public final int tills;
+
+		/**
+		 * Whether trucks were allowed in <code>this</code> {@link Run}.
+		 */
+		public final boolean trucks;
+
+		/**
+		 * The {@link Station} once the simulation has finished.
+		 */
+		private Station station;
+
+		/**
+		 * Constructs a new {@link Run}.
+		 *
+		 * @param p
+		 *            The value of <strong>p</strong>.
+		 * @param q
+		 *            The value of <strong>q</strong>.
+		 * @param pumps
+		 *            The number of pumps.
+		 * @param tills
+		 *            The number of tills.
+		 * @param trucks
+		 *            Whether trucks are allowed.
+		 */
+		private Run(double p, double q, int pumps, int tills, boolean trucks) {
+
+			this.p = p;
+			this.q = q;
+			this.pumps = pumps;
+			this.tills = tills;
+			this.trucks = trucks;
+			this.station = null;
+
+		}
+
+		/**
+		 * Retrieves the final {@link Station} of <code>this</code> {@link Run}.
+		 *
+		 * @return {@link Station}
+		 */
+		public Station getStation() {
+			return station;
+		}
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Simulates every combination of parameters of <code>this</code>
+	 * {@link Sweep} using a pool of the specified number of {@link Thread}s.
+	 *
+	 * @param threads
+	 *            The number of {@link Thread}s that run the simulations.
+	 * @return The <code>{@link List}&lt;{@link Run}&gt;</code> of every
+	 *         combination in the order <strong>p</strong>,
+	 *         <strong>q</strong>, pumps, tills, trucks.
+	 * @throws InterruptedException
+	 *             If the calling {@link Thread} is interrupted while waiting
+	 *             for the simulations.
+	 */
+	public List<Run> run(int threads) throws InterruptedException {
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+		List<Run> runs = new ArrayList<Run>();
+		List<Future<Station>> results = new ArrayList<Future<Station>>();
+
+		try {
+
+			// Submit a simulation for each combination of parameters.
+			for (double p : ps) {
+				for (double q : qs) {
+					for (int numberOfPumps : pumps) {
+						for (int numberOfTills : tills) {
+							for (boolean hasTrucks : trucks) {
+
+								Properties combination = new Properties();
+								combination.putAll(parameters);
+								combination.setProperty("p", Double.toString(p));
+								combination.setProperty("q", Double.toString(q));
+								combination.setProperty("pumps", Integer.toString(numberOfPumps));
+								combination.setProperty("tills", Integer.toString(numberOfTills));
+								combination.setProperty("trucks", Boolean.toString(hasTrucks));
+
+								Simulator simulator = Batch.newSimulator(combination);
+
+								runs.add(new Run(p, q, numberOfPumps, numberOfTills, hasTrucks));
+								results.add(pool.submit(() -> {
+									simulator.start();
+									return simulator.getStation();
+								}));
+							}
+						}
+					}
+				}
+			}
+
+			// Gather the final station of each simulation.
+			for (int index = 0; index < runs.size(); index++) {
+				runs.get(index).station = results.get(index).get();
+			}
+
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Simulation failed", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+
+		return runs;
+	}
+
+	// Static Methods ---------------------------------------------------------
+
+	/**
+	 * Runs a parameter sweep.
+	 *
+	 * @param args
+	 *            <code>key=value</code> simulation parameter ranges.
+	 */
+	public static void main(String[] args) {
+
+		try {
+
+			Properties parameters = Batch.parse(args);
+
+			Sweep sweep = new Sweep(parameters);
+
+			int threads = Integer.parseInt(
+					parameters.getProperty("threads", Integer.toString(Runtime.getRuntime().availableProcessors())));
+
+			List<Run> runs = sweep.run(threads);
+
+			// Write the results to the output file if one was given, otherwise
+			// to the console.
+			String output = parameters.getProperty("output");
+
+			if (output == null) {
+				report(runs, System.out);
+			} else {
+				try (PrintStream out = new PrintStream(output)) {
+					report(runs, out);
+				}
+			}
+
+		} catch (IOException | InterruptedException | RuntimeException e) {
+			System.err.println(e.getMessage());
+			System.err.println("Usage: Sweep p=<values> q=<values> pumps=<values> tills=<values> "
+					+ "trucks=<values> ticks=<n> [seed=<n>] [routing=<policy>] [parallel=<true|false>] [threads=<n>] "
+					+ "[scenario=<file>] [output=<file>]");
+			System.exit(1);
+		}
+
+	}
+
+	/**
+	 * Writes the results of a {@link Sweep} as one tab separated table, with
+	 * one row per {@link Run} and {@link RoadUser} type and one column per
+	 * {@link Measure}.
+	 *
+	 * @param runs
+	 *            The {@link Run}s of the {@link Sweep}.
+	 * @param out
+	 *            The {@link PrintStream} the table is written to.
+	 */
+	public static void report(List<Run> runs, PrintStream out) {
+
+		// Write the header row.
+		StringBuilder header = new StringBuilder("p\tq\tPumps\tTills\tTrucks\tVehicle Type");
+
+		for (Measure measure : Measure.values()) {
+			header.append('\t').append(measure);
+		}
+
+		out.println(header);
+
+		// Write a row for each road user type of each run.
+		for (Run run : runs) {
+			for (Class<? extends RoadUser> type : Batch.ROAD_USERS) {
+
+				StringBuilder row = new StringBuilder().append(run.p).append('\t').append(run.q).append('\t')
+						.append(run.pumps).append('\t').append(run.tills).append('\t').append(run.trucks)
+						.append('\t').append(type.getSimpleName().replaceFirst("_RoadUser", ""));
+
+				for (Measure measure : Measure.values()) {
+					row.append('\t').append(measure.of(run.station).get(type));
+				}
+
+				out.println(row);
+			}
+		}
+
+	}
+
+	/**
+	 * Parses a list (<code>a,b,c</code>) or range (<code>from:to:step</code>)
+	 * of <code>double</code> values.
+	 *
+	 * @param text
+	 *            The <code>String</code> to parse.
+	 * @return The <code>{@link List}&lt;{@link Double}&gt;</code> values.
+	 */
+	public static List<Double> doubles(String text) {
+
+		List<Double> values = new LinkedList<Double>();
+
+		if (text.contains(":")) {
+
+			String[] range = text.split(":");
+			double from = Double.parseDouble(range[0]);
+			double to = Double.parseDouble(range[1]);
+			double step = range.length > 2 ? Double.parseDouble(range[2]) : 1;
+
+			if (step <= 0) {
+				throw new IllegalArgumentException("The step of a range must be positive: " + text);
+			}
+
+			// Each value is calculated from the start of the range rather than
+			// accumulated to prevent rounding errors building up. Half a step
+			// of tolerance is given so the end of the range is included.
+			for (int index = 0; from + (index * step) <= to + (step / 2); index++) {
+				values.add(Math.round((from + (index * step)) * 1e9) / 1e9);
+			}
+
+		} else {
+			for (String value : text.split(",")) {
+				values.add(Double.parseDouble(value.trim()));
+			}
+		}
+
+		return values;
+	}
+
+	/**
+	 * Parses a list (<code>a,b,c</code>) or range (<code>from:to:step</code>)
+	 * of <code>int</code> values.
+	 *
+	 * @param text
+	 *            The <code>String</code> to parse.
+	 * @return The <code>{@link List}&lt;{@link Integer}&gt;</code> values.
+	 */
+	public static List<Integer> integers(String text) {
+
+		List<Integer> values = new LinkedList<Integer>();
+
+		for (double value : doubles(text)) {
+			values.add((int) Math.round(value));
+		}
+
+		return values;
+	}
+
+	/**
+	 * Parses a list (<code>true,false</code>) of <code>boolean</code> values.
+	 *
+	 * @param text
+	 *            The <code>String</code> to parse.
+	 * @return The <code>{@link List}&lt;{@link Boolean}&gt;</code> values.
+	 */
+	public static List<Boolean> booleans(String text) {
+
+		List<Boolean> values = new LinkedList<Boolean>();
+
+		for (String value : text.split(",")) {
+			values.add(Boolean.parseBoolean(value.trim()));
+		}
+
+		return values;
+	}
+
+}
@@ -0,0 +1,328 @@
+package environment.model;
+
+import environment.Statistic;
+import environment.model.locations.Location;
+import environment.model.roadusers.RoadUser;
+
+/**
+ *
+ * One change to a {@link Station} during a tick. A {@link Station} that is
+ * recording its changes publishes a {@link Delta} each time a
+ * {@link RoadUser} arrives, is rejected, joins or leaves the queue of a
+ * {@link Location} or departs and each time one of its {@link Statistic}s is
+ * incremented. Folding the {@link Delta}s of every tick into the previous
+ * state gives the current state without copying the {@link Station}.
+ *
+ * <p>
+ * {@link Location}s are identified by {@link Location#getID()}. A
+ * {@link RoadUser} that leaves the queue of a {@link Location} publishes a
+ * {@link Kind#LEAVE} on the tick it leaves, and joins the queue of the next
+ * {@link Location} with a {@link Kind#MOVE} when the {@link Station} relocates
+ * it on the next tick. A {@link RoadUser} keeps its place at its
+ * {@link environment.model.locations.Pump Pump} until it has paid, so it may
+ * be in the queues of two {@link Location}s at once. The size of the queue of
+ * each {@link Location} therefore follows from adding one for the
+ * <code>to</code> of every {@link Delta} and taking one for the
+ * <code>from</code> of every {@link Kind#LEAVE}. The number of
+ * {@link RoadUser}s in the {@link Station} is not published as an increment as
+ * it follows from the {@link Kind#ARRIVE} and {@link Kind#DEPART}
+ * {@link Delta}s.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.Station#drainDeltas()
+ * @see environment.GUI.views.DeltaView
+ */
+public final class Delta {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The identifier used in place of a {@link Location} when there is none.
+	 */
+	public static final int NONE = -1;
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link Kind} of change <code>this</code> {@link Delta} denotes.
+	 */
+	private final Kind kind;
+
+	/**
+	 * The type of the {@link RoadUser} the change applies to.
+	 */
+	private final Class<? extends RoadUser> type;
+
+	/**
+	 * The identifier of the {@link Location} the {@link RoadUser} left, or
+	 * {@link #NONE}.
+	 */
+	private final int from;
+
+	/**
+	 * The identifier of the {@link Location} the {@link RoadUser} entered, or
+	 * {@link #NONE}.
+	 */
+	private final int to;
+
+	/**
+	 * The {@link Measure} that was incremented, or <code>null</code> if
+	 * <code>this</code> {@link Delta} is not an {@link Kind#INCREMENT}.
+	 */
+	private final Measure measure;
+
+	/**
+	 * The <code>double</code> amount the {@link #measure} was incremented by.
+	 */
+	private final double amount;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link Delta}.
+	 *
+	 * @param kind
+	 *            The {@link Kind} of change.
+	 * @param type
+	 *            The type of the {@link RoadUser}.
+	 * @param from
+	 *            The identifier of the {@link Location} that was left.
+	 * @param to
+	 *            The identifier of the {@link Location} that was entered.
+	 * @param measure
+	 *            The {@link Measure} that was incremented.
+	 * @param amount
+	 *            The amount the {@link Measure} was incremented by.
+	 */
+	private Delta(Kind kind, Class<? extends RoadUser> type, int from, int to, Measure measure, double amount) {
+
+		this.kind = kind;
+		this.type = type;
+		this.from = from;
+		this.to = to;
+		this.measure = measure;
+		this.amount = amount;
+
+	}
+
+	// Member Classes ---------------------------------------------------------
+
+	/**
+	 * The kinds of change that a {@link Delta} denotes.
+	 *
+	 * @author agent
+	 * @version 18/10/2026
+	 */
+	public enum Kind {
+
+		/**
+		 * A {@link RoadUser} entered the {@link Station}.
+		 */
+		ARRIVE,
+
+		/**
+		 * A {@link RoadUser} was turned away as there was no space for it.
+		 */
+		REJECT,
+
+		/**
+		 * A {@link RoadUser} joined the queue of the next {@link Location}
+		 * after the one it came from.
+		 */
+		MOVE,
+
+		/**
+		 * A {@link RoadUser} rejoined the queue of the {@link Location} it
+		 * left as there was no space in the next {@link Location}.
+		 */
+		RETURN,
+
+		/**
+		 * A {@link RoadUser} left the queue of a {@link Location}.
+		 */
+		LEAVE,
+
+		/**
+		 * A {@link RoadUser} that left its last {@link Location} is no longer
+		 * counted in the {@link Station}. It may still be in the queue of its
+		 * {@link environment.model.locations.Pump Pump} until it drives away.
+		 */
+		DEPART,
+
+		/**
+		 * One of the {@link Measure}s of the {@link Station} was incremented.
+		 */
+		INCREMENT;
+
+	}
+
+	// Static Methods ---------------------------------------------------------
+
+	/**
+	 * Constructs a {@link Kind#ARRIVE} {@link Delta}.
+	 *
+	 * @param type
+	 *            The type of the {@link RoadUser}.
+	 * @param to
+	 *            The identifier of the first {@link Location} it entered.
+	 * @return {@link Delta}
+	 */
+	public static Delta arrive(Class<? extends RoadUser> type, int to) {
+		return new Delta(Kind.ARRIVE, type, NONE, to, null, 0);
+	}
+
+	/**
+	 * Constructs a {@link Kind#REJECT} {@link Delta}.
+	 *
+	 * @param type
+	 *            The type of the {@link RoadUser}.
+	 * @return {@link Delta}
+	 */
+	public static Delta reject(Class<? extends RoadUser> type) {
+		return new Delta(Kind.REJECT, type, NONE, NONE, null, 0);
+	}
+
+	/**
+	 * Constructs a {@link Kind#MOVE} {@link Delta}.
+	 *
+	 * @param type
+	 *            The type of the {@link RoadUser}.
+	 * @param from
+	 *            The identifier of the {@link Location} it came from.
+	 * @param to
+	 *            The identifier of the {@link Location} it entered.
+	 * @return {@link Delta}
+	 */
+	public static Delta move(Class<? extends RoadUser> type, int from, int to) {
+		return new Delta(Kind.MOVE, type, from, to, null, 0);
+	}
+
+	/**
+	 * Constructs a {@link Kind#RETURN} {@link Delta}.
+	 *
+	 * @param type
+	 *            The type of the {@link RoadUser}.
+	 * @param to
+	 *            The identifier of the {@link Location} it rejoined.
+	 * @return {@link Delta}
+	 */
+	public static Delta returned(Class<? extends RoadUser> type, int to) {
+		return new Delta(Kind.RETURN, type, NONE, to, null, 0);
+	}
+
+	/**
+	 * Constructs a {@link Kind#DEPART} {@link Delta}.
+	 *
+	 * @param type
+	 *            The type of the {@link RoadUser}.
+	 * @param from
+	 *            The identifier of the last {@link Location} it left.
+	 * @return {@link Delta}
+	 */
+	public static Delta depart(Class<? extends RoadUser> type, int from) {
+		return new Delta(Kind.DEPART, type, from, NONE, null, 0);
+	}
+
+	/**
+	 * Constructs a {@link Kind#LEAVE} {@link Delta}.
+	 *
+	 * @param type
+	 *            The type of the {@link RoadUser}.
+	 * @param from
+	 *            The identifier of the {@link Location} it left.
+	 * @return {@link Delta}
+	 */
+	public static Delta leave(Class<? extends RoadUser> type, int from) {
+		return new Delta(Kind.LEAVE, type, from, NONE, null, 0);
+	}
+
+	/**
+	 * Constructs a {@link Kind#INCREMENT} {@link Delta}.
+	 *
+	 * @param measure
+	 *            The {@link Measure} that was incremented.
+	 * @param type
+	 *            The type of the {@link RoadUser}.
+	 * @param amount
+	 *            The amount the {@link Measure} was incremented by.
+	 * @return {@link Delta}
+	 */
+	public static Delta increment(Measure measure, Class<? extends RoadUser> type, double amount) {
+		return new Delta(Kind.INCREMENT, type, NONE, NONE, measure, amount);
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Retrieves the {@link Kind} of change <code>this</code> {@link Delta}
+	 * denotes.
+	 *
+	 * @return {@link Kind}
+	 */
+	public Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * Retrieves the type of the {@link RoadUser} the change applies to.
+	 *
+	 * @return <code>Class&lt;? extends {@link RoadUser}&gt;</code>
+	 */
+	public Class<? extends RoadUser> getType() {
+		return type;
+	}
+
+	/**
+	 * Retrieves the identifier of the {@link Location} the {@link RoadUser}
+	 * left.
+	 *
+	 * @return <code>int</code> identifier or {@link #NONE}.
+	 */
+	public int getFrom() {
+		return from;
+	}
+
+	/**
+	 * Retrieves the identifier of the {@link Location} the {@link RoadUser}
+	 * entered.
+	 *
+	 * @return <code>int</code> identifier or {@link #NONE}.
+	 */
+	public int getTo() {
+		return to;
+	}
+
+	/**
+	 * Retrieves the {@link Measure} that was incremented.
+	 *
+	 * @return {@link Measure} or <code>null</code> if <code>this</code> is
+	 *         not an {@link Kind#INCREMENT}.
+	 */
+	public Measure getMeasure() {
+		return measure;
+	}
+
+	/**
+	 * Retrieves the amount the {@link Measure} was incremented by.
+	 *
+	 * @return <code>double</code>
+	 */
+	public double getAmount() {
+		return amount;
+	}
+
+	@Override
+	public String toString() {
+
+		switch (kind) {
+		case INCREMENT:
+			return kind + " " + measure + " " + type.getSimpleName() + " " + amount;
+		default:
+			return kind + " " + type.getSimpleName() + " " + from + " " + to;
+		}
+	}
+
+}
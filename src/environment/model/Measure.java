@@ -0,0 +1,113 @@
+package environment.model;
+
+import environment.Statistic;
+import environment.model.roadusers.RoadUser;
+
+/**
+ *
+ * The per {@link RoadUser} type {@link Statistic}s that a {@link Station}
+ * records about its performance. Each {@link Measure} retrieves its
+ * {@link Statistic} from a {@link Station} using {@link #of(Station)}, this
+ * allows the results of a simulation to be tabulated without knowing which
+ * getter of {@link Station} holds each {@link Statistic}.
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.Station
+ * @see environment.Statistic
+ *
+ */
+public enum Measure {
+
+	/**
+	 * The number of {@link RoadUser}s that have been processed.
+	 *
+	 * @see Station#getRoadUsersProcessed()
+	 */
+	PROCESSED("Processed"),
+
+	/**
+	 * The number of {@link RoadUser}s that have been rejected.
+	 *
+	 * @see Station#getRoadUsersRejected()
+	 */
+	REJECTED("Rejected"),
+
+	/**
+	 * The profit made from fuel sales.
+	 *
+	 * @see Station#getFuelProfit()
+	 */
+	FUEL_PROFIT("Fuel Profit"),
+
+	/**
+	 * The profit made from sales in the shopping area.
+	 *
+	 * @see Station#getSalesProfit()
+	 */
+	SALES_PROFIT("Sales Profit"),
+
+	/**
+	 * The fuel profit lost by rejecting {@link RoadUser}s.
+	 *
+	 * @see Station#getLostFuelProfit()
+	 */
+	LOST_FUEL_PROFIT("Lost Fuel Profit"),
+
+	/**
+	 * The sales profit lost by {@link RoadUser}s that did not shop.
+	 *
+	 * @see Station#getLostSalesProfit()
+	 */
+	LOST_SALES_PROFIT("Lost Sales Profit");
+
+	/**
+	 * The text representation of <code>this</code> {@link Measure}.
+	 */
+	private final String text;
+
+	/**
+	 * Constructs a new {@link Measure}.
+	 *
+	 * @param text
+	 *            The text representation of <code>this</code> {@link Measure}.
+	 */
+	private Measure(String text) {
+		this.text = text;
+	}
+
+	/**
+	 * Retrieves the {@link Statistic} denoted by <code>this</code>
+	 * {@link Measure} from the specified {@link Station}.
+	 *
+	 * @param station
+	 *            The {@link Station} the {@link Statistic} is retrieved from.
+	 * @return The {@link Statistic} of the {@link Station}.
+	 */
+	public Statistic<RoadUser> of(Station station) {
+
+		switch (this) {
+		case PROCESSED:
+			return station.getRoadUsersProcessed();
+		case REJECTED:
+			return station.getRoadUsersRejected();
+		case FUEL_PROFIT:
+			return station.getFuelProfit();
+		case SALES_PROFIT:
+			return station.getSalesProfit();
+		case LOST_FUEL_PROFIT:
+			return station.getLostFuelProfit();
+		case LOST_SALES_PROFIT:
+			return station.getLostSalesProfit();
+		default:
+			throw new IllegalStateException("Unknown measure " + name());
+		}
+	}
+
+	@Override
+	public final String toString() {
+		return text;
+	}
+
+}
@@ -0,0 +1,343 @@
+package environment.model;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import environment.model.checkpoint.CheckpointInput;
+import environment.model.checkpoint.CheckpointOutput;
+import environment.model.locations.Location;
+import environment.model.locations.RoutingPolicy;
+import environment.model.locations.Till;
+import environment.model.roadusers.RoadUser;
+import environment.model.roadusers.Truck_RoadUser;
+import environment.model.roadusers.vehicles.Vehicle;
+
+/**
+ *
+ * Holds all the state of one simulation that was previously shared by every
+ * simulation in the JVM. Each {@link Station} owns a {@link SimulationContext}
+ * which supplies the {@link Random} streams used by its {@link RoadUser}s,
+ * {@link Vehicle}s and {@link Till}s, the identifiers of its {@link Location}s
+ * and the value of <strong>t</strong> that decides whether a
+ * {@link Truck_RoadUser} arrives.
+ *
+ * <p>
+ * A {@link SimulationContext} constructed with a seed derives a separate seed
+ * for each of its {@link Random} streams, so two simulations with the same
+ * seed produce exactly the same results regardless of what other simulations
+ * are running in the JVM. A {@link SimulationContext} is not thread safe and
+ * should only be used by the {@link Thread} running its simulation, the
+ * exception being {@link #DEFAULT} which is shared by the {@link RoadUser}s,
+ * {@link Vehicle}s and {@link Location}s that are constructed without a
+ * {@link SimulationContext}.
+ * </p>
+ *
+ * <p>
+ * The state of every {@link Random} stream can be saved in a checkpoint and
+ * restored, after which the streams produce the same values as they would
+ * have done had the simulation not been interrupted.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.Station#getContext()
+ * @see java.util.Random
+ */
+public final class SimulationContext {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The unseeded {@link SimulationContext} used by the objects that are
+	 * constructed without a {@link SimulationContext}.
+	 */
+	public static final SimulationContext DEFAULT = new SimulationContext();
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link Random} stream that decides which {@link RoadUser}s arrive at
+	 * the {@link Station} on each tick.
+	 */
+	private final StreamRandom arrivals;
+
+	/**
+	 * The {@link Random} stream used by {@link RoadUser}s to decide how long
+	 * they shop, how much they spend and whether they will shop.
+	 */
+	private final StreamRandom roadUsers;
+
+	/**
+	 * The {@link Random} stream used to generate the properties of
+	 * {@link Vehicle}s.
+	 */
+	private final StreamRandom vehicles;
+
+	/**
+	 * The {@link Random} stream used by {@link Till}s to decide how long each
+	 * {@link RoadUser} takes to pay.
+	 */
+	private final StreamRandom tills;
+
+	/**
+	 * The {@link Random} stream used by the
+	 * {@link RoutingPolicy#POWER_OF_TWO_CHOICES} to choose {@link Location}s.
+	 */
+	private final StreamRandom routing;
+
+	/**
+	 * The identifier of the next {@link Location} constructed with
+	 * <code>this</code> {@link SimulationContext}.
+	 */
+	private final AtomicInteger nextLocationID;
+
+	/**
+	 * The value of <strong>t</strong> that is used to decide whether a
+	 * {@link Truck_RoadUser} arrives.
+	 *
+	 * @see Truck_RoadUser#exists(SimulationContext, double, double, double)
+	 */
+	private double truckProbability;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new unseeded {@link SimulationContext}.
+	 */
+	public SimulationContext() {
+		this(new Random());
+	}
+
+	/**
+	 * Constructs a new {@link SimulationContext} whose {@link Random} streams
+	 * are all derived from the specified seed.
+	 *
+	 * @param seed
+	 *            The <code>long</code> seed of the simulation.
+	 */
+	public SimulationContext(long seed) {
+		this(new Random(seed));
+	}
+
+	/**
+	 * Constructs a new {@link SimulationContext} whose {@link Random} streams
+	 * are seeded from the specified {@link Random}.
+	 *
+	 * @param seeds
+	 *            The {@link Random} that generates the seed of each stream.
+	 */
+	private SimulationContext(Random seeds) {
+
+		this.arrivals = new StreamRandom(seeds.nextLong());
+		this.roadUsers = new StreamRandom(seeds.nextLong());
+		this.vehicles = new StreamRandom(seeds.nextLong());
+		this.tills = new StreamRandom(seeds.nextLong());
+		this.routing = new StreamRandom(seeds.nextLong());
+		this.nextLocationID = new AtomicInteger();
+		this.truckProbability = Truck_RoadUser.INITIAL_T;
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Retrieves the {@link Random} stream that decides which {@link RoadUser}s
+	 * arrive at the {@link Station}.
+	 *
+	 * @return {@link Random}
+	 */
+	public Random getArrivalRandom() {
+		return arrivals;
+	}
+
+	/**
+	 * Retrieves the {@link Random} stream used by {@link RoadUser}s.
+	 *
+	 * @return {@link Random}
+	 */
+	public Random getRoadUserRandom() {
+		return roadUsers;
+	}
+
+	/**
+	 * Retrieves the {@link Random} stream used to generate {@link Vehicle}s.
+	 *
+	 * @return {@link Random}
+	 */
+	public Random getVehicleRandom() {
+		return vehicles;
+	}
+
+	/**
+	 * Retrieves the {@link Random} stream used by {@link Till}s.
+	 *
+	 * @return {@link Random}
+	 */
+	public Random getTillRandom() {
+		return tills;
+	}
+
+	/**
+	 * Constructs an independent copy of one of the {@link Random} streams of a
+	 * {@link SimulationContext}. The copy produces the same values as the
+	 * stream from then on without advancing it.
+	 *
+	 * @param stream
+	 *            A {@link Random} stream retrieved from a
+	 *            {@link SimulationContext}.
+	 * @return {@link Random}
+	 * @throws IllegalArgumentException
+	 *             If the {@link Random} is not a stream of a
+	 *             {@link SimulationContext}.
+	 *
+	 * @see Till#clone()
+	 */
+	public static Random copyOf(Random stream) {
+
+		if (!(stream instanceof StreamRandom)) {
+			throw new IllegalArgumentException("Only the streams of a simulation context can be copied");
+		}
+
+		StreamRandom copy = new StreamRandom(0);
+		copy.setState(((StreamRandom) stream).getState());
+
+		return copy;
+	}
+
+	/**
+	 * Retrieves the {@link Random} stream used to route {@link RoadUser}s
+	 * between {@link Location}s.
+	 *
+	 * @return {@link Random}
+	 */
+	public Random getRoutingRandom() {
+		return routing;
+	}
+
+	/**
+	 * Retrieves a new identifier for a {@link Location}.
+	 *
+	 * @return <code>int</code> identifier unique within <code>this</code>
+	 *         {@link SimulationContext}.
+	 */
+	public int nextLocationID() {
+		return nextLocationID.getAndIncrement();
+	}
+
+	/**
+	 * Retrieves the value of <strong>t</strong> that is used to decide whether
+	 * a {@link Truck_RoadUser} arrives.
+	 *
+	 * @return <code>double</code>
+	 */
+	public double getTruckProbability() {
+		return truckProbability;
+	}
+
+	/**
+	 * Sets the value of <strong>t</strong> that is used to decide whether a
+	 * {@link Truck_RoadUser} arrives.
+	 *
+	 * @param truckProbability
+	 *            <code>double</code>
+	 */
+	public void setTruckProbability(double truckProbability) {
+		this.truckProbability = truckProbability;
+	}
+
+	/**
+	 * Retrieves the probability that a road user of any type arrives on a
+	 * tick, using the current value of <strong>t</strong>.
+	 *
+	 * @param p
+	 *            <code>double</code> probability of a small car or a
+	 *            motorbike arriving.
+	 * @param q
+	 *            <code>double</code> probability of a family sedan arriving.
+	 * @param hasTrucks
+	 *            <code>boolean</code> whether trucks arrive.
+	 * @return <code>double</code> probability no greater than one.
+	 */
+	public double getArrivalProbability(double p, double q, boolean hasTrucks) {
+
+		double probability = (2 * p) + q + (hasTrucks ? truckProbability : 0);
+
+		return Math.min(1, probability);
+	}
+
+	/**
+	 * Draws the number of ticks on which no road user arrives before the next
+	 * one does from the geometric distribution, using the {@link Random}
+	 * stream of arrivals. Nothing is drawn if a road user arrives on every
+	 * tick.
+	 *
+	 * @param probability
+	 *            The <code>double</code> positive probability that a road
+	 *            user arrives on a tick.
+	 * @return <code>long</code> number of ticks, at most
+	 *         <code>Integer.MAX_VALUE</code>.
+	 *
+	 * @see #getArrivalProbability(double, double, boolean)
+	 */
+	public long nextIdleTicks(double probability) {
+
+		if (probability >= 1) {
+			return 0;
+		}
+
+		// Inverse transform sampling of the number of failures before the
+		// first success, the uniform is in (0, 1] so the log is finite.
+		double uniform = 1 - arrivals.nextDouble();
+		double idleTicks = Math.floor(Math.log(uniform) / Math.log(1 - probability));
+
+		return (long) Math.min(idleTicks, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Writes the state of every {@link Random} stream, the identifier of the
+	 * next {@link Location} and the value of <strong>t</strong> to a
+	 * checkpoint.
+	 *
+	 * @param out
+	 *            {@link CheckpointOutput}
+	 * @throws IOException
+	 *             If the state cannot be written.
+	 */
+	public void writeCheckpoint(CheckpointOutput out) throws IOException {
+
+		out.writeLong(arrivals.getState());
+		out.writeLong(roadUsers.getState());
+		out.writeLong(vehicles.getState());
+		out.writeLong(tills.getState());
+		out.writeLong(routing.getState());
+		out.writeInt(nextLocationID.get());
+		out.writeDouble(truckProbability);
+
+	}
+
+	/**
+	 * Restores the state written by {@link #writeCheckpoint(CheckpointOutput)}.
+	 * This must be done after the rest of the simulation has been read, as
+	 * constructing the objects of the simulation draws from the
+	 * {@link Random} streams.
+	 *
+	 * @param in
+	 *            {@link CheckpointInput}
+	 * @throws IOException
+	 *             If the state cannot be read.
+	 */
+	public void readCheckpoint(CheckpointInput in) throws IOException {
+
+		arrivals.setState(in.readLong());
+		roadUsers.setState(in.readLong());
+		vehicles.setState(in.readLong());
+		tills.setState(in.readLong());
+		routing.setState(in.readLong());
+		nextLocationID.set(in.readInt());
+		truckProbability = in.readDouble();
+
+	}
+
+}
@@ -1,19 +1,32 @@
 package environment.model;
 
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import environment.Statistic;
 import environment.GUI.views.SimulatorView;
+import environment.model.checkpoint.CheckpointInput;
+import environment.model.checkpoint.CheckpointOutput;
 import environment.model.locations.Location;
+import environment.model.locations.LocationIndex;
+import environment.model.locations.MoveBuffer;
+import environment.model.locations.MoveBuffer.Status;
 import environment.model.locations.Pump;
+import environment.model.locations.RoutingPolicy;
 import environment.model.locations.ShoppingArea;
 import environment.model.locations.Till;
 import environment.model.roadusers.RoadUser;
+import environment.model.roadusers.RoadUserPool;
 
 /**
  * 
@@ -45,6 +58,17 @@ import environment.model.roadusers.RoadUser;
  */
 public class Station {
 
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The largest number of independent {@link Location}s that one task
+	 * processes without splitting them when <code>this</code> {@link Station}
+	 * is processed in parallel.
+	 * 
+	 * @see #setParallel(boolean)
+	 */
+	private static final int PARALLEL_THRESHOLD = 16;
+
 	// Instance Variables ----------------------------------------------------
 
 	/**
@@ -65,17 +89,16 @@ public class Station {
 
 	/**
 	 * Contains the {@link RoadUser}s that need to be moved to the a new
-	 * {@link Location}. The key for this {@link HashMap} is the
-	 * {@link RoadUser} as this will be unique because the same {@link RoadUser}
-	 * should not be require to move to two separate {@link Locations}s at the
-	 * same time. The value of this {@link HashMap} is the current
-	 * {@link Location} the key {@link RoadUser} is in.
+	 * {@link Location}, each paired with the current {@link Location} it is
+	 * in. The {@link MoveBuffer} is reused every tick and the {@link RoadUser}s
+	 * are moved in the order they were added so that a simulation with a
+	 * seeded {@link SimulationContext} is repeatable.
 	 * 
-	 * @see java.util.HashMap
+	 * @see environment.model.locations.MoveBuffer
 	 * @see environment.model.roadusers.RoadUser
 	 * @see environment.model.locations.Location
 	 */
-	private Map<RoadUser, Location> toMove;
+	private MoveBuffer toMove;
 
 	/**
 	 * The {@link Statistic} that denotes the amount of {@link RoadUser}s that
@@ -132,14 +155,75 @@ public class Station {
 	private Statistic<RoadUser> salesProfit;
 
 	/**
-	 * Holds all the elements in toMove that are to be removed. This map exists
-	 * to overcome the <strong>ConcurrentModificationException</strong> thrown
-	 * when a {@link Map} is modified while being iterated through.
+	 * The {@link SimulationContext} that holds the random streams and
+	 * identifiers of the simulation of <code>this</code> {@link Station}.
 	 * 
-	 * @see #toMove
-	 * @see java.util.Map
+	 * @see #getContext()
+	 */
+	private SimulationContext context;
+
+	/**
+	 * Whether <code>this</code> {@link Station} is a read-only snapshot.
+	 * 
+	 * @see #snapshot()
 	 */
-	private List<RoadUser> toRemoveFrom_toMove;
+	private boolean readOnly;
+
+	/**
+	 * The {@link Delta}s published by <code>this</code> {@link Station} since
+	 * they were last drained, or <code>null</code> if <code>this</code>
+	 * {@link Station} is not recording its changes.
+	 * 
+	 * @see #setRecordingDeltas(boolean)
+	 * @see #drainDeltas()
+	 */
+	private List<Delta> deltas;
+
+	/**
+	 * The {@link LocationIndex} of each type of {@link Location} in
+	 * <code>this</code> {@link Station}.
+	 * 
+	 * @see #findOptimalDestination(RoadUser, Class)
+	 */
+	private Map<Class<? extends Location>, LocationIndex> indexes;
+
+	/**
+	 * The {@link RoutingPolicy} that chooses which {@link Location} a
+	 * {@link RoadUser} moves to.
+	 * 
+	 * @see #setRoutingPolicy(RoutingPolicy)
+	 */
+	private RoutingPolicy routingPolicy;
+
+	/**
+	 * The {@link RoadUserPool} that the {@link RoadUser}s that leave
+	 * <code>this</code> {@link Station} are released to, or <code>null</code>
+	 * if they are not recycled. Copies of <code>this</code> {@link Station} do
+	 * not share it.
+	 * 
+	 * @see #setPool(RoadUserPool)
+	 */
+	private RoadUserPool pool;
+
+	/**
+	 * Whether the independent {@link Location}s of <code>this</code>
+	 * {@link Station} are processed at the same time.
+	 * 
+	 * @see #setParallel(boolean)
+	 */
+	private boolean parallel;
+
+	/**
+	 * The {@link #locations} in order, or <code>null</code> if they have
+	 * changed since they were last processed in parallel.
+	 */
+	private Location[] ordered;
+
+	/**
+	 * The {@link MoveBuffer} of each of the {@link #ordered} {@link Location}s
+	 * that is processed in parallel, reused every tick.
+	 */
+	private MoveBuffer[] buffers;
 
 	// Constructor ------------------------------------------------------------
 
@@ -158,12 +242,32 @@ public class Station {
 	 * @see #enter(RoadUser)
 	 */
 	public Station(Class<? extends Location> startLocation) {
+		this(startLocation, new SimulationContext());
+	}
+
+	/**
+	 * Constructs a <code>new</code> {@link Station} that owns the specified
+	 * {@link SimulationContext}. The {@link Location}s and {@link RoadUser}s
+	 * added to <code>this</code> {@link Station} should be constructed with
+	 * the same {@link SimulationContext}.
+	 * 
+	 * @param startLocation
+	 *            The <code>Class</code> of a subclass of type {@link Location}
+	 *            that denotes the type of the first {@link Location} new
+	 *            {@link RoadUser}s are added to in the station if a
+	 *            {@link Location} of that type exists in the station.
+	 * @param context
+	 *            The {@link SimulationContext} of the simulation.
+	 * 
+	 * @see #getContext()
+	 */
+	public Station(Class<? extends Location> startLocation, SimulationContext context) {
 
 		// Initialise instance fields
-		this.toMove = new HashMap<RoadUser, Location>();
+		this.context = context;
+		this.toMove = new MoveBuffer();
 		this.locations = new LinkedList<Location>();
 		this.startLoaction = startLocation;
-		this.toRemoveFrom_toMove = new LinkedList<RoadUser>();
 
 		// Initialise statistic instance fields
 		this.fuelProfit = new Statistic<RoadUser>();
@@ -173,6 +277,57 @@ public class Station {
 		this.lostFuelprofit = new Statistic<RoadUser>();
 		this.roadUsersRejected = new Statistic<RoadUser>();
 		this.numberOfRoadUsers = new Statistic<RoadUser>();
+		this.readOnly = false;
+		this.deltas = null;
+		this.indexes = new HashMap<Class<? extends Location>, LocationIndex>();
+		this.routingPolicy = RoutingPolicy.SHORTEST_QUEUE;
+		this.pool = null;
+		this.parallel = false;
+		this.ordered = null;
+		this.buffers = null;
+
+	}
+
+	/**
+	 * Constructs a read-only snapshot of the specified {@link Station}. Every
+	 * {@link Statistic}, {@link Location} and {@link RoadUser} of the snapshot
+	 * is the snapshot of its counterpart in the specified {@link Station}.
+	 * 
+	 * @param original
+	 *            The {@link Station} to take a snapshot of.
+	 * 
+	 * @see #snapshot()
+	 */
+	private Station(Station original) {
+
+		this.context = original.context;
+		this.startLoaction = original.startLoaction;
+		this.readOnly = true;
+		this.deltas = null;
+		this.indexes = Collections.emptyMap();
+		this.routingPolicy = original.routingPolicy;
+
+		// Unchanged statistics share the same snapshot.
+		this.fuelProfit = original.fuelProfit.snapshot();
+		this.salesProfit = original.salesProfit.snapshot();
+		this.roadUsersProcessed = original.roadUsersProcessed.snapshot();
+		this.lostSalesProfit = original.lostSalesProfit.snapshot();
+		this.lostFuelprofit = original.lostFuelprofit.snapshot();
+		this.roadUsersRejected = original.roadUsersRejected.snapshot();
+		this.numberOfRoadUsers = original.numberOfRoadUsers.snapshot();
+
+		// Unchanged locations share the same snapshot.
+		List<Location> snapshotLocations = new ArrayList<Location>(original.locations.size());
+
+		for (Location location : original.locations) {
+			snapshotLocations.add(location.snapshot());
+		}
+
+		this.locations = Collections.unmodifiableList(snapshotLocations);
+
+		// The road users waiting to move are the snapshots held by their
+		// locations.
+		this.toMove = original.toMove.snapshot();
 
 	}
 
@@ -185,8 +340,12 @@ public class Station {
 	 *            {@link Location}
 	 */
 	public void addLocation(Location newLocation) {
+		checkWritable();
 		if (newLocation != null && !locations.contains(newLocation)) {
 			locations.add(newLocation);
+			index(newLocation);
+			newLocation.setPool(pool);
+			ordered = null;
 		}
 	}
 
@@ -202,17 +361,26 @@ public class Station {
 	 */
 	public void processLocations() {
 
+		checkWritable();
+
 		// Move all the road users from toMove to their allocated next location.
 		relocateRoadUsers();
 
-		// Iterates through each location in the station.
-		for (Location currentLocation : locations) {
+		if (parallel) {
+			processInParallel();
+		} else {
+
+			// Iterates through each location in the station.
+			for (Location currentLocation : locations) {
 
-			// Process the queue at each location.
-			currentLocation.processQueue(toMove);
+				// Process the queue at each location.
+				currentLocation.processQueue(toMove);
 
+			}
 		}
 
+		publishLeft();
+
 	}
 
 	/**
@@ -257,25 +425,121 @@ public class Station {
 	 */
 	public void enter(RoadUser roadUser) {
 
+		checkWritable();
+
 		if (roadUser != null) {
 
 			// If there is enough space in the station for the parameter
-			// RoadUser
-			if (findOptimalDestination(roadUser, startLoaction)) {
+			// RoadUser it has entered.
+			if (!offer(roadUser)) {
+				reject(roadUser);
+			}
+		}
+	}
+
+	/**
+	 * Counts a {@link RoadUser} that did not enter <code>this</code>
+	 * {@link Station} as rejected, along with the profit that was lost by not
+	 * serving it.
+	 * 
+	 * @param roadUser
+	 *            {@link RoadUser} that was not added, NOT NULL.
+	 * 
+	 * @see #offer(RoadUser)
+	 */
+	public void reject(RoadUser roadUser) {
 
-				numberOfRoadUsers.update(roadUser.getClass(), 1);
+		checkWritable();
 
-			} else {
+		// Increment roadUserRejected to acknowledge a road user has been
+		// rejected.
+		record(Delta.reject(roadUser.getClass()));
+		increment(Measure.LOST_FUEL_PROFIT, roadUser.getClass(), roadUser.getVehicle().getMaxWorth());
+		increment(Measure.LOST_SALES_PROFIT, roadUser.getClass(), roadUser.getWorth());
+		increment(Measure.REJECTED, roadUser.getClass(), 1);
 
-				// If there is no space for the road user in the station then
-				// increment roadUserRejected to acknowledge a road user has
-				// been rejected.
-				lostFuelprofit.update(roadUser.getClass(), roadUser.getVehicle().getMaxWorth());
-				lostSalesProfit.update(roadUser.getClass(), roadUser.getWorth());
-				roadUsersRejected.update(roadUser.getClass(), 1);
+		// The road user never entered so it can be reused at once.
+		if (pool != null) {
+			pool.release(roadUser);
+		}
+	}
 
+	/**
+	 * Adds a {@link RoadUser} to <code>this</code> {@link Station} if there is
+	 * the nessecary space in the starting {@link Location}. Unlike
+	 * {@link #enter(RoadUser)} a {@link RoadUser} that does not fit is not
+	 * counted as rejected, so that it can go on to another {@link Station}.
+	 * 
+	 * @param roadUser
+	 *            {@link RoadUser} to be added, NOT NULL.
+	 * @return <code>true</code> if the {@link RoadUser} entered
+	 *         <code>this</code> {@link Station}, <code>false</code> if nothing
+	 *         changed.
+	 * 
+	 * @see environment.model.network.StationNetwork
+	 */
+	public boolean offer(RoadUser roadUser) {
+
+		checkWritable();
+
+		Location destination = findOptimalDestination(roadUser, startLoaction);
+
+		if (destination == null) {
+			return false;
+		}
+
+		numberOfRoadUsers.update(roadUser.getClass(), 1);
+		record(Delta.arrive(roadUser.getClass(), destination.getID()));
+
+		return true;
+	}
+
+	/**
+	 * Retrieves whether <code>this</code> {@link Station} is empty, in which
+	 * case nothing changes on a tick unless a {@link RoadUser} arrives.
+	 * 
+	 * @return <code>true</code> if no {@link Location} holds a
+	 *         {@link RoadUser} and none are waiting to move.
+	 * 
+	 * @see #skip(int)
+	 */
+	public boolean isQuiescent() {
+
+		if (!toMove.isEmpty()) {
+			return false;
+		}
+
+		for (Location location : locations) {
+			if (!location.getQueue().isEmpty()) {
+				return false;
 			}
 		}
+
+		return true;
+	}
+
+	/**
+	 * Moves <code>this</code> {@link Station} on by the specified number of
+	 * ticks on which no {@link RoadUser} arrives in one step, as if
+	 * {@link #processLocations()} had been called on each of them.
+	 * 
+	 * @param ticks
+	 *            <code>int</code> number of ticks.
+	 * @throws IllegalStateException
+	 *             If <code>this</code> {@link Station} is not
+	 *             {@link #isQuiescent() quiescent}.
+	 */
+	public void skip(int ticks) {
+
+		checkWritable();
+
+		if (!isQuiescent()) {
+			throw new IllegalStateException("A station can only skip ticks while it is empty");
+		}
+
+		for (Location location : locations) {
+			location.skip(ticks);
+		}
 	}
 
 	/**
@@ -422,6 +686,16 @@ public class Station {
 		return false;
 	}
 
+	/**
+	 * Retrieves the {@link SimulationContext} that holds the random streams and
+	 * identifiers of the simulation of <code>this</code> {@link Station}.
+	 * 
+	 * @return {@link SimulationContext}
+	 */
+	public SimulationContext getContext() {
+		return context;
+	}
+
 	/**
 	 * Retrieves the {@link Location}s in <code>this</code> {@link Station.java}
 	 * 
@@ -446,7 +720,7 @@ public class Station {
 	public Station clone() {
 
 		// Initialise the new Station that will be used as the clone of this.
-		Station cloneStation = new Station(this.startLoaction);
+		Station cloneStation = new Station(this.startLoaction, this.context);
 
 		// Clone the instance fields of this into the clone.
 		cloneStation.numberOfRoadUsers = this.numberOfRoadUsers.clone();
@@ -457,57 +731,490 @@ public class Station {
 		cloneStation.fuelProfit = this.fuelProfit.clone();
 		cloneStation.salesProfit = this.salesProfit.clone();
 
-		// Initialise the toMove Map in the clone.
-		cloneStation.toMove = cloneToMove();
+		// Initialise the toMove buffer in the clone.
+		cloneStation.toMove = this.toMove.clone();
 
-		// Initialise the locations List in the clone.
+		// Initialise the locations List in the clone and index them.
 		cloneStation.locations = cloneLocations();
+		cloneStation.locations.forEach(cloneStation::index);
+		cloneStation.routingPolicy = this.routingPolicy;
+		cloneStation.parallel = this.parallel;
 
 		return cloneStation;
 	}
 
+	/**
+	 * Retrieves a read-only snapshot of <code>this</code> {@link Station} for
+	 * use by the {@link SimulatorView}s. Unlike {@link #clone()} the snapshot
+	 * shares every {@link Statistic}, {@link Location} and {@link RoadUser}
+	 * that has not changed since the previous snapshot, so the cost of taking a
+	 * snapshot each tick is proportional to what changed during that tick.
+	 * 
+	 * <p>
+	 * Any attempt to modify the snapshot, or anything retrieved from it,
+	 * throws an {@link UnsupportedOperationException}. The
+	 * {@link SimulationContext} of the snapshot is that of <code>this</code>
+	 * {@link Station} and must not be used to draw random values.
+	 * </p>
+	 * 
+	 * @return Read-only {@link Station}.
+	 * 
+	 * @see Location#snapshot()
+	 * @see RoadUser#snapshot()
+	 * @see Statistic#snapshot()
+	 */
+	public Station snapshot() {
+		return readOnly ? this : new Station(this);
+	}
+
+	/**
+	 * Retrieves whether <code>this</code> {@link Station} is a read-only
+	 * snapshot.
+	 * 
+	 * @return <code>boolean</code>
+	 * 
+	 * @see #snapshot()
+	 */
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+
+	/**
+	 * Retrieves the {@link RoutingPolicy} that chooses which {@link Location}
+	 * a {@link RoadUser} moves to.
+	 * 
+	 * @return {@link RoutingPolicy}
+	 */
+	public RoutingPolicy getRoutingPolicy() {
+		return routingPolicy;
+	}
+
+	/**
+	 * Sets the {@link RoutingPolicy} that chooses which {@link Location} a
+	 * {@link RoadUser} moves to. The default is
+	 * {@link RoutingPolicy#SHORTEST_QUEUE}.
+	 * 
+	 * @param routingPolicy
+	 *            {@link RoutingPolicy} NOT NULL
+	 */
+	public void setRoutingPolicy(RoutingPolicy routingPolicy) {
+
+		checkWritable();
+
+		if (routingPolicy == null) {
+			throw new IllegalArgumentException("The routing policy cannot be null");
+		}
+
+		this.routingPolicy = routingPolicy;
+	}
+
+	/**
+	 * Retrieves the {@link RoadUserPool} that the {@link RoadUser}s that leave
+	 * <code>this</code> {@link Station} are released to.
+	 * 
+	 * @return {@link RoadUserPool}, or <code>null</code> if the
+	 *         {@link RoadUser}s are not recycled.
+	 */
+	public RoadUserPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * Sets the {@link RoadUserPool} that the {@link RoadUser}s that leave
+	 * <code>this</code> {@link Station} are released to. A {@link RoadUser} is
+	 * released when it is rejected by {@link #enter(RoadUser)} or when its
+	 * {@link Pump} lets it leave after it has paid, as nothing in
+	 * <code>this</code> {@link Station} refers to it after that. The
+	 * {@link RoadUser}s entered into <code>this</code> {@link Station} must
+	 * not be used by the caller once they are released. By default they are
+	 * not recycled.
+	 * 
+	 * @param pool
+	 *            {@link RoadUserPool} of the {@link SimulationContext} of
+	 *            <code>this</code> {@link Station}, or <code>null</code>.
+	 */
+	public void setPool(RoadUserPool pool) {
+
+		checkWritable();
+
+		if (pool != null && pool.getContext() != context) {
+			throw new IllegalArgumentException("The pool belongs to a different simulation");
+		}
+
+		this.pool = pool;
+
+		for (Location location : locations) {
+			location.setPool(pool);
+		}
+	}
+
+	/**
+	 * Retrieves whether the independent {@link Location}s of
+	 * <code>this</code> {@link Station} are processed at the same time.
+	 * 
+	 * @return <code>boolean</code>
+	 * 
+	 * @see #setParallel(boolean)
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Sets whether the independent {@link Location}s of <code>this</code>
+	 * {@link Station} are processed at the same time by
+	 * {@link #processLocations()}. Each consecutive run of
+	 * {@link Location#isIndependent() independent} {@link Location}s is
+	 * processed on the common {@link ForkJoinPool}, each {@link Location} into
+	 * its own {@link MoveBuffer}, and the {@link MoveBuffer}s are then merged
+	 * in the order of the {@link Location}s. The other {@link Location}s are
+	 * processed one at a time in order. The result is the same as processing
+	 * every {@link Location} in order, which is the default.
+	 * 
+	 * @param parallel
+	 *            <code>boolean</code>
+	 */
+	public void setParallel(boolean parallel) {
+
+		checkWritable();
+
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Writes the whole state of <code>this</code> {@link Station} to a
+	 * checkpoint: its {@link Statistic}s, its {@link Location}s with the
+	 * {@link RoadUser}s in them, the {@link RoadUser}s waiting to move and the
+	 * state of its {@link SimulationContext}. The {@link RoadUserPool} and the
+	 * recording of {@link Delta}s are not part of the state of the
+	 * simulation, so they are not written.
+	 * 
+	 * @param out
+	 *            {@link CheckpointOutput}
+	 * @throws IOException
+	 *             If the state cannot be written.
+	 * 
+	 * @see #readCheckpoint(CheckpointInput)
+	 * @see environment.model.checkpoint.Checkpoint
+	 */
+	public void writeCheckpoint(CheckpointOutput out) throws IOException {
+
+		out.writeClass(startLoaction);
+		out.writeUTF(routingPolicy.name());
+		out.writeBoolean(parallel);
+
+		out.writeStatistic(numberOfRoadUsers);
+		out.writeStatistic(roadUsersRejected);
+		out.writeStatistic(lostFuelprofit);
+		out.writeStatistic(lostSalesProfit);
+		out.writeStatistic(roadUsersProcessed);
+		out.writeStatistic(fuelProfit);
+		out.writeStatistic(salesProfit);
+
+		// Each location is written with its type and the type of the next
+		// location so that it can be constructed again.
+		out.writeInt(locations.size());
+
+		for (Location location : locations) {
+			out.writeClass(location.getClass());
+			out.writeClass(location.nextLocation);
+			location.writeCheckpoint(out);
+		}
+
+		for (LocationIndex index : indexesInOrder()) {
+			out.writeInt(index.getTurn());
+		}
+
+		// The road users waiting to move refer to their locations by position.
+		List<Location> positions = new ArrayList<Location>(locations);
+
+		out.writeInt(toMove.size());
+
+		for (int entry = 0; entry < toMove.size(); entry++) {
+			out.writeRoadUser(toMove.getRoadUser(entry));
+			out.writeInt(positions.indexOf(toMove.getSource(entry)));
+			out.writeByte(toMove.getStatus(entry).ordinal());
+		}
+
+		// Written last as it is restored last.
+		getContext().writeCheckpoint(out);
+	}
+
+	/**
+	 * Sets whether <code>this</code> {@link Station} records a {@link Delta}
+	 * for each change it makes. A {@link Station} does not record its changes
+	 * by default.
+	 * 
+	 * @param recording
+	 *            <code>boolean</code>
+	 * 
+	 * @see #drainDeltas()
+	 */
+	public void setRecordingDeltas(boolean recording) {
+
+		checkWritable();
+
+		if (!recording) {
+			deltas = null;
+		} else if (deltas == null) {
+			deltas = new ArrayList<Delta>();
+		}
+	}
+
+	/**
+	 * Retrieves the {@link Delta}s recorded since the previous call and starts
+	 * a new {@link List} for the next changes.
+	 * 
+	 * @return <code>{@link List}&lt;{@link Delta}&gt;</code> in the order the
+	 *         changes were made, empty if <code>this</code> {@link Station} is
+	 *         not recording its changes.
+	 * 
+	 * @see #setRecordingDeltas(boolean)
+	 */
+	public List<Delta> drainDeltas() {
+
+		if (deltas == null) {
+			return Collections.emptyList();
+		}
+
+		List<Delta> drained = deltas;
+		deltas = new ArrayList<Delta>();
+
+		return drained;
+	}
+
+	// Static Methods ---------------------------------------------------------
+
+	/**
+	 * Reads a {@link Station} written by
+	 * {@link #writeCheckpoint(CheckpointOutput)}. The {@link Station} belongs
+	 * to the {@link SimulationContext} of the {@link CheckpointInput}, whose
+	 * state is restored as well.
+	 * 
+	 * @param in
+	 *            {@link CheckpointInput}
+	 * @return {@link Station} in the same state as the {@link Station} that
+	 *         was written.
+	 * @throws IOException
+	 *             If the state cannot be read.
+	 */
+	public static Station readCheckpoint(CheckpointInput in) throws IOException {
+
+		Station station = new Station(in.readClass(Location.class), in.getContext());
+
+		try {
+			station.routingPolicy = RoutingPolicy.valueOf(in.readUTF());
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Unknown routing policy", e);
+		}
+
+		station.parallel = in.readBoolean();
+
+		station.numberOfRoadUsers = in.readStatistic(RoadUser.class);
+		station.roadUsersRejected = in.readStatistic(RoadUser.class);
+		station.lostFuelprofit = in.readStatistic(RoadUser.class);
+		station.lostSalesProfit = in.readStatistic(RoadUser.class);
+		station.roadUsersProcessed = in.readStatistic(RoadUser.class);
+		station.fuelProfit = in.readStatistic(RoadUser.class);
+		station.salesProfit = in.readStatistic(RoadUser.class);
+
+		int numberOfLocations = in.readInt();
+
+		for (int position = 0; position < numberOfLocations; position++) {
+
+			Class<? extends Location> type = in.readClass(Location.class);
+			Class<? extends Location> nextLocation = in.readClass(Location.class);
+
+			Location location;
+
+			try {
+				location = type.getConstructor(Class.class, SimulationContext.class).newInstance(nextLocation,
+						in.getContext());
+			} catch (NoSuchMethodException | InstantiationException | IllegalAccessException
+					| InvocationTargetException | NullPointerException e) {
+				throw new IOException("Cannot construct location " + position, e);
+			}
+
+			// The location is indexed once its queue has been restored.
+			location.readCheckpoint(in);
+			station.addLocation(location);
+		}
+
+		for (LocationIndex index : station.indexesInOrder()) {
+			index.setTurn(in.readInt());
+		}
+
+		List<Location> positions = new ArrayList<Location>(station.locations);
+		Status[] statuses = Status.values();
+
+		int moving = in.readInt();
+
+		for (int entry = 0; entry < moving; entry++) {
+			station.toMove.add(in.readRoadUser(), positions.get(in.readInt()));
+			station.toMove.setStatus(entry, statuses[in.readUnsignedByte()]);
+		}
+
+		// Constructing the locations and road users drew from the random
+		// streams, so the context is restored last.
+		in.getContext().readCheckpoint(in);
+
+		return station;
+	}
+
 	// Private Methods -------------------------------------------------------
 
 	/**
-	 * Clones {@link #locations} in <code>this</code> {@link Station}.
+	 * Retrieves the {@link LocationIndex} of each type of {@link Location} in
+	 * the order the first {@link Location} of that type was added.
 	 * 
-	 * @return {@link List}&lt;{@link Location}&gt; clone of {@link #locations}
+	 * @return <code>{@link List}&lt;{@link LocationIndex}&gt;</code>
 	 */
-	private List<Location> cloneLocations() {
+	private List<LocationIndex> indexesInOrder() {
 
-		// Initialise a new List to be used in the clone an locations.
-		List<Location> cloneLocations = new LinkedList<Location>();
+		List<LocationIndex> inOrder = new ArrayList<LocationIndex>(indexes.size());
 
-		// Iterate through all the locations in this station.
-		for (Location location : this.locations) {
+		for (Location location : locations) {
 
-			// Add the current location to the clone's version of locations.
-			cloneLocations.add(location.clone());
+			LocationIndex index = indexes.get(location.getClass());
 
+			if (index != null && !inOrder.contains(index)) {
+				inOrder.add(index);
+			}
 		}
-		return cloneLocations;
+
+		return inOrder;
+	}
+
+	/**
+	 * Processes the {@link #locations} in order, except that each run of
+	 * consecutive independent {@link Location}s is processed at the same time.
+	 * The {@link LocationIndex}s are not kept up to date while a run is
+	 * processed and the {@link RoadUser}s the run moves are added to
+	 * {@link #toMove} in the order of the {@link Location}s afterwards, so the
+	 * result is the same as processing them one at a time.
+	 * 
+	 * @see #setParallel(boolean)
+	 */
+	private void processInParallel() {
+
+		if (ordered == null) {
+			ordered = locations.toArray(new Location[locations.size()]);
+			buffers = new MoveBuffer[ordered.length];
+		}
+
+		int from = 0;
+
+		while (from < ordered.length) {
+
+			// Find the end of the run of independent locations.
+			int to = from;
+
+			while (to < ordered.length && ordered[to].isIndependent()) {
+				to++;
+			}
+
+			// A location that is not independent, or a run of one, is
+			// processed on its own.
+			if (to - from < 2) {
+				ordered[from].processQueue(toMove);
+				from++;
+				continue;
+			}
+
+			indexes.values().forEach(LocationIndex::defer);
+
+			try {
+				ForkJoinPool.commonPool().invoke(new ProcessTask(from, to));
+			} finally {
+				indexes.values().forEach(LocationIndex::flush);
+			}
+
+			// Merge the moves in the order the locations would have made them.
+			for (int position = from; position < to; position++) {
+
+				MoveBuffer buffer = buffers[position];
+
+				toMove.addAll(buffer);
+
+				buffer.clear();
+			}
+
+			from = to;
+		}
+	}
+
+	/**
+	 * Adds the specified {@link Location} to the {@link LocationIndex} of its
+	 * type.
+	 * 
+	 * @param location
+	 *            {@link Location}
+	 */
+	private void index(Location location) {
+		indexes.computeIfAbsent(location.getClass(), type -> new LocationIndex()).add(location);
 	}
 
 	/**
-	 * Clones the {@link #toMove} field of <code>this</code> {@link Station}.
+	 * Records the specified {@link Delta} if <code>this</code> {@link Station}
+	 * is recording its changes.
 	 * 
-	 * @return <code>{@link Map}&lt;{@link RoadUser}, {@link Location}&gt;</code>
-	 *         A clone of {@link #toMove}
+	 * @param delta
+	 *            {@link Delta}
 	 */
-	private Map<RoadUser, Location> cloneToMove() {
+	private void record(Delta delta) {
+		if (deltas != null) {
+			deltas.add(delta);
+		}
+	}
 
-		// Initialise a new Map to be used in the clone as toMove.
-		Map<RoadUser, Location> cloneToMove = new HashMap<RoadUser, Location>();
+	/**
+	 * Increments the {@link Statistic} of the specified {@link Measure} and
+	 * records the increment.
+	 * 
+	 * @param measure
+	 *            The {@link Measure} to increment.
+	 * @param type
+	 *            The type of {@link RoadUser}.
+	 * @param amount
+	 *            The <code>double</code> amount to increment by.
+	 */
+	private void increment(Measure measure, Class<? extends RoadUser> type, double amount) {
 
-		// Iterate through all the elements in the toMove Map in this.
-		for (RoadUser roadUser : this.toMove.keySet()) {
+		measure.of(this).update(type, amount);
+		record(Delta.increment(measure, type, amount));
 
-			// Add the current element in toMove into the clone of toMove.
-			cloneToMove.put(roadUser.clone(), this.toMove.get(roadUser).clone());
+	}
 
+	/**
+	 * Throws an {@link UnsupportedOperationException} if <code>this</code>
+	 * {@link Station} is a read-only snapshot.
+	 * 
+	 * @see #snapshot()
+	 */
+	private void checkWritable() {
+		if (readOnly) {
+			throw new UnsupportedOperationException("A snapshot of a station cannot be modified");
 		}
-		return cloneToMove;
+	}
+
+	/**
+	 * Clones {@link #locations} in <code>this</code> {@link Station}.
+	 * 
+	 * @return {@link List}&lt;{@link Location}&gt; clone of {@link #locations}
+	 */
+	private List<Location> cloneLocations() {
+
+		// Initialise a new List to be used in the clone an locations.
+		List<Location> cloneLocations = new LinkedList<Location>();
+
+		// Iterate through all the locations in this station.
+		for (Location location : this.locations) {
+
+			// Add the current location to the clone's version of locations.
+			cloneLocations.add(location.clone());
 
+		}
+		return cloneLocations;
 	}
 
 	/**
@@ -521,54 +1228,88 @@ public class Station {
 	 */
 	private void relocateRoadUsers() {
 
-		// Empty the list from the previous iteration.s
-		this.toRemoveFrom_toMove = new LinkedList<RoadUser>();
+		// Relocate each road user in the order they were added to toMove.
+		for (int entry = 0; entry < toMove.size(); entry++) {
 
-		// Retrieve all the road users from toMove and iterate through them.
-		for (RoadUser roadUser : toMove.keySet()) {
+			RoadUser roadUser = toMove.getRoadUser(entry);
 
 			// Retrieve the current location assigned to the current road user.
-			Location currentLocation = toMove.get(roadUser);
+			Location currentLocation = toMove.getSource(entry);
 
-			// Locate and store the road user and if it is successfully added to
-			// its next location than update the statistics.
-			if (move(roadUser, currentLocation.nextLocation)) {
+			// Locate and store the road user and record whether it moved, left
+			// the station or must stay where it is.
+			Status status = move(roadUser, currentLocation);
 
-				// If the road user has left the till then add the vehicles
-				// value to the fuel profit of the vehicles of that type.
-				if (currentLocation instanceof Till) {
-					fuelProfit.update(roadUser.getClass(), roadUser.getVehicle().getMaxWorth());
-				}
-				
-				// If the road user has left the shopping area.
-				if (currentLocation instanceof ShoppingArea) {
-
-					// If the road user has shopped in the shopping area add the
-					// worth of that road user to the shopping profit otherwise
-					// add it to the lost shopping profit.
-					if (roadUser.doneShopping()) {
-						salesProfit.update(roadUser.getClass(), roadUser.getWorth());
-					} else {
-						lostSalesProfit.update(roadUser.getClass(), roadUser.getWorth());
-					}
+			// If there is no space in the location next in the chain, the road
+			// user is returned to its prior location.
+			if (status == Status.PENDING) {
+
+				// A road user that kept its place, such as at a pump, did not
+				// leave the queue so it does not rejoin it.
+				if (!currentLocation.getQueue().contains(roadUser)) {
+					record(Delta.returned(roadUser.getClass(), currentLocation.getID()));
 				}
 
-				if (currentLocation instanceof Pump) {
+				currentLocation.returnToQueue(roadUser);
+				toMove.setStatus(entry, Status.RETURNED);
 
-				}
+				continue;
+			}
+
+			toMove.setStatus(entry, status);
 
+			// If the road user has left the till then add the vehicles
+			// value to the fuel profit of the vehicles of that type.
+			if (currentLocation instanceof Till) {
+				increment(Measure.FUEL_PROFIT, roadUser.getClass(), roadUser.getVehicle().getMaxWorth());
+			}
+
+			// If the road user has left the shopping area.
+			if (currentLocation instanceof ShoppingArea) {
+
+				// If the road user has shopped in the shopping area add the
+				// worth of that road user to the shopping profit otherwise
+				// add it to the lost shopping profit.
+				if (roadUser.doneShopping()) {
+					increment(Measure.SALES_PROFIT, roadUser.getClass(), roadUser.getWorth());
+				} else {
+					increment(Measure.LOST_SALES_PROFIT, roadUser.getClass(), roadUser.getWorth());
+				}
 			}
 
 		}
 
-		// If there are any road users that are still in toMove there must be no
-		// space in the locations next in the chain, this means that they should
-		// be returned to their prior location.
-		if (!toMove.isEmpty()) {
-			returnToPriorLocation();
+		// Every road user has been relocated so the buffer is emptied for the
+		// locations to fill this tick.
+		toMove.clear();
+
+	}
+
+	/**
+	 * Publishes a {@link Delta#leave(Class, int) leave} for each
+	 * {@link RoadUser} in {@link #toMove} that left the queue of its
+	 * {@link Location} during this tick, and removes those that left without
+	 * moving so that only the {@link RoadUser}s waiting to move are left in
+	 * it. A {@link RoadUser} that is waiting to move but kept its place, such
+	 * as at a {@link Pump}, has not left yet.
+	 * 
+	 * @see MoveBuffer#leave(RoadUser, Location)
+	 */
+	private void publishLeft() {
+
+		if (deltas != null) {
+			for (int entry = 0; entry < toMove.size(); entry++) {
+
+				RoadUser roadUser = toMove.getRoadUser(entry);
+				Location source = toMove.getSource(entry);
+
+				if (toMove.getStatus(entry) == Status.LEFT || !source.getQueue().contains(roadUser)) {
+					record(Delta.leave(roadUser.getClass(), source.getID()));
+				}
+			}
 		}
 
-		removeMoved();
+		toMove.removeLeft();
 
 	}
 
@@ -579,11 +1320,13 @@ public class Station {
 	 * @param roadUser
 	 *            The {@link RoadUser} to be relocated its next
 	 *            {@link Location}.
-	 * @param nextLocation
-	 *            The <code>Class</code> of the next {@link Location} of the
-	 *            specified {@link RoadUser}.
-	 * @return <code>boolean</code> whether the {@link RoadUser} was added to
-	 *         its next location or removed from the station.
+	 * @param currentLocation
+	 *            The {@link Location} the specified {@link RoadUser} is
+	 *            leaving.
+	 * @return {@link Status#MOVED} if the {@link RoadUser} was added to its
+	 *         next location, {@link Status#DEPARTED} if it was removed from
+	 *         the station or {@link Status#PENDING} if there was no space for
+	 *         it.
 	 * 
 	 * @see environment.model.locations.Location
 	 * @see environment.model.roadusers.RoadUser
@@ -591,30 +1334,39 @@ public class Station {
 	 * @see environment.model.locations.Location#canContain(RoadUser)
 	 * @see environment.model.locations.Location#enter(RoadUser)
 	 */
-	private boolean move(RoadUser roadUser, Class<? extends Location> nextLocation) {
+	private Status move(RoadUser roadUser, Location currentLocation) {
+
+		Class<? extends Location> nextLocation = currentLocation.nextLocation;
 
 		if (nextLocation != null) {
 
-			return findOptimalDestination(roadUser, nextLocation);
+			Location destination = findOptimalDestination(roadUser, nextLocation);
+
+			if (destination == null) {
+				return Status.PENDING;
+			}
+
+			record(Delta.move(roadUser.getClass(), currentLocation.getID(), destination.getID()));
+
+			return Status.MOVED;
 
 		} else {
 
 			// The road user has no next location, There for it will leave
 			// the station.
 			numberOfRoadUsers.update(roadUser.getClass(), -1);
-			roadUsersProcessed.update(roadUser.getClass(), 1);
-
-			toRemoveFrom_toMove.add(roadUser);
+			record(Delta.depart(roadUser.getClass(), currentLocation.getID()));
+			increment(Measure.PROCESSED, roadUser.getClass(), 1);
 
-			return true;
+			return Status.DEPARTED;
 		}
 
 	}
 
 	/**
-	 * Iterates through all the {@link Location}s in the
-	 * {@link Station#locations} to find the most optimum next location for the
-	 * specified {@link RoadUser}.
+	 * Uses the {@link RoutingPolicy} to choose the most optimum next location
+	 * for the specified {@link RoadUser} from the {@link LocationIndex} of the
+	 * type of that location.
 	 * 
 	 * @param roadUser
 	 *            The {@link RoadUser} to be relocated its next
@@ -622,101 +1374,90 @@ public class Station {
 	 * @param nextLocation
 	 *            The <code>Class</code> of the next {@link Location} of the
 	 *            specified {@link RoadUser}.
-	 * @return <code>boolean</code> whether the {@link RoadUser} was added to
-	 *         its next location.
+	 * @return The {@link Location} the {@link RoadUser} was added to, or
+	 *         <code>null</code> if there was no space for it.
 	 * 
 	 */
-	private boolean findOptimalDestination(RoadUser roadUser, Class<? extends Location> nextLocation) {
+	private Location findOptimalDestination(RoadUser roadUser, Class<? extends Location> nextLocation) {
+
+		// The locations of the type of the next location.
+		LocationIndex index = indexes.get(nextLocation);
 
 		// Holds the best destination location found for the road user.
 		Location optimumLocation = null;
 
-		// Iterate though all the locations in the station
-		for (Location location : locations) {
-
-			/*
-			 * If the type of the current location is the same at the next
-			 * location AND there is enough space for the road user in that
-			 * location.
-			 */
-			if (location.getClass() == nextLocation && location.canContain(roadUser)) {
-
-				/*
-				 * If there is currently no optimum location for the road user
-				 * OR the current location is more optimal than the current most
-				 * optimal location.
-				 */
-				if (optimumLocation == null || location.compare(optimumLocation)) {
-
-					// Set the current location to be the most optimal location
-					// for the road user.
-					optimumLocation = location;
-
-				}
-
-			}
+		// The routing policy chooses the location from the index of that type
+		// rather than checking every location in the station.
+		if (index != null) {
+			optimumLocation = routingPolicy.choose(index, roadUser, context.getRoutingRandom());
 		}
 
-		// If there is an optimal location for the road user then add it to it
-		// and remove it from toMove.
+		// If there is an optimal location for the road user then add it to it.
 		if (optimumLocation != null) {
-
 			optimumLocation.enter(roadUser);
-
-			toRemoveFrom_toMove.add(roadUser);
-
-			return true;
-
 		}
 
-		// If no destination location was found.
-		return false;
+		// The destination location, or null if none was found.
+		return optimumLocation;
 
 	}
 
+	// Nested Types -----------------------------------------------------------
+
 	/**
-	 * Return all the {@link RoadUser}s in {@link #toMove} to the front of the
-	 * queue in their previous {@link Location}.
-	 * 
-	 * @see environment.model.locations.Location
-	 * @see #toMove
-	 * @see environment.model.roadusers.RoadUser
+	 * Processes a range of the {@link Station#ordered} {@link Location}s into
+	 * their {@link Station#buffers}, splitting the range in half until it is
+	 * no larger than {@link Station#PARALLEL_THRESHOLD}.
 	 */
-	private void returnToPriorLocation() {
+	private final class ProcessTask extends RecursiveAction {
+
+		/**
+		 * Serial version of <code>this</code> {@link ProcessTask}.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The position of the first {@link Location} in the range.
+		 */
+		private final int from;
+
+		/**
+		 * The position after the last {@link Location} in the range.
+		 */
+		private final int to;
+
+		/**
+		 * Constructs a new {@link ProcessTask}.
+		 * 
+		 * @param from
+		 *            <code>int</code> position of the first {@link Location}.
+		 * @param to
+		 *            <code>int</code> position after the last {@link Location}.
+		 */
+		private ProcessTask(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
 
-		// Iterate through all the road users that couldn't be moved to their
-		// next location.
-		for (RoadUser roadUser : toMove.keySet()) {
+		@Override
+		protected void compute() {
 
-			// If the current road user is not in the queue to be removed from
-			// toMove
-			if (!toRemoveFrom_toMove.contains(roadUser)) {
+			if (to - from > PARALLEL_THRESHOLD) {
 
-				// Get the previous location of the current road user.
-				Location pastLocation = toMove.get(roadUser);
+				int middle = (from + to) >>> 1;
 
-				// Return the road user to the its previous location. Then
-				// remove it
-				// from to move.
-				pastLocation.returnToQueue(roadUser);
-				toRemoveFrom_toMove.add(roadUser);
+				invokeAll(new ProcessTask(from, middle), new ProcessTask(middle, to));
+				return;
 			}
-		}
-	}
 
-	/**
-	 * Removes all the {@link RoadUser}s stored in {@link #toRemoveFrom_toMove}
-	 * and removes them from {@link #toMove}.
-	 * 
-	 * @see #toMove
-	 * @see #toRemoveFrom_toMove
-	 */
-	private void removeMoved() {
+			for (int position = from; position < to; position++) {
 
-		// Iterate through all the elements from toRemoveFrom_toMove and remove
-		// them from toMove.
-		for (RoadUser roadUser : toRemoveFrom_toMove) {
-			toMove.remove(roadUser);
+				if (buffers[position] == null) {
+					buffers[position] = new MoveBuffer();
+				}
+
+				ordered[position].processQueue(buffers[position]);
+			}
 		}
 
 	}
@@ -0,0 +1,112 @@
+package environment.model;
+
+import java.util.Random;
+
+/**
+ *
+ * A {@link Random} stream of a {@link SimulationContext} whose state can be
+ * saved and restored. It uses the same linear congruential generator as
+ * {@link Random}, so a {@link StreamRandom} produces exactly the same values
+ * as a {@link Random} constructed with the same seed.
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.SimulationContext#writeCheckpoint(environment.model.checkpoint.CheckpointOutput)
+ */
+final class StreamRandom extends Random {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * Serial version of <code>this</code> {@link StreamRandom}.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The multiplier of the generator, the same as that of {@link Random}.
+	 */
+	private static final long MULTIPLIER = 0x5DEECE66DL;
+
+	/**
+	 * The addend of the generator, the same as that of {@link Random}.
+	 */
+	private static final long ADDEND = 0xBL;
+
+	/**
+	 * The mask of the 48 bits of state of the generator.
+	 */
+	private static final long MASK = (1L << 48) - 1;
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The 48 bits of state of the generator. This is set by
+	 * {@link #setSeed(long)} while {@link Random} is being constructed, so it
+	 * must not have an initialiser.
+	 */
+	private long state;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link StreamRandom} with the specified seed.
+	 *
+	 * @param seed
+	 *            The <code>long</code> seed.
+	 */
+	StreamRandom(long seed) {
+		super(seed);
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Sets the seed of <code>this</code> {@link StreamRandom} in the same way
+	 * as {@link Random#setSeed(long)}.
+	 */
+	@Override
+	public synchronized void setSeed(long seed) {
+
+		super.setSeed(seed);
+
+		state = (seed ^ MULTIPLIER) & MASK;
+	}
+
+	// Package Methods --------------------------------------------------------
+
+	/**
+	 * Retrieves the state of the generator.
+	 *
+	 * @return <code>long</code> state.
+	 */
+	synchronized long getState() {
+		return state;
+	}
+
+	/**
+	 * Restores the state of the generator that was retrieved by
+	 * {@link #getState()}.
+	 *
+	 * @param state
+	 *            <code>long</code> state.
+	 */
+	synchronized void setState(long state) {
+		this.state = state & MASK;
+	}
+
+	// Protected Methods ------------------------------------------------------
+
+	/**
+	 * Generates the next pseudorandom number in the same way as
+	 * {@link Random#next(int)}.
+	 */
+	@Override
+	protected synchronized int next(int bits) {
+
+		state = (state * MULTIPLIER + ADDEND) & MASK;
+
+		return (int) (state >>> (48 - bits));
+	}
+
+}
@@ -0,0 +1,206 @@
+package environment.model.checkpoint;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import environment.model.SimulationContext;
+import environment.model.Station;
+
+/**
+ *
+ * The state of a simulation at the start of a tick, from which it can be
+ * resumed. A {@link Checkpoint} holds the number of ticks that had been
+ * simulated, the parameters of the simulation and its {@link Station}.
+ *
+ * <p>
+ * The binary form of a {@link Checkpoint} starts with {@link #MAGIC} and
+ * {@link #VERSION}, followed by the tick, the parameters as
+ * <code>key=value</code> pairs in order of their keys and then the
+ * {@link Station}, which writes its own state. A {@link environment.model.roadusers.RoadUser}
+ * is written once, where it is first reached, and referred to by a handle
+ * after that.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.Station#writeCheckpoint(CheckpointOutput)
+ * @see environment.model.checkpoint.Checkpointer
+ */
+public final class Checkpoint {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The first four bytes of every {@link Checkpoint}.
+	 */
+	public static final int MAGIC = 0x53544E43;
+
+	/**
+	 * The version of the binary form of a {@link Checkpoint}.
+	 */
+	public static final int VERSION = 1;
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The number of ticks that had been simulated.
+	 */
+	private final long tick;
+
+	/**
+	 * The parameters of the simulation.
+	 */
+	private final Properties parameters;
+
+	/**
+	 * The {@link Station} of the simulation.
+	 */
+	private final Station station;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link Checkpoint}. The {@link Station} is not copied,
+	 * so it must not change until the {@link Checkpoint} has been written.
+	 *
+	 * @param tick
+	 *            The <code>long</code> number of ticks that have been
+	 *            simulated.
+	 * @param parameters
+	 *            The {@link Properties} parameters of the simulation.
+	 * @param station
+	 *            The {@link Station} of the simulation.
+	 */
+	public Checkpoint(long tick, Properties parameters, Station station) {
+
+		this.tick = tick;
+		this.parameters = parameters;
+		this.station = station;
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Retrieves the number of ticks that had been simulated, which is the
+	 * tick the simulation resumes from.
+	 *
+	 * @return <code>long</code>
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	/**
+	 * Retrieves the parameters of the simulation.
+	 *
+	 * @return {@link Properties}
+	 */
+	public Properties getParameters() {
+		return parameters;
+	}
+
+	/**
+	 * Retrieves the {@link Station} of the simulation.
+	 *
+	 * @return {@link Station}
+	 */
+	public Station getStation() {
+		return station;
+	}
+
+	/**
+	 * Retrieves the binary form of <code>this</code> {@link Checkpoint}.
+	 *
+	 * @return <code>byte[]</code>
+	 * @throws IOException
+	 *             If the {@link Station} cannot be written.
+	 */
+	public byte[] toBytes() throws IOException {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try (CheckpointOutput out = new CheckpointOutput(bytes)) {
+
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(tick);
+
+			// The keys are written in order so the same parameters are always
+			// written the same way.
+			TreeSet<String> keys = new TreeSet<String>(parameters.stringPropertyNames());
+
+			out.writeInt(keys.size());
+
+			for (String key : keys) {
+				out.writeUTF(key);
+				out.writeUTF(parameters.getProperty(key));
+			}
+
+			station.writeCheckpoint(out);
+		}
+
+		return bytes.toByteArray();
+	}
+
+	// Static Methods ---------------------------------------------------------
+
+	/**
+	 * Reads a {@link Checkpoint} from its binary form. The {@link Station}
+	 * has a new {@link SimulationContext} in the same state as that of the
+	 * {@link Station} that was written.
+	 *
+	 * @param data
+	 *            <code>byte[]</code> retrieved by {@link #toBytes()}.
+	 * @return {@link Checkpoint}
+	 * @throws IOException
+	 *             If the data is not a {@link Checkpoint} or cannot be read.
+	 */
+	public static Checkpoint fromBytes(byte[] data) throws IOException {
+
+		try (CheckpointInput in = new CheckpointInput(new ByteArrayInputStream(data), new SimulationContext())) {
+
+			if (in.readInt() != MAGIC) {
+				throw new IOException("Not a checkpoint");
+			}
+
+			int version = in.readInt();
+
+			if (version != VERSION) {
+				throw new IOException("Unsupported checkpoint version " + version);
+			}
+
+			long tick = in.readLong();
+			Properties parameters = new Properties();
+
+			int count = in.readInt();
+
+			for (int entry = 0; entry < count; entry++) {
+				parameters.setProperty(in.readUTF(), in.readUTF());
+			}
+
+			return new Checkpoint(tick, parameters, Station.readCheckpoint(in));
+		}
+	}
+
+	/**
+	 * Reads a {@link Checkpoint} from a file.
+	 *
+	 * @param file
+	 *            {@link Path} of the file.
+	 * @return {@link Checkpoint}
+	 * @throws IOException
+	 *             If the file cannot be read or does not hold a
+	 *             {@link Checkpoint}.
+	 */
+	public static Checkpoint read(Path file) throws IOException {
+		return fromBytes(Files.readAllBytes(file));
+	}
+
+}
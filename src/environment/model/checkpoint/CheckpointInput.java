@@ -0,0 +1,187 @@
+package environment.model.checkpoint;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import environment.Statistic;
+import environment.model.SimulationContext;
+import environment.model.roadusers.RoadUser;
+
+/**
+ *
+ * The stream that the state of a simulation is read from when it is resumed
+ * from a {@link Checkpoint}. Each object reads its own state in the order it
+ * was written by the {@link CheckpointOutput}.
+ *
+ * <p>
+ * The objects read are constructed with the {@link SimulationContext} of the
+ * resumed simulation before their state is restored, which may draw values
+ * from its {@link java.util.Random} streams. The state of the
+ * {@link SimulationContext} must therefore be restored after every other
+ * object.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.checkpoint.CheckpointOutput
+ */
+public final class CheckpointInput extends DataInputStream {
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link SimulationContext} of the resumed simulation.
+	 */
+	private final SimulationContext context;
+
+	/**
+	 * The {@link RoadUser}s that have been read, by handle.
+	 */
+	private final List<RoadUser> roadUsers;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link CheckpointInput}.
+	 *
+	 * @param in
+	 *            The {@link InputStream} the checkpoint is read from.
+	 * @param context
+	 *            The {@link SimulationContext} of the resumed simulation.
+	 */
+	public CheckpointInput(InputStream in, SimulationContext context) {
+
+		super(in);
+
+		this.context = context;
+		this.roadUsers = new ArrayList<RoadUser>();
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Retrieves the {@link SimulationContext} of the resumed simulation.
+	 *
+	 * @return {@link SimulationContext}
+	 */
+	public SimulationContext getContext() {
+		return context;
+	}
+
+	/**
+	 * Reads a {@link RoadUser} written by
+	 * {@link CheckpointOutput#writeRoadUser(RoadUser)}. Every handle of the
+	 * same {@link RoadUser} is read as the same object.
+	 *
+	 * @return {@link RoadUser}
+	 * @throws IOException
+	 *             If the {@link RoadUser} cannot be read.
+	 */
+	public RoadUser readRoadUser() throws IOException {
+
+		int handle = readInt();
+
+		if (handle < roadUsers.size()) {
+			return roadUsers.get(handle);
+		} else if (handle != roadUsers.size()) {
+			throw new IOException("Unexpected road user handle " + handle);
+		}
+
+		RoadUser roadUser = construct(readClass(RoadUser.class));
+
+		roadUsers.add(roadUser);
+		roadUser.readCheckpoint(this);
+
+		return roadUser;
+	}
+
+	/**
+	 * Reads the name of a <code>Class</code> written by
+	 * {@link CheckpointOutput#writeClass(Class)}.
+	 *
+	 * @param supertype
+	 *            The <code>Class</code> that the <code>Class</code> read must
+	 *            extend.
+	 * @param <T>
+	 *            The type of the supertype.
+	 * @return <code>Class</code> or <code>null</code>.
+	 * @throws IOException
+	 *             If the <code>Class</code> cannot be read or is not a
+	 *             subclass of the supertype.
+	 */
+	public <T> Class<? extends T> readClass(Class<T> supertype) throws IOException {
+
+		String name = readUTF();
+
+		if (name.isEmpty()) {
+			return null;
+		}
+
+		try {
+			return Class.forName(name).asSubclass(supertype);
+		} catch (ClassNotFoundException | ClassCastException e) {
+			throw new IOException("Unknown type " + name, e);
+		}
+	}
+
+	/**
+	 * Reads a {@link Statistic} written by
+	 * {@link CheckpointOutput#writeStatistic(Statistic)}.
+	 *
+	 * @param supertype
+	 *            The <code>Class</code> of the supertype of the
+	 *            {@link Statistic}.
+	 * @param <T>
+	 *            The supertype of the {@link Statistic}.
+	 * @return {@link Statistic}
+	 * @throws IOException
+	 *             If the {@link Statistic} cannot be read.
+	 */
+	public <T> Statistic<T> readStatistic(Class<T> supertype) throws IOException {
+
+		int count = readInt();
+
+		Map<Class<? extends T>, Double> values = new LinkedHashMap<Class<? extends T>, Double>();
+
+		for (int entry = 0; entry < count; entry++) {
+			values.put(readClass(supertype), readDouble());
+		}
+
+		return new Statistic<T>(values, readDouble());
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link RoadUser} of the specified type with the
+	 * {@link #context}, whose state is then read.
+	 *
+	 * @param type
+	 *            The <code>Class</code> of the {@link RoadUser}.
+	 * @return {@link RoadUser}
+	 * @throws IOException
+	 *             If the type cannot be constructed.
+	 */
+	private RoadUser construct(Class<? extends RoadUser> type) throws IOException {
+
+		if (type == null) {
+			throw new IOException("A road user has no type");
+		}
+
+		try {
+			return type.getConstructor(SimulationContext.class).newInstance(context);
+		} catch (NoSuchMethodException | InstantiationException | IllegalAccessException
+				| InvocationTargetException e) {
+			throw new IOException("Cannot construct " + type.getName(), e);
+		}
+	}
+
+}
@@ -0,0 +1,119 @@
+package environment.model.checkpoint;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import environment.Statistic;
+import environment.model.roadusers.RoadUser;
+
+/**
+ *
+ * The stream that the state of a simulation is written to when a
+ * {@link Checkpoint} is taken. Each object of the simulation writes its own
+ * state, and a {@link RoadUser} that is held in more than one place is only
+ * written the first time it is reached, after that only its handle is
+ * written.
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.checkpoint.CheckpointInput
+ */
+public final class CheckpointOutput extends DataOutputStream {
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The handle of each {@link RoadUser} that has been written.
+	 */
+	private final Map<RoadUser, Integer> handles;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link CheckpointOutput}.
+	 *
+	 * @param out
+	 *            The {@link OutputStream} the checkpoint is written to.
+	 */
+	public CheckpointOutput(OutputStream out) {
+
+		super(out);
+
+		this.handles = new IdentityHashMap<RoadUser, Integer>();
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Writes the handle of a {@link RoadUser}, followed by its type and state
+	 * if it has not been written before.
+	 *
+	 * @param roadUser
+	 *            {@link RoadUser}
+	 * @throws IOException
+	 *             If the {@link RoadUser} cannot be written.
+	 *
+	 * @see CheckpointInput#readRoadUser()
+	 */
+	public void writeRoadUser(RoadUser roadUser) throws IOException {
+
+		Integer handle = handles.get(roadUser);
+
+		if (handle != null) {
+			writeInt(handle);
+			return;
+		}
+
+		handle = handles.size();
+		handles.put(roadUser, handle);
+
+		writeInt(handle);
+		writeClass(roadUser.getClass());
+		roadUser.writeCheckpoint(this);
+	}
+
+	/**
+	 * Writes the name of a <code>Class</code>, or an empty name for
+	 * <code>null</code>.
+	 *
+	 * @param type
+	 *            <code>Class</code> or <code>null</code>.
+	 * @throws IOException
+	 *             If the name cannot be written.
+	 *
+	 * @see CheckpointInput#readClass(Class)
+	 */
+	public void writeClass(Class<?> type) throws IOException {
+		writeUTF(type == null ? "" : type.getName());
+	}
+
+	/**
+	 * Writes the value of each type held by a {@link Statistic} and its sum.
+	 *
+	 * @param statistic
+	 *            {@link Statistic}
+	 * @throws IOException
+	 *             If the {@link Statistic} cannot be written.
+	 *
+	 * @see CheckpointInput#readStatistic()
+	 */
+	public void writeStatistic(Statistic<?> statistic) throws IOException {
+
+		Map<? extends Class<?>, Double> values = statistic.toMap();
+
+		writeInt(values.size());
+
+		for (Map.Entry<? extends Class<?>, Double> entry : values.entrySet()) {
+			writeClass(entry.getKey());
+			writeDouble(entry.getValue());
+		}
+
+		writeDouble(statistic.sum());
+	}
+
+}
@@ -0,0 +1,259 @@
+package environment.model.checkpoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ *
+ * Writes {@link Checkpoint}s of a running simulation to a directory every
+ * {@link #getInterval()} ticks. A {@link Checkpoint} is converted to its
+ * binary form by the {@link Thread} running the simulation, which is the only
+ * part that must see a consistent {@link environment.model.Station}, and is
+ * then written to the file asynchronously so that the simulation carries on
+ * while the file is written.
+ *
+ * <p>
+ * Each {@link Checkpoint} is written to a temporary file that is renamed once
+ * it is complete, so a simulation that stops while a {@link Checkpoint} is
+ * being written leaves the previous {@link Checkpoint}s intact.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.checkpoint.Checkpoint
+ * @see java.nio.channels.AsynchronousFileChannel
+ */
+public final class Checkpointer {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The start of the name of every checkpoint file.
+	 */
+	private static final String PREFIX = "checkpoint-";
+
+	/**
+	 * The end of the name of every checkpoint file.
+	 */
+	private static final String SUFFIX = ".bin";
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The directory the {@link Checkpoint}s are written to.
+	 */
+	private final Path directory;
+
+	/**
+	 * The number of ticks between {@link Checkpoint}s.
+	 */
+	private final int interval;
+
+	/**
+	 * The writes that may not have finished yet.
+	 */
+	private final List<CompletableFuture<Path>> pending;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link Checkpointer}.
+	 *
+	 * @param directory
+	 *            {@link Path} of the directory the {@link Checkpoint}s are
+	 *            written to, which is created if it does not exist.
+	 * @param interval
+	 *            The <code>int</code> number of ticks between
+	 *            {@link Checkpoint}s.
+	 * @throws IOException
+	 *             If the directory cannot be created.
+	 */
+	public Checkpointer(Path directory, int interval) throws IOException {
+
+		if (interval < 1) {
+			throw new IllegalArgumentException("The interval between checkpoints must be positive");
+		}
+
+		this.directory = Files.createDirectories(directory);
+		this.interval = interval;
+		this.pending = new ArrayList<CompletableFuture<Path>>();
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Retrieves the number of ticks between {@link Checkpoint}s.
+	 *
+	 * @return <code>int</code>
+	 */
+	public int getInterval() {
+		return interval;
+	}
+
+	/**
+	 * Writes a {@link Checkpoint} to the file for its tick. The
+	 * {@link Checkpoint} is converted to its binary form before this method
+	 * returns, after which its {@link environment.model.Station} can change.
+	 *
+	 * @param checkpoint
+	 *            {@link Checkpoint}
+	 * @return {@link CompletableFuture} of the {@link Path} of the file,
+	 *         completed once the file has been written.
+	 * @throws IOException
+	 *             If the {@link Checkpoint} cannot be converted or the file
+	 *             cannot be opened.
+	 */
+	public CompletableFuture<Path> write(Checkpoint checkpoint) throws IOException {
+
+		ByteBuffer data = ByteBuffer.wrap(checkpoint.toBytes());
+
+		Path target = directory.resolve(fileName(checkpoint.getTick()));
+		Path temporary = directory.resolve(fileName(checkpoint.getTick()) + ".tmp");
+
+		AsynchronousFileChannel channel = AsynchronousFileChannel.open(temporary, StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+
+		CompletableFuture<Path> result = new CompletableFuture<Path>();
+
+		channel.write(data, 0, 0L, new CompletionHandler<Integer, Long>() {
+
+			@Override
+			public void completed(Integer written, Long position) {
+
+				long next = position + written;
+
+				// A write may not write the whole buffer.
+				if (data.hasRemaining()) {
+					channel.write(data, next, next, this);
+					return;
+				}
+
+				try {
+					channel.close();
+					move(temporary, target);
+					result.complete(target);
+				} catch (IOException e) {
+					result.completeExceptionally(e);
+				}
+			}
+
+			@Override
+			public void failed(Throwable failure, Long position) {
+
+				try {
+					channel.close();
+				} catch (IOException e) {
+					failure.addSuppressed(e);
+				}
+
+				result.completeExceptionally(failure);
+			}
+		});
+
+		// Forget the writes that have already finished.
+		pending.removeIf(write -> write.isDone() && !write.isCompletedExceptionally());
+		pending.add(result);
+
+		return result;
+	}
+
+	/**
+	 * Waits for every {@link Checkpoint} that has been written to reach its
+	 * file.
+	 *
+	 * @throws IOException
+	 *             If a {@link Checkpoint} could not be written.
+	 * @throws InterruptedException
+	 *             If the calling {@link Thread} is interrupted while waiting.
+	 */
+	public void await() throws IOException, InterruptedException {
+
+		try {
+			for (CompletableFuture<Path> write : pending) {
+				write.get();
+			}
+		} catch (ExecutionException e) {
+			throw new IOException("A checkpoint could not be written", e.getCause());
+		} finally {
+			pending.removeIf(CompletableFuture::isDone);
+		}
+	}
+
+	// Static Methods ---------------------------------------------------------
+
+	/**
+	 * Retrieves the file of the latest complete {@link Checkpoint} in the
+	 * specified directory.
+	 *
+	 * @param directory
+	 *            {@link Path} of the directory.
+	 * @return {@link Path} of the file, or <code>null</code> if there is no
+	 *         {@link Checkpoint} in the directory.
+	 * @throws IOException
+	 *             If the directory cannot be read.
+	 */
+	public static Path latest(Path directory) throws IOException {
+
+		Path latest = null;
+
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+
+			// The ticks in the names are padded so they are in order.
+			for (Path file : files) {
+				if (latest == null || file.getFileName().toString().compareTo(latest.getFileName().toString()) > 0) {
+					latest = file;
+				}
+			}
+		}
+
+		return latest;
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Retrieves the name of the file of the {@link Checkpoint} of the
+	 * specified tick.
+	 *
+	 * @param tick
+	 *            <code>long</code>
+	 * @return <code>String</code>
+	 */
+	private static String fileName(long tick) {
+		return String.format("%s%012d%s", PREFIX, tick, SUFFIX);
+	}
+
+	/**
+	 * Renames a complete temporary file to its final name, replacing any
+	 * file with that name.
+	 *
+	 * @param temporary
+	 *            {@link Path} of the temporary file.
+	 * @param target
+	 *            {@link Path} of the final file.
+	 * @throws IOException
+	 *             If the file cannot be renamed.
+	 */
+	private static void move(Path temporary, Path target) throws IOException {
+		try {
+			Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+}
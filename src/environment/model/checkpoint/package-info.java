@@ -0,0 +1,14 @@
+/**
+ * This module contains the compact binary checkpoints of a running
+ * simulation, from which the simulation can be resumed exactly as if it had
+ * not been interrupted, and the writer that saves them to disk without
+ * stalling the simulation.
+ *
+ * @author agent
+ *
+ * @see environment.model.checkpoint.Checkpoint
+ * @see environment.model.checkpoint.Checkpointer
+ * @see environment.model.Station#writeCheckpoint(CheckpointOutput)
+ *
+ */
+package environment.model.checkpoint;
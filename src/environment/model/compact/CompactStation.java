@@ -0,0 +1,724 @@
+package environment.model.compact;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import environment.Statistic;
+import environment.model.Measure;
+import environment.model.SimulationContext;
+import environment.model.Station;
+import environment.model.locations.Pump;
+import environment.model.locations.RoadUserQueue;
+import environment.model.locations.ShoppingArea;
+import environment.model.locations.Till;
+import environment.model.roadusers.FamilySedan_RoadUser;
+import environment.model.roadusers.Motorbike_RoadUser;
+import environment.model.roadusers.RoadUser;
+import environment.model.roadusers.RoadUserPool;
+import environment.model.roadusers.SmallCar_RoadUser;
+import environment.model.roadusers.Truck_RoadUser;
+
+/**
+ *
+ * A petrol station that keeps the state of its road users in a
+ * {@link RoadUserStore} and holds <code>int</code> handles in its queues
+ * rather than {@link RoadUser} objects. It models the same layout as the
+ * {@link Station} built by the <code>Simulator</code>, a number of
+ * {@link Pump}s, one {@link ShoppingArea} and a number of {@link Till}s, and
+ * follows the same rules in the same order, drawing the same random values
+ * from its {@link SimulationContext}. A {@link CompactStation} and a
+ * {@link Station} using the {@link environment.model.locations.RoutingPolicy#SHORTEST_QUEUE
+ * shortest queue} policy that are given the same road users produce the same
+ * {@link Statistic}s.
+ *
+ * <p>
+ * A {@link CompactStation} is intended for simulations of very large numbers
+ * of road users, so it has no {@link environment.model.locations.Location}s
+ * to show in a view and does not record
+ * {@link environment.model.Delta}s. {@link #simulate(double, double, boolean, int)}
+ * lets road users arrive in the same way as the <code>Simulator</code>, each
+ * drawing its state into a {@link RoadUser} from a {@link RoadUserPool} that
+ * is copied into the {@link RoadUserStore} and released straight away, so no
+ * {@link RoadUser} is kept and only one of each type is ever constructed. It
+ * is run by <code>Batch</code> with <code>engine=compact</code>.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.compact.RoadUserStore
+ * @see environment.model.Station
+ */
+public final class CompactStation {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The source of a road user that is leaving a {@link Pump}.
+	 */
+	private static final byte FROM_PUMP = 0;
+
+	/**
+	 * The source of a road user that is leaving the {@link ShoppingArea}.
+	 */
+	private static final byte FROM_SHOPPING_AREA = 1;
+
+	/**
+	 * The source of a road user that is leaving a {@link Till}.
+	 */
+	private static final byte FROM_TILL = 2;
+
+	/**
+	 * The space at a {@link Pump} in units of <code>1 / </code>
+	 * {@value RoadUserQueue#UNITS_PER_SIZE}.
+	 */
+	private static final long PUMP_CAPACITY = (long) Pump.MAX_QUEUE_SIZE * RoadUserQueue.UNITS_PER_SIZE;
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link SimulationContext} that holds the random streams of the
+	 * simulation of <code>this</code> {@link CompactStation}.
+	 */
+	private final SimulationContext context;
+
+	/**
+	 * The state of every road user in <code>this</code> {@link CompactStation}.
+	 */
+	private final RoadUserStore store;
+
+	/**
+	 * Supplies the {@link RoadUser}s whose state is copied into the
+	 * {@link #store} as they arrive.
+	 */
+	private final RoadUserPool pool;
+
+	/**
+	 * The queue of each {@link Pump}. A road user stays in the queue of its
+	 * {@link Pump} until it has paid.
+	 */
+	private final HandleQueue[] pumps;
+
+	/**
+	 * The queue of each {@link Till}.
+	 */
+	private final HandleQueue[] tills;
+
+	/**
+	 * The time the road user at the front of each {@link Till} must wait.
+	 */
+	private final int[] tillTimes;
+
+	/**
+	 * The {@link Random} that the {@link Till} times are drawn from.
+	 */
+	private final Random tillRandom;
+
+	/**
+	 * Holds each road user that is shopping until the tick it finishes.
+	 */
+	private final HandleWheel shopping;
+
+	/**
+	 * The road users that have entered the {@link ShoppingArea} since the last
+	 * tick.
+	 */
+	private final HandleQueue arrivals;
+
+	/**
+	 * The road users that were returned to the {@link ShoppingArea} since the
+	 * last tick because there was no {@link Till}.
+	 */
+	private final HandleQueue returned;
+
+	/**
+	 * The road users that are leaving their location on the current tick.
+	 */
+	private int[] moveHandles;
+
+	/**
+	 * The source of each road user in {@link #moveHandles}.
+	 */
+	private byte[] moveSources;
+
+	/**
+	 * The number of road users in {@link #moveHandles}.
+	 */
+	private int moveCount;
+
+	/**
+	 * The number of ticks that have been simulated by
+	 * {@link #simulate(double, double, boolean, int)}.
+	 */
+	private long time;
+
+	/**
+	 * The number of each type of road user that have left.
+	 */
+	private final Statistic<RoadUser> roadUsersProcessed;
+
+	/**
+	 * The number of each type of road user that were rejected.
+	 */
+	private final Statistic<RoadUser> roadUsersRejected;
+
+	/**
+	 * The number of each type of road user that are in <code>this</code>
+	 * {@link CompactStation}.
+	 */
+	private final Statistic<RoadUser> numberOfRoadUsers;
+
+	/**
+	 * The fuel profit made from each type of road user.
+	 */
+	private final Statistic<RoadUser> fuelProfit;
+
+	/**
+	 * The sales profit made from each type of road user.
+	 */
+	private final Statistic<RoadUser> salesProfit;
+
+	/**
+	 * The fuel profit lost by rejecting each type of road user.
+	 */
+	private final Statistic<RoadUser> lostFuelProfit;
+
+	/**
+	 * The sales profit lost from each type of road user.
+	 */
+	private final Statistic<RoadUser> lostSalesProfit;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new empty {@link CompactStation}.
+	 *
+	 * @param numberOfPumps
+	 *            The <code>int</code> number of {@link Pump}s.
+	 * @param numberOfTills
+	 *            The <code>int</code> number of {@link Till}s.
+	 * @param context
+	 *            The {@link SimulationContext} of the simulation.
+	 */
+	public CompactStation(int numberOfPumps, int numberOfTills, SimulationContext context) {
+
+		if (numberOfPumps < 0 || numberOfTills < 0) {
+			throw new IllegalArgumentException("The number of pumps and tills must be non-negative");
+		}
+
+		this.context = context;
+		this.store = new RoadUserStore();
+		this.pool = new RoadUserPool(context);
+		this.pumps = new HandleQueue[numberOfPumps];
+		this.tills = new HandleQueue[numberOfTills];
+		this.tillTimes = new int[numberOfTills];
+		this.tillRandom = context.getTillRandom();
+		this.shopping = new HandleWheel();
+		this.arrivals = new HandleQueue();
+		this.returned = new HandleQueue();
+		this.moveHandles = new int[16];
+		this.moveSources = new byte[16];
+		this.moveCount = 0;
+		this.time = 0;
+
+		for (int pump = 0; pump < numberOfPumps; pump++) {
+			pumps[pump] = new HandleQueue();
+		}
+
+		// Each till draws its first time as it is constructed, like a Till.
+		for (int till = 0; till < numberOfTills; till++) {
+			tills[till] = new HandleQueue();
+			tillTimes[till] = nextTillTime();
+		}
+
+		this.roadUsersProcessed = new Statistic<RoadUser>();
+		this.roadUsersRejected = new Statistic<RoadUser>();
+		this.numberOfRoadUsers = new Statistic<RoadUser>();
+		this.fuelProfit = new Statistic<RoadUser>();
+		this.salesProfit = new Statistic<RoadUser>();
+		this.lostFuelProfit = new Statistic<RoadUser>();
+		this.lostSalesProfit = new Statistic<RoadUser>();
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Simulates the specified number of ticks, with road users arriving in the
+	 * same way as in the <code>Simulator</code>. While the station is empty
+	 * the number of ticks until the next road user arrives is drawn in one
+	 * step and those ticks are skipped, as nothing changes on them. A
+	 * {@link CompactStation} simulated in one call produces the same
+	 * {@link Statistic}s as a <code>Simulator</code> using the
+	 * {@link environment.model.locations.RoutingPolicy#SHORTEST_QUEUE shortest
+	 * queue} policy with the same seed.
+	 *
+	 * @param p
+	 *            <code>double</code> probability of a small car or a
+	 *            motorbike arriving on each tick.
+	 * @param q
+	 *            <code>double</code> probability of a family sedan arriving
+	 *            on each tick.
+	 * @param hasTrucks
+	 *            <code>boolean</code> whether trucks arrive.
+	 * @param ticks
+	 *            <code>int</code> number of ticks.
+	 */
+	public void simulate(double p, double q, boolean hasTrucks, int ticks) {
+
+		if (ticks < 0) {
+			throw new IllegalArgumentException("The number of ticks cannot be negative");
+		}
+
+		long end = time + ticks;
+		Random arrivalRandom = context.getArrivalRandom();
+
+		while (time < end) {
+
+			double value;
+
+			if (isQuiescent()) {
+
+				double probability = context.getArrivalProbability(p, q, hasTrucks);
+
+				// The queues and the shopping area are empty, so the ticks
+				// until the next road user arrives are skipped in one step.
+				time += probability <= 0 ? end - time : Math.min(context.nextIdleTicks(probability), end - time);
+
+				if (time == end) {
+					break;
+				}
+
+				// A road user is known to arrive on this tick.
+				value = arrivalRandom.nextDouble() * probability;
+
+			} else {
+				value = arrivalRandom.nextDouble();
+			}
+
+			if (SmallCar_RoadUser.exists(p, q, value)) {
+				arrive(SmallCar_RoadUser.class);
+			}
+
+			if (Motorbike_RoadUser.exists(p, q, value)) {
+				arrive(Motorbike_RoadUser.class);
+			}
+
+			if (FamilySedan_RoadUser.exists(p, q, value)) {
+				arrive(FamilySedan_RoadUser.class);
+			}
+
+			if (Truck_RoadUser.exists(context, p, q, value) && hasTrucks) {
+				arrive(Truck_RoadUser.class);
+			}
+
+			processLocations();
+			time++;
+		}
+
+	}
+
+	/**
+	 * Adds a new road user of the specified type in the same way as
+	 * {@link #enter(RoadUser)}. Its state is drawn into a {@link RoadUser}
+	 * from the {@link #pool}, which is released again once it has been copied
+	 * into the {@link #store}.
+	 *
+	 * @param type
+	 *            The <code>Class</code> of the road user.
+	 */
+	public void arrive(Class<? extends RoadUser> type) {
+
+		// The road user draws its random values as it is acquired.
+		RoadUser roadUser = pool.acquire(type);
+
+		enter(roadUser);
+		pool.release(roadUser);
+
+	}
+
+	/**
+	 * Retrieves whether <code>this</code> {@link CompactStation} holds no road
+	 * users and none are waiting to move, in which case nothing changes until
+	 * the next road user arrives.
+	 *
+	 * @return <code>boolean</code>
+	 *
+	 * @see Station#isQuiescent()
+	 */
+	public boolean isQuiescent() {
+		return store.size() == 0 && moveCount == 0;
+	}
+
+	/**
+	 * Retrieves the number of ticks that have been simulated by
+	 * {@link #simulate(double, double, boolean, int)}.
+	 *
+	 * @return <code>long</code>
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * Adds a road user with the state of the specified {@link RoadUser} to the
+	 * least occupied {@link Pump} that has space for it, or rejects it if no
+	 * {@link Pump} has space. The {@link RoadUser} itself is not kept.
+	 *
+	 * @param roadUser
+	 *            {@link RoadUser}
+	 *
+	 * @see Station#enter(RoadUser)
+	 */
+	public void enter(RoadUser roadUser) {
+
+		if (roadUser == null) {
+			return;
+		}
+
+		int units = (int) RoadUserQueue.units(roadUser);
+		Class<? extends RoadUser> type = roadUser.getClass();
+
+		// Find the least occupied pump with space, the first on a tie.
+		int destination = -1;
+
+		for (int pump = 0; pump < pumps.length; pump++) {
+
+			long occupancy = pumps[pump].getOccupancy();
+
+			if (occupancy + units <= PUMP_CAPACITY
+					&& (destination == -1 || occupancy < pumps[destination].getOccupancy())) {
+				destination = pump;
+			}
+		}
+
+		if (destination != -1) {
+
+			pumps[destination].add(store.add(roadUser), units);
+			numberOfRoadUsers.update(type, 1);
+
+		} else {
+
+			lostFuelProfit.update(type, roadUser.getVehicle().getMaxWorth());
+			lostSalesProfit.update(type, roadUser.getWorth());
+			roadUsersRejected.update(type, 1);
+
+		}
+
+	}
+
+	/**
+	 * Moves the road users that left their location on the previous tick and
+	 * then processes the {@link Pump}s, the {@link ShoppingArea} and the
+	 * {@link Till}s in that order.
+	 *
+	 * @see Station#processLocations()
+	 */
+	public void processLocations() {
+
+		relocateRoadUsers();
+
+		for (HandleQueue pump : pumps) {
+			processPump(pump);
+		}
+
+		processShoppingArea();
+
+		for (int till = 0; till < tills.length; till++) {
+			processTill(till);
+		}
+
+	}
+
+	/**
+	 * Retrieves the {@link Statistic} of the specified {@link Measure}.
+	 *
+	 * @param measure
+	 *            {@link Measure}
+	 * @return {@link Statistic}
+	 *
+	 * @see Measure#of(Station)
+	 */
+	public Statistic<RoadUser> get(Measure measure) {
+
+		switch (measure) {
+		case PROCESSED:
+			return roadUsersProcessed;
+		case REJECTED:
+			return roadUsersRejected;
+		case FUEL_PROFIT:
+			return fuelProfit;
+		case SALES_PROFIT:
+			return salesProfit;
+		case LOST_FUEL_PROFIT:
+			return lostFuelProfit;
+		case LOST_SALES_PROFIT:
+			return lostSalesProfit;
+		default:
+			throw new IllegalStateException("Unknown measure " + measure.name());
+		}
+	}
+
+	/**
+	 * Retrieves the number of each type of road user in <code>this</code>
+	 * {@link CompactStation}.
+	 *
+	 * @return {@link Statistic}
+	 */
+	public Statistic<RoadUser> getNumberOfRoadUsers() {
+		return numberOfRoadUsers;
+	}
+
+	/**
+	 * Retrieves the {@link RoadUserStore} that holds the state of the road
+	 * users in <code>this</code> {@link CompactStation}.
+	 *
+	 * @return {@link RoadUserStore}
+	 */
+	public RoadUserStore getStore() {
+		return store;
+	}
+
+	/**
+	 * Retrieves the {@link SimulationContext} that holds the random streams of
+	 * the simulation of <code>this</code> {@link CompactStation}.
+	 *
+	 * @return {@link SimulationContext}
+	 */
+	public SimulationContext getContext() {
+		return context;
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Moves each road user that left its location on the previous tick to its
+	 * next location, in the order they left.
+	 *
+	 * @see Station#processLocations()
+	 */
+	private void relocateRoadUsers() {
+
+		for (int entry = 0; entry < moveCount; entry++) {
+
+			int handle = moveHandles[entry];
+			Class<? extends RoadUser> type = store.getType(handle);
+
+			switch (moveSources[entry]) {
+
+			case FROM_PUMP:
+
+				// The shopping area has space for every road user.
+				arrivals.add(handle, 0);
+				break;
+
+			case FROM_SHOPPING_AREA:
+
+				int till = shortestTill();
+
+				// Without a till the road user tries again on the next tick.
+				if (till == -1) {
+					returned.add(handle, 0);
+					break;
+				}
+
+				tills[till].add(handle, 0);
+
+				if (store.doneShopping(handle)) {
+					salesProfit.update(type, store.getWorth(handle));
+				} else {
+					lostSalesProfit.update(type, store.getWorth(handle));
+				}
+
+				break;
+
+			default:
+
+				// The road user leaves the station from the till but stays in
+				// the queue of its pump until it reaches the front.
+				numberOfRoadUsers.update(type, -1);
+				roadUsersProcessed.update(type, 1);
+				fuelProfit.update(type, store.getMaxWorth(handle));
+				break;
+			}
+		}
+
+		moveCount = 0;
+
+	}
+
+	/**
+	 * Fills the vehicle at the front of the specified {@link Pump} queue, or
+	 * removes it once it has paid, then increments the time spent of every
+	 * road user in the queue.
+	 *
+	 * @param pump
+	 *            The {@link HandleQueue} of a {@link Pump}.
+	 *
+	 * @see Pump#processQueue(environment.model.locations.MoveBuffer)
+	 */
+	private void processPump(HandleQueue pump) {
+
+		if (pump.isEmpty()) {
+			return;
+		}
+
+		int handle = pump.peek();
+
+		if (store.isFull(handle)) {
+
+			// The road user has left the station so its handle is freed.
+			if (store.hasPaid(handle)) {
+				pump.poll(store.getUnits(handle));
+				store.free(handle);
+			}
+
+		} else {
+
+			store.fill(handle);
+
+			if (store.isFull(handle)) {
+				move(handle, FROM_PUMP);
+			}
+		}
+
+		for (int index = 0; index < pump.size(); index++) {
+			store.spendTime(pump.get(index), 1);
+		}
+
+	}
+
+	/**
+	 * Moves on the road users that finish shopping on this tick and decides
+	 * whether each road user that arrived since the last tick will shop.
+	 *
+	 * @see ShoppingArea#processQueue(environment.model.locations.MoveBuffer)
+	 */
+	private void processShoppingArea() {
+
+		int due = shopping.advance();
+
+		for (int index = 0; index < due; index++) {
+
+			int handle = shopping.getExpired(index);
+			int remaining = store.getRemainingShoppingTime(handle);
+
+			store.shop(handle, remaining);
+			store.spendTime(handle, remaining);
+
+			move(handle, FROM_SHOPPING_AREA);
+		}
+
+		for (int index = 0; index < returned.size(); index++) {
+			move(returned.get(index), FROM_SHOPPING_AREA);
+		}
+
+		returned.clear();
+
+		for (int index = 0; index < arrivals.size(); index++) {
+
+			int handle = arrivals.get(index);
+
+			if (store.willShop(handle, context)) {
+
+				store.shop(handle, 1);
+				store.spendTime(handle, 1);
+
+				shopping.schedule(handle, shopping.getTime() + store.getRemainingShoppingTime(handle) + 1);
+
+			} else {
+				move(handle, FROM_SHOPPING_AREA);
+			}
+		}
+
+		arrivals.clear();
+
+	}
+
+	/**
+	 * Lets the road user at the front of the specified {@link Till} pay once
+	 * it has waited, otherwise it waits another tick.
+	 *
+	 * @param till
+	 *            <code>int</code> index of the {@link Till}.
+	 *
+	 * @see Till#processQueue(environment.model.locations.MoveBuffer)
+	 */
+	private void processTill(int till) {
+
+		HandleQueue queue = tills[till];
+
+		if (queue.isEmpty()) {
+			return;
+		}
+
+		if (tillTimes[till] == 0) {
+
+			int handle = queue.poll(0);
+
+			store.spendTime(handle, 1);
+			store.pay(handle);
+			move(handle, FROM_TILL);
+
+			tillTimes[till] = nextTillTime();
+
+		} else {
+
+			store.spendTime(queue.peek(), 1);
+			tillTimes[till]--;
+		}
+
+	}
+
+	/**
+	 * Retrieves the {@link Till} with the fewest road users, the first on a
+	 * tie.
+	 *
+	 * @return <code>int</code> index of the {@link Till} or <code>-1</code>
+	 *         if there are no {@link Till}s.
+	 */
+	private int shortestTill() {
+
+		int shortest = -1;
+
+		for (int till = 0; till < tills.length; till++) {
+			if (shortest == -1 || tills[till].size() < tills[shortest].size()) {
+				shortest = till;
+			}
+		}
+
+		return shortest;
+	}
+
+	/**
+	 * Records that the road user of the specified handle is leaving its
+	 * location.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 * @param source
+	 *            <code>byte</code> source of the road user.
+	 */
+	private void move(int handle, byte source) {
+
+		if (moveCount == moveHandles.length) {
+			moveHandles = Arrays.copyOf(moveHandles, moveCount * 2);
+			moveSources = Arrays.copyOf(moveSources, moveCount * 2);
+		}
+
+		moveHandles[moveCount] = handle;
+		moveSources[moveCount] = source;
+		moveCount++;
+
+	}
+
+	/**
+	 * Draws the time the next road user at a {@link Till} must wait.
+	 *
+	 * @return <code>int</code> number of ticks.
+	 */
+	private int nextTillTime() {
+		return tillRandom.nextInt(Till.RANGE_OF_TIME_TO_SPEND) + Till.MIMIMUM_TIME_TO_SPEND;
+	}
+
+}
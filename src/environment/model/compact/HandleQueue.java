@@ -0,0 +1,186 @@
+package environment.model.compact;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ *
+ * A queue of road user handles of a {@link RoadUserStore}, held in a ring
+ * buffer of <code>int</code>s. The total size of the vehicles in the queue is
+ * kept as the handles are added and removed so that capacity checks do not
+ * need to visit the queue.
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.compact.CompactStation
+ * @see environment.model.locations.RoadUserQueue
+ */
+public final class HandleQueue {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The capacity of the ring buffer of a new {@link HandleQueue}.
+	 */
+	private static final int INITIAL_CAPACITY = 8;
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The ring buffer of handles.
+	 */
+	private int[] handles;
+
+	/**
+	 * The index in {@link #handles} of the front of the queue.
+	 */
+	private int head;
+
+	/**
+	 * The number of handles in the queue.
+	 */
+	private int size;
+
+	/**
+	 * The total size of the vehicles in the queue in units of
+	 * <code>1 / </code>
+	 * {@value environment.model.locations.RoadUserQueue#UNITS_PER_SIZE}.
+	 */
+	private long occupancy;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new empty {@link HandleQueue}.
+	 */
+	public HandleQueue() {
+
+		this.handles = new int[INITIAL_CAPACITY];
+		this.head = 0;
+		this.size = 0;
+		this.occupancy = 0;
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Retrieves the number of handles in the queue.
+	 *
+	 * @return <code>int</code>
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Retrieves whether the queue is empty.
+	 *
+	 * @return <code>boolean</code>
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Retrieves the total size of the vehicles in the queue.
+	 *
+	 * @return <code>long</code> occupancy in units of <code>1 / </code>
+	 *         {@value environment.model.locations.RoadUserQueue#UNITS_PER_SIZE}.
+	 */
+	public long getOccupancy() {
+		return occupancy;
+	}
+
+	/**
+	 * Retrieves the handle at the specified position in the queue.
+	 *
+	 * @param index
+	 *            <code>int</code> position, zero being the front.
+	 * @return <code>int</code> handle.
+	 */
+	public int get(int index) {
+
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+
+		return handles[(head + index) % handles.length];
+	}
+
+	/**
+	 * Adds the specified handle to the back of the queue.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 * @param units
+	 *            <code>int</code> size of the vehicle of the road user.
+	 */
+	public void add(int handle, int units) {
+
+		// Double the ring buffer, unwrapping it, once it is full.
+		if (size == handles.length) {
+
+			int[] grown = Arrays.copyOf(handles, handles.length * 2);
+
+			System.arraycopy(handles, 0, grown, handles.length, head);
+
+			handles = grown;
+		}
+
+		handles[(head + size) % handles.length] = handle;
+		size++;
+		occupancy += units;
+
+	}
+
+	/**
+	 * Retrieves the handle at the front of the queue without removing it.
+	 *
+	 * @return <code>int</code> handle.
+	 * @throws NoSuchElementException
+	 *             If the queue is empty.
+	 */
+	public int peek() {
+
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+
+		return handles[head];
+	}
+
+	/**
+	 * Retrieves and removes the handle at the front of the queue.
+	 *
+	 * @param units
+	 *            <code>int</code> size of the vehicle of the road user at the
+	 *            front of the queue.
+	 * @return <code>int</code> handle.
+	 * @throws NoSuchElementException
+	 *             If the queue is empty.
+	 */
+	public int poll(int units) {
+
+		int handle = peek();
+
+		head = (head + 1) % handles.length;
+		size--;
+		occupancy -= units;
+
+		return handle;
+	}
+
+	/**
+	 * Removes every handle from the queue.
+	 */
+	public void clear() {
+
+		head = 0;
+		size = 0;
+		occupancy = 0;
+
+	}
+
+}
@@ -0,0 +1,186 @@
+package environment.model.compact;
+
+import java.util.Arrays;
+
+/**
+ *
+ * A hashed timing wheel of road user handles of a {@link RoadUserStore}. Each
+ * handle is held in the slot of the tick it is due, modulo the number of
+ * slots, with its due tick. {@link #advance()} only visits the slot of the new
+ * tick and keeps the handles that are due on a later turn of the wheel in
+ * their slot, in order. Handles that are due on the same tick are retrieved in
+ * the order they were scheduled.
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.compact.CompactStation
+ * @see environment.model.locations.TimingWheel
+ */
+public final class HandleWheel {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The number of slots in the wheel.
+	 */
+	private static final int SLOTS = 64;
+
+	/**
+	 * The capacity of each slot when it is first used.
+	 */
+	private static final int INITIAL_CAPACITY = 4;
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The handles in each slot.
+	 */
+	private final int[][] handles;
+
+	/**
+	 * The due tick of each handle in {@link #handles}.
+	 */
+	private final long[][] dues;
+
+	/**
+	 * The number of handles in each slot.
+	 */
+	private final int[] sizes;
+
+	/**
+	 * The handles that were due on the last call of {@link #advance()}.
+	 */
+	private int[] expired;
+
+	/**
+	 * The number of handles in {@link #expired}.
+	 */
+	private int expiredCount;
+
+	/**
+	 * The current tick of <code>this</code> {@link HandleWheel}.
+	 */
+	private long time;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new empty {@link HandleWheel} at tick zero.
+	 */
+	public HandleWheel() {
+
+		this.handles = new int[SLOTS][];
+		this.dues = new long[SLOTS][];
+		this.sizes = new int[SLOTS];
+		this.expired = new int[INITIAL_CAPACITY];
+		this.expiredCount = 0;
+		this.time = 0;
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Retrieves the current tick of <code>this</code> {@link HandleWheel}.
+	 *
+	 * @return <code>long</code> tick.
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * Holds the specified handle until the specified tick.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 * @param due
+	 *            The <code>long</code> tick the handle is due, after the
+	 *            {@link #getTime() current tick}.
+	 */
+	public void schedule(int handle, long due) {
+
+		if (due <= time) {
+			throw new IllegalArgumentException("The tick " + due + " cannot be scheduled at tick " + time);
+		}
+
+		int slot = (int) (due % SLOTS);
+		int size = sizes[slot];
+
+		if (handles[slot] == null) {
+			handles[slot] = new int[INITIAL_CAPACITY];
+			dues[slot] = new long[INITIAL_CAPACITY];
+		} else if (size == handles[slot].length) {
+			handles[slot] = Arrays.copyOf(handles[slot], size * 2);
+			dues[slot] = Arrays.copyOf(dues[slot], size * 2);
+		}
+
+		handles[slot][size] = handle;
+		dues[slot][size] = due;
+		sizes[slot] = size + 1;
+
+	}
+
+	/**
+	 * Moves <code>this</code> {@link HandleWheel} on to the next tick and
+	 * collects the handles that are due on it.
+	 *
+	 * @return <code>int</code> number of handles that are due.
+	 *
+	 * @see #getExpired(int)
+	 */
+	public int advance() {
+
+		time++;
+		expiredCount = 0;
+
+		int slot = (int) (time % SLOTS);
+		int size = sizes[slot];
+		int kept = 0;
+
+		for (int index = 0; index < size; index++) {
+
+			int handle = handles[slot][index];
+			long due = dues[slot][index];
+
+			if (due == time) {
+
+				if (expiredCount == expired.length) {
+					expired = Arrays.copyOf(expired, expiredCount * 2);
+				}
+
+				expired[expiredCount++] = handle;
+
+			} else {
+
+				// The handle is due on a later turn of the wheel.
+				handles[slot][kept] = handle;
+				dues[slot][kept] = due;
+				kept++;
+			}
+		}
+
+		sizes[slot] = kept;
+
+		return expiredCount;
+	}
+
+	/**
+	 * Retrieves a handle that was due on the last call of {@link #advance()}.
+	 *
+	 * @param index
+	 *            <code>int</code> position, less than the value returned by
+	 *            {@link #advance()}.
+	 * @return <code>int</code> handle.
+	 */
+	public int getExpired(int index) {
+
+		if (index < 0 || index >= expiredCount) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + expiredCount);
+		}
+
+		return expired[index];
+	}
+
+}
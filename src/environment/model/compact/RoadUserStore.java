@@ -0,0 +1,596 @@
+package environment.model.compact;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import environment.model.SimulationContext;
+import environment.model.locations.RoadUserQueue;
+import environment.model.roadusers.Motorbike_RoadUser;
+import environment.model.roadusers.RoadUser;
+import environment.model.roadusers.Truck_RoadUser;
+import environment.model.roadusers.vehicles.FuelType;
+import environment.model.roadusers.vehicles.Vehicle;
+
+/**
+ *
+ * Holds the state of many road users in parallel primitive arrays, each road
+ * user being identified by an <code>int</code> handle that indexes the
+ * arrays. A road user held by a {@link RoadUserStore} takes a few dozen bytes
+ * rather than a {@link RoadUser} and a {@link Vehicle} object each, and
+ * processing the road users of a tick reads the arrays in order rather than
+ * following references.
+ *
+ * <p>
+ * A road user is added by copying the state of a {@link RoadUser}, so the
+ * random values drawn when the {@link RoadUser} was constructed are kept.
+ * The handle of a road user that is {@link #free(int) freed} is reused by the
+ * next road user that is added.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.compact.CompactStation
+ * @see environment.model.roadusers.RoadUser
+ */
+public final class RoadUserStore {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The number of handles a new {@link RoadUserStore} has space for.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * The flag of a road user that is shopping.
+	 */
+	private static final byte SHOPPING = 1;
+
+	/**
+	 * The flag of a road user that has finished shopping.
+	 */
+	private static final byte DONE_SHOPPING = 2;
+
+	/**
+	 * The flag of a road user that has paid for their fuel.
+	 */
+	private static final byte PAID = 4;
+
+	/**
+	 * The rule of a road user that never shops, like a
+	 * {@link Motorbike_RoadUser}.
+	 */
+	private static final byte NEVER_SHOPS = 0;
+
+	/**
+	 * The rule of a road user that shops like a {@link RoadUser}.
+	 */
+	private static final byte SHOPS = 1;
+
+	/**
+	 * The rule of a road user that shops like a {@link Truck_RoadUser},
+	 * changing the truck probability of the {@link SimulationContext}.
+	 */
+	private static final byte SHOPS_AS_TRUCK = 2;
+
+	/**
+	 * The handle that marks the end of the free handles.
+	 */
+	private static final int NONE = -1;
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The <code>Class</code>es of the road users, indexed by {@link #type}.
+	 */
+	private final List<Class<? extends RoadUser>> types;
+
+	/**
+	 * The index in {@link #types} of the <code>Class</code> of each road user.
+	 */
+	private byte[] type;
+
+	/**
+	 * Which rule each road user decides whether it will shop by.
+	 */
+	private byte[] rule;
+
+	/**
+	 * The {@link #SHOPPING}, {@link #DONE_SHOPPING} and {@link #PAID} flags of
+	 * each road user.
+	 */
+	private byte[] flags;
+
+	/**
+	 * The ordinal of the {@link FuelType} of each road user.
+	 */
+	private byte[] fuelType;
+
+	/**
+	 * The time each road user has spent in the station.
+	 */
+	private int[] timeSpent;
+
+	/**
+	 * The time each road user has spent shopping.
+	 */
+	private int[] timeSpentShopping;
+
+	/**
+	 * The time each road user will spend shopping.
+	 */
+	private int[] shoppingTime;
+
+	/**
+	 * The time each road user can spend in the station and still shop.
+	 */
+	private int[] maximumTimeToShop;
+
+	/**
+	 * The fuel level of each road user.
+	 */
+	private int[] fuelLevel;
+
+	/**
+	 * The tank size of each road user.
+	 */
+	private int[] tankSize;
+
+	/**
+	 * The {@link Vehicle#size} of each road user in units of
+	 * <code>1 / </code>{@value RoadUserQueue#UNITS_PER_SIZE}.
+	 */
+	private int[] units;
+
+	/**
+	 * The free handle after each free handle.
+	 */
+	private int[] nextFree;
+
+	/**
+	 * The probability each road user will shop.
+	 */
+	private double[] probabilityToShop;
+
+	/**
+	 * The money each road user will spend at the shop.
+	 */
+	private double[] worth;
+
+	/**
+	 * The most recently freed handle, or {@link #NONE}.
+	 */
+	private int freeHandle;
+
+	/**
+	 * The number of handles that have ever been used.
+	 */
+	private int used;
+
+	/**
+	 * The number of road users in <code>this</code> {@link RoadUserStore}.
+	 */
+	private int size;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new empty {@link RoadUserStore}.
+	 */
+	public RoadUserStore() {
+
+		this.types = new ArrayList<Class<? extends RoadUser>>();
+		this.freeHandle = NONE;
+		this.used = 0;
+		this.size = 0;
+
+		allocate(INITIAL_CAPACITY);
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Adds a road user with the state of the specified {@link RoadUser}.
+	 *
+	 * @param roadUser
+	 *            {@link RoadUser} NOT NULL
+	 * @return The <code>int</code> handle of the road user.
+	 */
+	public int add(RoadUser roadUser) {
+
+		int handle;
+
+		// Reuse a freed handle before a new one.
+		if (freeHandle != NONE) {
+			handle = freeHandle;
+			freeHandle = nextFree[handle];
+		} else {
+
+			if (used == type.length) {
+				allocate(used * 2);
+			}
+
+			handle = used++;
+		}
+
+		Vehicle vehicle = roadUser.getVehicle();
+
+		type[handle] = typeOf(roadUser.getClass());
+		rule[handle] = roadUser instanceof Motorbike_RoadUser ? NEVER_SHOPS
+				: roadUser instanceof Truck_RoadUser ? SHOPS_AS_TRUCK : SHOPS;
+		flags[handle] = (byte) ((roadUser.isShopping() ? SHOPPING : 0)
+				| (roadUser.doneShopping() ? DONE_SHOPPING : 0) | (roadUser.hasPaid() ? PAID : 0));
+		fuelType[handle] = (byte) vehicle.getFuelType().ordinal();
+		timeSpent[handle] = roadUser.getTimeSpent();
+		timeSpentShopping[handle] = roadUser.getTimeSpentShopping();
+		shoppingTime[handle] = roadUser.getShoppingTime();
+		maximumTimeToShop[handle] = roadUser.getMaximumTimeToShop();
+		fuelLevel[handle] = vehicle.getFuelLevel();
+		tankSize[handle] = vehicle.getTankSize();
+		units[handle] = (int) RoadUserQueue.units(roadUser);
+		nextFree[handle] = NONE;
+		probabilityToShop[handle] = roadUser.getProbabilityToShop();
+		worth[handle] = roadUser.getWorth();
+
+		size++;
+
+		return handle;
+	}
+
+	/**
+	 * Removes the road user of the specified handle, the handle will be reused
+	 * by a road user that is added later.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 */
+	public void free(int handle) {
+
+		nextFree[handle] = freeHandle;
+		freeHandle = handle;
+		size--;
+
+	}
+
+	/**
+	 * Retrieves the number of road users in <code>this</code>
+	 * {@link RoadUserStore}.
+	 *
+	 * @return <code>int</code>
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Retrieves the number of handles <code>this</code> {@link RoadUserStore}
+	 * has space for before its arrays grow.
+	 *
+	 * @return <code>int</code>
+	 */
+	public int capacity() {
+		return type.length;
+	}
+
+	/**
+	 * Retrieves the <code>Class</code> of the {@link RoadUser} the road user
+	 * of the specified handle was added from.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 * @return <code>Class&lt;? extends RoadUser&gt;</code>
+	 */
+	public Class<? extends RoadUser> getType(int handle) {
+		return types.get(type[handle]);
+	}
+
+	/**
+	 * Retrieves the size of the vehicle of the road user of the specified
+	 * handle.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 * @return <code>int</code> size in units of <code>1 / </code>
+	 *         {@value RoadUserQueue#UNITS_PER_SIZE}.
+	 */
+	public int getUnits(int handle) {
+		return units[handle];
+	}
+
+	/**
+	 * Retrieves the time the road user of the specified handle has spent in
+	 * the station.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 * @return <code>int</code> number of ticks.
+	 */
+	public int getTimeSpent(int handle) {
+		return timeSpent[handle];
+	}
+
+	/**
+	 * Increments the time the road user of the specified handle has spent in
+	 * the station by the specified number of ticks.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 * @param ticks
+	 *            <code>int</code> number of ticks.
+	 *
+	 * @see RoadUser#spendTime(int)
+	 */
+	public void spendTime(int handle, int ticks) {
+		timeSpent[handle] += ticks;
+	}
+
+	/**
+	 * Fills the vehicle of the road user of the specified handle by one
+	 * gallon unless it is full.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 *
+	 * @see Vehicle#fill()
+	 */
+	public void fill(int handle) {
+		if (fuelLevel[handle] < tankSize[handle]) {
+			fuelLevel[handle]++;
+		}
+	}
+
+	/**
+	 * Retrieves whether the vehicle of the road user of the specified handle
+	 * is full.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 * @return <code>boolean</code>
+	 *
+	 * @see Vehicle#isFull()
+	 */
+	public boolean isFull(int handle) {
+		return fuelLevel[handle] == tankSize[handle];
+	}
+
+	/**
+	 * Retrieves the size of the tank of the vehicle of the road user of the
+	 * specified handle.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 * @return <code>int</code>
+	 *
+	 * @see Vehicle#tankSize
+	 */
+	public int getTankSize(int handle) {
+		return tankSize[handle];
+	}
+
+	/**
+	 * Retrieves the value of a full tank of the vehicle of the road user of
+	 * the specified handle.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 * @return <code>double</code>
+	 *
+	 * @see Vehicle#getMaxWorth()
+	 */
+	public double getMaxWorth(int handle) {
+		return FuelType.values()[fuelType[handle]].price * tankSize[handle];
+	}
+
+	/**
+	 * Retrieves the money the road user of the specified handle will spend at
+	 * the shop.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 * @return <code>double</code>
+	 */
+	public double getWorth(int handle) {
+		return worth[handle];
+	}
+
+	/**
+	 * Records that the road user of the specified handle has paid for their
+	 * fuel.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 */
+	public void pay(int handle) {
+		flags[handle] |= PAID;
+	}
+
+	/**
+	 * Retrieves whether the road user of the specified handle has paid for
+	 * their fuel.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 * @return <code>boolean</code>
+	 */
+	public boolean hasPaid(int handle) {
+		return (flags[handle] & PAID) != 0;
+	}
+
+	/**
+	 * Retrieves whether the road user of the specified handle is shopping.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 * @return <code>boolean</code>
+	 */
+	public boolean isShopping(int handle) {
+		return (flags[handle] & SHOPPING) != 0;
+	}
+
+	/**
+	 * Retrieves whether the road user of the specified handle has finished
+	 * shopping.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 * @return <code>boolean</code>
+	 */
+	public boolean doneShopping(int handle) {
+		return (flags[handle] & DONE_SHOPPING) != 0;
+	}
+
+	/**
+	 * Causes the road user of the specified handle to shop for the specified
+	 * number of ticks.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 * @param ticks
+	 *            <code>int</code> number of ticks.
+	 *
+	 * @see RoadUser#shop(int)
+	 */
+	public void shop(int handle, int ticks) {
+
+		// A road user that never shops, such as a motorbike, ignores this.
+		if (rule[handle] == NEVER_SHOPS) {
+			return;
+		}
+
+		timeSpentShopping[handle] += ticks;
+		flags[handle] |= SHOPPING;
+
+		if (timeSpentShopping[handle] > shoppingTime[handle]) {
+			flags[handle] = (byte) ((flags[handle] | DONE_SHOPPING) & ~SHOPPING);
+		}
+
+	}
+
+	/**
+	 * Retrieves the number of ticks the road user of the specified handle
+	 * must shop for before it has finished shopping.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 * @return <code>int</code> number of ticks.
+	 *
+	 * @see RoadUser#getRemainingShoppingTime()
+	 */
+	public int getRemainingShoppingTime(int handle) {
+		return Math.max(0, shoppingTime[handle] + 1 - timeSpentShopping[handle]);
+	}
+
+	/**
+	 * Decides whether the road user of the specified handle will shop,
+	 * drawing from the same random stream of the specified
+	 * {@link SimulationContext} as {@link RoadUser#willShop()}.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of a road user.
+	 * @param context
+	 *            The {@link SimulationContext} of the simulation.
+	 * @return <code>boolean</code>
+	 *
+	 * @see RoadUser#willShop()
+	 * @see Truck_RoadUser#willShop()
+	 */
+	public boolean willShop(int handle, SimulationContext context) {
+
+		if (rule[handle] == NEVER_SHOPS) {
+			return false;
+		}
+
+		double prob = context.getRoadUserRandom().nextDouble();
+		boolean belowMaxTime = timeSpent[handle] < maximumTimeToShop[handle];
+
+		// A truck changes the probability of trucks arriving.
+		if (rule[handle] == SHOPS_AS_TRUCK) {
+
+			double t = context.getTruckProbability();
+
+			if (!belowMaxTime) {
+				context.setTruckProbability(t * 0.8);
+			} else if (t < Truck_RoadUser.INITIAL_T) {
+				context.setTruckProbability(t * 1.05);
+			}
+		}
+
+		return belowMaxTime && prob <= probabilityToShop[handle];
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Retrieves the index in {@link #types} of the specified
+	 * <code>Class</code>, adding it if it is not there.
+	 *
+	 * @param roadUserType
+	 *            <code>Class&lt;? extends RoadUser&gt;</code>
+	 * @return <code>byte</code> index.
+	 */
+	private byte typeOf(Class<? extends RoadUser> roadUserType) {
+
+		int index = types.indexOf(roadUserType);
+
+		if (index < 0) {
+
+			if (types.size() > Byte.MAX_VALUE) {
+				throw new IllegalStateException("A road user store holds at most 128 types of road user");
+			}
+
+			index = types.size();
+			types.add(roadUserType);
+		}
+
+		return (byte) index;
+	}
+
+	/**
+	 * Grows the arrays to the specified number of handles.
+	 *
+	 * @param capacity
+	 *            <code>int</code> number of handles.
+	 */
+	private void allocate(int capacity) {
+
+		if (type == null) {
+
+			type = new byte[capacity];
+			rule = new byte[capacity];
+			flags = new byte[capacity];
+			fuelType = new byte[capacity];
+			timeSpent = new int[capacity];
+			timeSpentShopping = new int[capacity];
+			shoppingTime = new int[capacity];
+			maximumTimeToShop = new int[capacity];
+			fuelLevel = new int[capacity];
+			tankSize = new int[capacity];
+			units = new int[capacity];
+			nextFree = new int[capacity];
+			probabilityToShop = new double[capacity];
+			worth = new double[capacity];
+
+		} else {
+
+			type = Arrays.copyOf(type, capacity);
+			rule = Arrays.copyOf(rule, capacity);
+			flags = Arrays.copyOf(flags, capacity);
+			fuelType = Arrays.copyOf(fuelType, capacity);
+			timeSpent = Arrays.copyOf(timeSpent, capacity);
+			timeSpentShopping = Arrays.copyOf(timeSpentShopping, capacity);
+			shoppingTime = Arrays.copyOf(shoppingTime, capacity);
+			maximumTimeToShop = Arrays.copyOf(maximumTimeToShop, capacity);
+			fuelLevel = Arrays.copyOf(fuelLevel, capacity);
+			tankSize = Arrays.copyOf(tankSize, capacity);
+			units = Arrays.copyOf(units, capacity);
+			nextFree = Arrays.copyOf(nextFree, capacity);
+			probabilityToShop = Arrays.copyOf(probabilityToShop, capacity);
+			worth = Arrays.copyOf(worth, capacity);
+		}
+
+	}
+
+}
@@ -0,0 +1,13 @@
+/**
+ * This module contains a compact engine for simulating a petrol station with
+ * very large numbers of road users, which keeps the state of the road users
+ * in primitive arrays rather than objects.
+ * 
+ * @author agent
+ * 
+ * @see environment.model.compact.CompactStation
+ * @see environment.model.compact.RoadUserStore
+ * @see environment.model.Station
+ *
+ */
+package environment.model.compact;
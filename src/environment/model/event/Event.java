@@ -0,0 +1,207 @@
+package environment.model.event;
+
+/**
+ *
+ * A change to an {@link EventStation} that happens on a known tick. The
+ * {@link Event}s of one tick are ordered in the same way as the tick engine
+ * of the {@link environment.model.Station} makes the changes they stand for:
+ * by the {@link Phase} of the tick, then by the index of the location, then
+ * by {@link Kind} and then in the order they were scheduled.
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.event.EventCalendar
+ */
+public final class Event implements Comparable<Event> {
+
+	// Nested Types -----------------------------------------------------------
+
+	/**
+	 * The parts of a tick of the {@link environment.model.Station}, in the
+	 * order they happen.
+	 */
+	public enum Phase {
+
+		/**
+		 * A road user arrives at the station.
+		 */
+		ARRIVAL,
+
+		/**
+		 * The road users that left their location on the previous tick are
+		 * moved to their next location.
+		 */
+		RELOCATE,
+
+		/**
+		 * The pumps are processed.
+		 */
+		PUMP,
+
+		/**
+		 * The shopping area is processed.
+		 */
+		SHOPPING_AREA,
+
+		/**
+		 * The tills are processed.
+		 */
+		TILL;
+
+	}
+
+	/**
+	 * The types of {@link Event}.
+	 */
+	public enum Kind {
+
+		/**
+		 * A road user arrives at the station. The location of the event is the
+		 * index of the type of the road user.
+		 */
+		ARRIVAL(Phase.ARRIVAL),
+
+		/**
+		 * A road user that left the shopping area joins a till.
+		 */
+		JOIN_TILL(Phase.RELOCATE),
+
+		/**
+		 * A road user that paid at a till leaves the station.
+		 */
+		DEPART(Phase.RELOCATE),
+
+		/**
+		 * The vehicle of the road user at the front of a pump becomes full.
+		 */
+		FILL(Phase.PUMP),
+
+		/**
+		 * A pump lets the road user that has paid leave its queue.
+		 */
+		LEAVE_PUMP(Phase.PUMP),
+
+		/**
+		 * A road user finishes shopping.
+		 */
+		FINISH_SHOPPING(Phase.SHOPPING_AREA),
+
+		/**
+		 * A road user whose vehicle became full on the previous tick enters
+		 * the shopping area and decides whether to shop.
+		 */
+		ENTER_SHOPPING_AREA(Phase.SHOPPING_AREA),
+
+		/**
+		 * The road user at the front of a till pays.
+		 */
+		PAY(Phase.TILL);
+
+		/**
+		 * The {@link Phase} of the tick the {@link Kind} happens in.
+		 */
+		public final Phase phase;
+
+		/**
+		 * Constructs a new {@link Kind}.
+		 *
+		 * @param phase
+		 *            The {@link Phase} of the tick the {@link Kind} happens
+		 *            in.
+		 */
+		private Kind(Phase phase) {
+			this.phase = phase;
+		}
+
+	}
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link Kind} of <code>this</code> {@link Event}.
+	 */
+	public final Kind kind;
+
+	/**
+	 * The tick <code>this</code> {@link Event} happens on.
+	 */
+	public final long tick;
+
+	/**
+	 * The index of the location of <code>this</code> {@link Event}, or
+	 * <code>0</code> if it does not have one.
+	 */
+	public final int location;
+
+	/**
+	 * The handle of the road user of <code>this</code> {@link Event}.
+	 */
+	public final int handle;
+
+	/**
+	 * The order <code>this</code> {@link Event} was scheduled in.
+	 */
+	private final long sequence;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link Event}.
+	 *
+	 * @param kind
+	 *            The {@link Kind} of the {@link Event}.
+	 * @param tick
+	 *            The <code>long</code> tick the {@link Event} happens on.
+	 * @param location
+	 *            <code>int</code> index of the location of the {@link Event}.
+	 * @param handle
+	 *            <code>int</code> handle of the road user of the
+	 *            {@link Event}.
+	 * @param sequence
+	 *            The <code>long</code> order the {@link Event} was scheduled
+	 *            in.
+	 */
+	Event(Kind kind, long tick, int location, int handle, long sequence) {
+
+		this.kind = kind;
+		this.tick = tick;
+		this.location = location;
+		this.handle = handle;
+		this.sequence = sequence;
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Compares <code>this</code> {@link Event} with the specified
+	 * {@link Event} by tick, {@link Phase}, location, {@link Kind} and then the
+	 * order they were scheduled in.
+	 */
+	@Override
+	public int compareTo(Event event) {
+
+		if (tick != event.tick) {
+			return Long.compare(tick, event.tick);
+		} else if (kind.phase != event.kind.phase) {
+			return kind.phase.compareTo(event.kind.phase);
+		} else if (location != event.location) {
+			return Integer.compare(location, event.location);
+		} else if (kind != event.kind) {
+			return kind.compareTo(event.kind);
+		}
+
+		return Long.compare(sequence, event.sequence);
+	}
+
+	/**
+	 * Retrieves the <code>String</code> representation of <code>this</code>
+	 * {@link Event}.
+	 */
+	@Override
+	public String toString() {
+		return kind + " at " + tick + " (location " + location + ", road user " + handle + ")";
+	}
+
+}
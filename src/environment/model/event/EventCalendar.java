@@ -0,0 +1,129 @@
+package environment.model.event;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import environment.model.event.Event.Kind;
+
+/**
+ *
+ * The calendar of the {@link Event}s of an {@link EventStation}, held in a
+ * priority queue so that the next {@link Event} can be retrieved without
+ * visiting the ticks where nothing happens.
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.event.Event
+ */
+public final class EventCalendar {
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link Event}s that have not happened yet.
+	 */
+	private final PriorityQueue<Event> events;
+
+	/**
+	 * The number of {@link Event}s that have been scheduled.
+	 */
+	private long scheduled;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new empty {@link EventCalendar}.
+	 */
+	public EventCalendar() {
+
+		this.events = new PriorityQueue<Event>();
+		this.scheduled = 0;
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Adds a new {@link Event} to <code>this</code> {@link EventCalendar}.
+	 * {@link Event}s that would otherwise be equal happen in the order they
+	 * were scheduled.
+	 *
+	 * @param kind
+	 *            The {@link Kind} of the {@link Event}.
+	 * @param tick
+	 *            The <code>long</code> tick the {@link Event} happens on.
+	 * @param location
+	 *            <code>int</code> index of the location of the {@link Event}.
+	 * @param handle
+	 *            <code>int</code> handle of the road user of the
+	 *            {@link Event}.
+	 */
+	public void schedule(Kind kind, long tick, int location, int handle) {
+		events.add(new Event(kind, tick, location, handle, scheduled++));
+	}
+
+	/**
+	 * Retrieves whether there are no {@link Event}s left.
+	 *
+	 * @return <code>boolean</code>
+	 */
+	public boolean isEmpty() {
+		return events.isEmpty();
+	}
+
+	/**
+	 * Retrieves the number of {@link Event}s that have not happened yet.
+	 *
+	 * @return <code>int</code>
+	 */
+	public int size() {
+		return events.size();
+	}
+
+	/**
+	 * Retrieves the number of {@link Event}s that have been scheduled.
+	 *
+	 * @return <code>long</code>
+	 */
+	public long getScheduled() {
+		return scheduled;
+	}
+
+	/**
+	 * Retrieves the tick of the next {@link Event}.
+	 *
+	 * @return <code>long</code> tick.
+	 * @throws NoSuchElementException
+	 *             If <code>this</code> {@link EventCalendar} is empty.
+	 */
+	public long peekTick() {
+
+		Event next = events.peek();
+
+		if (next == null) {
+			throw new NoSuchElementException();
+		}
+
+		return next.tick;
+	}
+
+	/**
+	 * Retrieves and removes the next {@link Event}.
+	 *
+	 * @return {@link Event}
+	 * @throws NoSuchElementException
+	 *             If <code>this</code> {@link EventCalendar} is empty.
+	 */
+	public Event poll() {
+
+		Event next = events.poll();
+
+		if (next == null) {
+			throw new NoSuchElementException();
+		}
+
+		return next;
+	}
+
+}
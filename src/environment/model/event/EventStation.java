@@ -0,0 +1,719 @@
+package environment.model.event;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import environment.Statistic;
+import environment.model.Measure;
+import environment.model.SimulationContext;
+import environment.model.Station;
+import environment.model.compact.HandleQueue;
+import environment.model.compact.RoadUserStore;
+import environment.model.event.Event.Kind;
+import environment.model.locations.Pump;
+import environment.model.locations.RoadUserQueue;
+import environment.model.locations.ShoppingArea;
+import environment.model.locations.Till;
+import environment.model.roadusers.FamilySedan_RoadUser;
+import environment.model.roadusers.Motorbike_RoadUser;
+import environment.model.roadusers.RoadUser;
+import environment.model.roadusers.RoadUserPool;
+import environment.model.roadusers.SmallCar_RoadUser;
+import environment.model.roadusers.Truck_RoadUser;
+
+/**
+ *
+ * A petrol station that is simulated by jumping from one {@link Event} to the
+ * next rather than processing every location on every tick. The time a
+ * vehicle becomes full, a road user finishes shopping or a till finishes
+ * serving is known as soon as it starts, so each is scheduled on an
+ * {@link EventCalendar} and nothing is done on the ticks in between.
+ *
+ * <p>
+ * An {@link EventStation} models the same layout as the {@link Station} built
+ * by the <code>Simulator</code>, a number of {@link Pump}s, one
+ * {@link ShoppingArea} and a number of {@link Till}s. The {@link Event}s of a
+ * tick happen in the order the {@link Station} makes the same changes and
+ * draw the same random values. While the station is empty the number of
+ * ticks until the next road user arrives is drawn from the geometric
+ * distribution in one step, as the <code>Simulator</code> does, and the
+ * arrival is scheduled on the {@link #calendar}, so an empty station costs
+ * nothing however many ticks it waits. While there are road users in the
+ * station the value that decides whether a road user arrives is drawn for
+ * each tick, as it is by the <code>Simulator</code>. An {@link EventStation}
+ * therefore produces the same {@link Statistic}s as a
+ * <code>Simulator</code> using the
+ * {@link environment.model.locations.RoutingPolicy#SHORTEST_QUEUE shortest
+ * queue} policy with the same seed.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.event.EventCalendar
+ * @see environment.model.compact.CompactStation
+ */
+public final class EventStation {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The types of road user that arrive, in the order the
+	 * <code>Simulator</code> checks whether they exist.
+	 */
+	private static final Class<?>[] ARRIVING = { SmallCar_RoadUser.class, Motorbike_RoadUser.class,
+			FamilySedan_RoadUser.class, Truck_RoadUser.class };
+
+	/**
+	 * The index in {@link #ARRIVING} of a {@link Truck_RoadUser}.
+	 */
+	private static final int TRUCK = 3;
+
+	/**
+	 * The space at a {@link Pump} in units of <code>1 / </code>
+	 * {@value RoadUserQueue#UNITS_PER_SIZE}.
+	 */
+	private static final long PUMP_CAPACITY = (long) Pump.MAX_QUEUE_SIZE * RoadUserQueue.UNITS_PER_SIZE;
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link SimulationContext} that holds the random streams of the
+	 * simulation of <code>this</code> {@link EventStation}.
+	 */
+	private final SimulationContext context;
+
+	/**
+	 * The state of every road user in <code>this</code> {@link EventStation}.
+	 */
+	private final RoadUserStore store;
+
+	/**
+	 * Supplies the {@link RoadUser}s whose state is copied into the
+	 * {@link #store} as they arrive.
+	 */
+	private final RoadUserPool pool;
+
+	/**
+	 * The {@link Event}s that have not happened yet.
+	 */
+	private final EventCalendar calendar;
+
+	/**
+	 * The queue of each {@link Pump}. A road user stays in the queue of its
+	 * {@link Pump} until it has paid.
+	 */
+	private final HandleQueue[] pumps;
+
+	/**
+	 * The queue of each {@link Till}.
+	 */
+	private final HandleQueue[] tills;
+
+	/**
+	 * The time the road user at the front of each {@link Till} must wait.
+	 */
+	private final int[] tillTimes;
+
+	/**
+	 * The {@link Random} that the {@link Till} times are drawn from.
+	 */
+	private final Random tillRandom;
+
+	/**
+	 * The tick each road user arrived on, by handle.
+	 */
+	private long[] arrivalTicks;
+
+	/**
+	 * The index of the {@link Pump} of each road user, by handle.
+	 */
+	private int[] pumpOf;
+
+	/**
+	 * The number of ticks that have been simulated.
+	 */
+	private long time;
+
+	/**
+	 * The first tick whether a road user arrives on has not been drawn for.
+	 */
+	private long arrivalTick;
+
+	/**
+	 * Whether there is an {@link Kind#ARRIVAL} {@link Event} in the
+	 * {@link #calendar}.
+	 */
+	private boolean arrivalPending;
+
+	/**
+	 * Whether a road user is known to arrive on the {@link #arrivalTick}, as
+	 * the number of ticks the empty station waits for it has been drawn.
+	 */
+	private boolean arrivalKnown;
+
+	/**
+	 * The number of {@link Event}s that have happened.
+	 */
+	private long eventsProcessed;
+
+	/**
+	 * The number of each type of road user that have left.
+	 */
+	private final Statistic<RoadUser> roadUsersProcessed;
+
+	/**
+	 * The number of each type of road user that were rejected.
+	 */
+	private final Statistic<RoadUser> roadUsersRejected;
+
+	/**
+	 * The number of each type of road user that are in <code>this</code>
+	 * {@link EventStation}.
+	 */
+	private final Statistic<RoadUser> numberOfRoadUsers;
+
+	/**
+	 * The fuel profit made from each type of road user.
+	 */
+	private final Statistic<RoadUser> fuelProfit;
+
+	/**
+	 * The sales profit made from each type of road user.
+	 */
+	private final Statistic<RoadUser> salesProfit;
+
+	/**
+	 * The fuel profit lost by rejecting each type of road user.
+	 */
+	private final Statistic<RoadUser> lostFuelProfit;
+
+	/**
+	 * The sales profit lost from each type of road user.
+	 */
+	private final Statistic<RoadUser> lostSalesProfit;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new empty {@link EventStation} at tick zero.
+	 *
+	 * @param numberOfPumps
+	 *            The <code>int</code> number of {@link Pump}s.
+	 * @param numberOfTills
+	 *            The <code>int</code> number of {@link Till}s.
+	 * @param context
+	 *            The {@link SimulationContext} of the simulation.
+	 */
+	public EventStation(int numberOfPumps, int numberOfTills, SimulationContext context) {
+
+		if (numberOfPumps < 0 || numberOfTills < 0) {
+			throw new IllegalArgumentException("The number of pumps and tills must be non-negative");
+		}
+
+		this.context = context;
+		this.store = new RoadUserStore();
+		this.pool = new RoadUserPool(context);
+		this.calendar = new EventCalendar();
+		this.pumps = new HandleQueue[numberOfPumps];
+		this.tills = new HandleQueue[numberOfTills];
+		this.tillTimes = new int[numberOfTills];
+		this.tillRandom = context.getTillRandom();
+		this.arrivalTicks = new long[store.capacity()];
+		this.pumpOf = new int[store.capacity()];
+		this.time = 0;
+		this.arrivalTick = 0;
+		this.arrivalPending = false;
+		this.arrivalKnown = false;
+		this.eventsProcessed = 0;
+
+		for (int pump = 0; pump < numberOfPumps; pump++) {
+			pumps[pump] = new HandleQueue();
+		}
+
+		// Each till draws its first time as it is constructed, like a Till.
+		for (int till = 0; till < numberOfTills; till++) {
+			tills[till] = new HandleQueue();
+			tillTimes[till] = nextTillTime();
+		}
+
+		this.roadUsersProcessed = new Statistic<RoadUser>();
+		this.roadUsersRejected = new Statistic<RoadUser>();
+		this.numberOfRoadUsers = new Statistic<RoadUser>();
+		this.fuelProfit = new Statistic<RoadUser>();
+		this.salesProfit = new Statistic<RoadUser>();
+		this.lostFuelProfit = new Statistic<RoadUser>();
+		this.lostSalesProfit = new Statistic<RoadUser>();
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Simulates the specified number of ticks, with road users arriving with
+	 * the same probabilities as in the <code>Simulator</code>.
+	 *
+	 * @param p
+	 *            <code>double</code> probability of a small car or a
+	 *            motorbike arriving on each tick.
+	 * @param q
+	 *            <code>double</code> probability of a family sedan arriving
+	 *            on each tick.
+	 * @param hasTrucks
+	 *            <code>boolean</code> whether trucks arrive.
+	 * @param ticks
+	 *            <code>int</code> number of ticks.
+	 */
+	public void simulate(double p, double q, boolean hasTrucks, int ticks) {
+
+		if (ticks < 0) {
+			throw new IllegalArgumentException("The number of ticks cannot be negative");
+		}
+
+		long end = time + ticks;
+
+		while (true) {
+
+			// Find the next arrival before the next event can change the
+			// probability of a truck arriving.
+			if (!arrivalPending) {
+				scheduleArrival(p, q, hasTrucks, end);
+			}
+
+			if (calendar.isEmpty() || calendar.peekTick() >= end) {
+				break;
+			}
+
+			Event event = calendar.poll();
+
+			process(event);
+			eventsProcessed++;
+		}
+
+		time = end;
+
+	}
+
+	/**
+	 * Retrieves the number of ticks that have been simulated.
+	 *
+	 * @return <code>long</code>
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * Retrieves the number of {@link Event}s that have happened.
+	 *
+	 * @return <code>long</code>
+	 */
+	public long getEventsProcessed() {
+		return eventsProcessed;
+	}
+
+	/**
+	 * Retrieves the {@link Statistic} of the specified {@link Measure}.
+	 *
+	 * @param measure
+	 *            {@link Measure}
+	 * @return {@link Statistic}
+	 *
+	 * @see Measure#of(Station)
+	 */
+	public Statistic<RoadUser> get(Measure measure) {
+
+		switch (measure) {
+		case PROCESSED:
+			return roadUsersProcessed;
+		case REJECTED:
+			return roadUsersRejected;
+		case FUEL_PROFIT:
+			return fuelProfit;
+		case SALES_PROFIT:
+			return salesProfit;
+		case LOST_FUEL_PROFIT:
+			return lostFuelProfit;
+		case LOST_SALES_PROFIT:
+			return lostSalesProfit;
+		default:
+			throw new IllegalStateException("Unknown measure " + measure.name());
+		}
+	}
+
+	/**
+	 * Retrieves the number of each type of road user in <code>this</code>
+	 * {@link EventStation}.
+	 *
+	 * @return {@link Statistic}
+	 */
+	public Statistic<RoadUser> getNumberOfRoadUsers() {
+		return numberOfRoadUsers;
+	}
+
+	/**
+	 * Retrieves the {@link SimulationContext} that holds the random streams of
+	 * the simulation of <code>this</code> {@link EventStation}.
+	 *
+	 * @return {@link SimulationContext}
+	 */
+	public SimulationContext getContext() {
+		return context;
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Finds the next tick from {@link #arrivalTick} until the next
+	 * {@link Event} that a road user arrives on and schedules its arrival.
+	 * While the station is empty the number of ticks until the next arrival
+	 * is drawn in one step, otherwise whether a road user arrives is drawn
+	 * for each tick. The arrival of a tick is decided before the
+	 * {@link Event}s of that tick, so only the {@link Event}s before it can
+	 * change whether the station is empty or the probability of a truck
+	 * arriving.
+	 *
+	 * @param p
+	 *            <code>double</code>
+	 * @param q
+	 *            <code>double</code>
+	 * @param hasTrucks
+	 *            <code>boolean</code>
+	 * @param end
+	 *            The <code>long</code> tick the simulation stops before.
+	 *
+	 * @see environment.Simulator
+	 */
+	private void scheduleArrival(double p, double q, boolean hasTrucks, long end) {
+
+		long horizon = calendar.isEmpty() ? end - 1 : Math.min(calendar.peekTick(), end - 1);
+		Random arrivalRandom = context.getArrivalRandom();
+
+		while (arrivalTick <= horizon) {
+
+			double value;
+
+			if (arrivalKnown) {
+
+				// A road user is known to arrive on this tick.
+				value = arrivalRandom.nextDouble() * context.getArrivalProbability(p, q, hasTrucks);
+				arrivalKnown = false;
+
+			} else if (store.size() == 0) {
+
+				double probability = context.getArrivalProbability(p, q, hasTrucks);
+
+				// Nothing arrives for the rest of the simulation.
+				if (probability <= 0) {
+					arrivalTick = end;
+					return;
+				}
+
+				// Skip the ticks the empty station waits for the next road
+				// user in one step.
+				arrivalTick += context.nextIdleTicks(probability);
+				arrivalKnown = true;
+
+				continue;
+
+			} else {
+				value = arrivalRandom.nextDouble();
+			}
+
+			long tick = arrivalTick++;
+			int type = -1;
+
+			if (SmallCar_RoadUser.exists(p, q, value)) {
+				type = 0;
+			} else if (Motorbike_RoadUser.exists(p, q, value)) {
+				type = 1;
+			} else if (FamilySedan_RoadUser.exists(p, q, value)) {
+				type = 2;
+			} else if (Truck_RoadUser.exists(context, p, q, value) && hasTrucks) {
+				type = TRUCK;
+			}
+
+			if (type != -1) {
+				calendar.schedule(Kind.ARRIVAL, tick, type, -1);
+				arrivalPending = true;
+				return;
+			}
+		}
+
+	}
+
+	/**
+	 * Makes the change that the specified {@link Event} stands for.
+	 *
+	 * @param event
+	 *            {@link Event}
+	 */
+	private void process(Event event) {
+
+		switch (event.kind) {
+		case ARRIVAL:
+			arrivalPending = false;
+			arrive(event.tick, event.location);
+			break;
+		case JOIN_TILL:
+			joinTill(event.tick, event.handle);
+			break;
+		case DEPART:
+			depart(event.handle);
+			break;
+		case FILL:
+			calendar.schedule(Kind.ENTER_SHOPPING_AREA, event.tick + 1, 0, event.handle);
+			break;
+		case LEAVE_PUMP:
+			leavePump(event.tick, event.location);
+			break;
+		case FINISH_SHOPPING:
+			store.shop(event.handle, store.getRemainingShoppingTime(event.handle));
+			calendar.schedule(Kind.JOIN_TILL, event.tick + 1, 0, event.handle);
+			break;
+		case ENTER_SHOPPING_AREA:
+			enterShoppingArea(event.tick, event.handle);
+			break;
+		case PAY:
+			pay(event.tick, event.location);
+			break;
+		default:
+			throw new IllegalStateException("Unknown event " + event.kind.name());
+		}
+
+	}
+
+	/**
+	 * Adds a new road user of the specified type to the least occupied
+	 * {@link Pump} that has space for it, or rejects it if no {@link Pump}
+	 * has space.
+	 *
+	 * @param tick
+	 *            The <code>long</code> tick the road user arrives on.
+	 * @param type
+	 *            <code>int</code> index in {@link #ARRIVING} of the type of
+	 *            the road user.
+	 *
+	 * @see Station#enter(RoadUser)
+	 */
+	private void arrive(long tick, int type) {
+
+		// The road user draws its random values as it is constructed.
+		RoadUser roadUser = pool.acquire(ARRIVING[type].asSubclass(RoadUser.class));
+		Class<? extends RoadUser> roadUserType = roadUser.getClass();
+		int units = (int) RoadUserQueue.units(roadUser);
+
+		// Find the least occupied pump with space, the first on a tie.
+		int destination = -1;
+
+		for (int pump = 0; pump < pumps.length; pump++) {
+
+			long occupancy = pumps[pump].getOccupancy();
+
+			if (occupancy + units <= PUMP_CAPACITY
+					&& (destination == -1 || occupancy < pumps[destination].getOccupancy())) {
+				destination = pump;
+			}
+		}
+
+		if (destination != -1) {
+
+			int handle = store.add(roadUser);
+
+			if (handle >= arrivalTicks.length) {
+				arrivalTicks = Arrays.copyOf(arrivalTicks, store.capacity());
+				pumpOf = Arrays.copyOf(pumpOf, store.capacity());
+			}
+
+			arrivalTicks[handle] = tick;
+			pumpOf[handle] = destination;
+			numberOfRoadUsers.update(roadUserType, 1);
+
+			// A road user at the front of an empty pump starts filling on the
+			// tick it arrives.
+			if (pumps[destination].isEmpty()) {
+				calendar.schedule(Kind.FILL, tick + store.getTankSize(handle) - 1, destination, handle);
+			}
+
+			pumps[destination].add(handle, units);
+
+		} else {
+
+			lostFuelProfit.update(roadUserType, roadUser.getVehicle().getMaxWorth());
+			lostSalesProfit.update(roadUserType, roadUser.getWorth());
+			roadUsersRejected.update(roadUserType, 1);
+
+		}
+
+		// The state of the road user has been copied into the store.
+		pool.release(roadUser);
+
+	}
+
+	/**
+	 * Decides whether the road user of the specified handle will shop as it
+	 * enters the {@link ShoppingArea}. It has been in the queue of its
+	 * {@link Pump} on every tick since it arrived.
+	 *
+	 * @param tick
+	 *            The <code>long</code> tick the road user enters on.
+	 * @param handle
+	 *            <code>int</code> handle of the road user.
+	 *
+	 * @see ShoppingArea#processQueue(environment.model.locations.MoveBuffer)
+	 */
+	private void enterShoppingArea(long tick, int handle) {
+
+		store.spendTime(handle, (int) (tick - arrivalTicks[handle] + 1));
+
+		if (store.willShop(handle, context)) {
+
+			store.shop(handle, 1);
+
+			calendar.schedule(Kind.FINISH_SHOPPING, tick + store.getRemainingShoppingTime(handle) + 1, 0, handle);
+
+		} else {
+			calendar.schedule(Kind.JOIN_TILL, tick + 1, 0, handle);
+		}
+
+	}
+
+	/**
+	 * Adds the road user of the specified handle to the {@link Till} with the
+	 * fewest road users. Without a {@link Till} the road user never leaves the
+	 * {@link ShoppingArea}.
+	 *
+	 * @param tick
+	 *            The <code>long</code> tick the road user joins on.
+	 * @param handle
+	 *            <code>int</code> handle of the road user.
+	 */
+	private void joinTill(long tick, int handle) {
+
+		int till = shortestTill();
+
+		if (till == -1) {
+			return;
+		}
+
+		// A till starts serving a road user on the tick it joins an empty
+		// queue.
+		if (tills[till].isEmpty()) {
+			calendar.schedule(Kind.PAY, tick + tillTimes[till], till, handle);
+		}
+
+		tills[till].add(handle, 0);
+
+		Class<? extends RoadUser> type = store.getType(handle);
+
+		if (store.doneShopping(handle)) {
+			salesProfit.update(type, store.getWorth(handle));
+		} else {
+			lostSalesProfit.update(type, store.getWorth(handle));
+		}
+
+	}
+
+	/**
+	 * Lets the road user at the front of the specified {@link Till} pay and
+	 * starts serving the next one on the following tick.
+	 *
+	 * @param tick
+	 *            The <code>long</code> tick the road user pays on.
+	 * @param till
+	 *            <code>int</code> index of the {@link Till}.
+	 *
+	 * @see Till#processQueue(environment.model.locations.MoveBuffer)
+	 */
+	private void pay(long tick, int till) {
+
+		int handle = tills[till].poll(0);
+
+		store.pay(handle);
+		tillTimes[till] = nextTillTime();
+
+		calendar.schedule(Kind.DEPART, tick + 1, 0, handle);
+		calendar.schedule(Kind.LEAVE_PUMP, tick + 1, pumpOf[handle], handle);
+
+		if (!tills[till].isEmpty()) {
+			calendar.schedule(Kind.PAY, tick + 1 + tillTimes[till], till, tills[till].peek());
+		}
+
+	}
+
+	/**
+	 * Records that the road user of the specified handle has left the station.
+	 *
+	 * @param handle
+	 *            <code>int</code> handle of the road user.
+	 */
+	private void depart(int handle) {
+
+		Class<? extends RoadUser> type = store.getType(handle);
+
+		numberOfRoadUsers.update(type, -1);
+		roadUsersProcessed.update(type, 1);
+		fuelProfit.update(type, store.getMaxWorth(handle));
+
+	}
+
+	/**
+	 * Removes the road user that has paid from the front of the specified
+	 * {@link Pump}, which starts filling the next vehicle on the following
+	 * tick.
+	 *
+	 * @param tick
+	 *            The <code>long</code> tick the road user leaves on.
+	 * @param pump
+	 *            <code>int</code> index of the {@link Pump}.
+	 *
+	 * @see Pump#processQueue(environment.model.locations.MoveBuffer)
+	 */
+	private void leavePump(long tick, int pump) {
+
+		HandleQueue queue = pumps[pump];
+		int handle = queue.peek();
+
+		// The road user has left the station so its handle is freed.
+		queue.poll(store.getUnits(handle));
+		store.free(handle);
+
+		if (!queue.isEmpty()) {
+
+			int next = queue.peek();
+
+			calendar.schedule(Kind.FILL, tick + store.getTankSize(next), pump, next);
+		}
+
+	}
+
+	/**
+	 * Retrieves the {@link Till} with the fewest road users, the first on a
+	 * tie.
+	 *
+	 * @return <code>int</code> index of the {@link Till} or <code>-1</code>
+	 *         if there are no {@link Till}s.
+	 */
+	private int shortestTill() {
+
+		int shortest = -1;
+
+		for (int till = 0; till < tills.length; till++) {
+			if (shortest == -1 || tills[till].size() < tills[shortest].size()) {
+				shortest = till;
+			}
+		}
+
+		return shortest;
+	}
+
+	/**
+	 * Draws the time the next road user at a {@link Till} must wait.
+	 *
+	 * @return <code>int</code> number of ticks.
+	 */
+	private int nextTillTime() {
+		return tillRandom.nextInt(Till.RANGE_OF_TIME_TO_SPEND) + Till.MIMIMUM_TIME_TO_SPEND;
+	}
+
+}
@@ -0,0 +1,14 @@
+/**
+ * This module contains a discrete-event engine for simulating a petrol
+ * station, which schedules the changes to the station on an event calendar
+ * and jumps from one to the next rather than processing every location on
+ * every tick.
+ * 
+ * @author agent
+ * 
+ * @see environment.model.event.EventStation
+ * @see environment.model.event.EventCalendar
+ * @see environment.model.Station
+ *
+ */
+package environment.model.event;
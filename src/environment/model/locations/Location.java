@@ -1,10 +1,15 @@
 package environment.model.locations;
 
-import java.util.LinkedList;
+import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import environment.model.SimulationContext;
+import environment.model.checkpoint.CheckpointInput;
+import environment.model.checkpoint.CheckpointOutput;
 import environment.model.roadusers.RoadUser;
+import environment.model.roadusers.RoadUserPool;
 import environment.model.roadusers.vehicles.Vehicle;
 
 /**
@@ -18,15 +23,6 @@ import environment.model.roadusers.vehicles.Vehicle;
  */
 public abstract class Location implements Cloneable {
 
-	// Static Fields ---------------------------------------------------------
-
-	/**
-	 * The next <code>int</code> of the next {@link Location}s {@link #id}.
-	 * 
-	 * @see #id
-	 */
-	private static int nextID = 0;
-
 	// Public Fields ---------------------------------------------------------
 
 	/**
@@ -43,17 +39,80 @@ public abstract class Location implements Cloneable {
 	 */
 	private int id;
 
+	/**
+	 * The most recent read-only copy of <code>this</code> {@link Location}. It
+	 * is reused by {@link #snapshot()} until the state of <code>this</code>
+	 * {@link Location} changes.
+	 * 
+	 * @see #snapshot()
+	 */
+	private Location snapshot;
+
+	/**
+	 * The {@link RoadUserQueue#getVersion()} of the {@link #queue} when
+	 * {@link #snapshot} was taken.
+	 * 
+	 * @see #snapshot()
+	 */
+	private long snapshotVersion;
+
+	/**
+	 * Whether <code>this</code> {@link Location} is a read-only snapshot.
+	 * 
+	 * @see #snapshot()
+	 */
+	private boolean readOnly;
+
+	/**
+	 * The {@link RoadUserPool} that the {@link RoadUser}s that leave the
+	 * <code>Station</code> from <code>this</code> {@link Location} are
+	 * released to, or <code>null</code> if they are not recycled.
+	 * 
+	 * @see #recycle(RoadUser)
+	 */
+	private RoadUserPool pool;
+
+	// Package Fields --------------------------------------------------------
+
+	/**
+	 * The {@link LocationIndex} <code>this</code> {@link Location} belongs to,
+	 * or <code>null</code> if it does not belong to one.
+	 * 
+	 * @see LocationIndex#add(Location)
+	 */
+	LocationIndex index;
+
+	/**
+	 * The position of <code>this</code> {@link Location} in the heap of its
+	 * {@link #index}.
+	 */
+	int indexPosition;
+
+	/**
+	 * The order <code>this</code> {@link Location} was added to its
+	 * {@link #index} in.
+	 */
+	int indexOrder;
+
+	/**
+	 * The load of <code>this</code> {@link Location} when its position in the
+	 * heap of its {@link #index} was last updated.
+	 * 
+	 * @see #getLoad()
+	 */
+	double indexLoad;
+
 	// Protected Fields ------------------------------------------------------
 
 	/**
 	 * Contains all the {@link RoadUser}s that are present in <code>this</code>
 	 * {@link Location}.
 	 * 
-	 * @see java.util.LinkedList
+	 * @see environment.model.locations.RoadUserQueue
 	 * @see #processQueue(HashMap)
 	 * @see environment.model.roadusers.RoadUser
 	 */
-	protected LinkedList<RoadUser> queue;
+	protected RoadUserQueue queue;
 
 	/**
 	 * The number of {@link RoadUser}s that have passed through this
@@ -100,14 +159,59 @@ public abstract class Location implements Cloneable {
 	 * @see environment.model.Station
 	 */
 	public Location(Class<? extends Location> nextLocation, int maxQueueSize) {
+		this(nextLocation, maxQueueSize, SimulationContext.DEFAULT);
+	}
+
+	/**
+	 * Constructs a new {@link Location} for use in the <code>Station</code>
+	 * whose identifier is supplied by the specified {@link SimulationContext}.
+	 * 
+	 * @param nextLocation
+	 *            The <code>Class</code> of the type of the next
+	 *            {@link Location} that <code>this</code> will move the
+	 *            {@link RoadUser}s contained with in it too.
+	 * @param maxQueueSize
+	 *            The maximum number of units (size of {@link RoadUser}s) that
+	 *            this location can have at any given point. If this is
+	 *            initialised as <code>0</code> then the maximum size of the
+	 *            {@link Location}s queue is infinite.
+	 * @param context
+	 *            The {@link SimulationContext} of the simulation
+	 *            <code>this</code> {@link Location} belongs to.
+	 * @see environment.model.SimulationContext#nextLocationID()
+	 */
+	public Location(Class<? extends Location> nextLocation, int maxQueueSize, SimulationContext context) {
 
 		// Initialise all instance fields.
 		this.nextLocation = nextLocation;
 		this.roadUsersProcessed = 0;
 		this.profit = 0;
 		this.maxQueueSize = maxQueueSize;
-		this.queue = new LinkedList<RoadUser>();
-		this.id = nextID++;
+		this.queue = new RoadUserQueue();
+		this.id = context.nextLocationID();
+
+	}
+
+	/**
+	 * Constructs a copy of the specified {@link Location} with the same
+	 * identifier, {@link #nextLocation}, {@link #maxQueueSize}, profit and
+	 * number of {@link RoadUser}s processed, and an empty {@link #queue}. No
+	 * identifier is taken from a {@link SimulationContext}, so copying a
+	 * {@link Location} does not effect the simulation it belongs to.
+	 * 
+	 * @param original
+	 *            The {@link Location} to be copied.
+	 * 
+	 * @see #cloneLocation(Location)
+	 */
+	protected Location(Location original) {
+
+		this.nextLocation = original.nextLocation;
+		this.roadUsersProcessed = original.roadUsersProcessed;
+		this.profit = original.profit;
+		this.maxQueueSize = original.maxQueueSize;
+		this.queue = new RoadUserQueue();
+		this.id = original.id;
 
 	}
 
@@ -119,19 +223,38 @@ public abstract class Location implements Cloneable {
 	 * method will be called upon every tick of the simulation.
 	 * 
 	 * @param toMove
-	 *            <code>HashMap&lt;RoadUser, Class&lt;? extends {@link Location}&gt;&gt;</code>
-	 *            that denotes the {@link RoadUser}s that the
-	 *            <code>Station</code> will move to the next {@link Location}.
-	 *            The Key of the {@link HashMap} is of type {@link RoadUser} as
-	 *            each road user to be moved should be unique. The value denotes
-	 *            the current {@link Location} of the {@link RoadUser} key
-	 *            assigned to it.
+	 *            {@link MoveBuffer} that the {@link RoadUser}s that the
+	 *            <code>Station</code> will move to the next {@link Location}
+	 *            are added to, each paired with <code>this</code>
+	 *            {@link Location}. Each road user to be moved should only be
+	 *            added once.
 	 * 
 	 * @see environment.model.roadusers.RoadUser
-	 * @see java.util.HashMap
-	 * @see java.util.LinkedList
+	 * @see environment.model.locations.MoveBuffer
 	 */
-	public abstract void processQueue(Map<RoadUser, Location> toMove);
+	public abstract void processQueue(MoveBuffer toMove);
+
+	/**
+	 * Performs {@link #processQueue(MoveBuffer)} and adds the {@link RoadUser}s
+	 * that are to be moved to the specified {@link Map} rather than a
+	 * {@link MoveBuffer}.
+	 * 
+	 * @param toMove
+	 *            <code>Map&lt;RoadUser, {@link Location}&gt;</code> that
+	 *            denotes the {@link RoadUser}s that will move to the next
+	 *            {@link Location}. The value denotes the current
+	 *            {@link Location} of the {@link RoadUser} key assigned to it.
+	 * 
+	 * @see #processQueue(MoveBuffer)
+	 */
+	public final void processQueue(Map<RoadUser, Location> toMove) {
+
+		MoveBuffer buffer = new MoveBuffer();
+
+		processQueue(buffer);
+		buffer.copyPendingTo(toMove);
+
+	}
 
 	/**
 	 * Retrieves the amount of money collected from the {@link RoadUser}s that
@@ -170,8 +293,10 @@ public abstract class Location implements Cloneable {
 	 * @see environment.model.roadusers.RoadUser
 	 */
 	public void enter(RoadUser newRoadUser) {
+		checkWritable();
 		if (newRoadUser != null && canContain(newRoadUser) && !queue.contains(newRoadUser)) {
 			queue.add(newRoadUser);
+			loadChanged();
 		}
 	}
 
@@ -197,11 +322,27 @@ public abstract class Location implements Cloneable {
 		 * RoadUser is less than the defined maximum size of the queue or the
 		 * maxQueueSize is zero meaning that there is no maximum size to the
 		 * queue in this location. Otherwise return false. Also return false if
-		 * the RoadUser is already present in this location. + 0.05 is the
-		 * margin of error that may arise from repeated double additions.
+		 * the RoadUser is already present in this location. The sizes are
+		 * compared in whole occupancy units so no margin of error is needed.
 		 */
-		return ((getQueueLength() + roadUser.getVehicle().size <= maxQueueSize + 0.05) || (maxQueueSize == 0))
-				&& !queue.contains(roadUser);
+		return hasRoomFor(roadUser) && !queue.contains(roadUser);
+	}
+
+	/**
+	 * Checks if there is enough space in the {@link #queue} of
+	 * <code>this</code> {@link Location} for the {@link Vehicle} of the
+	 * parameter {@link RoadUser}, whether or not it can be added for any
+	 * other reason.
+	 * 
+	 * @param roadUser
+	 *            {@link RoadUser}
+	 * @return <code>boolean</code>
+	 * 
+	 * @see #canContain(RoadUser)
+	 */
+	boolean hasRoomFor(RoadUser roadUser) {
+		return (maxQueueSize == 0) || (queue.getOccupancy()
+				+ RoadUserQueue.units(roadUser) <= (long) maxQueueSize * RoadUserQueue.UNITS_PER_SIZE);
 	}
 
 	/**
@@ -214,10 +355,13 @@ public abstract class Location implements Cloneable {
 	 */
 	public void returnToQueue(RoadUser roadUser) {
 
+		checkWritable();
+
 		// If the parameter road user is not already in the queue, return it to
 		// the start of the queue.
 		if (!queue.contains(roadUser)) {
 			queue.addFirst(roadUser);
+			loadChanged();
 		}
 	}
 
@@ -226,7 +370,7 @@ public abstract class Location implements Cloneable {
 	 * implemented in the subclasses of <code>this</code>.
 	 * 
 	 * @see environment.model.locations.Location
-	 * @see java.util.LinkedList
+	 * @see environment.model.locations.RoadUserQueue
 	 */
 	@Override
 	public abstract Location clone();
@@ -246,15 +390,13 @@ public abstract class Location implements Cloneable {
 	 */
 	protected Location cloneLocation(Location clone) {
 
-		// Initialise the LinkedList that will be used as the cloned
-		// LinkedList
-		LinkedList<RoadUser> cloneQueue = new LinkedList<RoadUser>();
+		// Initialise the queue that will be used as the cloned queue.
+		RoadUserQueue cloneQueue = new RoadUserQueue();
 
-		// Iterate through all the elements in the LinkedList
+		// Iterate through all the elements in the queue
 		for (RoadUser roadUser : this.queue) {
 
-			// Add the clone of the current element to the clone
-			// LinkedList.
+			// Add the clone of the current element to the clone queue.
 			cloneQueue.add(roadUser.clone());
 
 		}
@@ -271,12 +413,244 @@ public abstract class Location implements Cloneable {
 	}
 
 	/**
-	 * Retrieves the {@link RoadUser}s in the queue
+	 * Retrieves a read-only copy of <code>this</code> {@link Location} for use
+	 * by the views. The copy shares every part of its state that has not
+	 * changed since the previous snapshot, so the cost of taking a snapshot is
+	 * proportional to the number of {@link RoadUser}s that have changed. If
+	 * nothing has changed the previous snapshot is returned without looking
+	 * at the {@link #queue}.
+	 * 
+	 * <p>
+	 * Any attempt to modify the snapshot throws an
+	 * {@link UnsupportedOperationException}.
+	 * </p>
 	 * 
-	 * @return
+	 * @return Read-only {@link Location}.
+	 * 
+	 * @see RoadUser#snapshot()
+	 */
+	public final Location snapshot() {
+
+		// A snapshot is already read only.
+		if (readOnly) {
+			return this;
+		}
+
+		// Reuse the previous snapshot if nothing has changed.
+		if (snapshot != null && isSnapshotCurrent()) {
+			return snapshot;
+		}
+
+		try {
+
+			// A shallow copy shares the immutable fields of this location and
+			// the fields of its subclass without drawing any random values.
+			Location copy = (Location) super.clone();
+
+			// The snapshots of the road users are shared between snapshots of
+			// locations so they are not marked as being in the copy.
+			RoadUserQueue copyQueue = new RoadUserQueue(false);
+
+			for (RoadUser roadUser : queue) {
+				copyQueue.add(roadUser.snapshot());
+			}
+
+			copy.queue = copyQueue;
+			copy.snapshot = null;
+			copy.index = null;
+			copy.pool = null;
+			copy.readOnly = true;
+
+			snapshotState(copy);
+
+			snapshot = copy;
+			snapshotVersion = queue.getVersion();
+
+		} catch (CloneNotSupportedException e) {
+			throw new IllegalStateException(e);
+		}
+
+		return snapshot;
+	}
+
+	/**
+	 * Retrieves the <code>int</code> that uniquely identifies
+	 * <code>this</code> {@link Location} within its {@link SimulationContext}.
+	 * A snapshot has the same identifier as the {@link Location} it was taken
+	 * of.
+	 * 
+	 * @return <code>int</code> identifier.
+	 */
+	public int getID() {
+		return id;
+	}
+
+	/**
+	 * Retrieves whether <code>this</code> {@link Location} is a read-only
+	 * snapshot.
+	 * 
+	 * @return <code>boolean</code>
+	 * 
+	 * @see #snapshot()
+	 */
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+
+	/**
+	 * Retrieves the {@link RoadUser}s in the queue. The returned {@link List}
+	 * cannot be modified.
+	 * 
+	 * @return <code>{@link List}&lt;{@link RoadUser}&gt;</code>
 	 */
 	public List<RoadUser> getQueue() {
-		return queue;
+		return Collections.unmodifiableList(queue);
+	}
+
+	/**
+	 * Retrieves the number of {@link RoadUser}s in the queue without wrapping
+	 * the queue as {@link #getQueue()} does.
+	 * 
+	 * @return <code>int</code>
+	 * 
+	 * @see environment.model.log.TickLog
+	 */
+	public int getQueueSize() {
+		return queue.size();
+	}
+
+	/**
+	 * Retrieves the total size of the {@link RoadUser}s in the queue, in the
+	 * same units as {@link #getMaxQueueSize()}.
+	 * 
+	 * @return <code>double</code>
+	 * 
+	 * @see environment.GUI.views.HeatMap
+	 */
+	public double getOccupancy() {
+		return (double) queue.getOccupancy() / RoadUserQueue.UNITS_PER_SIZE;
+	}
+
+	/**
+	 * Retrieves the greatest total size of the {@link RoadUser}s that the
+	 * queue can hold.
+	 * 
+	 * @return <code>int</code>, or <code>0</code> if there is no maximum.
+	 * 
+	 * @see #maxQueueSize
+	 */
+	public int getMaxQueueSize() {
+		return maxQueueSize;
+	}
+
+	/**
+	 * Retrieves whether {@link #processQueue(MoveBuffer)} can be performed on
+	 * <code>this</code> {@link Location} at the same time as on other
+	 * independent {@link Location}s. That is only the case if it changes
+	 * nothing but its own queue, the {@link RoadUser}s in it and the
+	 * {@link MoveBuffer}, and draws no random values. By default a
+	 * {@link Location} is processed on its own.
+	 * 
+	 * @return <code>boolean</code>
+	 * 
+	 * @see environment.model.Station#setParallel(boolean)
+	 */
+	public boolean isIndependent() {
+		return false;
+	}
+
+	/**
+	 * Moves <code>this</code> {@link Location} on by the specified number of
+	 * ticks on which it has no {@link RoadUser}s to process, as if
+	 * {@link #processQueue(MoveBuffer)} had been called on each of them.
+	 * Sub-classes whose state changes on every tick must override this.
+	 * 
+	 * @param ticks
+	 *            <code>int</code> number of ticks.
+	 * @throws IllegalStateException
+	 *             If <code>this</code> {@link Location} is not empty.
+	 * 
+	 * @see environment.model.Station#skip(int)
+	 */
+	public void skip(int ticks) {
+
+		checkWritable();
+
+		if (!queue.isEmpty()) {
+			throw new IllegalStateException("A location cannot skip ticks while it holds road users");
+		}
+	}
+
+	/**
+	 * Sets the {@link RoadUserPool} that the {@link RoadUser}s that leave the
+	 * <code>Station</code> from <code>this</code> {@link Location} are
+	 * released to.
+	 * 
+	 * @param pool
+	 *            {@link RoadUserPool}, or <code>null</code> if the
+	 *            {@link RoadUser}s are not recycled.
+	 */
+	public void setPool(RoadUserPool pool) {
+		checkWritable();
+		this.pool = pool;
+	}
+
+	/**
+	 * Writes the state of <code>this</code> {@link Location} and the
+	 * {@link RoadUser}s in its queue, in order, to a checkpoint. Sub-classes
+	 * with additional mutable state must override this and
+	 * {@link #readCheckpoint(CheckpointInput)}.
+	 * 
+	 * @param out
+	 *            {@link CheckpointOutput}
+	 * @throws IOException
+	 *             If the state cannot be written.
+	 */
+	public void writeCheckpoint(CheckpointOutput out) throws IOException {
+
+		out.writeInt(id);
+		out.writeInt(roadUsersProcessed);
+		out.writeDouble(profit);
+		out.writeInt(maxQueueSize);
+		out.writeInt(queue.size());
+
+		for (RoadUser roadUser : queue) {
+			out.writeRoadUser(roadUser);
+		}
+	}
+
+	/**
+	 * Restores the state written by {@link #writeCheckpoint(CheckpointOutput)}
+	 * into <code>this</code> empty {@link Location}.
+	 * 
+	 * @param in
+	 *            {@link CheckpointInput}
+	 * @throws IOException
+	 *             If the state cannot be read.
+	 * @throws IllegalStateException
+	 *             If <code>this</code> {@link Location} is not empty.
+	 */
+	public void readCheckpoint(CheckpointInput in) throws IOException {
+
+		checkWritable();
+
+		if (!queue.isEmpty()) {
+			throw new IllegalStateException("A location can only be restored while it is empty");
+		}
+
+		this.id = in.readInt();
+		this.roadUsersProcessed = in.readInt();
+		this.profit = in.readDouble();
+		this.maxQueueSize = in.readInt();
+
+		int size = in.readInt();
+
+		for (int index = 0; index < size; index++) {
+			queue.add(in.readRoadUser());
+		}
+
+		// The queue has changed so update the index of this location.
+		loadChanged();
 	}
 
 	/**
@@ -292,26 +666,122 @@ public abstract class Location implements Cloneable {
 	 */
 	public abstract boolean compare(Location location);
 
+	/**
+	 * Throws an {@link UnsupportedOperationException} if <code>this</code>
+	 * {@link Location} is a read-only snapshot. Every method that modifies
+	 * <code>this</code> {@link Location} must call this first.
+	 * 
+	 * @see #snapshot()
+	 */
+	protected final void checkWritable() {
+		if (readOnly) {
+			throw new UnsupportedOperationException("A snapshot of a location cannot be modified");
+		}
+	}
+
+	/**
+	 * Releases the specified {@link RoadUser} to the {@link RoadUserPool} of
+	 * <code>this</code> {@link Location}, if it has one. Must only be called
+	 * once the {@link RoadUser} has left the <code>Station</code> and is no
+	 * longer in any {@link RoadUserQueue}.
+	 * 
+	 * @param roadUser
+	 *            The {@link RoadUser} that has left the <code>Station</code>.
+	 * 
+	 * @see #setPool(RoadUserPool)
+	 */
+	protected final void recycle(RoadUser roadUser) {
+		if (pool != null) {
+			pool.release(roadUser);
+		}
+	}
+
+	/**
+	 * Gives the specified snapshot of <code>this</code> {@link Location} its
+	 * own copy of the mutable state specific to the sub-class, which the
+	 * shallow copy would otherwise share. The {@link #queue} of the snapshot
+	 * already holds the {@link RoadUser#snapshot()}s. Sub-classes with
+	 * additional mutable state must override this.
+	 * 
+	 * @param snapshot
+	 *            A snapshot of <code>this</code> {@link Location}.
+	 * 
+	 * @see #snapshot()
+	 */
+	protected void snapshotState(Location snapshot) {
+		// Nothing to copy.
+	}
+
+	/**
+	 * Retrieves whether the state specific to the sub-class of
+	 * <code>this</code> {@link Location} is the same as that of the specified
+	 * snapshot of <code>this</code> {@link Location}. Sub-classes with
+	 * additional mutable state must override this.
+	 * 
+	 * @param snapshot
+	 *            A snapshot of <code>this</code> {@link Location}.
+	 * @return <code>boolean</code>
+	 */
+	protected boolean hasSameState(Location snapshot) {
+		return true;
+	}
+
+	/**
+	 * Retrieves the load of <code>this</code> {@link Location} that the
+	 * {@link LocationIndex} orders the {@link Location}s of one type by, the
+	 * least loaded being the most optimal for a {@link RoadUser} to enter.
+	 * This is the {@link #getQueueLength()} unless overridden, and should
+	 * agree with {@link #compare(Location)}. A {@link Location} with a
+	 * {@link #maxQueueSize} must not override this, as the
+	 * {@link LocationIndex} relies on the least loaded having the most room.
+	 * 
+	 * @return <code>double</code> load.
+	 * 
+	 * @see LocationIndex
+	 */
+	protected double getLoad() {
+		return getQueueLength();
+	}
+
+	/**
+	 * Updates the position of <code>this</code> {@link Location} in its
+	 * {@link LocationIndex}. This must be called whenever the {@link #queue}
+	 * changes.
+	 * 
+	 * @see #getLoad()
+	 */
+	protected final void loadChanged() {
+		if (index != null) {
+			index.update(this);
+		}
+	}
+
 	/**
 	 * Retrieves the current length of the {@link #queue} at <code>this</code>
 	 * {@link Location} denoted by the sum of all the {@link RoadUser}s in
-	 * <code>this</code> {@link Location}'s {@link Vehicle#size}.
+	 * <code>this</code> {@link Location}'s {@link Vehicle#size}. The
+	 * {@link #queue} keeps this total as {@link RoadUser}s join and leave.
 	 * 
 	 * @return <code>double</code> size of the {@link #queue}.
 	 * 
 	 * @see environment.model.roadusers.vehicles.Vehicle
+	 * @see RoadUserQueue#getOccupancy()
 	 */
 	protected double getQueueLength() {
+		return (double) queue.getOccupancy() / RoadUserQueue.UNITS_PER_SIZE;
+	}
 
-		// Holds the cumulative size of the queue.
-		double currentQueueSize = 0;
-
-		// Add the size of each road users vehicle to the cumulative queue
-		// size.
-		for (RoadUser roadUserQueue : queue) {
-			currentQueueSize += roadUserQueue.getVehicle().size;
-		}
+	// Private Methods -------------------------------------------------------
 
-		return currentQueueSize;
+	/**
+	 * Retrieves whether {@link #snapshot} still represents <code>this</code>
+	 * {@link Location}. The {@link #queue} counts every {@link RoadUser} that
+	 * joins, leaves or changes, so this does not depend on its length.
+	 * 
+	 * @return <code>boolean</code>
+	 */
+	private boolean isSnapshotCurrent() {
+		return snapshotVersion == queue.getVersion() && snapshot.profit == profit
+				&& snapshot.roadUsersProcessed == roadUsersProcessed && hasSameState(snapshot);
 	}
-}
\ No newline at end of file
+}
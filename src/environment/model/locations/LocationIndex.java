@@ -0,0 +1,443 @@
+package environment.model.locations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import environment.model.roadusers.RoadUser;
+
+/**
+ *
+ * Indexes the {@link Location}s of one type in a <code>Station</code> by their
+ * load so that a destination for a {@link RoadUser} can be chosen without
+ * scanning every {@link Location}. The {@link Location}s are held in a binary
+ * min-heap ordered by {@link Location#getLoad()}, ties being broken by the
+ * order the {@link Location}s were added. Each {@link Location} updates its
+ * position in the heap whenever its queue changes, so finding the least
+ * loaded {@link Location} is O(1) and keeping the heap up to date is O(log n)
+ * per change.
+ *
+ * <p>
+ * A {@link Location} can only belong to one {@link LocationIndex}. The
+ * {@link RoutingPolicy} of the <code>Station</code> decides which method of
+ * the {@link LocationIndex} is used to choose a destination.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.locations.RoutingPolicy
+ * @see environment.model.Station
+ */
+public final class LocationIndex {
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link Location}s in the order they were added.
+	 */
+	private final List<Location> locations;
+
+	/**
+	 * The binary min-heap of {@link Location}s, the least loaded
+	 * {@link Location} is at index zero.
+	 */
+	private final List<Location> heap;
+
+	/**
+	 * The position in {@link #locations} of the {@link Location} that is next
+	 * in turn for {@link #nextInTurn(RoadUser)}.
+	 */
+	private int turn;
+
+	/**
+	 * Whether the heap is not kept up to date as the loads of the
+	 * {@link Location}s change.
+	 *
+	 * @see #defer()
+	 */
+	private boolean deferred;
+
+	/**
+	 * Whether every {@link Location} has the same
+	 * {@link Location#getMaxQueueSize()}, so that if the least loaded
+	 * {@link Location} has no room for a {@link RoadUser} none has.
+	 *
+	 * @see #leastLoaded(RoadUser)
+	 */
+	private boolean uniform;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new empty {@link LocationIndex}.
+	 */
+	public LocationIndex() {
+
+		this.locations = new ArrayList<Location>();
+		this.heap = new ArrayList<Location>();
+		this.turn = 0;
+		this.deferred = false;
+		this.uniform = true;
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Adds the specified {@link Location} to <code>this</code>
+	 * {@link LocationIndex}.
+	 *
+	 * @param location
+	 *            {@link Location} that does not belong to a
+	 *            {@link LocationIndex}.
+	 */
+	public void add(Location location) {
+
+		if (location.index != null) {
+			throw new IllegalArgumentException("A location can only belong to one index");
+		}
+
+		if (!locations.isEmpty() && location.getMaxQueueSize() != locations.get(0).getMaxQueueSize()) {
+			uniform = false;
+		}
+
+		location.index = this;
+		location.indexOrder = locations.size();
+		location.indexPosition = heap.size();
+		location.indexLoad = location.getLoad();
+
+		locations.add(location);
+		heap.add(location);
+
+		siftUp(location.indexPosition);
+
+	}
+
+	/**
+	 * Retrieves the number of {@link Location}s in <code>this</code>
+	 * {@link LocationIndex}.
+	 *
+	 * @return <code>int</code>
+	 */
+	public int size() {
+		return locations.size();
+	}
+
+	/**
+	 * Retrieves the least loaded {@link Location}.
+	 *
+	 * @return {@link Location} or <code>null</code> if <code>this</code>
+	 *         {@link LocationIndex} is empty.
+	 */
+	public Location peek() {
+		return heap.isEmpty() ? null : heap.get(0);
+	}
+
+	/**
+	 * Retrieves the least loaded {@link Location} that can contain the
+	 * specified {@link RoadUser}. If the least loaded {@link Location} has no
+	 * room for it, or it is refused for what it is doing, no other
+	 * {@link Location} is checked as none can contain it. Every
+	 * {@link Location} is only checked if the {@link RoadUser} is already in
+	 * the least loaded one.
+	 *
+	 * @param roadUser
+	 *            {@link RoadUser}
+	 * @return {@link Location} or <code>null</code> if no {@link Location} can
+	 *         contain the {@link RoadUser}.
+	 *
+	 * @see Location#canContain(RoadUser)
+	 */
+	public Location leastLoaded(RoadUser roadUser) {
+
+		Location least = peek();
+
+		// In almost every case the least loaded location is the destination.
+		if (least == null || least.canContain(roadUser)) {
+			return least;
+		}
+
+		// The least loaded location has the most room, and the other reasons
+		// to refuse a road user do not depend on the location, so only a road
+		// user that is already in it may fit elsewhere.
+		if (uniform && !least.queue.contains(roadUser)) {
+			return null;
+		}
+
+		Location best = null;
+
+		for (Location location : locations) {
+			if (location.canContain(roadUser) && (best == null || isBefore(location, best))) {
+				best = location;
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * Retrieves the less loaded of two {@link Location}s chosen at random
+	 * that can contain the specified {@link RoadUser}. If neither can contain
+	 * it the {@link #leastLoaded(RoadUser)} {@link Location} is retrieved.
+	 *
+	 * @param roadUser
+	 *            {@link RoadUser}
+	 * @param random
+	 *            The {@link Random} used to choose the {@link Location}s.
+	 * @return {@link Location} or <code>null</code> if no {@link Location} can
+	 *         contain the {@link RoadUser}.
+	 */
+	public Location twoChoices(RoadUser roadUser, Random random) {
+
+		int size = locations.size();
+
+		if (size < 2) {
+			return leastLoaded(roadUser);
+		}
+
+		// Choose two different locations.
+		int first = random.nextInt(size);
+		int second = random.nextInt(size - 1);
+
+		if (second >= first) {
+			second++;
+		}
+
+		Location choice1 = locations.get(first);
+		Location choice2 = locations.get(second);
+
+		boolean fits1 = choice1.canContain(roadUser);
+		boolean fits2 = choice2.canContain(roadUser);
+
+		if (fits1 && fits2) {
+			return isBefore(choice1, choice2) ? choice1 : choice2;
+		} else if (fits1) {
+			return choice1;
+		} else if (fits2) {
+			return choice2;
+		}
+
+		return leastLoaded(roadUser);
+	}
+
+	/**
+	 * Retrieves the next {@link Location} in turn, in the order they were
+	 * added, that can contain the specified {@link RoadUser}. The following
+	 * call starts from the {@link Location} after the one retrieved.
+	 *
+	 * @param roadUser
+	 *            {@link RoadUser}
+	 * @return {@link Location} or <code>null</code> if no {@link Location} can
+	 *         contain the {@link RoadUser}.
+	 */
+	public Location nextInTurn(RoadUser roadUser) {
+
+		int size = locations.size();
+
+		for (int offset = 0; offset < size; offset++) {
+
+			int position = (turn + offset) % size;
+			Location location = locations.get(position);
+
+			if (location.canContain(roadUser)) {
+				turn = (position + 1) % size;
+				return location;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Retrieves the position of the {@link Location} that
+	 * {@link #nextInTurn(RoadUser)} starts from, so that it can be saved in a
+	 * checkpoint.
+	 *
+	 * @return <code>int</code> position in the order the {@link Location}s
+	 *         were added.
+	 */
+	public int getTurn() {
+		return turn;
+	}
+
+	/**
+	 * Sets the position of the {@link Location} that
+	 * {@link #nextInTurn(RoadUser)} starts from, as retrieved by
+	 * {@link #getTurn()}.
+	 *
+	 * @param turn
+	 *            <code>int</code> position in the order the {@link Location}s
+	 *            were added.
+	 */
+	public void setTurn(int turn) {
+
+		if (turn < 0 || (turn > 0 && turn >= locations.size())) {
+			throw new IllegalArgumentException("Invalid turn " + turn);
+		}
+
+		this.turn = turn;
+	}
+
+	/**
+	 * Stops keeping the heap up to date as the loads of the {@link Location}s
+	 * change until {@link #flush()} is called. While the heap is deferred the
+	 * {@link Location}s can change concurrently, but <code>this</code>
+	 * {@link LocationIndex} must not be used to choose a destination.
+	 */
+	public void defer() {
+		deferred = true;
+	}
+
+	/**
+	 * Brings the heap up to date with the loads of every {@link Location}, in
+	 * the order they were added, and keeps it up to date again from then on.
+	 * The least loaded {@link Location} is the same as if the heap had never
+	 * been deferred as ties are broken by the order the {@link Location}s
+	 * were added.
+	 *
+	 * @see #defer()
+	 */
+	public void flush() {
+
+		deferred = false;
+
+		for (Location location : locations) {
+			update(location);
+		}
+	}
+
+	// Package Methods --------------------------------------------------------
+
+	/**
+	 * Moves the specified {@link Location} to its position in the heap after
+	 * its load has changed.
+	 *
+	 * @param location
+	 *            {@link Location} of <code>this</code> {@link LocationIndex}.
+	 */
+	void update(Location location) {
+
+		// The heap is brought up to date when it is flushed.
+		if (deferred) {
+			return;
+		}
+
+		double load = location.getLoad();
+
+		if (load < location.indexLoad) {
+			location.indexLoad = load;
+			siftUp(location.indexPosition);
+		} else if (load > location.indexLoad) {
+			location.indexLoad = load;
+			siftDown(location.indexPosition);
+		}
+
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Retrieves whether the first {@link Location} should be chosen before the
+	 * second, that is it has a lower load or the same load and was added
+	 * first.
+	 *
+	 * @param first
+	 *            {@link Location}
+	 * @param second
+	 *            {@link Location}
+	 * @return <code>boolean</code>
+	 */
+	private static boolean isBefore(Location first, Location second) {
+
+		if (first.indexLoad != second.indexLoad) {
+			return first.indexLoad < second.indexLoad;
+		}
+
+		return first.indexOrder < second.indexOrder;
+	}
+
+	/**
+	 * Moves the {@link Location} at the specified position towards the root of
+	 * the heap until its parent is before it.
+	 *
+	 * @param position
+	 *            <code>int</code> position in the heap.
+	 */
+	private void siftUp(int position) {
+
+		Location location = heap.get(position);
+
+		while (position > 0) {
+
+			int parent = (position - 1) / 2;
+			Location parentLocation = heap.get(parent);
+
+			if (!isBefore(location, parentLocation)) {
+				break;
+			}
+
+			place(parentLocation, position);
+			position = parent;
+		}
+
+		place(location, position);
+
+	}
+
+	/**
+	 * Moves the {@link Location} at the specified position away from the root
+	 * of the heap until it is before both its children.
+	 *
+	 * @param position
+	 *            <code>int</code> position in the heap.
+	 */
+	private void siftDown(int position) {
+
+		Location location = heap.get(position);
+		int size = heap.size();
+
+		while (true) {
+
+			int child = (2 * position) + 1;
+
+			if (child >= size) {
+				break;
+			}
+
+			// Use the child that should be chosen first.
+			if (child + 1 < size && isBefore(heap.get(child + 1), heap.get(child))) {
+				child++;
+			}
+
+			Location childLocation = heap.get(child);
+
+			if (!isBefore(childLocation, location)) {
+				break;
+			}
+
+			place(childLocation, position);
+			position = child;
+		}
+
+		place(location, position);
+
+	}
+
+	/**
+	 * Places the specified {@link Location} at the specified position in the
+	 * heap.
+	 *
+	 * @param location
+	 *            {@link Location}
+	 * @param position
+	 *            <code>int</code> position in the heap.
+	 */
+	private void place(Location location, int position) {
+
+		heap.set(position, location);
+		location.indexPosition = position;
+
+	}
+
+}
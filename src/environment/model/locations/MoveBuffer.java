@@ -0,0 +1,380 @@
+package environment.model.locations;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import environment.model.roadusers.RoadUser;
+
+/**
+ *
+ * Holds the {@link RoadUser}s that are leaving their {@link Location}s on the
+ * current tick, each paired with the {@link Location} it is leaving and a
+ * {@link Status}. The pairs are held in parallel arrays that are reused from
+ * tick to tick, so {@link Location#processQueue(MoveBuffer)} and the
+ * <code>Station</code> hand the {@link RoadUser}s over without allocating and
+ * the <code>Station</code> relocates them in one pass in the order they were
+ * added. A {@link RoadUser} should only be added once between calls of
+ * {@link #clear()}. A {@link RoadUser} that leaves a {@link Location} without
+ * moving anywhere is {@link #leave(RoadUser, Location) added} as
+ * {@link Status#LEFT} so that the <code>Station</code> can publish it.
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.locations.Location#processQueue(MoveBuffer)
+ * @see environment.model.Station
+ */
+public final class MoveBuffer {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The capacity of the arrays of a new {@link MoveBuffer}.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link RoadUser} of each entry.
+	 */
+	private RoadUser[] roadUsers;
+
+	/**
+	 * The {@link Location} each {@link RoadUser} in {@link #roadUsers} is
+	 * leaving.
+	 */
+	private Location[] sources;
+
+	/**
+	 * The {@link Status} of each entry.
+	 */
+	private Status[] statuses;
+
+	/**
+	 * The number of entries in <code>this</code> {@link MoveBuffer}.
+	 */
+	private int size;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new empty {@link MoveBuffer}.
+	 */
+	public MoveBuffer() {
+
+		this.roadUsers = new RoadUser[INITIAL_CAPACITY];
+		this.sources = new Location[INITIAL_CAPACITY];
+		this.statuses = new Status[INITIAL_CAPACITY];
+		this.size = 0;
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Adds the specified {@link RoadUser} to the end of <code>this</code>
+	 * {@link MoveBuffer} as {@link Status#PENDING}.
+	 *
+	 * @param roadUser
+	 *            The {@link RoadUser} that is leaving.
+	 * @param source
+	 *            The {@link Location} the {@link RoadUser} is leaving.
+	 */
+	public void add(RoadUser roadUser, Location source) {
+
+		// Double the arrays once they are full.
+		if (size == roadUsers.length) {
+			roadUsers = Arrays.copyOf(roadUsers, size * 2);
+			sources = Arrays.copyOf(sources, size * 2);
+			statuses = Arrays.copyOf(statuses, size * 2);
+		}
+
+		roadUsers[size] = roadUser;
+		sources[size] = source;
+		statuses[size] = Status.PENDING;
+		size++;
+
+	}
+
+	/**
+	 * Adds the specified {@link RoadUser} to the end of <code>this</code>
+	 * {@link MoveBuffer} as {@link Status#LEFT}, as it has left the queue of
+	 * its {@link Location} and is not relocated.
+	 *
+	 * @param roadUser
+	 *            The {@link RoadUser} that left.
+	 * @param source
+	 *            The {@link Location} the {@link RoadUser} left.
+	 */
+	public void leave(RoadUser roadUser, Location source) {
+		add(roadUser, source);
+		statuses[size - 1] = Status.LEFT;
+	}
+
+	/**
+	 * Adds every entry of the specified {@link MoveBuffer} to the end of
+	 * <code>this</code> {@link MoveBuffer} in order, keeping their
+	 * {@link Status}es.
+	 *
+	 * @param buffer
+	 *            {@link MoveBuffer}
+	 */
+	public void addAll(MoveBuffer buffer) {
+
+		for (int entry = 0; entry < buffer.size; entry++) {
+			add(buffer.roadUsers[entry], buffer.sources[entry]);
+			statuses[size - 1] = buffer.statuses[entry];
+		}
+
+	}
+
+	/**
+	 * Removes every {@link Status#LEFT} entry, keeping the others in order.
+	 */
+	public void removeLeft() {
+
+		int kept = 0;
+
+		for (int entry = 0; entry < size; entry++) {
+			if (statuses[entry] != Status.LEFT) {
+				roadUsers[kept] = roadUsers[entry];
+				sources[kept] = sources[entry];
+				statuses[kept] = statuses[entry];
+				kept++;
+			}
+		}
+
+		Arrays.fill(roadUsers, kept, size, null);
+		Arrays.fill(sources, kept, size, null);
+		Arrays.fill(statuses, kept, size, null);
+		size = kept;
+
+	}
+
+	/**
+	 * Retrieves the number of entries in <code>this</code> {@link MoveBuffer}.
+	 *
+	 * @return <code>int</code>
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Retrieves whether <code>this</code> {@link MoveBuffer} has no entries.
+	 *
+	 * @return <code>boolean</code>
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Retrieves the {@link RoadUser} of the specified entry.
+	 *
+	 * @param entry
+	 *            <code>int</code> position of the entry.
+	 * @return {@link RoadUser}
+	 */
+	public RoadUser getRoadUser(int entry) {
+		checkEntry(entry);
+		return roadUsers[entry];
+	}
+
+	/**
+	 * Retrieves the {@link Location} the {@link RoadUser} of the specified
+	 * entry is leaving.
+	 *
+	 * @param entry
+	 *            <code>int</code> position of the entry.
+	 * @return {@link Location}
+	 */
+	public Location getSource(int entry) {
+		checkEntry(entry);
+		return sources[entry];
+	}
+
+	/**
+	 * Retrieves the {@link Status} of the specified entry.
+	 *
+	 * @param entry
+	 *            <code>int</code> position of the entry.
+	 * @return {@link Status}
+	 */
+	public Status getStatus(int entry) {
+		checkEntry(entry);
+		return statuses[entry];
+	}
+
+	/**
+	 * Sets the {@link Status} of the specified entry.
+	 *
+	 * @param entry
+	 *            <code>int</code> position of the entry.
+	 * @param status
+	 *            {@link Status} NOT NULL
+	 */
+	public void setStatus(int entry, Status status) {
+
+		checkEntry(entry);
+
+		if (status == null) {
+			throw new NullPointerException("The status of an entry cannot be null");
+		}
+
+		statuses[entry] = status;
+
+	}
+
+	/**
+	 * Removes every entry, keeping the arrays for the next tick.
+	 */
+	public void clear() {
+
+		Arrays.fill(roadUsers, 0, size, null);
+		Arrays.fill(sources, 0, size, null);
+		Arrays.fill(statuses, 0, size, null);
+		size = 0;
+
+	}
+
+	/**
+	 * Adds every entry of <code>this</code> {@link MoveBuffer} that is still
+	 * {@link Status#PENDING} to the specified <code>Map</code>.
+	 *
+	 * @param map
+	 *            <code>Map</code> from each {@link RoadUser} to the
+	 *            {@link Location} it is leaving.
+	 */
+	public void copyPendingTo(Map<RoadUser, Location> map) {
+
+		for (int entry = 0; entry < size; entry++) {
+			if (statuses[entry] == Status.PENDING) {
+				map.put(roadUsers[entry], sources[entry]);
+			}
+		}
+
+	}
+
+	/**
+	 * Retrieves a copy of <code>this</code> {@link MoveBuffer} that holds the
+	 * read-only snapshots of its {@link RoadUser}s and {@link Location}s.
+	 *
+	 * @return {@link MoveBuffer}
+	 *
+	 * @see RoadUser#snapshot()
+	 * @see Location#snapshot()
+	 */
+	public MoveBuffer snapshot() {
+
+		MoveBuffer copy = new MoveBuffer();
+
+		for (int entry = 0; entry < size; entry++) {
+			copy.add(roadUsers[entry].snapshot(), sources[entry].snapshot());
+			copy.statuses[entry] = statuses[entry];
+		}
+
+		return copy;
+	}
+
+	/**
+	 * Retrieves a deep clone of <code>this</code> {@link MoveBuffer}, cloning
+	 * every {@link RoadUser} and {@link Location}.
+	 */
+	@Override
+	public MoveBuffer clone() {
+
+		MoveBuffer clone = new MoveBuffer();
+
+		for (int entry = 0; entry < size; entry++) {
+			clone.add(roadUsers[entry].clone(), sources[entry].clone());
+			clone.statuses[entry] = statuses[entry];
+		}
+
+		return clone;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+
+		if (!(o instanceof MoveBuffer)) {
+			return false;
+		}
+
+		MoveBuffer buffer = (MoveBuffer) o;
+
+		if (buffer.size != size) {
+			return false;
+		}
+
+		// The entries must be equal and in the same order.
+		for (int entry = 0; entry < size; entry++) {
+			if (!roadUsers[entry].equals(buffer.roadUsers[entry]) || !sources[entry].equals(buffer.sources[entry])
+					|| statuses[entry] != buffer.statuses[entry]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		return size;
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Throws an {@link IndexOutOfBoundsException} if the specified entry is
+	 * not in <code>this</code> {@link MoveBuffer}.
+	 *
+	 * @param entry
+	 *            <code>int</code> position of the entry.
+	 */
+	private void checkEntry(int entry) {
+		if (entry < 0 || entry >= size) {
+			throw new IndexOutOfBoundsException("Entry: " + entry + ", Size: " + size);
+		}
+	}
+
+	// Nested Classes ---------------------------------------------------------
+
+	/**
+	 * The state of an entry of a {@link MoveBuffer}.
+	 */
+	public enum Status {
+
+		/**
+		 * The {@link RoadUser} has not yet been relocated.
+		 */
+		PENDING,
+
+		/**
+		 * The {@link RoadUser} entered its next {@link Location}.
+		 */
+		MOVED,
+
+		/**
+		 * The {@link RoadUser} left the <code>Station</code>.
+		 */
+		DEPARTED,
+
+		/**
+		 * There was no space in the next {@link Location} so the
+		 * {@link RoadUser} was returned to the {@link Location} it was
+		 * leaving.
+		 */
+		RETURNED,
+
+		/**
+		 * The {@link RoadUser} left the queue of its {@link Location} without
+		 * moving to another, such as a {@link Pump} that a {@link RoadUser}
+		 * that has paid drives away from.
+		 */
+		LEFT;
+
+	}
+
+}
@@ -1,7 +1,6 @@
 package environment.model.locations;
 
-import java.util.Map;
-
+import environment.model.SimulationContext;
 import environment.model.roadusers.RoadUser;
 import environment.model.roadusers.vehicles.Vehicle;
 
@@ -26,7 +25,7 @@ public final class Pump extends Location implements Cloneable {
 	 * @see environment.model.locations.Location
 	 * @see environment.model.roadusers.RoadUser
 	 */
-	private static final int MAX_QUEUE_SIZE = 3;
+	public static final int MAX_QUEUE_SIZE = 3;
 
 	/**
 	 * Constructs a new {@link Pump} which is a concrete subclass of
@@ -40,12 +39,41 @@ public final class Pump extends Location implements Cloneable {
 	 * 
 	 */
 	public Pump(Class<? extends Location> nextLocation) {
-		super(nextLocation, MAX_QUEUE_SIZE);
+		this(nextLocation, SimulationContext.DEFAULT);
+	}
 
+	/**
+	 * Constructs a new {@link Pump} that belongs to the simulation of the
+	 * specified {@link SimulationContext}.
+	 * 
+	 * @param nextLocation
+	 *            The <code>Class</code> of the type of the next
+	 *            {@link Location} that <code>this</code> will move the
+	 *            {@link RoadUser}s contained with in it too.
+	 * @param context
+	 *            The {@link SimulationContext} of the simulation.
+	 */
+	public Pump(Class<? extends Location> nextLocation, SimulationContext context) {
+		super(nextLocation, MAX_QUEUE_SIZE, context);
+	}
+
+	/**
+	 * Constructs a copy of the specified {@link Pump} with the same
+	 * identifier and an empty queue.
+	 * 
+	 * @param original
+	 *            The {@link Pump} to be copied.
+	 * 
+	 * @see #clone()
+	 */
+	private Pump(Pump original) {
+		super(original);
 	}
 
 	@Override
-	public void processQueue(Map<RoadUser, Location> toMove) {
+	public void processQueue(MoveBuffer toMove) {
+
+		checkWritable();
 
 		// Retrieves the Road User from the queue.
 		RoadUser roadUserAtPump = queue.peek();
@@ -63,16 +91,23 @@ public final class Pump extends Location implements Cloneable {
 
 					roadUsersProcessed++;
 
+					// The station publishes that the Road User has left.
+					toMove.leave(roadUserAtPump, this);
+
+					// The Road User has left the station so it can be reused.
+					recycle(roadUserAtPump);
+
 				}
 			} else {
 
 				// The Road User is required to fill the vehicle.
 				roadUserAtPump.getVehicle().fill();
+				queue.changed();
 
 				if (roadUserAtPump.getVehicle().isFull()) {
 
 					// The road user is moved to the next location.
-					toMove.put(roadUserAtPump, this);
+					toMove.add(roadUserAtPump, this);
 
 				}
 
@@ -81,6 +116,20 @@ public final class Pump extends Location implements Cloneable {
 			// The time spent by each Road User is then incremented.
 			queue.forEach(RoadUser::spendTime);
 		}
+
+		// The queue may have changed so update the index of this location.
+		loadChanged();
+
+	}
+
+	/**
+	 * A {@link Pump} only changes its own queue and the {@link RoadUser}s in
+	 * it, and draws no random values, so it can be processed at the same time
+	 * as the other {@link Pump}s.
+	 */
+	@Override
+	public boolean isIndependent() {
+		return true;
 	}
 
 	/**
@@ -93,7 +142,7 @@ public final class Pump extends Location implements Cloneable {
 	public Pump clone() {
 
 		// Return a clone of this location as a Pump.
-		return (Pump) super.cloneLocation(new Pump(this.nextLocation));
+		return (Pump) super.cloneLocation(new Pump(this));
 
 	}
 
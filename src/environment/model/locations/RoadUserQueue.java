@@ -0,0 +1,434 @@
+package environment.model.locations;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+import environment.model.roadusers.RoadUser;
+import environment.model.roadusers.vehicles.Vehicle;
+
+/**
+ *
+ * The queue of {@link RoadUser}s at a {@link Location}. The
+ * {@link RoadUser}s are held in a ring buffer so adding and removing at either
+ * end is O(1) and each {@link RoadUser} records which {@link RoadUserQueue}s
+ * it is in, so {@link #contains(Object)} is O(1) rather than a walk of the
+ * queue. The total {@link Vehicle#size} of the queue is kept as the
+ * {@link RoadUser}s join and leave in whole {@link #UNITS_PER_SIZE units} so
+ * that capacity checks are exact.
+ *
+ * <p>
+ * A {@link RoadUserQueue} that does not mark its {@link RoadUser}s, used for
+ * read-only snapshots, falls back to comparing every element in
+ * {@link #contains(Object)}. A {@link RoadUser} can only be in a marking
+ * {@link RoadUserQueue} once.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.locations.Location
+ * @see environment.model.roadusers.RoadUser#isIn(RoadUserQueue)
+ */
+public final class RoadUserQueue extends AbstractList<RoadUser> implements RandomAccess {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The number of occupancy units in one unit of {@link Vehicle#size}.
+	 * Every {@link Vehicle#size} is a multiple of <code>1 / </code>
+	 * {@value #UNITS_PER_SIZE}.
+	 *
+	 * @see #getOccupancy()
+	 */
+	public static final int UNITS_PER_SIZE = 100;
+
+	/**
+	 * The capacity of the ring buffer of a new {@link RoadUserQueue}.
+	 */
+	private static final int INITIAL_CAPACITY = 8;
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * Whether the {@link RoadUser}s in <code>this</code> {@link RoadUserQueue}
+	 * are marked as being in it.
+	 */
+	private final boolean marking;
+
+	/**
+	 * The ring buffer of {@link RoadUser}s.
+	 */
+	private RoadUser[] elements;
+
+	/**
+	 * The index in {@link #elements} of the front of the queue.
+	 */
+	private int head;
+
+	/**
+	 * The number of {@link RoadUser}s in the queue.
+	 */
+	private int size;
+
+	/**
+	 * The total {@link Vehicle#size} of the {@link RoadUser}s in the queue in
+	 * units of <code>1 / </code>{@value #UNITS_PER_SIZE}.
+	 */
+	private long occupancy;
+
+	/**
+	 * The number of times the queue, or a {@link RoadUser} in it, has
+	 * changed. A {@link Location} reuses its snapshot while this is the same.
+	 * Unlike {@link #modCount} it counts changes to the {@link RoadUser}s, so
+	 * it is not used to detect changes while iterating.
+	 *
+	 * @see #changed()
+	 * @see Location#snapshot()
+	 */
+	private long version;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new empty {@link RoadUserQueue} that marks its
+	 * {@link RoadUser}s.
+	 */
+	public RoadUserQueue() {
+		this(true);
+	}
+
+	/**
+	 * Constructs a new empty {@link RoadUserQueue}.
+	 *
+	 * @param marking
+	 *            Whether the {@link RoadUser}s are marked as being in
+	 *            <code>this</code> {@link RoadUserQueue}.
+	 */
+	RoadUserQueue(boolean marking) {
+
+		this.marking = marking;
+		this.elements = new RoadUser[INITIAL_CAPACITY];
+		this.head = 0;
+		this.size = 0;
+		this.occupancy = 0;
+		this.version = 0;
+
+	}
+
+	// Static Methods ---------------------------------------------------------
+
+	/**
+	 * Retrieves the {@link Vehicle#size} of the specified {@link RoadUser} in
+	 * units of <code>1 / </code>{@value #UNITS_PER_SIZE}.
+	 *
+	 * @param roadUser
+	 *            {@link RoadUser}
+	 * @return <code>long</code> units.
+	 */
+	public static long units(RoadUser roadUser) {
+		return Math.round(roadUser.getVehicle().size * UNITS_PER_SIZE);
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Retrieves the total {@link Vehicle#size} of the {@link RoadUser}s in
+	 * <code>this</code> {@link RoadUserQueue}.
+	 *
+	 * @return <code>long</code> occupancy in units of <code>1 / </code>
+	 *         {@value #UNITS_PER_SIZE}.
+	 */
+	public long getOccupancy() {
+		return occupancy;
+	}
+
+	/**
+	 * Records that a {@link RoadUser} in <code>this</code>
+	 * {@link RoadUserQueue}, or its {@link Vehicle}, has changed.
+	 *
+	 * @see RoadUser#modified()
+	 */
+	public void changed() {
+		version++;
+	}
+
+	/**
+	 * Retrieves the number of times the queue, or a {@link RoadUser} in it,
+	 * has changed.
+	 *
+	 * @return <code>long</code>
+	 */
+	long getVersion() {
+		return version;
+	}
+
+	@Override
+	public RoadUser get(int index) {
+
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+
+		return elements[physical(index)];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean contains(Object object) {
+
+		if (marking) {
+			return object instanceof RoadUser && ((RoadUser) object).isIn(this);
+		}
+
+		return super.contains(object);
+	}
+
+	/**
+	 * Adds the specified {@link RoadUser} to the back of the queue.
+	 *
+	 * @param roadUser
+	 *            {@link RoadUser} NOT NULL
+	 * @return <code>true</code>
+	 */
+	@Override
+	public boolean add(RoadUser roadUser) {
+
+		join(roadUser);
+
+		elements[physical(size)] = roadUser;
+		size++;
+
+		return true;
+	}
+
+	/**
+	 * Adds the specified {@link RoadUser} to the front of the queue.
+	 *
+	 * @param roadUser
+	 *            {@link RoadUser} NOT NULL
+	 */
+	public void addFirst(RoadUser roadUser) {
+
+		join(roadUser);
+
+		head = (head - 1 + elements.length) % elements.length;
+		elements[head] = roadUser;
+		size++;
+
+	}
+
+	/**
+	 * Retrieves the {@link RoadUser} at the front of the queue without
+	 * removing it.
+	 *
+	 * @return {@link RoadUser} or <code>null</code> if the queue is empty.
+	 */
+	public RoadUser peek() {
+		return size == 0 ? null : elements[head];
+	}
+
+	/**
+	 * Retrieves and removes the {@link RoadUser} at the front of the queue.
+	 *
+	 * @return {@link RoadUser} or <code>null</code> if the queue is empty.
+	 */
+	public RoadUser poll() {
+
+		if (size == 0) {
+			return null;
+		}
+
+		RoadUser roadUser = elements[head];
+
+		elements[head] = null;
+		head = (head + 1) % elements.length;
+		size--;
+
+		leave(roadUser);
+
+		return roadUser;
+	}
+
+	/**
+	 * Retrieves and removes the {@link RoadUser} at the front of the queue.
+	 *
+	 * @return {@link RoadUser}
+	 * @throws NoSuchElementException
+	 *             If the queue is empty.
+	 */
+	public RoadUser remove() {
+
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+
+		return poll();
+	}
+
+	@Override
+	public RoadUser remove(int index) {
+
+		RoadUser roadUser = get(index);
+
+		// Close the gap by moving the following road users forward.
+		for (int position = index; position < size - 1; position++) {
+			elements[physical(position)] = elements[physical(position + 1)];
+		}
+
+		elements[physical(size - 1)] = null;
+		size--;
+
+		leave(roadUser);
+
+		return roadUser;
+	}
+
+	@Override
+	public boolean remove(Object object) {
+
+		// A marked road user that is not in this queue need not be searched
+		// for.
+		if (!contains(object)) {
+			return false;
+		}
+
+		for (int index = 0; index < size; index++) {
+			if (elements[physical(index)] == object) {
+				remove(index);
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Removes every {@link RoadUser} that matches the specified
+	 * {@link Predicate} in one pass over the queue.
+	 *
+	 * @param filter
+	 *            {@link Predicate} that is <code>true</code> for the
+	 *            {@link RoadUser}s to be removed.
+	 * @return <code>boolean</code> whether any {@link RoadUser} was removed.
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super RoadUser> filter) {
+
+		int kept = 0;
+
+		for (int index = 0; index < size; index++) {
+
+			RoadUser roadUser = elements[physical(index)];
+
+			if (filter.test(roadUser)) {
+				leave(roadUser);
+			} else {
+				elements[physical(kept)] = roadUser;
+				kept++;
+			}
+		}
+
+		boolean removed = kept < size;
+
+		for (int index = kept; index < size; index++) {
+			elements[physical(index)] = null;
+		}
+
+		size = kept;
+
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+
+		for (int index = 0; index < size; index++) {
+
+			leave(elements[physical(index)]);
+			elements[physical(index)] = null;
+		}
+
+		head = 0;
+		size = 0;
+
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Retrieves the index in {@link #elements} of the specified position in
+	 * the queue.
+	 *
+	 * @param index
+	 *            <code>int</code> position in the queue.
+	 * @return <code>int</code> index in {@link #elements}.
+	 */
+	private int physical(int index) {
+		return (head + index) % elements.length;
+	}
+
+	/**
+	 * Records that the specified {@link RoadUser} is joining the queue and
+	 * makes space for it.
+	 *
+	 * @param roadUser
+	 *            {@link RoadUser}
+	 */
+	private void join(RoadUser roadUser) {
+
+		if (roadUser == null) {
+			throw new NullPointerException("A queue cannot contain null");
+		}
+
+		if (marking) {
+
+			if (roadUser.isIn(this)) {
+				throw new IllegalArgumentException("The road user is already in the queue");
+			}
+
+			roadUser.joined(this);
+		}
+
+		// Double the ring buffer, unwrapping it, once it is full.
+		if (size == elements.length) {
+
+			RoadUser[] grown = Arrays.copyOf(elements, elements.length * 2);
+
+			System.arraycopy(elements, 0, grown, elements.length, head);
+			Arrays.fill(grown, 0, head, null);
+
+			elements = grown;
+		}
+
+		occupancy += units(roadUser);
+		modCount++;
+		version++;
+
+	}
+
+	/**
+	 * Records that the specified {@link RoadUser} has left the queue.
+	 *
+	 * @param roadUser
+	 *            {@link RoadUser}
+	 */
+	private void leave(RoadUser roadUser) {
+
+		if (marking) {
+			roadUser.left(this);
+		}
+
+		occupancy -= units(roadUser);
+		modCount++;
+		version++;
+
+	}
+
+}
@@ -0,0 +1,77 @@
+package environment.model.locations;
+
+import java.util.Random;
+
+import environment.model.roadusers.RoadUser;
+
+/**
+ *
+ * The ways a <code>Station</code> can choose which {@link Location} of a type
+ * a {@link RoadUser} moves to. Each {@link RoutingPolicy} chooses from the
+ * {@link LocationIndex} of that type without scanning every {@link Location}.
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.locations.LocationIndex
+ * @see environment.model.Station#setRoutingPolicy(RoutingPolicy)
+ */
+public enum RoutingPolicy {
+
+	/**
+	 * The least loaded {@link Location}, ties going to the {@link Location}
+	 * that was added to the <code>Station</code> first. This is the default.
+	 *
+	 * @see LocationIndex#leastLoaded(RoadUser)
+	 */
+	SHORTEST_QUEUE {
+
+		@Override
+		public Location choose(LocationIndex index, RoadUser roadUser, Random random) {
+			return index.leastLoaded(roadUser);
+		}
+	},
+
+	/**
+	 * The less loaded of two {@link Location}s chosen at random.
+	 *
+	 * @see LocationIndex#twoChoices(RoadUser, Random)
+	 */
+	POWER_OF_TWO_CHOICES {
+
+		@Override
+		public Location choose(LocationIndex index, RoadUser roadUser, Random random) {
+			return index.twoChoices(roadUser, random);
+		}
+	},
+
+	/**
+	 * Each {@link Location} in turn.
+	 *
+	 * @see LocationIndex#nextInTurn(RoadUser)
+	 */
+	ROUND_ROBIN {
+
+		@Override
+		public Location choose(LocationIndex index, RoadUser roadUser, Random random) {
+			return index.nextInTurn(roadUser);
+		}
+	};
+
+	/**
+	 * Chooses the {@link Location} of the specified {@link LocationIndex} that
+	 * the specified {@link RoadUser} will move to.
+	 *
+	 * @param index
+	 *            The {@link LocationIndex} of the type of {@link Location} the
+	 *            {@link RoadUser} is moving to.
+	 * @param roadUser
+	 *            The {@link RoadUser} that is moving.
+	 * @param random
+	 *            The {@link Random} used by policies that choose at random.
+	 * @return The {@link Location} or <code>null</code> if no {@link Location}
+	 *         can contain the {@link RoadUser}.
+	 */
+	public abstract Location choose(LocationIndex index, RoadUser roadUser, Random random);
+
+}
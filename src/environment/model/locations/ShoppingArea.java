@@ -1,9 +1,16 @@
 package environment.model.locations;
 
-import java.util.LinkedList;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import environment.model.SimulationContext;
+import environment.model.checkpoint.CheckpointInput;
+import environment.model.checkpoint.CheckpointOutput;
 import environment.model.roadusers.RoadUser;
 
 /**
@@ -30,6 +37,30 @@ public class ShoppingArea extends Location implements Cloneable {
 	 */
 	private static final int MAX_QUEUE_SIZE = 0;
 
+	/**
+	 * Holds each {@link RoadUser} that is shopping until the tick it finishes
+	 * shopping.
+	 */
+	private TimingWheel<RoadUser> departures;
+
+	/**
+	 * The {@link RoadUser}s that have entered since the last tick and have not
+	 * yet decided whether they will shop.
+	 */
+	private List<RoadUser> arrivals;
+
+	/**
+	 * The {@link RoadUser}s that were returned to the queue since the last
+	 * tick.
+	 */
+	private List<RoadUser> returned;
+
+	/**
+	 * The {@link RoadUser}s leaving the queue on the current tick, reused
+	 * between ticks.
+	 */
+	private Set<RoadUser> leaving;
+
 	/**
 	 * Constructs a new {@link ShoppingArea}.
 	 * 
@@ -39,65 +70,149 @@ public class ShoppingArea extends Location implements Cloneable {
 	 *            in the location chain.
 	 */
 	public ShoppingArea(Class<? extends Location> nextLocation) {
-		super(nextLocation, MAX_QUEUE_SIZE);
+		this(nextLocation, SimulationContext.DEFAULT);
+	}
+
+	/**
+	 * Constructs a new {@link ShoppingArea} that belongs to the simulation of
+	 * the specified {@link SimulationContext}.
+	 * 
+	 * @param nextLocation
+	 *            <code>Class&lt;? extends {@link Location}&gt;</code> of the
+	 *            next location type. Set to null if this is the last location
+	 *            in the location chain.
+	 * @param context
+	 *            The {@link SimulationContext} of the simulation.
+	 */
+	public ShoppingArea(Class<? extends Location> nextLocation, SimulationContext context) {
+		super(nextLocation, MAX_QUEUE_SIZE, context);
 
+		this.departures = new TimingWheel<RoadUser>();
+		this.arrivals = new ArrayList<RoadUser>();
+		this.returned = new ArrayList<RoadUser>();
+		this.leaving = Collections.newSetFromMap(new IdentityHashMap<RoadUser, Boolean>());
 	}
 
+	/**
+	 * Constructs a copy of the specified {@link ShoppingArea} with the same
+	 * identifier, an empty queue and no {@link RoadUser}s shopping.
+	 * 
+	 * @param original
+	 *            The {@link ShoppingArea} to be copied.
+	 * 
+	 * @see #clone()
+	 */
+	private ShoppingArea(ShoppingArea original) {
+		super(original);
+
+		this.departures = new TimingWheel<RoadUser>();
+		this.arrivals = new ArrayList<RoadUser>();
+		this.returned = new ArrayList<RoadUser>();
+		this.leaving = Collections.newSetFromMap(new IdentityHashMap<RoadUser, Boolean>());
+	}
+
+	/**
+	 * Moves the {@link RoadUser}s that are due to leave on this tick to the
+	 * next location. Each {@link RoadUser} that entered since the last tick
+	 * decides once whether it will shop, those that do not leave straight away
+	 * and those that do start shopping and are held in the
+	 * {@link #departures} until the tick they finish. The time a
+	 * {@link RoadUser} spends shopping is added when it leaves, so only the
+	 * {@link RoadUser}s that arrive or leave on a tick are processed.
+	 */
 	@Override
-	public void processQueue(Map<RoadUser, Location> toMove) {
+	public void processQueue(MoveBuffer toMove) {
 
-		// Holds all the elements in toMove that are to be removed. This map
-		// exists to overcome the ConcurrentModificationException thrown when a
-		// Map is modified while being iterated through.
-		List<RoadUser> toRemoveFrom_queue = new LinkedList<RoadUser>();
+		checkWritable();
 
-		// Iterates through the queue.
-		for (RoadUser roadUser : queue) {
+		List<RoadUser> due = departures.advance();
 
-			// Checks if the Road User carries out shopping.
-			if (roadUser.willShop() || roadUser.isShopping()) {
+		// Iterates through the Road Users that have finished shopping.
+		for (RoadUser roadUser : due) {
 
-				// Checks if the Road User has completed shopping.
-				if (roadUser.doneShopping()) {
+			// Ignore Road Users that were removed from the queue directly.
+			if (queue.contains(roadUser)) {
 
-					// Retrieves the value of the vehicle's tank and adds it to
-					// the profit.
-					profit += roadUser.getWorth();
+				// Add the remaining time the Road User spent in the shopping
+				// area in one step.
+				int remaining = roadUser.getRemainingShoppingTime();
 
-					// The Road User is then moved to the next location.
-					toMove.put(roadUser, this);
+				roadUser.shop(remaining);
+				roadUser.spendTime(remaining);
 
-					// Add the Road User to the list of road users to be removed
-					// from the queue.
-					toRemoveFrom_queue.add(roadUser);
+				// Retrieves the value of the vehicle's tank and adds it to the
+				// profit.
+				profit += roadUser.getWorth();
 
-					// Otherwise
-				} else {
+				leave(roadUser, toMove);
+			}
+		}
+
+		// Road Users that were returned because the next location was full
+		// try to leave again without shopping again.
+		for (RoadUser roadUser : returned) {
+			if (queue.contains(roadUser)) {
+				leave(roadUser, toMove);
+			}
+		}
+
+		returned.clear();
+
+		// Iterates through the Road Users that have entered since the last
+		// tick.
+		for (RoadUser roadUser : arrivals) {
+
+			if (!queue.contains(roadUser)) {
+				continue;
+			}
+
+			// Checks if the Road User carries out shopping.
+			if (roadUser.willShop()) {
 
-					// The Road User's time spent in the shopping is
-					// incremented.
-					roadUser.shop();
-					roadUser.spendTime();
-				}
+				// The Road User starts shopping and is held until the tick it
+				// finishes.
+				roadUser.shop();
+				roadUser.spendTime();
+
+				departures.schedule(roadUser, departures.getTime() + roadUser.getRemainingShoppingTime() + 1);
 
 				// Otherwise
 			} else {
 
 				// The Road User is moved to the next location.
-				toMove.put(roadUser, this);
-
-				// Add the Road User to the list of road users to be removed
-				// from the queue.
-				toRemoveFrom_queue.add(roadUser);
-
+				leave(roadUser, toMove);
 			}
+		}
+
+		arrivals.clear();
 
+		// Remove all the Road Users that are leaving from the queue in one
+		// pass.
+		if (!leaving.isEmpty()) {
+			queue.removeIf(leaving::contains);
+			leaving.clear();
 		}
 
-		// Iterate through all the elements from toRemoveFrom_queue and remove
-		// them from toMove.
-		for (RoadUser roadUser : toRemoveFrom_queue) {
-			queue.remove(roadUser);
+		// The queue may have changed so update the index of this location.
+		loadChanged();
+
+	}
+
+	/**
+	 * Adds the {@link RoadUser} to the queue, to decide whether it will shop
+	 * on the next tick.
+	 * 
+	 * @see environment.model.locations.Location#enter(RoadUser)
+	 */
+	@Override
+	public void enter(RoadUser newRoadUser) {
+
+		boolean entering = newRoadUser != null && !queue.contains(newRoadUser);
+
+		super.enter(newRoadUser);
+
+		if (entering && queue.contains(newRoadUser)) {
+			arrivals.add(newRoadUser);
 		}
 
 	}
@@ -111,12 +226,17 @@ public class ShoppingArea extends Location implements Cloneable {
 	@Override
 	public void returnToQueue(RoadUser roadUser) {
 
+		checkWritable();
+
 		// If the queue does not contain a Road User.
 		if (!queue.contains(roadUser)) {
 
 			// Add the Road User to the back of the queue.
 			queue.add(roadUser);
 
+			// The Road User will try to leave again on the next tick.
+			returned.add(roadUser);
+
 			// The Road user is waiting in the queue.
 			roadUsersProcessed--;
 
@@ -128,10 +248,84 @@ public class ShoppingArea extends Location implements Cloneable {
 	public ShoppingArea clone() {
 
 		// Return a clone of this location as a ShoppingArea
-		return (ShoppingArea) super.cloneLocation(new ShoppingArea(this.nextLocation));
+		ShoppingArea clone = (ShoppingArea) super.cloneLocation(new ShoppingArea(this));
+
+		// Map each Road User to its clone so that the clones are held until the
+		// same ticks.
+		Map<RoadUser, RoadUser> clones = new IdentityHashMap<RoadUser, RoadUser>();
+
+		for (int index = 0; index < queue.size(); index++) {
+			clones.put(queue.get(index), clone.queue.get(index));
+		}
+
+		clone.departures = new TimingWheel<RoadUser>(departures.getTime());
+
+		departures.forEach((roadUser, due) -> {
+			if (clones.containsKey(roadUser)) {
+				clone.departures.schedule(clones.get(roadUser), due);
+			}
+		});
+
+		for (RoadUser roadUser : arrivals) {
+			if (clones.containsKey(roadUser)) {
+				clone.arrivals.add(clones.get(roadUser));
+			}
+		}
+
+		for (RoadUser roadUser : returned) {
+			if (clones.containsKey(roadUser)) {
+				clone.returned.add(clones.get(roadUser));
+			}
+		}
+
+		return clone;
 
 	}
 
+	/**
+	 * Gives the snapshot its own {@link #departures}, {@link #arrivals} and
+	 * {@link #returned} holding the snapshots of the {@link RoadUser}s, so
+	 * that nothing the simulation changes is shared with a view.
+	 * 
+	 * @see environment.model.locations.Location#snapshotState(Location)
+	 */
+	@Override
+	protected void snapshotState(Location snapshot) {
+
+		ShoppingArea copy = (ShoppingArea) snapshot;
+
+		copy.departures = new TimingWheel<RoadUser>(departures.getTime());
+
+		// Road users that were removed from the queue directly are left out.
+		departures.forEach((roadUser, due) -> {
+			if (queue.contains(roadUser)) {
+				copy.departures.schedule(roadUser.snapshot(), due);
+			}
+		});
+
+		copy.arrivals = snapshotOf(arrivals);
+		copy.returned = snapshotOf(returned);
+		copy.leaving = Collections.emptySet();
+
+	}
+
+	/**
+	 * Compares the number of {@link #arrivals} and {@link #returned}. Every
+	 * other change to the {@link #departures} is made along with a change to
+	 * the {@link #queue} or its {@link RoadUser}s, apart from the time of the
+	 * {@link TimingWheel} which moves on every tick, so the time of a snapshot
+	 * is that of its last other change.
+	 * 
+	 * @see environment.model.locations.Location#hasSameState(Location)
+	 */
+	@Override
+	protected boolean hasSameState(Location snapshot) {
+
+		ShoppingArea copy = (ShoppingArea) snapshot;
+
+		return copy.arrivals.size() == arrivals.size() && copy.returned.size() == returned.size();
+	}
+
 	@Override
 	public boolean canContain(RoadUser roadUser) {
 
@@ -148,6 +342,80 @@ public class ShoppingArea extends Location implements Cloneable {
 		return false;
 	}
 
+	/**
+	 * Moves the {@link TimingWheel} of departures on by the specified number
+	 * of ticks as well, so that it stays in step with the simulation.
+	 * 
+	 * @see environment.model.locations.Location#skip(int)
+	 */
+	@Override
+	public void skip(int ticks) {
+
+		super.skip(ticks);
+
+		departures.skip(ticks);
+
+	}
+
+	/**
+	 * Writes the tick each shopping {@link RoadUser} finishes on, and the
+	 * {@link RoadUser}s that have entered or been returned since the last
+	 * tick, as well.
+	 * 
+	 * @see environment.model.locations.Location#writeCheckpoint(CheckpointOutput)
+	 */
+	@Override
+	public void writeCheckpoint(CheckpointOutput out) throws IOException {
+
+		super.writeCheckpoint(out);
+
+		// Collect the departures first as they cannot be written while the
+		// timing wheel is being visited.
+		List<RoadUser> shopping = new ArrayList<RoadUser>(departures.size());
+		List<Long> dues = new ArrayList<Long>(departures.size());
+
+		departures.forEach((roadUser, due) -> {
+			shopping.add(roadUser);
+			dues.add(due);
+		});
+
+		out.writeLong(departures.getTime());
+		out.writeInt(shopping.size());
+
+		for (int index = 0; index < shopping.size(); index++) {
+			out.writeRoadUser(shopping.get(index));
+			out.writeLong(dues.get(index));
+		}
+
+		writeRoadUsers(out, arrivals);
+		writeRoadUsers(out, returned);
+
+	}
+
+	/**
+	 * Restores the departures and the {@link RoadUser}s that have entered or
+	 * been returned since the last tick as well.
+	 * 
+	 * @see environment.model.locations.Location#readCheckpoint(CheckpointInput)
+	 */
+	@Override
+	public void readCheckpoint(CheckpointInput in) throws IOException {
+
+		super.readCheckpoint(in);
+
+		departures = new TimingWheel<RoadUser>(in.readLong());
+
+		int size = in.readInt();
+
+		for (int index = 0; index < size; index++) {
+			departures.schedule(in.readRoadUser(), in.readLong());
+		}
+
+		readRoadUsers(in, arrivals);
+		readRoadUsers(in, returned);
+
+	}
+
 	/**
 	 * No {@link ShoppingArea} is superior to another, therefore this method
 	 * will return true is the specified {@link Location} is also a
@@ -158,4 +426,89 @@ public class ShoppingArea extends Location implements Cloneable {
 		return location instanceof ShoppingArea;
 	}
 
+	/**
+	 * Moves the specified {@link RoadUser} to the next location and marks it to
+	 * be removed from the queue at the end of the tick.
+	 * 
+	 * @param roadUser
+	 *            {@link RoadUser} that is leaving.
+	 * @param toMove
+	 *            {@link MoveBuffer} of the {@link RoadUser}s that are moving.
+	 */
+	private void leave(RoadUser roadUser, MoveBuffer toMove) {
+
+		// The Road User is moved to the next location.
+		toMove.add(roadUser, this);
+
+		// Add the Road User to the set of road users to be removed from the
+		// queue.
+		leaving.add(roadUser);
+
+	}
+
+	/**
+	 * Writes the specified {@link List} of {@link RoadUser}s to a checkpoint.
+	 * 
+	 * @param out
+	 *            {@link CheckpointOutput}
+	 * @param roadUsers
+	 *            <code>{@link List}&lt;{@link RoadUser}&gt;</code>
+	 * @throws IOException
+	 *             If the {@link RoadUser}s cannot be written.
+	 */
+	private static void writeRoadUsers(CheckpointOutput out, List<RoadUser> roadUsers) throws IOException {
+
+		out.writeInt(roadUsers.size());
+
+		for (RoadUser roadUser : roadUsers) {
+			out.writeRoadUser(roadUser);
+		}
+
+	}
+
+	/**
+	 * Retrieves the snapshots of the specified {@link RoadUser}s that are
+	 * still in the {@link #queue}.
+	 * 
+	 * @param roadUsers
+	 *            <code>{@link List}&lt;{@link RoadUser}&gt;</code>
+	 * @return <code>{@link List}&lt;{@link RoadUser}&gt;</code>
+	 */
+	private List<RoadUser> snapshotOf(List<RoadUser> roadUsers) {
+
+		List<RoadUser> snapshots = new ArrayList<RoadUser>(roadUsers.size());
+
+		for (RoadUser roadUser : roadUsers) {
+			if (queue.contains(roadUser)) {
+				snapshots.add(roadUser.snapshot());
+			}
+		}
+
+		return snapshots;
+	}
+
+	/**
+	 * Reads the {@link RoadUser}s written by
+	 * {@link #writeRoadUsers(CheckpointOutput, List)} into the specified empty
+	 * {@link List}.
+	 * 
+	 * @param in
+	 *            {@link CheckpointInput}
+	 * @param roadUsers
+	 *            <code>{@link List}&lt;{@link RoadUser}&gt;</code>
+	 * @throws IOException
+	 *             If the {@link RoadUser}s cannot be read.
+	 */
+	private static void readRoadUsers(CheckpointInput in, List<RoadUser> roadUsers) throws IOException {
+
+		roadUsers.clear();
+
+		int size = in.readInt();
+
+		for (int index = 0; index < size; index++) {
+			roadUsers.add(in.readRoadUser());
+		}
+
+	}
+
 }
@@ -1,8 +1,11 @@
 package environment.model.locations;
 
-import java.util.Map;
+import java.io.IOException;
 import java.util.Random;
 
+import environment.model.SimulationContext;
+import environment.model.checkpoint.CheckpointInput;
+import environment.model.checkpoint.CheckpointOutput;
 import environment.model.roadusers.RoadUser;
 import environment.model.roadusers.vehicles.Vehicle;
 
@@ -30,16 +33,11 @@ public class Till extends Location implements Cloneable {
 	 */
 	private static final int MAX_QUEUE_SIZE = 0;
 
-	/**
-	 * A {@link Random} generator for all the {@link Till}s to use.
-	 */
-	private static final Random GEN = new Random();
-
 	/**
 	 * The minimum time a {@link RoadUser} must spend in at the front of the
 	 * {@link Till}s {@link Location#queue}.
 	 */
-	private static final int MIMIMUM_TIME_TO_SPEND = 12;
+	public static final int MIMIMUM_TIME_TO_SPEND = 12;
 
 	/**
 	 * The range of time from the maximum to minimum time the {@link RoadUser}
@@ -47,7 +45,7 @@ public class Till extends Location implements Cloneable {
 	 * 
 	 * @see #MIMIMUM_TIME_TO_SPEND
 	 */
-	private static final int RANGE_OF_TIME_TO_SPEND = 6;
+	public static final int RANGE_OF_TIME_TO_SPEND = 6;
 
 	/**
 	 * The number of ticks remaining that the {@link RoadUser} must spend at the
@@ -55,6 +53,14 @@ public class Till extends Location implements Cloneable {
 	 */
 	private int timeToSpend;
 
+	/**
+	 * The {@link Random} generator of the simulation <code>this</code>
+	 * {@link Till} belongs to.
+	 * 
+	 * @see environment.model.SimulationContext#getTillRandom()
+	 */
+	private final Random random;
+
 	/**
 	 * Constructs a new {@link Till}.
 	 * 
@@ -64,8 +70,39 @@ public class Till extends Location implements Cloneable {
 	 *            in the location chain.
 	 */
 	public Till(Class<? extends Location> nextLocation) {
-		super(nextLocation, MAX_QUEUE_SIZE);
-		this.timeToSpend = GEN.nextInt(RANGE_OF_TIME_TO_SPEND) + MIMIMUM_TIME_TO_SPEND;
+		this(nextLocation, SimulationContext.DEFAULT);
+	}
+
+	/**
+	 * Constructs a new {@link Till} that belongs to the simulation of the
+	 * specified {@link SimulationContext}.
+	 * 
+	 * @param nextLocation
+	 *            <code>Class&lt;? extends {@link Location}&gt;</code> of the
+	 *            next location type. Set to null if this is the last location
+	 *            in the location chain.
+	 * @param context
+	 *            The {@link SimulationContext} of the simulation.
+	 */
+	public Till(Class<? extends Location> nextLocation, SimulationContext context) {
+		super(nextLocation, MAX_QUEUE_SIZE, context);
+		this.random = context.getTillRandom();
+		this.timeToSpend = random.nextInt(RANGE_OF_TIME_TO_SPEND) + MIMIMUM_TIME_TO_SPEND;
+	}
+
+	/**
+	 * Constructs a copy of the specified {@link Till} with its own copy of
+	 * the {@link Random} generator. No identifier or random values are drawn,
+	 * and processing the copy does not advance the generator of the original,
+	 * so copying a {@link Till} does not effect the simulation it belongs to.
+	 * 
+	 * @param original
+	 *            The {@link Till} to be copied.
+	 */
+	private Till(Till original) {
+		super(original);
+		this.random = SimulationContext.copyOf(original.random);
+		this.timeToSpend = original.timeToSpend;
 	}
 
 	/**
@@ -77,7 +114,9 @@ public class Till extends Location implements Cloneable {
 	 * @see environment.model.locations.Location
 	 */
 	@Override
-	public void processQueue(Map<RoadUser, Location> toMove) {
+	public void processQueue(MoveBuffer toMove) {
+
+		checkWritable();
 
 		/*
 		 * Retrieves and removes the Road User from the queue and move it to the
@@ -98,7 +137,7 @@ public class Till extends Location implements Cloneable {
 				tempRoadUser.spendTime();
 
 				// The Road User is then moved to the next location.
-				toMove.put(tempRoadUser, this);
+				toMove.add(tempRoadUser, this);
 
 				// Retrieves the value of the vehicle's tank and adds it to the
 				// profit.
@@ -111,7 +150,7 @@ public class Till extends Location implements Cloneable {
 				// incremented.
 				roadUsersProcessed++;
 
-				timeToSpend = GEN.nextInt(RANGE_OF_TIME_TO_SPEND) + MIMIMUM_TIME_TO_SPEND;
+				timeToSpend = random.nextInt(RANGE_OF_TIME_TO_SPEND) + MIMIMUM_TIME_TO_SPEND;
 
 			} else {
 
@@ -124,14 +163,56 @@ public class Till extends Location implements Cloneable {
 
 		}
 
+		// The queue may have changed so update the index of this location.
+		loadChanged();
+
 	}
 
 	@Override
 	public Till clone() {
 
 		// Return a clone of this location as a Till.
-		return (Till) super.cloneLocation(new Till(this.nextLocation));
+		return (Till) super.cloneLocation(new Till(this));
+
+	}
+
+	/**
+	 * Writes the time the {@link RoadUser} at the front of the queue has left
+	 * to spend as well.
+	 * 
+	 * @see environment.model.locations.Location#writeCheckpoint(CheckpointOutput)
+	 */
+	@Override
+	public void writeCheckpoint(CheckpointOutput out) throws IOException {
+
+		super.writeCheckpoint(out);
+
+		out.writeInt(timeToSpend);
+
+	}
+
+	/**
+	 * Restores the time the {@link RoadUser} at the front of the queue has
+	 * left to spend as well.
+	 * 
+	 * @see environment.model.locations.Location#readCheckpoint(CheckpointInput)
+	 */
+	@Override
+	public void readCheckpoint(CheckpointInput in) throws IOException {
 
+		super.readCheckpoint(in);
+
+		timeToSpend = in.readInt();
+
+	}
+
+	/**
+	 * A snapshot of a {@link Till} is only current if the {@link RoadUser} at
+	 * the front of the queue has the same time left to spend.
+	 */
+	@Override
+	protected boolean hasSameState(Location snapshot) {
+		return ((Till) snapshot).timeToSpend == timeToSpend;
 	}
 
 	/**
@@ -144,4 +225,16 @@ public class Till extends Location implements Cloneable {
 		return (location instanceof Till && location.getQueue().size() > this.getQueue().size());
 	}
 
+	/**
+	 * Retrieves the number of {@link RoadUser}s in the queue of
+	 * <code>this</code> {@link Till}, as {@link Till}s are compared by the
+	 * number of {@link RoadUser}s rather than the size of their vehicles.
+	 * 
+	 * @see #compare(Location)
+	 */
+	@Override
+	protected double getLoad() {
+		return queue.size();
+	}
+
 }
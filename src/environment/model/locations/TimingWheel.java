@@ -0,0 +1,349 @@
+package environment.model.locations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ObjLongConsumer;
+
+/**
+ *
+ * A hierarchical timing wheel that holds items until the tick they are due.
+ * Each level of the wheel has {@value #SLOTS} slots, a slot of the lowest
+ * level spanning one tick and a slot of each level above spanning
+ * {@value #SLOTS} times the ticks of a slot of the level below. An item is
+ * placed in the lowest level that can reach its due tick and is moved down a
+ * level each time the wheel reaches the start of its slot, so
+ * {@link #schedule(Object, long)} is O(1) and {@link #advance()} only touches
+ * the items that are due and the few that move down a level.
+ *
+ * <p>
+ * The items that are due on the same tick are retrieved in the order they
+ * reached the lowest level.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @param <T>
+ *            The type of the items held by <code>this</code>
+ *            {@link TimingWheel}.
+ *
+ * @see environment.model.locations.ShoppingArea
+ */
+public final class TimingWheel<T> {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The number of bits of the tick that select the slot of one level.
+	 */
+	private static final int SLOT_BITS = 6;
+
+	/**
+	 * The number of slots in each level of the wheel.
+	 */
+	public static final int SLOTS = 1 << SLOT_BITS;
+
+	/**
+	 * The number of levels of the wheel, which can hold an item due up to
+	 * <code>{@value #SLOTS}^{@value #LEVELS}</code> ticks ahead.
+	 */
+	public static final int LEVELS = 5;
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The slots of each level, a slot is only constructed once an item is
+	 * placed in it.
+	 */
+	private final Slot[][] levels;
+
+	/**
+	 * The items retrieved by the last call of {@link #advance()}.
+	 */
+	private final List<T> expired;
+
+	/**
+	 * The read-only view of {@link #expired} that is returned by
+	 * {@link #advance()}.
+	 */
+	private final List<T> expiredView;
+
+	/**
+	 * The current tick of <code>this</code> {@link TimingWheel}.
+	 */
+	private long time;
+
+	/**
+	 * The number of items in <code>this</code> {@link TimingWheel}.
+	 */
+	private int size;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new empty {@link TimingWheel} at tick zero.
+	 */
+	public TimingWheel() {
+		this(0);
+	}
+
+	/**
+	 * Constructs a new empty {@link TimingWheel} at the specified tick.
+	 *
+	 * @param time
+	 *            The <code>long</code> current tick.
+	 */
+	public TimingWheel(long time) {
+
+		this.levels = new Slot[LEVELS][SLOTS];
+		this.expired = new ArrayList<T>();
+		this.expiredView = Collections.unmodifiableList(expired);
+		this.time = time;
+		this.size = 0;
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Retrieves the current tick of <code>this</code> {@link TimingWheel}.
+	 *
+	 * @return <code>long</code> tick.
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * Retrieves the number of items in <code>this</code> {@link TimingWheel}.
+	 *
+	 * @return <code>int</code>
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Holds the specified item until the specified tick.
+	 *
+	 * @param item
+	 *            The item that is due.
+	 * @param due
+	 *            The <code>long</code> tick the item is due, after the
+	 *            {@link #getTime() current tick} and less than
+	 *            <code>{@value #SLOTS}^{@value #LEVELS}</code> ticks after
+	 *            it.
+	 */
+	public void schedule(T item, long due) {
+
+		long delay = due - time;
+
+		if (delay <= 0 || delay >= 1L << (SLOT_BITS * LEVELS)) {
+			throw new IllegalArgumentException("The tick " + due + " cannot be scheduled at tick " + time);
+		}
+
+		place(item, due);
+		size++;
+
+	}
+
+	/**
+	 * Moves <code>this</code> {@link TimingWheel} on to the next tick and
+	 * retrieves the items that are due on it, which are no longer held.
+	 *
+	 * @return The read-only <code>List</code> of the items that are due, which
+	 *         is only valid until the next call of this method.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<T> advance() {
+
+		expired.clear();
+		time++;
+
+		// Move the items of the slots that start on this tick down a level,
+		// starting with the highest level so that an item can move down
+		// several levels at once.
+		for (int level = LEVELS - 1; level > 0; level--) {
+
+			int shift = SLOT_BITS * level;
+
+			if ((time & ((1L << shift) - 1)) == 0) {
+
+				Slot slot = levels[level][slotOf(time, level)];
+
+				if (slot != null && slot.size > 0) {
+
+					// Empty the slot before placing its items as they are
+					// always placed in a lower level.
+					int count = slot.size;
+					slot.size = 0;
+
+					for (int index = 0; index < count; index++) {
+						place((T) slot.items[index], slot.dues[index]);
+						slot.items[index] = null;
+					}
+				}
+			}
+		}
+
+		// Every item in the slot of the lowest level is due on this tick.
+		Slot slot = levels[0][slotOf(time, 0)];
+
+		if (slot != null) {
+
+			for (int index = 0; index < slot.size; index++) {
+				expired.add((T) slot.items[index]);
+				slot.items[index] = null;
+			}
+
+			size -= slot.size;
+			slot.size = 0;
+		}
+
+		return expiredView;
+	}
+
+	/**
+	 * Moves <code>this</code> {@link TimingWheel} on by the specified number
+	 * of ticks, discarding the items that become due. Once it is empty it
+	 * moves on in one step.
+	 *
+	 * @param ticks
+	 *            <code>long</code> number of ticks.
+	 */
+	public void skip(long ticks) {
+
+		if (ticks < 0) {
+			throw new IllegalArgumentException("The number of ticks cannot be negative");
+		}
+
+		while (ticks > 0 && size > 0) {
+			advance();
+			ticks--;
+		}
+
+		// No slot holds an item so the wheel can be moved to any tick.
+		expired.clear();
+		time += ticks;
+
+	}
+
+	/**
+	 * Performs the specified action on every item held by <code>this</code>
+	 * {@link TimingWheel} and the tick it is due.
+	 *
+	 * @param action
+	 *            <code>ObjLongConsumer</code> that accepts each item and its
+	 *            due tick.
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(ObjLongConsumer<? super T> action) {
+
+		for (Slot[] level : levels) {
+			for (Slot slot : level) {
+				if (slot != null) {
+					for (int index = 0; index < slot.size; index++) {
+						action.accept((T) slot.items[index], slot.dues[index]);
+					}
+				}
+			}
+		}
+
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Places the specified item in the slot of the lowest level that can
+	 * reach the specified tick.
+	 *
+	 * @param item
+	 *            The item that is due.
+	 * @param due
+	 *            The <code>long</code> tick the item is due.
+	 */
+	private void place(T item, long due) {
+
+		long delay = due - time;
+		int level = 0;
+
+		// An item that is due within the span of a level is placed in it.
+		while (delay >= 1L << (SLOT_BITS * (level + 1))) {
+			level++;
+		}
+
+		int index = slotOf(due, level);
+		Slot slot = levels[level][index];
+
+		if (slot == null) {
+			slot = new Slot();
+			levels[level][index] = slot;
+		}
+
+		slot.add(item, due);
+
+	}
+
+	/**
+	 * Retrieves the slot of the specified level that the specified tick falls
+	 * in.
+	 *
+	 * @param tick
+	 *            <code>long</code> tick.
+	 * @param level
+	 *            <code>int</code> level of the wheel.
+	 * @return <code>int</code> slot.
+	 */
+	private static int slotOf(long tick, int level) {
+		return (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+	}
+
+	// Nested Classes ---------------------------------------------------------
+
+	/**
+	 * A slot of a {@link TimingWheel}, the items and their due ticks are held
+	 * in arrays that are reused once the slot is emptied.
+	 */
+	private static final class Slot {
+
+		/**
+		 * The items in the slot.
+		 */
+		private Object[] items = new Object[4];
+
+		/**
+		 * The due tick of each item in {@link #items}.
+		 */
+		private long[] dues = new long[4];
+
+		/**
+		 * The number of items in the slot.
+		 */
+		private int size = 0;
+
+		/**
+		 * Adds the specified item to the end of the slot.
+		 *
+		 * @param item
+		 *            The item that is due.
+		 * @param due
+		 *            The <code>long</code> tick the item is due.
+		 */
+		private void add(Object item, long due) {
+
+			if (size == items.length) {
+				items = Arrays.copyOf(items, size * 2);
+				dues = Arrays.copyOf(dues, size * 2);
+			}
+
+			items[size] = item;
+			dues[size] = due;
+			size++;
+
+		}
+
+	}
+
+}
@@ -0,0 +1,355 @@
+package environment.model.log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import environment.Statistic;
+import environment.model.Measure;
+import environment.model.Station;
+import environment.model.locations.Location;
+import environment.model.roadusers.RoadUser;
+
+/**
+ *
+ * Appends the state of a {@link Station} at the end of each tick to a file as
+ * a fixed width binary record. Each record holds the tick, the value of every
+ * {@link Measure} for each {@link RoadUser} type followed by its total, and
+ * the number of {@link RoadUser}s in the queue of each {@link Location}.
+ *
+ * <p>
+ * The file starts with a header that describes the columns of the records, see
+ * {@link TickLogReader}. The records are written straight into regions of the
+ * file that are mapped into memory, so recording a tick neither allocates nor
+ * makes a system call unless a new region is needed. The header holds the
+ * number of records, which is updated with each record, so a file whose
+ * {@link TickLog} was not closed can still be read up to the last record.
+ * </p>
+ *
+ * <p>
+ * The header is written when the first tick is recorded, which fixes the
+ * {@link Location}s of the {@link Station}.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.log.TickLogReader
+ */
+public final class TickLog implements Closeable {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The first four bytes of every tick log.
+	 */
+	public static final int MAGIC = 0x544C4F47;
+
+	/**
+	 * The version of the format of a tick log.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * The type code of a column that holds a <code>long</code>.
+	 */
+	public static final byte LONG = 'J';
+
+	/**
+	 * The type code of a column that holds a <code>double</code>.
+	 */
+	public static final byte DOUBLE = 'D';
+
+	/**
+	 * The type code of a column that holds an <code>int</code>.
+	 */
+	public static final byte INT = 'I';
+
+	/**
+	 * The position in the header of the number of records.
+	 */
+	static final int COUNT_POSITION = 16;
+
+	/**
+	 * The number of bytes of the file that are mapped into memory at a time.
+	 * A region always holds a whole number of records.
+	 */
+	static final int REGION_SIZE = 1 << 26;
+
+	/**
+	 * The {@link Measure}s that have columns, in the order of their columns.
+	 */
+	private static final Measure[] MEASURES = Measure.values();
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link FileChannel} of the file.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * The {@link RoadUser} types that have a column for each {@link Measure}.
+	 */
+	private final List<Class<? extends RoadUser>> types;
+
+	/**
+	 * The number of {@link Location}s that have a column, which is
+	 * <code>-1</code> until the header has been written.
+	 */
+	private int locations;
+
+	/**
+	 * The position of the first record in the file.
+	 */
+	private int headerLength;
+
+	/**
+	 * The number of bytes of each record.
+	 */
+	private int recordLength;
+
+	/**
+	 * The number of records in each mapped region.
+	 */
+	private int regionRecords;
+
+	/**
+	 * The header, mapped into memory so that the number of records can be
+	 * updated.
+	 */
+	private MappedByteBuffer header;
+
+	/**
+	 * The region that the next record is written to.
+	 */
+	private MappedByteBuffer region;
+
+	/**
+	 * The number of records that have been written.
+	 */
+	private long count;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link TickLog} that writes to the specified file,
+	 * replacing any file that is there.
+	 *
+	 * @param file
+	 *            {@link Path} of the file.
+	 * @param types
+	 *            <code>{@link List}&lt;Class&lt;? extends {@link RoadUser}&gt;&gt;</code>
+	 *            types that have a column for each {@link Measure}, in the
+	 *            order of their columns.
+	 * @throws IOException
+	 *             If the file cannot be opened.
+	 */
+	public TickLog(Path file, List<Class<? extends RoadUser>> types) throws IOException {
+
+		this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+		this.types = Collections.unmodifiableList(new ArrayList<Class<? extends RoadUser>>(types));
+		this.locations = -1;
+		this.count = 0;
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Appends the state of a {@link Station} at the end of a tick.
+	 *
+	 * @param tick
+	 *            The <code>long</code> tick.
+	 * @param station
+	 *            {@link Station}
+	 * @throws IOException
+	 *             If the file cannot be extended.
+	 */
+	public void record(long tick, Station station) throws IOException {
+
+		if (locations < 0) {
+			writeHeader(station);
+		} else if (station.getNumberOfLoactions() != locations) {
+			throw new IllegalStateException("The locations of a logged station cannot change");
+		}
+
+		ByteBuffer record = nextRecord();
+
+		record.putLong(tick);
+
+		for (Measure measure : MEASURES) {
+
+			Statistic<RoadUser> statistic = measure.of(station);
+
+			for (int index = 0; index < types.size(); index++) {
+				record.putDouble(statistic.get(types.get(index)));
+			}
+
+			record.putDouble(statistic.sum());
+		}
+
+		// The locations of a live station are a linked list, so they are not
+		// retrieved by index.
+		for (Location location : station.getLocations()) {
+			record.putInt(location.getQueueSize());
+		}
+
+		header.putLong(COUNT_POSITION, ++count);
+	}
+
+	/**
+	 * Retrieves the number of records that have been written.
+	 *
+	 * @return <code>long</code>
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Closes the file, cutting it to the end of the last record.
+	 */
+	@Override
+	public void close() throws IOException {
+
+		try {
+
+			if (region != null) {
+				region.force();
+			}
+
+			if (header != null) {
+				header.force();
+			}
+
+			region = null;
+			header = null;
+
+			try {
+				channel.truncate((long) headerLength + count * recordLength);
+			} catch (IOException e) {
+				// Some platforms cannot cut a file that is still mapped, the
+				// number of records in the header marks the end instead.
+			}
+
+		} finally {
+			channel.close();
+		}
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Writes the header that describes the columns for the {@link Location}s
+	 * of the specified {@link Station}.
+	 *
+	 * @param station
+	 *            {@link Station}
+	 * @throws IOException
+	 *             If the header cannot be written.
+	 */
+	private void writeHeader(Station station) throws IOException {
+
+		List<Location> stationLocations = station.getLocations();
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+
+		int columns = 1 + MEASURES.length * (types.size() + 1) + stationLocations.size();
+
+		recordLength = Long.BYTES + MEASURES.length * (types.size() + 1) * Double.BYTES
+				+ stationLocations.size() * Integer.BYTES;
+
+		// The length of the header is filled in once it is known.
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(0);
+		out.writeInt(recordLength);
+		out.writeLong(0);
+		out.writeInt(columns);
+
+		writeColumn(out, LONG, "tick");
+
+		for (Measure measure : MEASURES) {
+
+			for (Class<? extends RoadUser> type : types) {
+				writeColumn(out, DOUBLE, measure.name() + "." + type.getSimpleName());
+			}
+
+			writeColumn(out, DOUBLE, measure.name() + ".total");
+		}
+
+		int index = 0;
+
+		for (Location location : stationLocations) {
+			writeColumn(out, INT, "queue." + index++ + "." + location.getClass().getSimpleName());
+		}
+
+		out.flush();
+
+		ByteBuffer data = ByteBuffer.wrap(bytes.toByteArray());
+
+		headerLength = data.remaining();
+		data.putInt(8, headerLength);
+
+		while (data.hasRemaining()) {
+			channel.write(data, data.position());
+		}
+
+		header = channel.map(MapMode.READ_WRITE, 0, headerLength);
+		regionRecords = Math.max(1, REGION_SIZE / recordLength);
+		locations = stationLocations.size();
+
+	}
+
+	/**
+	 * Writes the type and name of a column to the header.
+	 *
+	 * @param out
+	 *            {@link DataOutputStream} of the header.
+	 * @param type
+	 *            The <code>byte</code> type code of the column.
+	 * @param name
+	 *            The <code>String</code> name of the column.
+	 * @throws IOException
+	 *             If the column cannot be written.
+	 */
+	private static void writeColumn(DataOutputStream out, byte type, String name) throws IOException {
+		out.writeByte(type);
+		out.writeUTF(name);
+	}
+
+	/**
+	 * Retrieves the buffer positioned at the start of the next record,
+	 * mapping the next region of the file if the current one is full.
+	 *
+	 * @return {@link ByteBuffer}
+	 * @throws IOException
+	 *             If the next region cannot be mapped.
+	 */
+	private ByteBuffer nextRecord() throws IOException {
+
+		if (region == null || !region.hasRemaining()) {
+
+			long regionIndex = count / regionRecords;
+
+			region = channel.map(MapMode.READ_WRITE, headerLength + regionIndex * regionRecords * recordLength,
+					(long) regionRecords * recordLength);
+		}
+
+		return region;
+	}
+
+}
@@ -0,0 +1,316 @@
+package environment.model.log;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ *
+ * Reads the records of a file written by a {@link TickLog}. The records are
+ * read straight from regions of the file that are mapped into memory, so
+ * reading any record of a log of any length takes the same time.
+ *
+ * <p>
+ * The header of the file holds, in order, {@link TickLog#MAGIC},
+ * {@link TickLog#VERSION}, the <code>int</code> length of the header, the
+ * <code>int</code> length of a record, the <code>long</code> number of records
+ * and the <code>int</code> number of columns, followed by the type code and
+ * name of each column. Each record holds the value of each column in order,
+ * with no padding.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.log.TickLog
+ */
+public final class TickLogReader implements Closeable {
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link FileChannel} of the file.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * The position of the first record in the file.
+	 */
+	private final int headerLength;
+
+	/**
+	 * The number of bytes of each record.
+	 */
+	private final int recordLength;
+
+	/**
+	 * The number of records in the file.
+	 */
+	private final long count;
+
+	/**
+	 * The name of each column.
+	 */
+	private final String[] names;
+
+	/**
+	 * The type code of each column.
+	 */
+	private final byte[] types;
+
+	/**
+	 * The position of each column in a record.
+	 */
+	private final int[] offsets;
+
+	/**
+	 * The number of records in each mapped region.
+	 */
+	private final int regionRecords;
+
+	/**
+	 * The regions of the file that have been mapped, each is mapped the first
+	 * time one of its records is read.
+	 */
+	private final MappedByteBuffer[] regions;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link TickLogReader} of the specified file.
+	 *
+	 * @param file
+	 *            {@link Path} of the file written by a {@link TickLog}.
+	 * @throws IOException
+	 *             If the file cannot be read or is not a tick log.
+	 */
+	public TickLogReader(Path file) throws IOException {
+
+		this.channel = FileChannel.open(file, StandardOpenOption.READ);
+
+		try {
+
+			ByteBuffer fixed = ByteBuffer.allocate(TickLog.COUNT_POSITION + Long.BYTES + Integer.BYTES);
+
+			while (fixed.hasRemaining() && channel.read(fixed, fixed.position()) >= 0) {
+				// Read until the buffer is full or the file ends.
+			}
+
+			if (fixed.hasRemaining() || fixed.getInt(0) != TickLog.MAGIC) {
+				throw new IOException("Not a tick log: " + file);
+			} else if (fixed.getInt(4) != TickLog.VERSION) {
+				throw new IOException("Unsupported tick log version " + fixed.getInt(4));
+			}
+
+			this.headerLength = fixed.getInt(8);
+			this.recordLength = fixed.getInt(12);
+			this.count = fixed.getLong(TickLog.COUNT_POSITION);
+
+			ByteBuffer header = ByteBuffer.allocate(headerLength - fixed.capacity());
+
+			while (header.hasRemaining() && channel.read(header, fixed.capacity() + header.position()) >= 0) {
+				// Read until the whole header has been read.
+			}
+
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(header.array()));
+
+			int columns = fixed.getInt(TickLog.COUNT_POSITION + Long.BYTES);
+
+			this.names = new String[columns];
+			this.types = new byte[columns];
+			this.offsets = new int[columns];
+
+			int offset = 0;
+
+			for (int column = 0; column < columns; column++) {
+
+				types[column] = in.readByte();
+				names[column] = in.readUTF();
+				offsets[column] = offset;
+
+				offset += types[column] == TickLog.INT ? Integer.BYTES : Long.BYTES;
+			}
+
+			if (offset != recordLength) {
+				throw new IOException("The columns of the tick log do not match its records");
+			}
+
+			this.regionRecords = Math.max(1, TickLog.REGION_SIZE / recordLength);
+			this.regions = new MappedByteBuffer[(int) ((count + regionRecords - 1) / regionRecords)];
+
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Retrieves the number of records in the file.
+	 *
+	 * @return <code>long</code>
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Retrieves the number of columns of each record.
+	 *
+	 * @return <code>int</code>
+	 */
+	public int getColumnCount() {
+		return names.length;
+	}
+
+	/**
+	 * Retrieves the name of a column.
+	 *
+	 * @param column
+	 *            The <code>int</code> index of the column.
+	 * @return <code>String</code>
+	 */
+	public String getColumnName(int column) {
+		return names[column];
+	}
+
+	/**
+	 * Retrieves the index of the column with the specified name.
+	 *
+	 * @param name
+	 *            The <code>String</code> name of the column.
+	 * @return The <code>int</code> index of the column, or <code>-1</code> if
+	 *         there is no column with that name.
+	 */
+	public int getColumn(String name) {
+
+		for (int column = 0; column < names.length; column++) {
+			if (names[column].equals(name)) {
+				return column;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Retrieves the tick of a record.
+	 *
+	 * @param record
+	 *            The <code>long</code> index of the record.
+	 * @return <code>long</code>
+	 */
+	public long getTick(long record) {
+		return region(record).getLong(position(record));
+	}
+
+	/**
+	 * Retrieves the value of a column of a record as a <code>double</code>,
+	 * whatever the type of the column.
+	 *
+	 * @param record
+	 *            The <code>long</code> index of the record.
+	 * @param column
+	 *            The <code>int</code> index of the column.
+	 * @return <code>double</code>
+	 */
+	public double getDouble(long record, int column) {
+
+		ByteBuffer region = region(record);
+		int position = position(record) + offsets[column];
+
+		switch (types[column]) {
+		case TickLog.DOUBLE:
+			return region.getDouble(position);
+		case TickLog.LONG:
+			return region.getLong(position);
+		default:
+			return region.getInt(position);
+		}
+	}
+
+	/**
+	 * Retrieves the value of a column of a record that holds an
+	 * <code>int</code> or a <code>long</code>.
+	 *
+	 * @param record
+	 *            The <code>long</code> index of the record.
+	 * @param column
+	 *            The <code>int</code> index of the column.
+	 * @return <code>long</code>
+	 */
+	public long getLong(long record, int column) {
+
+		ByteBuffer region = region(record);
+		int position = position(record) + offsets[column];
+
+		switch (types[column]) {
+		case TickLog.LONG:
+			return region.getLong(position);
+		case TickLog.INT:
+			return region.getInt(position);
+		default:
+			throw new IllegalArgumentException("Column " + names[column] + " does not hold a whole number");
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Retrieves the mapped region that holds a record, mapping it if it has
+	 * not been mapped yet.
+	 *
+	 * @param record
+	 *            The <code>long</code> index of the record.
+	 * @return {@link ByteBuffer}
+	 */
+	private ByteBuffer region(long record) {
+
+		if (record < 0 || record >= count) {
+			throw new IndexOutOfBoundsException("Record " + record + " of " + count);
+		}
+
+		int index = (int) (record / regionRecords);
+
+		if (regions[index] == null) {
+
+			long first = (long) index * regionRecords;
+			long records = Math.min(regionRecords, count - first);
+
+			try {
+				regions[index] = channel.map(MapMode.READ_ONLY, headerLength + first * recordLength,
+						records * recordLength);
+			} catch (IOException e) {
+				throw new IllegalStateException("The tick log could not be read", e);
+			}
+		}
+
+		return regions[index];
+	}
+
+	/**
+	 * Retrieves the position of a record in its region.
+	 *
+	 * @param record
+	 *            The <code>long</code> index of the record.
+	 * @return <code>int</code>
+	 */
+	private int position(long record) {
+		return (int) (record % regionRecords) * recordLength;
+	}
+
+}
@@ -0,0 +1,207 @@
+package environment.model.log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ *
+ * An append-only table of <code>double</code>s with a fixed number of
+ * columns, held in a file that is mapped into memory rather than on the heap.
+ * The size of the heap therefore does not grow with the number of rows, the
+ * rows that are not being used are left to the operating system to page out.
+ *
+ * <p>
+ * One {@link Thread} may append rows while any number of other
+ * {@link Thread}s read the rows that have already been appended, a row is
+ * only counted by {@link #size()} once all its values have been written.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.log.TickLog
+ */
+public final class TimeSeries implements Closeable {
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link FileChannel} of the file.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * The number of columns of each row.
+	 */
+	private final int columns;
+
+	/**
+	 * The number of rows in each mapped region.
+	 */
+	private final int regionRows;
+
+	/**
+	 * The mapped regions of the file. This is replaced rather than changed
+	 * when a region is added so that a reading {@link Thread} always sees a
+	 * complete array.
+	 */
+	private volatile MappedByteBuffer[] regions;
+
+	/**
+	 * The number of rows that have been appended.
+	 */
+	private volatile long size;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link TimeSeries} held in a temporary file that is
+	 * deleted once the {@link TimeSeries} is closed.
+	 *
+	 * @param columns
+	 *            The <code>int</code> number of columns of each row.
+	 * @throws IOException
+	 *             If the temporary file cannot be created.
+	 */
+	public TimeSeries(int columns) throws IOException {
+		this(Files.createTempFile("series", ".bin"), columns, StandardOpenOption.DELETE_ON_CLOSE);
+	}
+
+	/**
+	 * Constructs a new {@link TimeSeries} held in the specified file,
+	 * replacing any file that is there.
+	 *
+	 * @param file
+	 *            {@link Path} of the file.
+	 * @param columns
+	 *            The <code>int</code> number of columns of each row.
+	 * @throws IOException
+	 *             If the file cannot be opened.
+	 */
+	public TimeSeries(Path file, int columns) throws IOException {
+		this(file, columns, StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+	/**
+	 * Constructs a new {@link TimeSeries} held in the specified file.
+	 *
+	 * @param file
+	 *            {@link Path} of the file.
+	 * @param columns
+	 *            The <code>int</code> number of columns of each row.
+	 * @param option
+	 *            The {@link StandardOpenOption} that decides what happens to
+	 *            the file.
+	 * @throws IOException
+	 *             If the file cannot be opened.
+	 */
+	private TimeSeries(Path file, int columns, StandardOpenOption option) throws IOException {
+
+		if (columns < 1) {
+			throw new IllegalArgumentException("A time series must have at least one column");
+		}
+
+		this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE, option);
+		this.columns = columns;
+		this.regionRows = Math.max(1, TickLog.REGION_SIZE / (columns * Double.BYTES));
+		this.regions = new MappedByteBuffer[0];
+		this.size = 0;
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Appends a row. Only one {@link Thread} may append rows.
+	 *
+	 * @param row
+	 *            The <code>double[]</code> value of each column.
+	 * @throws IOException
+	 *             If the file cannot be extended.
+	 */
+	public void append(double[] row) throws IOException {
+
+		if (row.length != columns) {
+			throw new IllegalArgumentException("A row must have " + columns + " columns");
+		}
+
+		long index = size;
+		int region = (int) (index / regionRows);
+
+		MappedByteBuffer[] mapped = regions;
+
+		// Map the next region once the last one is full.
+		if (region == mapped.length) {
+
+			mapped = Arrays.copyOf(mapped, region + 1);
+			mapped[region] = channel.map(MapMode.READ_WRITE, (long) region * regionRows * columns * Double.BYTES,
+					(long) regionRows * columns * Double.BYTES);
+
+			regions = mapped;
+		}
+
+		int position = (int) (index % regionRows) * columns * Double.BYTES;
+
+		for (int column = 0; column < columns; column++) {
+			mapped[region].putDouble(position + column * Double.BYTES, row[column]);
+		}
+
+		size = index + 1;
+	}
+
+	/**
+	 * Retrieves a value.
+	 *
+	 * @param row
+	 *            The <code>long</code> index of the row, which must be less
+	 *            than {@link #size()}.
+	 * @param column
+	 *            The <code>int</code> index of the column.
+	 * @return <code>double</code>
+	 */
+	public double get(long row, int column) {
+
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+		}
+
+		return regions[(int) (row / regionRows)]
+				.getDouble((int) (row % regionRows) * columns * Double.BYTES + column * Double.BYTES);
+	}
+
+	/**
+	 * Retrieves the number of rows that have been appended.
+	 *
+	 * @return <code>long</code>
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * Retrieves the number of columns of each row.
+	 *
+	 * @return <code>int</code>
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+	@Override
+	public void close() throws IOException {
+
+		regions = new MappedByteBuffer[0];
+		size = 0;
+
+		channel.close();
+	}
+
+}
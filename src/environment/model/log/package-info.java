@@ -0,0 +1,15 @@
+/**
+ * This module contains the binary log of the state of a station at the end of
+ * every tick of a simulation, written to a memory mapped file in fixed width
+ * records so that even very long simulations can be logged for analysis
+ * without slowing them down, and the memory mapped table of values over time
+ * that the graph view keeps its history in.
+ *
+ * @author agent
+ *
+ * @see environment.model.log.TickLog
+ * @see environment.model.log.TickLogReader
+ * @see environment.model.log.TimeSeries
+ *
+ */
+package environment.model.log;
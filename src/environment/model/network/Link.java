@@ -0,0 +1,111 @@
+package environment.model.network;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+import environment.model.roadusers.RoadUser;
+
+/**
+ *
+ * The road from one {@link environment.model.Station} of a
+ * {@link StationNetwork} to the next, which holds a bounded number of the
+ * {@link RoadUser}s that were turned away by the first. A {@link RoadUser}
+ * sent on one tick is received on the next.
+ *
+ * <p>
+ * The {@link RoadUser}s of alternate ticks are held in separate queues, so
+ * the {@link RoadUser}s sent on one tick can be received on the next while
+ * the {@link RoadUser}s of that tick are being sent. The
+ * {@link StationNetwork} waits for every station to finish a tick before
+ * starting the next, so each queue is only written or only read at a time
+ * and the {@link RoadUser}s received do not depend on the timing of the
+ * threads.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.network.StationNetwork
+ */
+final class Link {
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link RoadUser}s sent on even ticks.
+	 */
+	private final ArrayBlockingQueue<RoadUser> even;
+
+	/**
+	 * The {@link RoadUser}s sent on odd ticks.
+	 */
+	private final ArrayBlockingQueue<RoadUser> odd;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new empty {@link Link}.
+	 *
+	 * @param capacity
+	 *            The <code>int</code> number of {@link RoadUser}s that can be
+	 *            sent on one tick.
+	 */
+	Link(int capacity) {
+
+		this.even = new ArrayBlockingQueue<RoadUser>(capacity);
+		this.odd = new ArrayBlockingQueue<RoadUser>(capacity);
+
+	}
+
+	// Package Methods --------------------------------------------------------
+
+	/**
+	 * Sends a {@link RoadUser} to the next station if there is space for it.
+	 *
+	 * @param tick
+	 *            The <code>long</code> current tick.
+	 * @param roadUser
+	 *            {@link RoadUser}
+	 * @return <code>true</code> if the {@link RoadUser} was sent,
+	 *         <code>false</code> if <code>this</code> {@link Link} is full.
+	 */
+	boolean send(long tick, RoadUser roadUser) {
+		return queue(tick).offer(roadUser);
+	}
+
+	/**
+	 * Retrieves and removes the next {@link RoadUser} sent on the previous
+	 * tick.
+	 *
+	 * @param tick
+	 *            The <code>long</code> current tick.
+	 * @return {@link RoadUser} or <code>null</code> if every
+	 *         {@link RoadUser} sent on the previous tick has been received.
+	 */
+	RoadUser receive(long tick) {
+		return queue(tick + 1).poll();
+	}
+
+	/**
+	 * Retrieves the number of {@link RoadUser}s on <code>this</code>
+	 * {@link Link}.
+	 *
+	 * @return <code>int</code>
+	 */
+	int size() {
+		return even.size() + odd.size();
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Retrieves the queue of the {@link RoadUser}s sent on the specified tick.
+	 *
+	 * @param tick
+	 *            <code>long</code>
+	 * @return {@link ArrayBlockingQueue}
+	 */
+	private ArrayBlockingQueue<RoadUser> queue(long tick) {
+		return (tick & 1) == 0 ? even : odd;
+	}
+
+}
@@ -0,0 +1,431 @@
+package environment.model.network;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+
+import environment.Statistic;
+import environment.model.SimulationContext;
+import environment.model.Station;
+import environment.model.locations.Pump;
+import environment.model.locations.ShoppingArea;
+import environment.model.locations.Till;
+import environment.model.roadusers.FamilySedan_RoadUser;
+import environment.model.roadusers.Motorbike_RoadUser;
+import environment.model.roadusers.RoadUser;
+import environment.model.roadusers.RoadUserPool;
+import environment.model.roadusers.SmallCar_RoadUser;
+import environment.model.roadusers.Truck_RoadUser;
+
+/**
+ *
+ * A network of {@link Station}s along a corridor. {@link RoadUser}s arrive at
+ * each {@link Station} in the same way as at the {@link Station} of the
+ * {@link environment.Simulator}, but a {@link RoadUser} that cannot enter a
+ * {@link Station} drives on and arrives at the next {@link Station} on the
+ * following tick. Only the last {@link Station}, or a {@link Station} whose
+ * {@link Link} to the next is full, rejects the {@link RoadUser}s it cannot
+ * accommodate.
+ *
+ * <p>
+ * Each {@link Station} has its own {@link SimulationContext}, seeded from the
+ * seed of the {@link StationNetwork}, and a {@link RoadUser} that drives on
+ * is {@link RoadUser#transfer(SimulationContext) transferred} to the
+ * {@link SimulationContext} of the next {@link Station}. The {@link Station}s
+ * are split into contiguous shards, one per worker {@link Thread}, which wait
+ * for each other at the end of every tick. As a {@link Station} only changes
+ * its own state and the {@link Link} to the next {@link Station}, the results
+ * for a given seed do not depend on the number of {@link Thread}s.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.Station#offer(RoadUser)
+ * @see environment.model.network.Link
+ */
+public final class StationNetwork {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The default number of {@link RoadUser}s that can drive on from one
+	 * {@link Station} to the next on one tick.
+	 */
+	public static final int DEFAULT_LINK_CAPACITY = 64;
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link Station}s in the order of the corridor.
+	 */
+	private final Station[] stations;
+
+	/**
+	 * The {@link SimulationContext} of each {@link Station}.
+	 */
+	private final SimulationContext[] contexts;
+
+	/**
+	 * The {@link RoadUserPool} of each {@link Station}.
+	 */
+	private final RoadUserPool[] pools;
+
+	/**
+	 * The {@link Link} from each {@link Station} to the next, the last
+	 * {@link Station} has none.
+	 */
+	private final Link[] links;
+
+	/**
+	 * The number of each type of {@link RoadUser} that drove on from each
+	 * {@link Station} to the next.
+	 */
+	private final List<Statistic<RoadUser>> forwarded;
+
+	/**
+	 * The probability of a small car arriving at a {@link Station}.
+	 */
+	private final double p;
+
+	/**
+	 * The probability of a family sedan arriving at a {@link Station}.
+	 */
+	private final double q;
+
+	/**
+	 * Whether trucks may arrive at the {@link Station}s.
+	 */
+	private final boolean hasTrucks;
+
+	/**
+	 * The number of ticks that have been simulated.
+	 */
+	private long time;
+
+	// Constructors -----------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link StationNetwork} with the
+	 * {@link #DEFAULT_LINK_CAPACITY}.
+	 *
+	 * @param numberOfStations
+	 *            The <code>int</code> number of {@link Station}s, at least
+	 *            one.
+	 * @param numberOfPumps
+	 *            The <code>int</code> number of {@link Pump}s of each
+	 *            {@link Station}.
+	 * @param numberOfTills
+	 *            The <code>int</code> number of {@link Till}s of each
+	 *            {@link Station}.
+	 * @param p
+	 *            <code>double</code>
+	 * @param q
+	 *            <code>double</code>
+	 * @param hasTrucks
+	 *            <code>boolean</code>
+	 * @param seed
+	 *            The <code>long</code> seed that generates the seed of each
+	 *            {@link Station}.
+	 */
+	public StationNetwork(int numberOfStations, int numberOfPumps, int numberOfTills, double p, double q,
+			boolean hasTrucks, long seed) {
+		this(numberOfStations, numberOfPumps, numberOfTills, p, q, hasTrucks, seed, DEFAULT_LINK_CAPACITY);
+	}
+
+	/**
+	 * Constructs a new {@link StationNetwork}.
+	 *
+	 * @param numberOfStations
+	 *            The <code>int</code> number of {@link Station}s, at least
+	 *            one.
+	 * @param numberOfPumps
+	 *            The <code>int</code> number of {@link Pump}s of each
+	 *            {@link Station}.
+	 * @param numberOfTills
+	 *            The <code>int</code> number of {@link Till}s of each
+	 *            {@link Station}.
+	 * @param p
+	 *            <code>double</code>
+	 * @param q
+	 *            <code>double</code>
+	 * @param hasTrucks
+	 *            <code>boolean</code>
+	 * @param seed
+	 *            The <code>long</code> seed that generates the seed of each
+	 *            {@link Station}.
+	 * @param linkCapacity
+	 *            The <code>int</code> number of {@link RoadUser}s that can
+	 *            drive on from one {@link Station} to the next on one tick.
+	 */
+	public StationNetwork(int numberOfStations, int numberOfPumps, int numberOfTills, double p, double q,
+			boolean hasTrucks, long seed, int linkCapacity) {
+
+		if (numberOfStations < 1) {
+			throw new IllegalArgumentException("A network must have at least one station");
+		} else if (linkCapacity < 1) {
+			throw new IllegalArgumentException("The capacity of a link must be positive");
+		}
+
+		this.stations = new Station[numberOfStations];
+		this.contexts = new SimulationContext[numberOfStations];
+		this.pools = new RoadUserPool[numberOfStations];
+		this.links = new Link[numberOfStations - 1];
+		this.forwarded = new ArrayList<Statistic<RoadUser>>(numberOfStations);
+		this.p = p;
+		this.q = q;
+		this.hasTrucks = hasTrucks;
+		this.time = 0;
+
+		Random seeds = new Random(seed);
+
+		// Build each station in the same way as the simulator.
+		for (int index = 0; index < numberOfStations; index++) {
+
+			SimulationContext context = new SimulationContext(seeds.nextLong());
+			Station station = new Station(Pump.class, context);
+
+			for (int pump = 0; pump < numberOfPumps; pump++) {
+				station.addLocation(new Pump(ShoppingArea.class, context));
+			}
+
+			station.addLocation(new ShoppingArea(Till.class, context));
+
+			for (int till = 0; till < numberOfTills; till++) {
+				station.addLocation(new Till(null, context));
+			}
+
+			pools[index] = new RoadUserPool(context);
+			station.setPool(pools[index]);
+
+			contexts[index] = context;
+			stations[index] = station;
+			forwarded.add(new Statistic<RoadUser>());
+		}
+
+		for (int index = 0; index < links.length; index++) {
+			links[index] = new Link(linkCapacity);
+		}
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Simulates the specified number of ticks on every {@link Station},
+	 * sharing the {@link Station}s between the specified number of
+	 * {@link Thread}s.
+	 *
+	 * @param ticks
+	 *            The <code>int</code> number of ticks to simulate.
+	 * @param threads
+	 *            The <code>int</code> number of {@link Thread}s, at most one
+	 *            per {@link Station} is used.
+	 * @throws InterruptedException
+	 *             If the calling {@link Thread} is interrupted while waiting
+	 *             for the {@link Station}s.
+	 */
+	public void simulate(int ticks, int threads) throws InterruptedException {
+
+		int shards = Math.max(1, Math.min(threads, stations.length));
+
+		Phaser barrier = new Phaser(shards);
+		ExecutorService workers = Executors.newFixedThreadPool(shards);
+		List<Future<Void>> results = new ArrayList<Future<Void>>(shards);
+
+		long start = time;
+
+		try {
+
+			// Each shard simulates a contiguous run of stations.
+			for (int shard = 0; shard < shards; shard++) {
+
+				int from = (int) ((long) shard * stations.length / shards);
+				int to = (int) ((long) (shard + 1) * stations.length / shards);
+
+				results.add(workers.submit(() -> {
+
+					try {
+
+						for (long tick = start; tick < start + ticks; tick++) {
+
+							for (int index = from; index < to; index++) {
+								tick(index, tick);
+							}
+
+							// The road users that drove on during this tick
+							// are only received once every station has
+							// finished it. The barrier is terminated if
+							// another shard failed.
+							if (barrier.arriveAndAwaitAdvance() < 0) {
+								return null;
+							}
+						}
+
+					} catch (RuntimeException e) {
+
+						// Release the other shards from the barrier.
+						barrier.forceTermination();
+						throw e;
+					}
+
+					return null;
+				}));
+			}
+
+			for (Future<Void> result : results) {
+				result.get();
+			}
+
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Network simulation failed", e.getCause());
+		} finally {
+			barrier.forceTermination();
+			workers.shutdownNow();
+		}
+
+		time += ticks;
+	}
+
+	/**
+	 * Retrieves the number of {@link Station}s in <code>this</code>
+	 * {@link StationNetwork}.
+	 *
+	 * @return <code>int</code>
+	 */
+	public int size() {
+		return stations.length;
+	}
+
+	/**
+	 * Retrieves the {@link Station} at the specified position along the
+	 * corridor.
+	 *
+	 * @param index
+	 *            <code>int</code> position of the {@link Station}.
+	 * @return {@link Station}
+	 */
+	public Station getStation(int index) {
+		return stations[index];
+	}
+
+	/**
+	 * Retrieves the number of each type of {@link RoadUser} that drove on
+	 * from the {@link Station} at the specified position to the next.
+	 *
+	 * @param index
+	 *            <code>int</code> position of the {@link Station}.
+	 * @return {@link Statistic}
+	 */
+	public Statistic<RoadUser> getForwarded(int index) {
+		return forwarded.get(index);
+	}
+
+	/**
+	 * Retrieves the number of {@link RoadUser}s that are driving from one
+	 * {@link Station} to the next.
+	 *
+	 * @return <code>int</code>
+	 */
+	public int getInTransit() {
+
+		int inTransit = 0;
+
+		for (Link link : links) {
+			inTransit += link.size();
+		}
+
+		return inTransit;
+	}
+
+	/**
+	 * Retrieves the number of ticks that have been simulated.
+	 *
+	 * @return <code>long</code>
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Simulates one tick of the {@link Station} at the specified position.
+	 * The {@link RoadUser}s that drove on from the previous {@link Station}
+	 * arrive first, in the order they left it, then a new {@link RoadUser} may
+	 * arrive.
+	 *
+	 * @param index
+	 *            <code>int</code> position of the {@link Station}.
+	 * @param tick
+	 *            The <code>long</code> current tick.
+	 */
+	private void tick(int index, long tick) {
+
+		SimulationContext context = contexts[index];
+		RoadUserPool pool = pools[index];
+
+		if (index > 0) {
+
+			RoadUser roadUser;
+
+			while ((roadUser = links[index - 1].receive(tick)) != null) {
+				roadUser.transfer(context);
+				arrive(index, tick, roadUser);
+			}
+		}
+
+		double value = context.getArrivalRandom().nextDouble();
+
+		if (SmallCar_RoadUser.exists(p, q, value)) {
+			arrive(index, tick, pool.acquire(SmallCar_RoadUser.class));
+		}
+
+		if (Motorbike_RoadUser.exists(p, q, value)) {
+			arrive(index, tick, pool.acquire(Motorbike_RoadUser.class));
+		}
+
+		if (FamilySedan_RoadUser.exists(p, q, value)) {
+			arrive(index, tick, pool.acquire(FamilySedan_RoadUser.class));
+		}
+
+		if (Truck_RoadUser.exists(context, p, q, value) && hasTrucks) {
+			arrive(index, tick, pool.acquire(Truck_RoadUser.class));
+		}
+
+		stations[index].processLocations();
+	}
+
+	/**
+	 * Adds a {@link RoadUser} to the {@link Station} at the specified
+	 * position, or sends it on to the next {@link Station} if there is no
+	 * space for it. If it cannot drive on it is rejected.
+	 *
+	 * @param index
+	 *            <code>int</code> position of the {@link Station}.
+	 * @param tick
+	 *            The <code>long</code> current tick.
+	 * @param roadUser
+	 *            {@link RoadUser}
+	 */
+	private void arrive(int index, long tick, RoadUser roadUser) {
+
+		Station station = stations[index];
+
+		if (station.offer(roadUser)) {
+			return;
+		}
+
+		if (index < links.length && links[index].send(tick, roadUser)) {
+			forwarded.get(index).update(roadUser.getClass(), 1);
+		} else {
+			station.reject(roadUser);
+		}
+	}
+
+}
@@ -0,0 +1,13 @@
+/**
+ * This module contains a model of a network of petrol stations along a
+ * corridor, where the drivers that cannot enter one station drive on to the
+ * next rather than being lost. The stations are shared between worker threads
+ * that exchange the drivers passing between them at the end of each tick.
+ *
+ * @author agent
+ *
+ * @see environment.model.network.StationNetwork
+ * @see environment.model.Station
+ *
+ */
+package environment.model.network;
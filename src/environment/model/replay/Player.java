@@ -0,0 +1,156 @@
+package environment.model.replay;
+
+import java.io.IOException;
+
+import environment.GUI.views.SimulatorView;
+import environment.model.Station;
+
+/**
+ *
+ * Plays a {@link Recording} to a {@link SimulatorView} in the same way as a
+ * running {@link environment.Simulator} would, but without simulating
+ * anything. The {@link Player} can {@link #seek(long) seek} to any recorded
+ * tick and {@link #play(long, int) play} forwards or backwards from there,
+ * showing every tick or only every few ticks.
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.replay.Recording
+ * @see environment.GUI.views.SimulatorView
+ */
+public final class Player {
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link Recording} that is played.
+	 */
+	private final Recording recording;
+
+	/**
+	 * The {@link SimulatorView} the {@link Recording} is played to.
+	 */
+	private final SimulatorView<Station> view;
+
+	/**
+	 * The tick that was shown last.
+	 */
+	private long tick;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link Player} positioned at the first tick of the
+	 * {@link Recording}.
+	 *
+	 * @param recording
+	 *            {@link Recording}
+	 * @param view
+	 *            {@link SimulatorView} the {@link Recording} is played to.
+	 */
+	public Player(Recording recording, SimulatorView<Station> view) {
+
+		this.recording = recording;
+		this.view = view;
+		this.tick = recording.getFirstTick();
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Retrieves the tick that was shown last.
+	 *
+	 * @return <code>long</code>
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	/**
+	 * Shows the specified tick. The {@link SimulatorView} is given a read-only
+	 * {@link Station#snapshot() snapshot} so that it cannot change the
+	 * {@link Station} the {@link Recording} caches.
+	 *
+	 * @param tick
+	 *            The <code>long</code> tick, which must have been recorded.
+	 * @throws IOException
+	 *             If the {@link Recording} cannot be read.
+	 */
+	public void seek(long tick) throws IOException {
+
+		view.show((int) tick, recording.get(tick).snapshot());
+
+		this.tick = tick;
+	}
+
+	/**
+	 * Shows every <code>step</code>th tick from the tick after the last
+	 * shown tick up to the specified tick. A negative step plays the
+	 * {@link Recording} backwards, a step larger than one fast forwards or
+	 * rewinds it. The last tick shown is the specified tick.
+	 *
+	 * @param to
+	 *            The <code>long</code> tick to play to, which must have been
+	 *            recorded.
+	 * @param step
+	 *            The <code>int</code> number of ticks between the ticks that
+	 *            are shown, which must not be zero.
+	 * @throws IOException
+	 *             If the {@link Recording} cannot be read.
+	 */
+	public void play(long to, int step) throws IOException {
+
+		if (step == 0 || (to - tick) * step < 0) {
+			throw new IllegalArgumentException("Cannot play from " + tick + " to " + to + " in steps of " + step);
+		}
+
+		// Stop short of the last tick so that it is always shown.
+		for (long next = tick + step; step > 0 ? next < to : next > to; next += step) {
+			seek(next);
+		}
+
+		seek(to);
+	}
+
+	/**
+	 * Plays the whole {@link Recording} from its first tick and then shows
+	 * its final {@link Station} as the end of the simulation.
+	 *
+	 * @param step
+	 *            The <code>int</code> positive number of ticks between the
+	 *            ticks that are shown.
+	 * @throws IOException
+	 *             If the {@link Recording} cannot be read.
+	 */
+	public void playAll(int step) throws IOException {
+
+		long last = recording.getEndTick() - 1;
+
+		seek(recording.getFirstTick());
+
+		if (last > tick) {
+			play(last, step);
+		}
+
+		end();
+	}
+
+	/**
+	 * Ends the replay by showing the final {@link Station} of the
+	 * {@link Recording} as the end of the simulation, in the same way as a
+	 * {@link environment.Simulator} does when it finishes.
+	 *
+	 * @throws IOException
+	 *             If the {@link Recording} cannot be read.
+	 */
+	public void end() throws IOException {
+
+		long last = recording.getEndTick() - 1;
+
+		view.setEnd();
+		view.show((int) recording.getEndTick(), recording.get(last).snapshot());
+	}
+
+}
@@ -0,0 +1,236 @@
+package environment.model.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import environment.model.Station;
+import environment.model.checkpoint.CheckpointOutput;
+
+/**
+ *
+ * Records the {@link Station} of a simulation at the end of each tick to a
+ * file so that the simulation can be replayed without simulating it again,
+ * see {@link Recording}.
+ *
+ * <p>
+ * The file starts with {@link #MAGIC} and {@link #VERSION}. Each frame holds
+ * the first tick it covers, the tick after the last tick it covers, the
+ * length of the state of the {@link Station} and that state, written by
+ * {@link Station#writeCheckpoint(CheckpointOutput)}. A range of ticks over
+ * which the {@link Station} did not change is recorded as one frame. Once
+ * the {@link Recorder} is closed the file ends with a sparse index that holds
+ * the first tick and position of every {@link #INDEX_INTERVAL}th frame,
+ * followed by the position of the index.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.replay.Recording
+ */
+public final class Recorder implements Closeable {
+
+	// Static Fields ----------------------------------------------------------
+
+	/**
+	 * The first four bytes of every recording.
+	 */
+	public static final int MAGIC = 0x52504C59;
+
+	/**
+	 * The version of the format of a recording.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * The first four bytes of the index at the end of a recording.
+	 */
+	static final int INDEX_MAGIC = 0x52494458;
+
+	/**
+	 * The number of frames between the frames that are in the index.
+	 */
+	static final int INDEX_INTERVAL = 256;
+
+	/**
+	 * The number of bytes of a frame before the state of its {@link Station}.
+	 */
+	static final int FRAME_HEADER = Long.BYTES + Long.BYTES + Integer.BYTES;
+
+	/**
+	 * The number of bytes before the first frame.
+	 */
+	static final int FILE_HEADER = Integer.BYTES + Integer.BYTES;
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link DataOutputStream} of the file.
+	 */
+	private final DataOutputStream out;
+
+	/**
+	 * The buffer each {@link Station} is written to before its frame.
+	 */
+	private final ByteArrayOutputStream frame;
+
+	/**
+	 * The first tick of each frame in the index.
+	 */
+	private long[] indexTicks;
+
+	/**
+	 * The position of each frame in the index.
+	 */
+	private long[] indexPositions;
+
+	/**
+	 * The number of frames that are in the index.
+	 */
+	private int indexSize;
+
+	/**
+	 * The number of frames that have been written.
+	 */
+	private long frames;
+
+	/**
+	 * The position in the file the next frame is written to.
+	 */
+	private long position;
+
+	/**
+	 * The tick after the last tick that has been recorded.
+	 */
+	private long end;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link Recorder} that writes to the specified file,
+	 * replacing any file that is there.
+	 *
+	 * @param file
+	 *            {@link Path} of the file.
+	 * @throws IOException
+	 *             If the file cannot be opened.
+	 */
+	public Recorder(Path file) throws IOException {
+
+		this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+		this.frame = new ByteArrayOutputStream();
+		this.indexTicks = new long[16];
+		this.indexPositions = new long[16];
+		this.indexSize = 0;
+		this.frames = 0;
+		this.end = Long.MIN_VALUE;
+
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+
+		this.position = FILE_HEADER;
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Records the state of a {@link Station} that did not change over a range
+	 * of ticks. The ranges must be recorded in order.
+	 *
+	 * @param from
+	 *            The first tick of the range.
+	 * @param to
+	 *            The tick after the last tick of the range.
+	 * @param station
+	 *            {@link Station}
+	 * @throws IOException
+	 *             If the frame cannot be written.
+	 */
+	public void record(long from, long to, Station station) throws IOException {
+
+		if (from >= to || from < end) {
+			throw new IllegalArgumentException("Ticks " + from + " to " + to + " are not after the last recorded tick");
+		}
+
+		frame.reset();
+
+		try (CheckpointOutput state = new CheckpointOutput(frame)) {
+			station.writeCheckpoint(state);
+		}
+
+		// Every few frames are indexed so that a tick can be found without
+		// reading every frame before it.
+		if (frames % INDEX_INTERVAL == 0) {
+			index(from);
+		}
+
+		out.writeLong(from);
+		out.writeLong(to);
+		out.writeInt(frame.size());
+		frame.writeTo(out);
+
+		position += FRAME_HEADER + frame.size();
+		end = to;
+		frames++;
+	}
+
+	/**
+	 * Retrieves the number of frames that have been written.
+	 *
+	 * @return <code>long</code>
+	 */
+	public long getFrames() {
+		return frames;
+	}
+
+	/**
+	 * Writes the index and closes the file.
+	 */
+	@Override
+	public void close() throws IOException {
+
+		try {
+
+			out.writeInt(INDEX_MAGIC);
+			out.writeInt(indexSize);
+
+			for (int entry = 0; entry < indexSize; entry++) {
+				out.writeLong(indexTicks[entry]);
+				out.writeLong(indexPositions[entry]);
+			}
+
+			out.writeLong(position);
+
+		} finally {
+			out.close();
+		}
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Adds the next frame to the index.
+	 *
+	 * @param tick
+	 *            The <code>long</code> first tick of the frame.
+	 */
+	private void index(long tick) {
+
+		if (indexSize == indexTicks.length) {
+			indexTicks = Arrays.copyOf(indexTicks, indexSize * 2);
+			indexPositions = Arrays.copyOf(indexPositions, indexSize * 2);
+		}
+
+		indexTicks[indexSize] = tick;
+		indexPositions[indexSize] = position;
+		indexSize++;
+	}
+
+}
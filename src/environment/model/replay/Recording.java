@@ -0,0 +1,378 @@
+package environment.model.replay;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import environment.model.SimulationContext;
+import environment.model.Station;
+import environment.model.checkpoint.CheckpointInput;
+
+/**
+ *
+ * Reads the {@link Station} of any tick of a simulation from a file written
+ * by a {@link Recorder}. The sparse index at the end of the file is used to
+ * find the frames near a tick, so any tick of a recording of any length can
+ * be read by reading at most {@link Recorder#INDEX_INTERVAL} frame headers.
+ * No simulation is performed, the {@link Station} of a frame is read exactly
+ * as it was recorded.
+ *
+ * <p>
+ * If the {@link Recorder} was not closed there is no index, in which case the
+ * index is rebuilt by reading every frame header once when the
+ * {@link Recording} is opened. Any incomplete frame at the end is ignored.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.replay.Recorder
+ * @see environment.model.replay.Player
+ */
+public final class Recording implements Closeable {
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link FileChannel} of the file.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * The buffer the header of each frame is read into.
+	 */
+	private final ByteBuffer frameHeader;
+
+	/**
+	 * The first tick of each indexed frame.
+	 */
+	private long[] indexTicks;
+
+	/**
+	 * The position of each indexed frame.
+	 */
+	private long[] indexPositions;
+
+	/**
+	 * The position after the last frame.
+	 */
+	private long end;
+
+	/**
+	 * The tick after the last recorded tick.
+	 */
+	private long endTick;
+
+	/**
+	 * The first tick of the frame that was read last.
+	 */
+	private long cachedFrom;
+
+	/**
+	 * The tick after the last tick of the frame that was read last.
+	 */
+	private long cachedTo;
+
+	/**
+	 * The {@link Station} of the frame that was read last, which is returned
+	 * again for any tick that the same frame covers.
+	 */
+	private Station cached;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new {@link Recording} of the specified file.
+	 *
+	 * @param file
+	 *            {@link Path} of the file written by a {@link Recorder}.
+	 * @throws IOException
+	 *             If the file cannot be read or is not a recording.
+	 */
+	public Recording(Path file) throws IOException {
+
+		this.channel = FileChannel.open(file, StandardOpenOption.READ);
+		this.frameHeader = ByteBuffer.allocate(Recorder.FRAME_HEADER);
+
+		try {
+
+			ByteBuffer header = read(0, Recorder.FILE_HEADER);
+
+			if (header == null || header.getInt(0) != Recorder.MAGIC) {
+				throw new IOException("Not a recording: " + file);
+			} else if (header.getInt(4) != Recorder.VERSION) {
+				throw new IOException("Unsupported recording version " + header.getInt(4));
+			}
+
+			if (!readIndex()) {
+				rebuildIndex();
+			}
+
+			if (indexTicks.length == 0) {
+				throw new IOException("The recording has no frames: " + file);
+			}
+
+			this.endTick = lastFrameEnd();
+
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Retrieves the first recorded tick.
+	 *
+	 * @return <code>long</code>
+	 */
+	public long getFirstTick() {
+		return indexTicks[0];
+	}
+
+	/**
+	 * Retrieves the tick after the last recorded tick.
+	 *
+	 * @return <code>long</code>
+	 */
+	public long getEndTick() {
+		return endTick;
+	}
+
+	/**
+	 * Retrieves the {@link Station} at the end of the specified tick. The
+	 * {@link Station} must not be changed, it is returned again for every
+	 * tick over which it did not change.
+	 *
+	 * @param tick
+	 *            The <code>long</code> tick.
+	 * @return {@link Station}
+	 * @throws IOException
+	 *             If the frame cannot be read.
+	 */
+	public Station get(long tick) throws IOException {
+
+		if (cached != null && tick >= cachedFrom && tick < cachedTo) {
+			return cached;
+		}
+
+		if (tick < getFirstTick() || tick >= endTick) {
+			throw new IllegalArgumentException("Tick " + tick + " was not recorded");
+		}
+
+		// Start from the last indexed frame that starts at or before the tick.
+		int entry = Arrays.binarySearch(indexTicks, tick);
+		long position = indexPositions[entry >= 0 ? entry : -entry - 2];
+
+		while (position < end) {
+
+			ByteBuffer header = readFrameHeader(position);
+
+			long from = header.getLong(0);
+			long to = header.getLong(Long.BYTES);
+			int length = header.getInt(2 * Long.BYTES);
+
+			if (tick < from) {
+				break;
+			} else if (tick < to) {
+
+				ByteBuffer data = read(position + Recorder.FRAME_HEADER, length);
+
+				try (CheckpointInput in = new CheckpointInput(new ByteArrayInputStream(data.array()),
+						new SimulationContext())) {
+					cached = Station.readCheckpoint(in);
+				}
+
+				cachedFrom = from;
+				cachedTo = to;
+
+				return cached;
+			}
+
+			position += Recorder.FRAME_HEADER + length;
+		}
+
+		throw new IllegalArgumentException("Tick " + tick + " was not recorded");
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	// Private Methods --------------------------------------------------------
+
+	/**
+	 * Reads the index at the end of the file, if there is one.
+	 *
+	 * @return Whether the index was read.
+	 * @throws IOException
+	 *             If the file cannot be read.
+	 */
+	private boolean readIndex() throws IOException {
+
+		long size = channel.size();
+
+		if (size < Recorder.FILE_HEADER + Integer.BYTES * 2 + Long.BYTES) {
+			return false;
+		}
+
+		long indexPosition = read(size - Long.BYTES, Long.BYTES).getLong(0);
+
+		if (indexPosition < Recorder.FILE_HEADER || indexPosition > size - Integer.BYTES * 2 - Long.BYTES) {
+			return false;
+		}
+
+		ByteBuffer indexHeader = read(indexPosition, Integer.BYTES * 2);
+
+		int count = indexHeader.getInt(4);
+
+		if (indexHeader.getInt(0) != Recorder.INDEX_MAGIC
+				|| indexPosition + Integer.BYTES * 2 + (long) count * Long.BYTES * 2 + Long.BYTES != size) {
+			return false;
+		}
+
+		ByteBuffer entries = read(indexPosition + Integer.BYTES * 2, count * Long.BYTES * 2);
+
+		indexTicks = new long[count];
+		indexPositions = new long[count];
+
+		for (int entry = 0; entry < count; entry++) {
+			indexTicks[entry] = entries.getLong();
+			indexPositions[entry] = entries.getLong();
+		}
+
+		end = indexPosition;
+
+		return true;
+	}
+
+	/**
+	 * Rebuilds the index of a file whose {@link Recorder} was not closed by
+	 * reading the header of every complete frame.
+	 *
+	 * @throws IOException
+	 *             If the file cannot be read.
+	 */
+	private void rebuildIndex() throws IOException {
+
+		long size = channel.size();
+		long position = Recorder.FILE_HEADER;
+		long frames = 0;
+
+		indexTicks = new long[16];
+		indexPositions = new long[16];
+
+		int count = 0;
+
+		while (position + Recorder.FRAME_HEADER <= size) {
+
+			ByteBuffer header = readFrameHeader(position);
+			long next = position + Recorder.FRAME_HEADER + header.getInt(2 * Long.BYTES);
+
+			// The last frame may not have been written completely.
+			if (next > size) {
+				break;
+			}
+
+			if (frames % Recorder.INDEX_INTERVAL == 0) {
+
+				if (count == indexTicks.length) {
+					indexTicks = Arrays.copyOf(indexTicks, count * 2);
+					indexPositions = Arrays.copyOf(indexPositions, count * 2);
+				}
+
+				indexTicks[count] = header.getLong(0);
+				indexPositions[count] = position;
+				count++;
+			}
+
+			position = next;
+			frames++;
+		}
+
+		indexTicks = Arrays.copyOf(indexTicks, count);
+		indexPositions = Arrays.copyOf(indexPositions, count);
+		end = position;
+	}
+
+	/**
+	 * Retrieves the tick after the last tick of the last frame.
+	 *
+	 * @return <code>long</code>
+	 * @throws IOException
+	 *             If the file cannot be read.
+	 */
+	private long lastFrameEnd() throws IOException {
+
+		long position = indexPositions[indexPositions.length - 1];
+		long to = 0;
+
+		while (position < end) {
+
+			ByteBuffer header = readFrameHeader(position);
+
+			to = header.getLong(Long.BYTES);
+			position += Recorder.FRAME_HEADER + header.getInt(2 * Long.BYTES);
+		}
+
+		return to;
+	}
+
+	/**
+	 * Reads the header of the frame at the specified position.
+	 *
+	 * @param position
+	 *            The <code>long</code> position of the frame.
+	 * @return {@link ByteBuffer} holding the header.
+	 * @throws IOException
+	 *             If the header cannot be read.
+	 */
+	private ByteBuffer readFrameHeader(long position) throws IOException {
+
+		frameHeader.clear();
+
+		while (frameHeader.hasRemaining()) {
+			if (channel.read(frameHeader, position + frameHeader.position()) < 0) {
+				throw new IOException("The recording ends part way through a frame");
+			}
+		}
+
+		return frameHeader;
+	}
+
+	/**
+	 * Reads the specified number of bytes from the specified position.
+	 *
+	 * @param position
+	 *            The <code>long</code> position in the file.
+	 * @param length
+	 *            The <code>int</code> number of bytes.
+	 * @return {@link ByteBuffer} holding the bytes, or <code>null</code> if
+	 *         the file ends first.
+	 * @throws IOException
+	 *             If the file cannot be read.
+	 */
+	private ByteBuffer read(long position, int length) throws IOException {
+
+		ByteBuffer data = ByteBuffer.allocate(length);
+
+		while (data.hasRemaining()) {
+			if (channel.read(data, position + data.position()) < 0) {
+				return null;
+			}
+		}
+
+		data.flip();
+
+		return data;
+	}
+
+}
@@ -0,0 +1,13 @@
+/**
+ * This module contains the recording of the station at the end of every tick
+ * of a simulation and the replay of that recording to the existing views,
+ * from any tick, forwards or backwards, without simulating anything.
+ *
+ * @author agent
+ *
+ * @see environment.model.replay.Recorder
+ * @see environment.model.replay.Recording
+ * @see environment.model.replay.Player
+ *
+ */
+package environment.model.replay;
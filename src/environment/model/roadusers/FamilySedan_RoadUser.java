@@ -1,6 +1,7 @@
 package environment.model.roadusers;
 
 import environment.Simulator;
+import environment.model.SimulationContext;
 import environment.model.roadusers.vehicles.FamilySedan_Vehicle;
 
 /**
@@ -55,10 +56,47 @@ public class FamilySedan_RoadUser extends RoadUser implements Cloneable {
 	 * Constructs a new {@link FamilySedan_RoadUser}.
 	 */
 	public FamilySedan_RoadUser() {
+		this(SimulationContext.DEFAULT);
+	}
+
+	/**
+	 * Generates a new {@link FamilySedan_RoadUser} that belongs to the
+	 * simulation of the specified {@link SimulationContext}.
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} that supplies the random
+	 *            values of the new {@link FamilySedan_RoadUser}.
+	 */
+	public FamilySedan_RoadUser(SimulationContext context) {
+
+		super(context, new FamilySedan_Vehicle(context),
+				context.getRoadUserRandom().nextInt(SHOPPING_TIME_RANGE) + MINIMUM_SHOPPING_TIME,
+				context.getRoadUserRandom().nextInt(SPENDING_RANGE) + MINIMUM_SPENDING_MONEY, PROB_TO_SHOP,
+				MAXIMUM_TIME_TO_SHOP);
+	}
+
+	/**
+	 * Constructs a copy of the specified {@link FamilySedan_RoadUser}.
+	 * 
+	 * @param original
+	 *            The {@link FamilySedan_RoadUser} to be copied.
+	 */
+	private FamilySedan_RoadUser(FamilySedan_RoadUser original) {
+		super(original);
+	}
 
-		super(new FamilySedan_Vehicle(), GEN.nextInt(SHOPPING_TIME_RANGE) + MINIMUM_SHOPPING_TIME,
-				GEN.nextInt(SPENDING_RANGE) + MINIMUM_SPENDING_MONEY, PROB_TO_SHOP, MAXIMUM_TIME_TO_SHOP);
+	/**
+	 * Reinitialises <code>this</code> {@link FamilySedan_RoadUser} in the same way as
+	 * {@link #FamilySedan_RoadUser(SimulationContext)}.
+	 */
+	@Override
+	protected void reinitialise() {
+
+		SimulationContext context = getContext();
 
+		getVehicle().reinitialise(context);
+		reset(context.getRoadUserRandom().nextInt(SHOPPING_TIME_RANGE) + MINIMUM_SHOPPING_TIME,
+				context.getRoadUserRandom().nextInt(SPENDING_RANGE) + MINIMUM_SPENDING_MONEY);
 	}
 
 	/**
@@ -84,10 +122,7 @@ public class FamilySedan_RoadUser extends RoadUser implements Cloneable {
 	 */
 	@Override
 	public FamilySedan_RoadUser clone() {
-
-		FamilySedan_RoadUser clone = (FamilySedan_RoadUser) super.createClone(new FamilySedan_RoadUser());
-
-		return clone;
+		return new FamilySedan_RoadUser(this);
 	}
 
 }
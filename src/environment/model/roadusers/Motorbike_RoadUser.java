@@ -1,6 +1,7 @@
 package environment.model.roadusers;
 
 import environment.Simulator;
+import environment.model.SimulationContext;
 import environment.model.roadusers.vehicles.Motorbike_Vehicle;
 
 /**
@@ -22,7 +23,40 @@ public class Motorbike_RoadUser extends RoadUser implements Cloneable {
 	 * Constructs a new {@link Motorbike_RoadUser}
 	 */
 	public Motorbike_RoadUser() {
-		super(new Motorbike_Vehicle(), 0, 0, 0, 0);
+		this(SimulationContext.DEFAULT);
+	}
+
+	/**
+	 * Generates a new {@link Motorbike_RoadUser} that belongs to the
+	 * simulation of the specified {@link SimulationContext}.
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} that supplies the random
+	 *            values of the new {@link Motorbike_RoadUser}.
+	 */
+	public Motorbike_RoadUser(SimulationContext context) {
+		super(context, new Motorbike_Vehicle(context), 0, 0, 0, 0);
+	}
+
+	/**
+	 * Constructs a copy of the specified {@link Motorbike_RoadUser}.
+	 * 
+	 * @param original
+	 *            The {@link Motorbike_RoadUser} to be copied.
+	 */
+	private Motorbike_RoadUser(Motorbike_RoadUser original) {
+		super(original);
+	}
+
+	/**
+	 * Reinitialises <code>this</code> {@link Motorbike_RoadUser} in the same
+	 * way as {@link #Motorbike_RoadUser(SimulationContext)}.
+	 */
+	@Override
+	protected void reinitialise() {
+
+		getVehicle().reinitialise(getContext());
+		reset(0, 0);
 	}
 
 	/**
@@ -52,6 +86,14 @@ public class Motorbike_RoadUser extends RoadUser implements Cloneable {
 		// Doesn't Shop
 	}
 
+	/**
+	 * The {@link Motorbike_RoadUser} does not shop.
+	 */
+	@Override
+	public void shop(int ticks) {
+		// Doesn't Shop
+	}
+
 	/**
 	 * @returns <code>false</code> as {@link Motornike_RoadUser} does not shop.
 	 */
@@ -65,9 +107,6 @@ public class Motorbike_RoadUser extends RoadUser implements Cloneable {
 	 */
 	@Override
 	public Motorbike_RoadUser clone() {
-
-		Motorbike_RoadUser clone = (Motorbike_RoadUser) super.createClone(new Motorbike_RoadUser());
-
-		return clone;
+		return new Motorbike_RoadUser(this);
 	}
 }
@@ -1,10 +1,16 @@
 package environment.model.roadusers;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Random;
 
+import environment.model.SimulationContext;
 import environment.model.Station;
+import environment.model.checkpoint.CheckpointInput;
+import environment.model.checkpoint.CheckpointOutput;
 import environment.model.locations.Location;
 import environment.model.locations.Pump;
+import environment.model.locations.RoadUserQueue;
 import environment.model.locations.ShoppingArea;
 import environment.model.roadusers.vehicles.Vehicle;
 
@@ -59,15 +65,15 @@ public abstract class RoadUser implements Cloneable {
 	 */
 	protected boolean finishedShopping;
 
+	// Private Fields ---------------------------------------------------------
+
 	/**
-	 * The {@link Random} generator that should be user by the sub-classes of
-	 * {@link RoadUser}.
+	 * The {@link SimulationContext} that supplies the {@link Random} stream
+	 * used by <code>this</code> {@link RoadUser}.
 	 * 
-	 * @see java.util.Random
+	 * @see environment.model.SimulationContext#getRoadUserRandom()
 	 */
-	protected static final Random GEN = new Random();
-
-	// Private Fields ---------------------------------------------------------
+	private SimulationContext context;
 
 	/**
 	 * The value of this Boolean object as a boolean primitive.
@@ -113,6 +119,43 @@ public abstract class RoadUser implements Cloneable {
 	 */
 	private int maximumTimeToShop;
 
+	/**
+	 * The number of times <code>this</code> {@link RoadUser} has been
+	 * modified. Used to decide whether {@link #snapshot} is still current.
+	 * The {@link #timeSpent} is not counted as it changes every tick.
+	 */
+	private int modCount;
+
+	/**
+	 * The most recent read-only copy of <code>this</code> {@link RoadUser}.
+	 * 
+	 * @see #snapshot()
+	 */
+	private RoadUser snapshot;
+
+	/**
+	 * Whether <code>this</code> {@link RoadUser} is a read-only snapshot.
+	 * 
+	 * @see #snapshot()
+	 */
+	private boolean readOnly;
+
+	/**
+	 * The {@link RoadUserQueue}s <code>this</code> {@link RoadUser} is in. A
+	 * {@link RoadUser} is in at most two, the queue of its {@link Pump} and
+	 * the queue of the {@link ShoppingArea} or till it is at, so checking
+	 * this is O(1). Copies of <code>this</code> {@link RoadUser} are not in
+	 * any queue.
+	 * 
+	 * @see #isIn(RoadUserQueue)
+	 */
+	private RoadUserQueue[] queues = new RoadUserQueue[2];
+
+	/**
+	 * The number of {@link #queues} <code>this</code> {@link RoadUser} is in.
+	 */
+	private int queueCount = 0;
+
 	// Constructor ------------------------------------------------------------
 
 	/**
@@ -136,7 +179,36 @@ public abstract class RoadUser implements Cloneable {
 	 *            shop.
 	 */
 	public RoadUser(Vehicle vehicle, int shoppingTime, double worth, double probabilityToShop, int maximumTimeToShop) {
+		this(SimulationContext.DEFAULT, vehicle, shoppingTime, worth, probabilityToShop, maximumTimeToShop);
+	}
 
+	/**
+	 * Constructs a new {@link RoadUser} that belongs to the simulation of the
+	 * specified {@link SimulationContext}.
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} that supplies the
+	 *            {@link Random} stream of <code>this</code> {@link RoadUser}.
+	 * @param vehicle
+	 *            The {@link Vehicle} assigned to <code>this</code>
+	 *            {@link RoadUser}.
+	 * @param shoppingTime
+	 *            The <code>int</code> amount of time will spend shopping.
+	 * @param worth
+	 *            The <code>double</code> amount of money <code>this</code>
+	 *            {@link RoadUser} will spent.
+	 * @param probabilityToShop
+	 *            The <code>double</code> probability that <code>this</code>
+	 *            {@link RoadUser} will shop.
+	 * @param maximumTimeToShop
+	 *            The <code>int</code> maximum time that <code>this</code>
+	 *            {@link RoadUser} will spent in the {@link Station} and still
+	 *            shop.
+	 */
+	public RoadUser(SimulationContext context, Vehicle vehicle, int shoppingTime, double worth,
+			double probabilityToShop, int maximumTimeToShop) {
+
+		this.context = context;
 		this.timeSpent = 0;
 		this.hasPaid = false;
 		this.willShop = true;
@@ -150,6 +222,33 @@ public abstract class RoadUser implements Cloneable {
 
 	}
 
+	/**
+	 * Constructs a new {@link RoadUser} that is a deep copy of the specified
+	 * {@link RoadUser}. No random values are drawn so copying a
+	 * {@link RoadUser} does not effect the simulation it belongs to. Used by
+	 * the sub-classes of {@link RoadUser} to implement {@link #clone()}.
+	 * 
+	 * @param original
+	 *            The {@link RoadUser} to be copied.
+	 */
+	protected RoadUser(RoadUser original) {
+
+		this.context = original.context;
+		this.timeSpent = original.timeSpent;
+		this.willShop = original.willShop;
+		this.finishedShopping = original.finishedShopping;
+		this.hasPaid = original.hasPaid;
+		this.vehicle = original.vehicle.clone();
+		this.shoppingTime = original.shoppingTime;
+		this.worth = original.worth;
+		this.timeSpentShopping = original.timeSpentShopping;
+		this.isShopping = original.isShopping;
+		this.probabilityToShop = original.probabilityToShop;
+		this.maximumTimeToShop = original.maximumTimeToShop;
+		this.modCount = original.modCount;
+
+	}
+
 	// Public Methods ------------------------------------------------------
 
 	/**
@@ -163,19 +262,38 @@ public abstract class RoadUser implements Cloneable {
 	}
 
 	/**
-	 * Increments the time spent in the {@link Station}.
+	 * Increments the time spent in the {@link Station}. This changes every
+	 * {@link RoadUser} in the {@link Station} every tick, so it does not
+	 * count as a change to {@link #snapshot()} and the time spent of a
+	 * snapshot is that of its last other change.
 	 */
 	public void spendTime() {
+		checkWritable();
 		timeSpent++;
 	}
 
+	/**
+	 * Increments the time spent in the {@link Station} by the specified number
+	 * of ticks at once, as if {@link #spendTime()} had been called that many
+	 * times.
+	 * 
+	 * @param ticks
+	 *            <code>int</code> number of ticks.
+	 */
+	public void spendTime(int ticks) {
+		checkWritable();
+		timeSpent += ticks;
+	}
+
 	/**
 	 * If the {@link RoadUser} spends less time than {@link #maximumTimeToShop}
 	 * and has the required probability then it will shop
 	 */
 	public boolean willShop() {
 
-		double prob = GEN.nextDouble();
+		checkWritable();
+
+		double prob = context.getRoadUserRandom().nextDouble();
 
 		if (timeSpent < maximumTimeToShop && prob <= probabilityToShop) {
 			return true;
@@ -190,6 +308,8 @@ public abstract class RoadUser implements Cloneable {
 	 */
 	public void shop() {
 
+		modified();
+
 		timeSpentShopping++;
 		isShopping = true;
 
@@ -202,6 +322,84 @@ public abstract class RoadUser implements Cloneable {
 
 	}
 
+	/**
+	 * Causes the {@link RoadUser} to browse in the shop for the specified
+	 * number of ticks at once, as if {@link #shop()} had been called that many
+	 * times.
+	 * 
+	 * @param ticks
+	 *            <code>int</code> number of ticks.
+	 */
+	public void shop(int ticks) {
+
+		modified();
+
+		timeSpentShopping += ticks;
+		isShopping = true;
+
+		if (timeSpentShopping > shoppingTime) {
+
+			finishedShopping = true;
+			isShopping = false;
+
+		}
+
+	}
+
+	/**
+	 * Retrieves the number of times {@link #shop()} must be called before
+	 * <code>this</code> {@link RoadUser} is done shopping.
+	 * 
+	 * @return <code>int</code> number of ticks.
+	 */
+	public int getRemainingShoppingTime() {
+		return Math.max(0, shoppingTime + 1 - timeSpentShopping);
+	}
+
+	/**
+	 * Retrieves the amount of time <code>this</code> {@link RoadUser} will
+	 * spend shopping.
+	 * 
+	 * @return <code>int</code> number of ticks.
+	 */
+	public int getShoppingTime() {
+		return shoppingTime;
+	}
+
+	/**
+	 * Retrieves the amount of time <code>this</code> {@link RoadUser} has
+	 * spent shopping.
+	 * 
+	 * @return <code>int</code> number of ticks.
+	 */
+	public int getTimeSpentShopping() {
+		return timeSpentShopping;
+	}
+
+	/**
+	 * Retrieves the probability that <code>this</code> {@link RoadUser} will
+	 * shop.
+	 * 
+	 * @return <code>double</code> probability.
+	 * 
+	 * @see #willShop()
+	 */
+	public double getProbabilityToShop() {
+		return probabilityToShop;
+	}
+
+	/**
+	 * Retrieves the amount of time <code>this</code> {@link RoadUser} can
+	 * spend in the {@link Station} and still decide to shop.
+	 * 
+	 * @return <code>int</code> number of ticks.
+	 * 
+	 * @see #willShop()
+	 */
+	public int getMaximumTimeToShop() {
+		return maximumTimeToShop;
+	}
+
 	/**
 	 * Retrieves the amount of money that <code>this</code> {@link RoadUser}
 	 * will spent at the shop.
@@ -217,6 +415,7 @@ public abstract class RoadUser implements Cloneable {
 	 * their fuel.
 	 */
 	public void pay() {
+		modified();
 		hasPaid = true;
 	}
 
@@ -241,9 +440,8 @@ public abstract class RoadUser implements Cloneable {
 
 	/**
 	 * Clones <code>this</code> {@link RoadUser}. </br>
-	 * The method {@link #createClone(RoadUser)} should be used to create the
-	 * initial clone then that clone should be casted to the specific sub-class
-	 * of {@link RoadUser}. Then then that clone should be returned.
+	 * Sub-classes should return a <code>new</code> instance constructed using
+	 * {@link #RoadUser(RoadUser)} so that no random values are drawn.
 	 */
 	@Override
 	public abstract RoadUser clone();
@@ -270,31 +468,293 @@ public abstract class RoadUser implements Cloneable {
 		return timeSpent;
 	}
 
+	/**
+	 * Retrieves a read-only copy of <code>this</code> {@link RoadUser} for use
+	 * by the views. The same copy is returned until <code>this</code>
+	 * {@link RoadUser} or its {@link Vehicle} changes. Any attempt to modify
+	 * the copy or its {@link Vehicle} throws an
+	 * {@link UnsupportedOperationException}.
+	 * 
+	 * @return Read-only {@link RoadUser}.
+	 * 
+	 * @see environment.model.locations.Location#snapshot()
+	 */
+	public final RoadUser snapshot() {
+
+		// A snapshot is already read only.
+		if (readOnly) {
+			return this;
+		}
+
+		// Reuse the previous snapshot if neither this road user nor its
+		// vehicle has changed.
+		if (snapshot == null || snapshot.modCount != modCount
+				|| snapshot.vehicle.getCurrentWorth() != vehicle.getCurrentWorth()) {
+
+			RoadUser copy = clone();
+			copy.vehicle = vehicle.snapshot();
+			copy.readOnly = true;
+
+			snapshot = copy;
+		}
+
+		return snapshot;
+	}
+
+	/**
+	 * Retrieves whether <code>this</code> {@link RoadUser} is a read-only
+	 * snapshot.
+	 * 
+	 * @return <code>boolean</code>
+	 * 
+	 * @see #snapshot()
+	 */
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+
+	/**
+	 * Retrieves whether <code>this</code> {@link RoadUser} is in the specified
+	 * {@link RoadUserQueue}.
+	 * 
+	 * @param queue
+	 *            {@link RoadUserQueue}
+	 * @return <code>boolean</code>
+	 */
+	public final boolean isIn(RoadUserQueue queue) {
+
+		for (int index = 0; index < queueCount; index++) {
+			if (queues[index] == queue) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Records that <code>this</code> {@link RoadUser} has joined the specified
+	 * {@link RoadUserQueue}. This should only be called by the
+	 * {@link RoadUserQueue}.
+	 * 
+	 * @param queue
+	 *            {@link RoadUserQueue}
+	 */
+	public final void joined(RoadUserQueue queue) {
+
+		// Only grow the array if the road user is in more queues than usual.
+		if (queueCount == queues.length) {
+			queues = Arrays.copyOf(queues, queues.length * 2);
+		}
+
+		queues[queueCount++] = queue;
+
+	}
+
+	/**
+	 * Records that <code>this</code> {@link RoadUser} has left the specified
+	 * {@link RoadUserQueue}. This should only be called by the
+	 * {@link RoadUserQueue}.
+	 * 
+	 * @param queue
+	 *            {@link RoadUserQueue}
+	 */
+	public final void left(RoadUserQueue queue) {
+
+		for (int index = 0; index < queueCount; index++) {
+
+			if (queues[index] == queue) {
+
+				// Replace the queue with the last one.
+				queueCount--;
+				queues[index] = queues[queueCount];
+				queues[queueCount] = null;
+
+				return;
+			}
+		}
+
+	}
+
+	/**
+	 * Retrieves the {@link SimulationContext} of the simulation that
+	 * <code>this</code> {@link RoadUser} belongs to.
+	 * 
+	 * @return {@link SimulationContext}
+	 */
+	public SimulationContext getContext() {
+		return context;
+	}
+
+	/**
+	 * Moves <code>this</code> {@link RoadUser} to the simulation of the
+	 * specified {@link SimulationContext}, from which it draws its random
+	 * values from then on. Only a {@link RoadUser} that is not in any
+	 * {@link RoadUserQueue} can be moved.
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} of the simulation, NOT NULL.
+	 * @throws IllegalStateException
+	 *             If <code>this</code> {@link RoadUser} is still in a
+	 *             {@link RoadUserQueue}.
+	 * 
+	 * @see environment.model.network.StationNetwork
+	 */
+	public void transfer(SimulationContext context) {
+
+		modified();
+
+		if (queueCount != 0) {
+			throw new IllegalStateException("A road user cannot be transferred while it is in a queue");
+		} else if (context == null) {
+			throw new IllegalArgumentException("The context cannot be null");
+		}
+
+		this.context = context;
+	}
+
+	/**
+	 * Writes the state of <code>this</code> {@link RoadUser} and its
+	 * {@link Vehicle} to a checkpoint. The queues it is in are not written,
+	 * they are restored when the {@link Location}s are read.
+	 * 
+	 * @param out
+	 *            {@link CheckpointOutput}
+	 * @throws IOException
+	 *             If the state cannot be written.
+	 * 
+	 * @see CheckpointOutput#writeRoadUser(RoadUser)
+	 */
+	public void writeCheckpoint(CheckpointOutput out) throws IOException {
+
+		out.writeInt(timeSpent);
+		out.writeBoolean(willShop);
+		out.writeBoolean(finishedShopping);
+		out.writeBoolean(hasPaid);
+		out.writeInt(shoppingTime);
+		out.writeDouble(worth);
+		out.writeInt(timeSpentShopping);
+		out.writeBoolean(isShopping);
+		out.writeDouble(probabilityToShop);
+		out.writeInt(maximumTimeToShop);
+
+		vehicle.writeCheckpoint(out);
+	}
+
+	/**
+	 * Restores the state written by {@link #writeCheckpoint(CheckpointOutput)}.
+	 * Only a {@link RoadUser} that is not in any {@link RoadUserQueue} can be
+	 * restored.
+	 * 
+	 * @param in
+	 *            {@link CheckpointInput}
+	 * @throws IOException
+	 *             If the state cannot be read.
+	 * @throws IllegalStateException
+	 *             If <code>this</code> {@link RoadUser} is still in a
+	 *             {@link RoadUserQueue}.
+	 * 
+	 * @see CheckpointInput#readRoadUser()
+	 */
+	public void readCheckpoint(CheckpointInput in) throws IOException {
+
+		modified();
+
+		if (queueCount != 0) {
+			throw new IllegalStateException("A road user cannot be restored while it is in a queue");
+		}
+
+		this.timeSpent = in.readInt();
+		this.willShop = in.readBoolean();
+		this.finishedShopping = in.readBoolean();
+		this.hasPaid = in.readBoolean();
+		this.shoppingTime = in.readInt();
+		this.worth = in.readDouble();
+		this.timeSpentShopping = in.readInt();
+		this.isShopping = in.readBoolean();
+		this.probabilityToShop = in.readDouble();
+		this.maximumTimeToShop = in.readInt();
+		this.snapshot = null;
+
+		vehicle.readCheckpoint(in);
+	}
+
 	// Protected Methods -------------------------------------------------------
 
 	/**
-	 * For use by concrete sub-classes of <code>this</code>. Will take a road
-	 * user as parameter and return it with its {@link RoadUser} fields
-	 * identical to <code>this</code>.
+	 * Reinitialises <code>this</code> {@link RoadUser} and its {@link Vehicle}
+	 * with new random values, drawn in the same order as the constructor of
+	 * the subclass, so that a recycled {@link RoadUser} is identical to a new
+	 * one. Implemented by calling {@link #reset(int, double)}.
 	 * 
-	 * @param clone
-	 *            The {@link RoadUser} to be made identical to
-	 *            <code>this</code>.
-	 * @return The parameter {@link RoadUser} with instance fields identical to
-	 *         <code>this</code>.
+	 * @see environment.model.roadusers.RoadUserPool
 	 */
-	protected RoadUser createClone(RoadUser clone) {
+	protected abstract void reinitialise();
 
-		clone.vehicle = this.vehicle.clone();
+	/**
+	 * Returns <code>this</code> {@link RoadUser} to the state it was
+	 * constructed in with the specified shopping time and worth. Only a
+	 * {@link RoadUser} that is not in any {@link RoadUserQueue} can be reset.
+	 * 
+	 * @param shoppingTime
+	 *            The <code>int</code> amount of time will spend shopping.
+	 * @param worth
+	 *            The <code>double</code> amount of money <code>this</code>
+	 *            {@link RoadUser} will spent.
+	 * @throws IllegalStateException
+	 *             If <code>this</code> {@link RoadUser} is still in a
+	 *             {@link RoadUserQueue}.
+	 */
+	protected final void reset(int shoppingTime, double worth) {
+
+		modified();
+
+		if (queueCount != 0) {
+			throw new IllegalStateException("A road user cannot be reset while it is in a queue");
+		}
+
+		this.timeSpent = 0;
+		this.hasPaid = false;
+		this.willShop = true;
+		this.finishedShopping = false;
+		this.isShopping = false;
+		this.shoppingTime = shoppingTime;
+		this.worth = worth;
+		this.timeSpentShopping = 0;
 
-		clone.finishedShopping = this.finishedShopping;
-		clone.hasPaid = this.hasPaid;
-		clone.timeSpent = this.timeSpent;
-		clone.willShop = this.willShop;
-		clone.timeSpentShopping = this.shoppingTime;
-		clone.shoppingTime = this.shoppingTime;
-		clone.worth = this.worth;
+		// Release the previous snapshot as it describes a different road user.
+		this.snapshot = null;
 
-		return clone;
+	}
+
+	/**
+	 * Records that <code>this</code> {@link RoadUser} is about to be modified,
+	 * and that the {@link RoadUserQueue}s it is in have changed. Every method
+	 * that modifies <code>this</code> {@link RoadUser} must call this first.
+	 * 
+	 * @throws UnsupportedOperationException
+	 *             If <code>this</code> {@link RoadUser} is a read-only
+	 *             snapshot.
+	 */
+	protected final void modified() {
+
+		checkWritable();
+		modCount++;
+
+		for (int index = 0; index < queueCount; index++) {
+			queues[index].changed();
+		}
+	}
+
+	/**
+	 * Throws an {@link UnsupportedOperationException} if <code>this</code>
+	 * {@link RoadUser} is a read-only snapshot. Methods that draw random values
+	 * from the {@link SimulationContext} must call this first so that a view
+	 * cannot effect the simulation.
+	 */
+	protected final void checkWritable() {
+		if (readOnly) {
+			throw new UnsupportedOperationException("A snapshot of a road user cannot be modified");
+		}
 	}
 }
@@ -0,0 +1,190 @@
+package environment.model.roadusers;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import environment.model.SimulationContext;
+import environment.model.roadusers.vehicles.Vehicle;
+
+/**
+ *
+ * Holds the {@link RoadUser}s that have left the <code>Station</code> of a
+ * simulation so that they, and their {@link Vehicle}s, can be reused by the
+ * next arrivals of the same type rather than constructing new ones.
+ * {@link #acquire(Class)} reinitialises a released {@link RoadUser} with new
+ * random values drawn from the {@link SimulationContext} of the pool in the
+ * same order as its constructor, so a simulation that uses a
+ * {@link RoadUserPool} produces the same results as one that does not.
+ *
+ * <p>
+ * A {@link RoadUser} must only be {@link #release(RoadUser) released} once
+ * nothing in the simulation refers to it any more. {@link RoadUser}s may be
+ * released by locations that are processed in parallel.
+ * </p>
+ *
+ * @author agent
+ * @version 18/10/2026
+ *
+ * @see environment.model.Station#setPool(RoadUserPool)
+ * @see environment.model.roadusers.RoadUser#reinitialise()
+ */
+public final class RoadUserPool {
+
+	// Instance Fields --------------------------------------------------------
+
+	/**
+	 * The {@link SimulationContext} the {@link RoadUser}s of
+	 * <code>this</code> {@link RoadUserPool} belong to.
+	 */
+	private final SimulationContext context;
+
+	/**
+	 * The released {@link RoadUser}s of each type.
+	 */
+	private final Map<Class<? extends RoadUser>, Deque<RoadUser>> free;
+
+	/**
+	 * The number of {@link RoadUser}s <code>this</code> {@link RoadUserPool}
+	 * has constructed.
+	 */
+	private int created;
+
+	/**
+	 * The number of times a released {@link RoadUser} has been reused.
+	 */
+	private int reused;
+
+	// Constructor ------------------------------------------------------------
+
+	/**
+	 * Constructs a new empty {@link RoadUserPool}.
+	 *
+	 * @param context
+	 *            The {@link SimulationContext} that supplies the random values
+	 *            of the {@link RoadUser}s of <code>this</code>
+	 *            {@link RoadUserPool}.
+	 */
+	public RoadUserPool(SimulationContext context) {
+
+		this.context = context;
+		this.free = new HashMap<Class<? extends RoadUser>, Deque<RoadUser>>();
+		this.created = 0;
+		this.reused = 0;
+
+	}
+
+	// Public Methods ---------------------------------------------------------
+
+	/**
+	 * Retrieves a {@link RoadUser} of the specified type with new random
+	 * values. A released {@link RoadUser} of that type is reinitialised if
+	 * there is one, otherwise a new one is constructed using the
+	 * <code>(SimulationContext)</code> constructor of the type.
+	 *
+	 * @param type
+	 *            The <code>Class</code> of the {@link RoadUser}.
+	 * @return The {@link RoadUser}.
+	 * @throws IllegalArgumentException
+	 *             If the type cannot be constructed from a
+	 *             {@link SimulationContext}.
+	 */
+	public synchronized <T extends RoadUser> T acquire(Class<T> type) {
+
+		Deque<RoadUser> released = free.get(type);
+
+		// Reuse a released road user if there is one.
+		if (released != null && !released.isEmpty()) {
+
+			RoadUser roadUser = released.pop();
+			roadUser.reinitialise();
+			reused++;
+
+			return type.cast(roadUser);
+		}
+
+		try {
+
+			T roadUser = type.getConstructor(SimulationContext.class).newInstance(context);
+			created++;
+
+			return roadUser;
+
+		} catch (NoSuchMethodException | InstantiationException | IllegalAccessException
+				| InvocationTargetException e) {
+			throw new IllegalArgumentException(type.getSimpleName() + " cannot be constructed by a pool", e);
+		}
+	}
+
+	/**
+	 * Returns the specified {@link RoadUser} to <code>this</code>
+	 * {@link RoadUserPool} so that it can be reused by
+	 * {@link #acquire(Class)}.
+	 *
+	 * @param roadUser
+	 *            The {@link RoadUser} that has left the simulation.
+	 * @throws IllegalArgumentException
+	 *             If the {@link RoadUser} is a read-only snapshot or belongs to
+	 *             a different {@link SimulationContext}.
+	 */
+	public synchronized void release(RoadUser roadUser) {
+
+		if (roadUser.isReadOnly()) {
+			throw new IllegalArgumentException("A snapshot of a road user cannot be pooled");
+		} else if (roadUser.getContext() != context) {
+			throw new IllegalArgumentException("The road user belongs to a different simulation");
+		}
+
+		free.computeIfAbsent(roadUser.getClass(), type -> new ArrayDeque<RoadUser>()).push(roadUser);
+
+	}
+
+	/**
+	 * Retrieves the number of released {@link RoadUser}s waiting to be reused.
+	 *
+	 * @return <code>int</code>
+	 */
+	public int size() {
+
+		int size = 0;
+
+		for (Deque<RoadUser> released : free.values()) {
+			size += released.size();
+		}
+
+		return size;
+	}
+
+	/**
+	 * Retrieves the number of {@link RoadUser}s <code>this</code>
+	 * {@link RoadUserPool} has constructed.
+	 *
+	 * @return <code>int</code>
+	 */
+	public int getCreated() {
+		return created;
+	}
+
+	/**
+	 * Retrieves the number of times a released {@link RoadUser} has been
+	 * reused.
+	 *
+	 * @return <code>int</code>
+	 */
+	public int getReused() {
+		return reused;
+	}
+
+	/**
+	 * Retrieves the {@link SimulationContext} the {@link RoadUser}s of
+	 * <code>this</code> {@link RoadUserPool} belong to.
+	 *
+	 * @return {@link SimulationContext}
+	 */
+	public SimulationContext getContext() {
+		return context;
+	}
+
+}
@@ -1,6 +1,7 @@
 package environment.model.roadusers;
 
 import environment.Simulator;
+import environment.model.SimulationContext;
 import environment.model.roadusers.vehicles.SmallCar_Vehicle;
 
 /**
@@ -53,9 +54,46 @@ public class SmallCar_RoadUser extends RoadUser implements Cloneable {
 	 * Generates a new {@link SmallCar_RoadUser}
 	 */
 	public SmallCar_RoadUser() {
-		super(new SmallCar_Vehicle(), GEN.nextInt(SHOPPING_TIME_RANGE) + MINIMUM_SHOPPING_TIME,
-				GEN.nextInt(SPENDING_RANGE) + MINIMUM_SPENDING_MONEY, PROB_TO_SHOP, MAXIMUM_TIME_TO_SHOP);
+		this(SimulationContext.DEFAULT);
+	}
+
+	/**
+	 * Generates a new {@link SmallCar_RoadUser} that belongs to the
+	 * simulation of the specified {@link SimulationContext}.
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} that supplies the random
+	 *            values of the new {@link SmallCar_RoadUser}.
+	 */
+	public SmallCar_RoadUser(SimulationContext context) {
+		super(context, new SmallCar_Vehicle(context),
+				context.getRoadUserRandom().nextInt(SHOPPING_TIME_RANGE) + MINIMUM_SHOPPING_TIME,
+				context.getRoadUserRandom().nextInt(SPENDING_RANGE) + MINIMUM_SPENDING_MONEY, PROB_TO_SHOP,
+				MAXIMUM_TIME_TO_SHOP);
+	}
+
+	/**
+	 * Constructs a copy of the specified {@link SmallCar_RoadUser}.
+	 * 
+	 * @param original
+	 *            The {@link SmallCar_RoadUser} to be copied.
+	 */
+	private SmallCar_RoadUser(SmallCar_RoadUser original) {
+		super(original);
+	}
+
+	/**
+	 * Reinitialises <code>this</code> {@link SmallCar_RoadUser} in the same way as
+	 * {@link #SmallCar_RoadUser(SimulationContext)}.
+	 */
+	@Override
+	protected void reinitialise() {
+
+		SimulationContext context = getContext();
 
+		getVehicle().reinitialise(context);
+		reset(context.getRoadUserRandom().nextInt(SHOPPING_TIME_RANGE) + MINIMUM_SHOPPING_TIME,
+				context.getRoadUserRandom().nextInt(SPENDING_RANGE) + MINIMUM_SPENDING_MONEY);
 	}
 
 	/**
@@ -81,8 +119,7 @@ public class SmallCar_RoadUser extends RoadUser implements Cloneable {
 	 */
 	@Override
 	public SmallCar_RoadUser clone() {
-		SmallCar_RoadUser clone = (SmallCar_RoadUser) super.createClone(new SmallCar_RoadUser());
-		return clone;
+		return new SmallCar_RoadUser(this);
 	}
 
 }
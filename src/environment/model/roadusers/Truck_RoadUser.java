@@ -1,6 +1,7 @@
 package environment.model.roadusers;
 
 import environment.Simulator;
+import environment.model.SimulationContext;
 import environment.model.roadusers.vehicles.Truck_Vehicle;
 
 /**
@@ -52,23 +53,60 @@ public class Truck_RoadUser extends RoadUser implements Cloneable {
 	private static final int MAXIMUM_TIME_TO_SHOP = 48;
 
 	/**
-	 * The initial value for {@link #t}.
+	 * The initial value for <strong>t</strong> which is a value used in the
+	 * {@link #exists(SimulationContext, double, double, double)} method to
+	 * determining if a new {@link Truck_RoadUser} will appear in the
+	 * {@link Simulator}. Each simulation holds its own value of
+	 * <strong>t</strong> in its {@link SimulationContext}.
+	 * 
+	 * @see SimulationContext#getTruckProbability()
 	 */
-	private static final double INITIAL_T = 0.02;
+	public static final double INITIAL_T = 0.02;
 
 	/**
-	 * Holds value for <strong>t</strong> which is a value used in the
-	 * {@link #exists(double, double, double)} method to determining if a new
-	 * {@link Truck_RoadUser} will appear in the {@link Simulator}.
+	 * Generates a new {@link Truck_RoadUser}
 	 */
-	private static double t = INITIAL_T;
+	public Truck_RoadUser() {
+		this(SimulationContext.DEFAULT);
+	}
 
 	/**
-	 * Generates a new {@link Truck_RoadUser}
+	 * Generates a new {@link Truck_RoadUser} that belongs to the
+	 * simulation of the specified {@link SimulationContext}.
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} that supplies the random
+	 *            values of the new {@link Truck_RoadUser}.
 	 */
-	public Truck_RoadUser() {
-		super(new Truck_Vehicle(), GEN.nextInt(SHOPPING_TIME_RANGE) + MINIMUM_SHOPPING_TIME,
-				GEN.nextInt(SPENDING_RANGE) + MINIMUM_SPENDING_MONEY, PROB_TO_SHOP, MAXIMUM_TIME_TO_SHOP);
+	public Truck_RoadUser(SimulationContext context) {
+		super(context, new Truck_Vehicle(context),
+				context.getRoadUserRandom().nextInt(SHOPPING_TIME_RANGE) + MINIMUM_SHOPPING_TIME,
+				context.getRoadUserRandom().nextInt(SPENDING_RANGE) + MINIMUM_SPENDING_MONEY, PROB_TO_SHOP,
+				MAXIMUM_TIME_TO_SHOP);
+	}
+
+	/**
+	 * Constructs a copy of the specified {@link Truck_RoadUser}.
+	 * 
+	 * @param original
+	 *            The {@link Truck_RoadUser} to be copied.
+	 */
+	private Truck_RoadUser(Truck_RoadUser original) {
+		super(original);
+	}
+
+	/**
+	 * Reinitialises <code>this</code> {@link Truck_RoadUser} in the same way as
+	 * {@link #Truck_RoadUser(SimulationContext)}.
+	 */
+	@Override
+	protected void reinitialise() {
+
+		SimulationContext context = getContext();
+
+		getVehicle().reinitialise(context);
+		reset(context.getRoadUserRandom().nextInt(SHOPPING_TIME_RANGE) + MINIMUM_SHOPPING_TIME,
+				context.getRoadUserRandom().nextInt(SPENDING_RANGE) + MINIMUM_SPENDING_MONEY);
 	}
 
 	/**
@@ -86,6 +124,28 @@ public class Truck_RoadUser extends RoadUser implements Cloneable {
 	 * @return <code>boolean</code>
 	 */
 	public static boolean exists(double p, double q, double value) {
+		return exists(SimulationContext.DEFAULT, p, q, value);
+	}
+
+	/**
+	 * Returns whether an instance of a {@link Truck_RoadUser} will appear in
+	 * the station of the specified {@link SimulationContext} using the value
+	 * of <strong>t</strong> held by that {@link SimulationContext}.
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} of the simulation.
+	 * @param p
+	 *            <code>double</code>
+	 * @param q
+	 *            <code>double</code>
+	 * @param value
+	 *            <code>double</code>
+	 * @return <code>boolean</code>
+	 */
+	public static boolean exists(SimulationContext context, double p, double q, double value) {
+
+		double t = context.getTruckProbability();
+
 		return (value > ((2 * p) + q)) && (value <= ((2 * p) + q + t));
 	}
 
@@ -98,13 +158,18 @@ public class Truck_RoadUser extends RoadUser implements Cloneable {
 	@Override
 	public boolean willShop() {
 
-		double prob = GEN.nextDouble();
+		checkWritable();
+
+		SimulationContext context = getContext();
+
+		double prob = context.getRoadUserRandom().nextDouble();
 		boolean belowMaxTime = (timeSpent < MAXIMUM_TIME_TO_SHOP);
+		double t = context.getTruckProbability();
 
 		if (!belowMaxTime) {
-			t = t * 0.8;
+			context.setTruckProbability(t * 0.8);
 		} else if (belowMaxTime && t < INITIAL_T) {
-			t = t * 1.05;
+			context.setTruckProbability(t * 1.05);
 		}
 
 		return belowMaxTime && (prob <= PROB_TO_SHOP);
@@ -115,8 +180,7 @@ public class Truck_RoadUser extends RoadUser implements Cloneable {
 	 */
 	@Override
 	public Truck_RoadUser clone() {
-		Truck_RoadUser copy = (Truck_RoadUser) super.createClone(new Truck_RoadUser());
-		return copy;
+		return new Truck_RoadUser(this);
 	}
 
 }
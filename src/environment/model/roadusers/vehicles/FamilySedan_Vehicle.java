@@ -2,6 +2,8 @@ package environment.model.roadusers.vehicles;
 
 import java.util.Random;
 
+import environment.model.SimulationContext;
+
 /**
  * The <code>FamilySedan</code> class is a subclass of the {@link vehicle}
  * class, which models a Family sedan.
@@ -38,6 +40,16 @@ public final class FamilySedan_Vehicle extends Vehicle {
 	 */
 	private static final int TANK_SIZE_RANGE = 7;
 
+	/**
+	 * Create a new {@link FamilySedan_Vehicle} using the
+	 * {@link SimulationContext#DEFAULT} {@link SimulationContext}.
+	 * 
+	 * @see #FamilySedan_Vehicle(SimulationContext)
+	 */
+	public FamilySedan_Vehicle() {
+		this(SimulationContext.DEFAULT);
+	}
+
 	/**
 	 * Create a new <code>FamilySedan</code>.
 	 * 
@@ -50,18 +62,22 @@ public final class FamilySedan_Vehicle extends Vehicle {
 	 * </p>
 	 * 
 	 * <p>
-	 * <code>size = RNG.nextInt({@value #TANK_SIZE_RANGE}) + {@value #MIN_TANK_SIZE}
+	 * <code>size = context.getVehicleRandom().nextInt({@value #TANK_SIZE_RANGE}) + {@value #MIN_TANK_SIZE}
 	 * </code>
 	 * </p>
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} that supplies the random values
+	 *            of the {@link FamilySedan_Vehicle}.
 	 */
-	public FamilySedan_Vehicle() {
+	public FamilySedan_Vehicle(final SimulationContext context) {
 
 		/*
 		 * Set the size of the Vehicle to UNIT_SIZE and randomly generate the
 		 * tankSize to be between 12 and 18.
 		 */
 
-		super(UNIT_SIZE, RNG.nextInt(TANK_SIZE_RANGE) + MIN_TANK_SIZE);
+		super(context, UNIT_SIZE, context.getVehicleRandom().nextInt(TANK_SIZE_RANGE) + MIN_TANK_SIZE);
 	}
 
 	/**
@@ -88,6 +104,21 @@ public final class FamilySedan_Vehicle extends Vehicle {
 		super(size, tankSize, fuelLevel, fuelType);
 	}
 
+	/**
+	 * Reinitialise the {@link FamilySedan_Vehicle} in the same way as
+	 * {@link #FamilySedan_Vehicle(SimulationContext)} so that it can be reused.
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} that supplies the random values
+	 *            of the {@link FamilySedan_Vehicle}.
+	 */
+	@Override
+	public void reinitialise(final SimulationContext context) {
+
+		// Empty the Vehicle and randomly generate the tankSize.
+		reset(context, context.getVehicleRandom().nextInt(TANK_SIZE_RANGE) + MIN_TANK_SIZE);
+	}
+
 	/**
 	 * Check if an object is equal to the <code>FamilySedan</code>.
 	 * 
@@ -164,6 +195,6 @@ public final class FamilySedan_Vehicle extends Vehicle {
 	@Override
 	public final FamilySedan_Vehicle clone() {
 
-		return new FamilySedan_Vehicle(size, tankSize, getFuelLevel(), fuelType);
+		return new FamilySedan_Vehicle(size, getTankSize(), getFuelLevel(), getFuelType());
 	}
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package environment.model.roadusers.vehicles;
 
 import java.util.Random;
 
+import environment.model.SimulationContext;
+
 /**
  * The <code>Motorbike</code> class is a subclass of the {@link Vehicle} class,
  * which models a motor bike.
@@ -32,6 +34,16 @@ public final class Motorbike_Vehicle extends Vehicle {
 	 */
 	private static final int TANK_SIZE = 5;
 
+	/**
+	 * Create a new {@link Motorbike_Vehicle} using the
+	 * {@link SimulationContext#DEFAULT} {@link SimulationContext}.
+	 * 
+	 * @see #Motorbike_Vehicle(SimulationContext)
+	 */
+	public Motorbike_Vehicle() {
+		this(SimulationContext.DEFAULT);
+	}
+
 	/**
 	 * Create a <code>Motorbike</code> object.
 	 * 
@@ -41,15 +53,19 @@ public final class Motorbike_Vehicle extends Vehicle {
 	 * {@link #UNIT_SIZE} ({@value #UNIT_SIZE}), and the
 	 * {@link Vehicle#tankSize} of {@link #TANK_SIZE} ({@value #TANK_SIZE}).
 	 * </p>
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} that supplies the random values
+	 *            of the {@link Motorbike_Vehicle}.
 	 */
-	public Motorbike_Vehicle() {
+	public Motorbike_Vehicle(final SimulationContext context) {
 
 		/*
 		 * Invoke the superclass constructor with the physical size of the
 		 * Motorbike and the tank size of the Motorbike.
 		 */
 
-		super(UNIT_SIZE, TANK_SIZE);
+		super(context, UNIT_SIZE, TANK_SIZE);
 	}
 
 	/**
@@ -76,6 +92,21 @@ public final class Motorbike_Vehicle extends Vehicle {
 		super(size, tankSize, fuelLevel, fuelType);
 	}
 
+	/**
+	 * Reinitialise the {@link Motorbike_Vehicle} in the same way as
+	 * {@link #Motorbike_Vehicle(SimulationContext)} so that it can be reused.
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} that supplies the random values
+	 *            of the {@link Motorbike_Vehicle}.
+	 */
+	@Override
+	public void reinitialise(final SimulationContext context) {
+
+		// Empty the Vehicle and keep the fixed tankSize.
+		reset(context, TANK_SIZE);
+	}
+
 	/**
 	 * Check if an object is equal to the <code>Motorbike</code> object.
 	 * 
@@ -155,6 +186,6 @@ public final class Motorbike_Vehicle extends Vehicle {
 	@Override
 	public final Motorbike_Vehicle clone() {
 
-		return new Motorbike_Vehicle(size, tankSize, getFuelLevel(), fuelType);
+		return new Motorbike_Vehicle(size, getTankSize(), getFuelLevel(), getFuelType());
 	}
 }
\ No newline at end of file
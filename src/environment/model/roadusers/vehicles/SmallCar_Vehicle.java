@@ -2,6 +2,8 @@ package environment.model.roadusers.vehicles;
 
 import java.util.Random;
 
+import environment.model.SimulationContext;
+
 /**
  * The <code>SmallCar</code> class is a subclass of the {@link vehicle} class,
  * which models a car.
@@ -37,6 +39,16 @@ public final class SmallCar_Vehicle extends Vehicle {
 	 */
 	private static final int TANK_SIZE_RANGE = 3;
 
+	/**
+	 * Create a new {@link SmallCar_Vehicle} using the
+	 * {@link SimulationContext#DEFAULT} {@link SimulationContext}.
+	 * 
+	 * @see #SmallCar_Vehicle(SimulationContext)
+	 */
+	public SmallCar_Vehicle() {
+		this(SimulationContext.DEFAULT);
+	}
+
 	/**
 	 * Create a {@link SmallCar_Vehicle} object.
 	 * 
@@ -48,15 +60,19 @@ public final class SmallCar_Vehicle extends Vehicle {
 	 * ({@value #MIN_TANK_SIZE}) and up to {@link #TANK_SIZE_RANGE}
 	 * {@value #TANK_SIZE_RANGE} in range.
 	 * </p>
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} that supplies the random values
+	 *            of the {@link SmallCar_Vehicle}.
 	 */
-	public SmallCar_Vehicle() {
+	public SmallCar_Vehicle(final SimulationContext context) {
 
 		/*
 		 * Invoke the superclass constructor with the arguments for the
 		 * SmallCar's physical size and tank size (generated).
 		 */
 
-		super(UNIT_SIZE, RNG.nextInt(TANK_SIZE_RANGE) + MIN_TANK_SIZE);
+		super(context, UNIT_SIZE, context.getVehicleRandom().nextInt(TANK_SIZE_RANGE) + MIN_TANK_SIZE);
 	}
 
 	/**
@@ -83,6 +99,21 @@ public final class SmallCar_Vehicle extends Vehicle {
 		super(size, tankSize, fuelLevel, fuelType);
 	}
 
+	/**
+	 * Reinitialise the {@link SmallCar_Vehicle} in the same way as
+	 * {@link #SmallCar_Vehicle(SimulationContext)} so that it can be reused.
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} that supplies the random values
+	 *            of the {@link SmallCar_Vehicle}.
+	 */
+	@Override
+	public void reinitialise(final SimulationContext context) {
+
+		// Empty the Vehicle and randomly generate the tankSize.
+		reset(context, context.getVehicleRandom().nextInt(TANK_SIZE_RANGE) + MIN_TANK_SIZE);
+	}
+
 	/**
 	 * Check if an object is equal to the <code>SmallCar</code>.
 	 * 
@@ -160,6 +191,6 @@ public final class SmallCar_Vehicle extends Vehicle {
 	@Override
 	public final SmallCar_Vehicle clone() {
 
-		return new SmallCar_Vehicle(size, tankSize, getFuelLevel(), fuelType);
+		return new SmallCar_Vehicle(size, getTankSize(), getFuelLevel(), getFuelType());
 	}
 }
\ No newline at end of file
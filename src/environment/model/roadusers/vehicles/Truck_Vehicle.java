@@ -2,6 +2,8 @@ package environment.model.roadusers.vehicles;
 
 import java.util.Random;
 
+import environment.model.SimulationContext;
+
 /**
  * The {@link Truck_Vehicle} class is a subclass of the {@link Vehicle} class,
  * which models a Truck.
@@ -36,6 +38,16 @@ public final class Truck_Vehicle extends Vehicle {
 	 */
 	private static final int TANK_SIZE_RANGE = 11;
 
+	/**
+	 * Create a new {@link Truck_Vehicle} using the
+	 * {@link SimulationContext#DEFAULT} {@link SimulationContext}.
+	 * 
+	 * @see #Truck_Vehicle(SimulationContext)
+	 */
+	public Truck_Vehicle() {
+		this(SimulationContext.DEFAULT);
+	}
+
 	/**
 	 * Create a new <code>Truck</code>.
 	 * 
@@ -48,18 +60,22 @@ public final class Truck_Vehicle extends Vehicle {
 	 * </p>
 	 * 
 	 * <p>
-	 * <code>tankSize = RNG.nextInt({@value #TANK_SIZE_RANGE}) + {@value #MIN_TANK_SIZE}
+	 * <code>tankSize = context.getVehicleRandom().nextInt({@value #TANK_SIZE_RANGE}) + {@value #MIN_TANK_SIZE}
 	 * </code>
 	 * </p>
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} that supplies the random values
+	 *            of the {@link Truck_Vehicle}.
 	 */
-	public Truck_Vehicle() {
+	public Truck_Vehicle(final SimulationContext context) {
 
 		/*
 		 * Set the size of the Vehicle to be the UNIT_SIZE and randomly generate
 		 * the tankSize of the Vehicle.
 		 */
 
-		super(UNIT_SIZE, RNG.nextInt(TANK_SIZE_RANGE) + MIN_TANK_SIZE);
+		super(context, UNIT_SIZE, context.getVehicleRandom().nextInt(TANK_SIZE_RANGE) + MIN_TANK_SIZE);
 	}
 
 	/**
@@ -86,6 +102,21 @@ public final class Truck_Vehicle extends Vehicle {
 		super(size, tankSize, fuelLevel, fuelType);
 	}
 
+	/**
+	 * Reinitialise the {@link Truck_Vehicle} in the same way as
+	 * {@link #Truck_Vehicle(SimulationContext)} so that it can be reused.
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} that supplies the random values
+	 *            of the {@link Truck_Vehicle}.
+	 */
+	@Override
+	public void reinitialise(final SimulationContext context) {
+
+		// Empty the Vehicle and randomly generate the tankSize.
+		reset(context, context.getVehicleRandom().nextInt(TANK_SIZE_RANGE) + MIN_TANK_SIZE);
+	}
+
 	/**
 	 * Check if an object is equal to a <code>Truck</code>.
 	 * 
@@ -161,6 +192,6 @@ public final class Truck_Vehicle extends Vehicle {
 	@Override
 	public final Truck_Vehicle clone() {
 
-		return new Truck_Vehicle(size, tankSize, getFuelLevel(), fuelType);
+		return new Truck_Vehicle(size, getTankSize(), getFuelLevel(), getFuelType());
 	}
 }
\ No newline at end of file
@@ -1,6 +1,10 @@
 package environment.model.roadusers.vehicles;
 
-import java.util.Random;
+import java.io.IOException;
+
+import environment.model.SimulationContext;
+import environment.model.checkpoint.CheckpointInput;
+import environment.model.checkpoint.CheckpointOutput;
 
 /**
  * The <code>Vehicle</code> class models a <code>Vehicle</code> which is being
@@ -40,20 +44,19 @@ import java.util.Random;
  */
 public abstract class Vehicle implements Cloneable {
 
-	/**
-	 * The initial seed for the {@link #RNG}.
-	 */
-	private static final long SEED = 9000;
-	/**
-	 * The <code>Random</code> object used to generate properties for the
-	 * <code>Vehicle</code>.
-	 */
-	protected static final Random RNG = new Random(SEED);
 	/**
 	 * The amount of fuel currently inside the tank of the <code>
 	 * Vehicle</code>, represented as an <code>int</code>.
 	 */
 	private int fuelLevel;
+	/**
+	 * Whether the <code>Vehicle</code> is a read-only snapshot, the
+	 * {@link #fuelLevel} of a read-only <code>Vehicle</code> cannot be
+	 * modified.
+	 * 
+	 * @see #snapshot()
+	 */
+	private boolean readOnly;
 	/**
 	 * The size of the <code>Vehicle</code>, the <code>double</code>
 	 * representation of the physical space occupied.
@@ -68,10 +71,13 @@ public abstract class Vehicle implements Cloneable {
 	 * <code>int</code>.
 	 * 
 	 * <p>
-	 * <strong>Cannot be modified.</strong>
+	 * <strong>Cannot be modified</strong> other than by {@link #reset} when a
+	 * pooled <code>Vehicle</code> is reinitialised.
 	 * </p>
+	 * 
+	 * @see #getTankSize()
 	 */
-	public final int tankSize;
+	private int tankSize;
 
 	/**
 	 * The type of fuel used by this {@link Vehicle}.
@@ -81,9 +87,15 @@ public abstract class Vehicle implements Cloneable {
 	 * {@link Vehicle}.
 	 * </p>
 	 * 
+	 * <p>
+	 * <strong>Cannot be modified</strong> other than by {@link #reset} when a
+	 * pooled <code>Vehicle</code> is reinitialised.
+	 * </p>
+	 * 
 	 * @see FuelType
+	 * @see #getFuelType()
 	 */
-	public final FuelType fuelType;
+	private FuelType fuelType;
 
 	/**
 	 * Create a new <code>Vehicle</code> object.
@@ -111,6 +123,33 @@ public abstract class Vehicle implements Cloneable {
 	 */
 	protected Vehicle(final double size, final int tankSize) {
 
+		this(SimulationContext.DEFAULT, size, tankSize);
+	}
+
+	/**
+	 * Create a new <code>Vehicle</code> object whose {@link #fuelType} is
+	 * selected using the <code>Random</code> stream of the specified
+	 * {@link SimulationContext}.
+	 * 
+	 * <p>
+	 * Provided arguments must be greater than 0, otherwise default values are:
+	 * <ol>
+	 * <li><code>{@link #size} = 0.5</code></li>
+	 * <li><code>{@link #tankSize} = 1</code></li>
+	 * </ol>
+	 * </p>
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} that supplies the random values
+	 *            of the <code>Vehicle</code>.
+	 * @param size
+	 *            The physical size of the <code>Vehicle</code>.
+	 * @param tankSize
+	 *            The size of the tank of the <code>Vehicle</code>.
+	 * @see SimulationContext#getVehicleRandom()
+	 */
+	protected Vehicle(final SimulationContext context, final double size, final int tankSize) {
+
 		/*
 		 * Initialise the fuelLebel as 0 (Assumed fuel level).
 		 */
@@ -131,7 +170,7 @@ public abstract class Vehicle implements Cloneable {
 		/*
 		 * Select a fuel type from the the FuelType enum.
 		 */
-		fuelType = FuelType.generateFuelType(RNG);
+		fuelType = FuelType.generateFuelType(context.getVehicleRandom());
 	}
 
 	/**
@@ -177,21 +216,70 @@ public abstract class Vehicle implements Cloneable {
 		this.fuelType = fuelType != null ? fuelType : FuelType.PETROL;
 	}
 
+	/**
+	 * Empty the <code>Vehicle</code> and give it the specified
+	 * {@link #tankSize} and a new {@link #fuelType} selected using the
+	 * <code>Random</code> stream of the specified {@link SimulationContext}.
+	 * 
+	 * <p>
+	 * Used by the subclasses to implement
+	 * {@link #reinitialise(SimulationContext)}. The {@link #size} is fixed by
+	 * the subclass so it is not changed.
+	 * </p>
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} that supplies the random values
+	 *            of the <code>Vehicle</code>.
+	 * @param tankSize
+	 *            The size of the tank of the <code>Vehicle</code>.
+	 */
+	protected final void reset(final SimulationContext context, final int tankSize) {
+
+		// A snapshot is only a record of the Vehicle and must not be reused.
+		if (readOnly)
+			throw new UnsupportedOperationException("A snapshot of a vehicle cannot be reinitialised");
+
+		// Initialise the fields in the same way as the constructor.
+		fuelLevel = 0;
+		this.tankSize = 0 < tankSize ? tankSize : 1;
+		fuelType = FuelType.generateFuelType(context.getVehicleRandom());
+	}
+
 	/**
 	 * Get the current fuel level of the {@link Vehicle}.
 	 * 
 	 * <p>
-	 * Used to allow subclasses of the {@link Vehicle} class to access the
-	 * {@link #fuelLevel} without modifying it.
+	 * Used to allow other classes to access the {@link #fuelLevel} without
+	 * modifying it.
 	 * </p>
 	 * 
 	 * @return The current fuel level of the {@link Vehicle}.
 	 */
-	protected final int getFuelLevel() {
+	public final int getFuelLevel() {
 
 		return fuelLevel;
 	}
 
+	/**
+	 * Get the tank size of the {@link Vehicle}.
+	 * 
+	 * @return The <code>int</code> {@link #tankSize} of the {@link Vehicle}.
+	 */
+	public final int getTankSize() {
+
+		return tankSize;
+	}
+
+	/**
+	 * Get the type of fuel used by the {@link Vehicle}.
+	 * 
+	 * @return The {@link FuelType} of the {@link Vehicle}.
+	 */
+	public final FuelType getFuelType() {
+
+		return fuelType;
+	}
+
 	/**
 	 * Increment the <code>Vehicle</code> objects {@link #fuelLevel} by one.
 	 * 
@@ -205,6 +293,13 @@ public abstract class Vehicle implements Cloneable {
 	 */
 	public final void fill() {
 
+		/*
+		 * A snapshot is only a record of the Vehicle at a point in time and
+		 * must not be filled.
+		 */
+		if (readOnly)
+			throw new UnsupportedOperationException("A snapshot of a vehicle cannot be filled");
+
 		// Only increment the fuelLevel if it is less than the tankSize.
 		if (fuelLevel < tankSize)
 			++fuelLevel;
@@ -351,6 +446,77 @@ public abstract class Vehicle implements Cloneable {
 				.toString();
 	}
 
+	/**
+	 * Reinitialise the <code>Vehicle</code> as if it had just been constructed
+	 * with the specified {@link SimulationContext}.
+	 * 
+	 * <p>
+	 * The random values are drawn in the same order as the constructor of the
+	 * subclass so a recycled <code>Vehicle</code> is identical to a new one.
+	 * <strong>Must be implemented in subclasses</strong>.
+	 * </p>
+	 * 
+	 * @param context
+	 *            The {@link SimulationContext} that supplies the random values
+	 *            of the <code>Vehicle</code>.
+	 * @see environment.model.roadusers.RoadUserPool
+	 */
+	public abstract void reinitialise(SimulationContext context);
+
+	/**
+	 * Write the fuel level, tank size and fuel type of the
+	 * <code>Vehicle</code> to a checkpoint.
+	 * 
+	 * @param out
+	 *            {@link CheckpointOutput}
+	 * @throws IOException
+	 *             If the <code>Vehicle</code> cannot be written.
+	 */
+	public final void writeCheckpoint(CheckpointOutput out) throws IOException {
+
+		out.writeInt(fuelLevel);
+		out.writeInt(tankSize);
+		out.writeByte(fuelType.ordinal());
+	}
+
+	/**
+	 * Restore the state written by {@link #writeCheckpoint(CheckpointOutput)}.
+	 * The {@link #size} is fixed by the subclass so it is not written.
+	 * 
+	 * @param in
+	 *            {@link CheckpointInput}
+	 * @throws IOException
+	 *             If the <code>Vehicle</code> cannot be read.
+	 */
+	public final void readCheckpoint(CheckpointInput in) throws IOException {
+
+		// A snapshot is only a record of the Vehicle and must not be changed.
+		if (readOnly)
+			throw new UnsupportedOperationException("A snapshot of a vehicle cannot be restored");
+
+		fuelLevel = in.readInt();
+		tankSize = in.readInt();
+		fuelType = FuelType.values()[in.readUnsignedByte()];
+	}
+
+	/**
+	 * Create a read-only duplicate of the <code>Vehicle</code>.
+	 * 
+	 * <p>
+	 * The duplicate is created using {@link #clone()}, calling {@link #fill()}
+	 * on the duplicate throws an {@link UnsupportedOperationException}.
+	 * </p>
+	 * 
+	 * @return A read-only duplicate of the <code>Vehicle</code>.
+	 */
+	public final Vehicle snapshot() {
+
+		Vehicle snapshot = clone();
+		snapshot.readOnly = true;
+
+		return snapshot;
+	}
+
 	/**
 	 * Clone the <code>Vehicle</code> into an exact duplicate.
 	 * 
@@ -14,5 +14,8 @@
  * @see environment.GUI
  * @see environment.Simulator
  * @see environment.Statistic
+ * @see environment.Batch
+ * @see environment.Sweep
+ * @see environment.Replication
  */
 package environment;
\ No newline at end of file